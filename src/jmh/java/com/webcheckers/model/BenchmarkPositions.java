@@ -0,0 +1,102 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The positions the benchmarks are run on, each with red to move.
+ *
+ * <p>
+ * The opening is the starting position, the middle game is reached by playing random legal turns from it with a
+ * fixed seed so every run measures the same position, and the jump positions are demo boards where the first
+ * turn is a multi-jump.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+final class BenchmarkPositions {
+    //The names of the positions, as used in the benchmark parameters
+    static final String OPENING = "opening";
+    static final String MIDGAME = "midgame";
+    static final String MULTI_JUMP = "multijump";
+    static final String KING_JUMP = "kingjump";
+    //How the middle game is reached
+    private static final int MIDGAME_PLIES = 20;
+    private static final long MIDGAME_SEED = 20;
+
+    /**
+     * This class only holds static methods and should not be instantiated.
+     */
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Get a position by name.
+     *
+     * @param name the name of the position
+     * @return a new copy of the position
+     * @throws IllegalArgumentException if there is no position with that name
+     */
+    static BitBoard position(String name) {
+        switch(name) {
+            case OPENING:
+                return new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+            case MIDGAME:
+                return midgame();
+            case MULTI_JUMP:
+                return BoardView.demoPosition("mjump");
+            case KING_JUMP:
+                return BoardView.demoPosition("jking");
+            default:
+                throw new IllegalArgumentException("There is no position named " + name + ".");
+        }
+    }
+
+    /**
+     * Play random turns from the starting position, the same ones every time.
+     *
+     * @return the position reached
+     */
+    private static BitBoard midgame() {
+        BitBoard position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        Random random = new Random(MIDGAME_SEED);
+        MoveList moves = new MoveList();
+        for(int ply = 0; ply < MIDGAME_PLIES; ply++) {
+            int count = MoveGenerator.generate(position, position.getTurn(), moves);
+            PdnReader.playTurn(position, moves, random.nextInt(count));
+        }
+        return position;
+    }
+
+    /**
+     * Create a board holding a position.
+     *
+     * @param position the position
+     * @return the board
+     */
+    static BoardView board(BitBoard position) {
+        BoardView board = new BoardView(new Player("red"), new Player("white"));
+        board.getPosition().copyFrom(position, false);
+        return board;
+    }
+
+    /**
+     * Get the moves of the first legal turn in a position, in the form the game page sends them.
+     *
+     * @param position the position
+     * @return the moves of the turn, in order
+     */
+    static List<Move> firstTurn(BitBoard position) {
+        MoveList turns = new MoveList();
+        MoveGenerator.generate(position, position.getTurn(), turns);
+        List<Move> moves = new ArrayList<>();
+        for(int step = 0; step < turns.getSteps(0); step++) {
+            int from = turns.getStepFrom(0, step);
+            int to = turns.getStepTo(0, step);
+            moves.add(Move.of(Position.of(BitBoard.row(from), BitBoard.cell(from)),
+                    Position.of(BitBoard.row(to), BitBoard.cell(to))));
+        }
+        return moves;
+    }
+}
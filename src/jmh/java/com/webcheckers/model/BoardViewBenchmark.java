@@ -0,0 +1,93 @@
+package com.webcheckers.model;
+
+import com.webcheckers.util.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link BoardView} calls made for every move a player tries on the game page.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardViewBenchmark {
+    //The position measured
+    @Param({BenchmarkPositions.OPENING, BenchmarkPositions.MIDGAME, BenchmarkPositions.MULTI_JUMP,
+            BenchmarkPositions.KING_JUMP})
+    public String position;
+
+    //Values used to hold the board and the first move of a legal turn on it
+    private BoardView board;
+    private Move move;
+    private Piece.Color color;
+
+    /**
+     * Set up the board for the position measured.
+     */
+    @Setup
+    public void setup() {
+        BitBoard root = BenchmarkPositions.position(position);
+        board = BenchmarkPositions.board(root);
+        move = BenchmarkPositions.firstTurn(root).get(0);
+        color = root.getTurn();
+    }
+
+    /**
+     * Check a legal move at the start of a turn, which also looks for forced jumps.
+     *
+     * @return the message about the move
+     */
+    @Benchmark
+    public Message checkMove() {
+        board.resetJumpData();
+        return board.checkMove(move, color);
+    }
+
+    /**
+     * Make a legal move and take it back.
+     *
+     * @return the undo record of the move
+     */
+    @Benchmark
+    public int makeMove() {
+        int undo = board.make(move);
+        board.unmake(undo);
+        return undo;
+    }
+
+    /**
+     * Check if the color to move has a jump.
+     *
+     * @return whether or not it has one
+     */
+    @Benchmark
+    public boolean playerCanJump() {
+        return board.playerCanJump(color);
+    }
+
+    /**
+     * Check if the color to move has any move left.
+     *
+     * @return whether or not it has one
+     */
+    @Benchmark
+    public boolean movesRemaining() {
+        return board.movesRemaining(color);
+    }
+}
@@ -0,0 +1,112 @@
+package com.webcheckers.model;
+
+import com.webcheckers.util.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link CheckersGame} calls made by the game page as a player takes a turn.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckersGameBenchmark {
+    //The position measured
+    @Param({BenchmarkPositions.OPENING, BenchmarkPositions.MIDGAME, BenchmarkPositions.MULTI_JUMP,
+            BenchmarkPositions.KING_JUMP})
+    public String position;
+
+    //Values used to hold the position and the legal turn played on it
+    private BitBoard root;
+    private List<Move> turn;
+    private CheckersGame game;
+
+    /**
+     * Set up the position measured.
+     */
+    @Setup
+    public void setup() {
+        root = BenchmarkPositions.position(position);
+        turn = BenchmarkPositions.firstTurn(root);
+        game = newGame();
+    }
+
+    /**
+     * Create a game on the position measured.
+     *
+     * @return the game
+     */
+    private CheckersGame newGame() {
+        return new CheckersGame(new Player("red"), new Player("white"), CheckersGame.Mode.PLAY,
+                BenchmarkPositions.board(root));
+    }
+
+    /**
+     * Test every move of a legal turn and back them all up again.
+     *
+     * @return the message about the last move
+     */
+    @Benchmark
+    public Message testMove() {
+        Message message = null;
+        for(Move move : turn) {
+            message = game.testMove(move);
+        }
+        for(int i = 0; i < turn.size(); i++) {
+            game.backupMove();
+        }
+        return message;
+    }
+
+    /**
+     * Submit a turn whose moves have all been tested.
+     *
+     * @param turn a game with the turn ready to submit
+     * @return the message about the turn
+     */
+    @Benchmark
+    public Message submitTurn(TestedTurn turn) {
+        return turn.game.submitTurn();
+    }
+
+    /**
+     * A new game with every move of the turn tested, set up before each call since a submitted turn can not be
+     * taken back. The allocation rate reported for submitTurn includes this set up.
+     */
+    @State(Scope.Thread)
+    public static class TestedTurn {
+        //The game with the turn ready to submit
+        private CheckersGame game;
+
+        /**
+         * Set up the game.
+         *
+         * @param benchmark the benchmark holding the position measured
+         */
+        @Setup(Level.Invocation)
+        public void setup(CheckersGameBenchmark benchmark) {
+            game = benchmark.newGame();
+            for(Move move : benchmark.turn) {
+                game.testMove(move);
+            }
+        }
+    }
+}
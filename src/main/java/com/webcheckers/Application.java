@@ -6,6 +6,7 @@ import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import com.google.gson.Gson;
+import com.webcheckers.ui.ModelTypeAdapters;
 import com.webcheckers.ui.WebServer;
 
 import spark.TemplateEngine;
@@ -92,8 +93,9 @@ public final class Application {
 
     // The application uses Gson to generate JSON representations of Java objects.
     // This should be used by your Ajax Routes to generate JSON for the HTTP
-    // response to Ajax requests.
-    final Gson gson = new Gson();
+    // response to Ajax requests. It reads moves as the shared instances the
+    // model keeps.
+    final Gson gson = ModelTypeAdapters.GSON;
 
     // inject the game center and freemarker engine into web server
     final WebServer webServer = new WebServer(templateEngine, gson);
@@ -0,0 +1,92 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A snapshot of the games being played, as listed on the home page.
+ *
+ * <p>
+ * A snapshot never changes once it is made. Each time a game starts or ends a new snapshot is made from the last
+ * one with a higher version, so a page can be rendered from a snapshot without locking anything, and two snapshots
+ * with the same version list the same games.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public final class ActiveGames {
+    //The snapshot taken before any game has started
+    public static final ActiveGames EMPTY = new ActiveGames(0, Collections.emptyMap());
+
+    //Values used to hold the games in this snapshot
+    private final long version;
+    private final Map<String, String> games;
+
+    /**
+     * Create a snapshot.
+     *
+     * @param version the version of the snapshot
+     * @param games the name of each game mapped to its ID, which is not copied and must not be changed
+     */
+    private ActiveGames(long version, Map<String, String> games) {
+        this.version = version;
+        this.games = Collections.unmodifiableMap(games);
+    }
+
+    /**
+     * Make the snapshot that follows this one once a game has started.
+     *
+     * @param game the game that started
+     * @return the next snapshot
+     */
+    ActiveGames with(CheckersGame game) {
+        Map<String, String> next = new LinkedHashMap<>(games);
+        next.put(game.toString(), Long.toString(game.getGameID()));
+        return new ActiveGames(version + 1, next);
+    }
+
+    /**
+     * Make the snapshot that follows this one once a game has ended.
+     *
+     * @param game the game that ended
+     * @return the next snapshot, or this one if the game was not in it
+     */
+    ActiveGames without(CheckersGame game) {
+        if(!Long.toString(game.getGameID()).equals(games.get(game.toString()))) {
+            return this;
+        }
+        Map<String, String> next = new LinkedHashMap<>(games);
+        next.remove(game.toString());
+        return new ActiveGames(version + 1, next);
+    }
+
+    /**
+     * Get the version of this snapshot, which goes up by one each time a game starts or ends.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the games in this snapshot, in the order they started.
+     *
+     * @return the name of each game, like "red VS white", mapped to its ID
+     */
+    public Map<String, String> getGames() {
+        return games;
+    }
+
+    /**
+     * Get the number of games in this snapshot.
+     *
+     * @return the number of games
+     */
+    public int getCount() {
+        return games.size();
+    }
+}
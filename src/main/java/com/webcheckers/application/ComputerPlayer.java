@@ -0,0 +1,265 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.BitBoard;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.EndgameTablebase;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveList;
+import com.webcheckers.model.OpeningBook;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Search;
+import com.webcheckers.model.TranspositionTable;
+import com.webcheckers.util.Message;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A computer opponent that can be challenged from the player lobby like any other player.
+ *
+ * <p>
+ * The computer picks its turns with a {@link Search} limited to a fixed amount of time per turn. Searches run on
+ * their own threads, so the request that submitted the human player's turn returns right away and the computer's
+ * reply shows up the next time the human player checks for their turn. Every search thread shares one
+ * {@link TranspositionTable}, so the computer's memory use does not grow with the number of games it plays.
+ * The first turns of a game are played from an {@link OpeningBook} without searching at all, and if an
+ * {@link EndgameTablebase} has been generated, endgames with few pieces left are played from it.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class ComputerPlayer {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(ComputerPlayer.class.getName());
+
+    //The name the computer is listed under in the player lobby
+    public static final String DEFAULT_NAME = "Computer";
+    //The system property holding how long the computer may think about each turn, in milliseconds
+    static final String BUDGET_PROPERTY = "computerMoveMillis";
+    static final long DEFAULT_BUDGET_MILLIS = 1000;
+    //The system property holding the size of the transposition table shared by every search thread, in megabytes
+    static final String TABLE_PROPERTY = "computerTableMegabytes";
+    static final int DEFAULT_TABLE_MEGABYTES = 32;
+    //The system property holding the directory of the endgame tablebase, which is not used if it is not set
+    static final String TABLEBASE_PROPERTY = "tablebaseDirectory";
+    //The system property holding the opening book file, which is the book of the bundled openings if it is not set
+    static final String BOOK_PROPERTY = "openingBook";
+
+    //Values used to hold the settings of the computer and the threads it searches on
+    private final String name;
+    private final long budgetMillis;
+    private final Executor executor;
+    private final ThreadLocal<Search> searches;
+    private final OpeningBook book;
+    private GameCenter gameCenter;
+
+    /**
+     * Create a computer player with the default name, a time budget, table size, tablebase and opening book read
+     * from the system properties, and one search thread for each available processor.
+     */
+    public ComputerPlayer() {
+        this(DEFAULT_NAME, Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MILLIS), createExecutor());
+    }
+
+    /**
+     * Create a computer player.
+     *
+     * @param name the name the computer is listed under
+     * @param budgetMillis how long the computer may think about each turn, in milliseconds
+     * @param executor the executor the searches run on
+     */
+    public ComputerPlayer(String name, long budgetMillis, Executor executor) {
+        this.name = name;
+        this.budgetMillis = budgetMillis;
+        this.executor = executor;
+        TranspositionTable table = TranspositionTable.withMegabytes(
+                Integer.getInteger(TABLE_PROPERTY, DEFAULT_TABLE_MEGABYTES));
+        this.book = openBook(System.getProperty(BOOK_PROPERTY));
+        EndgameTablebase tablebase = openTablebase(System.getProperty(TABLEBASE_PROPERTY));
+        this.searches = ThreadLocal.withInitial(() -> {
+            Search search = new Search(table);
+            search.setTablebase(tablebase);
+            return search;
+        });
+    }
+
+    /**
+     * Open the opening book.
+     *
+     * @param file the book file, or null to use the bundled openings
+     * @return the book, or null if it can not be read
+     */
+    private static OpeningBook openBook(String file) {
+        try {
+            return file == null ? OpeningBook.bundled() : OpeningBook.open(Paths.get(file));
+        } catch(IOException e) {
+            LOG.warning("The opening book could not be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Open the endgame tablebase, if there is one.
+     *
+     * @param directory the directory holding the tables, or null if there is none
+     * @return the tablebase, or null if there is none or it can not be read
+     */
+    private static EndgameTablebase openTablebase(String directory) {
+        if(directory == null) {
+            return null;
+        }
+        try {
+            return EndgameTablebase.open(Paths.get(directory));
+        } catch(IOException e) {
+            LOG.warning("The endgame tablebase in " + directory + " could not be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Create the pool of daemon threads searches run on, so a search in progress never keeps the server alive.
+     *
+     * @return the executor
+     */
+    private static ExecutorService createExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "computer-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the name the computer is listed under.
+     *
+     * @return the computer's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the game center told about games the computer finishes.
+     *
+     * @param gameCenter the game center the computer plays in
+     */
+    void setGameCenter(GameCenter gameCenter) {
+        this.gameCenter = gameCenter;
+    }
+
+    /**
+     * Start working out the computer's turn if it is the computer's turn in a game. This returns right away,
+     * and the turn is played once the search has finished.
+     *
+     * @param game the game to play in
+     */
+    public void takeTurn(CheckersGame game) {
+        if(game.isGameOver() || !name.equals(game.getPlayer(game.getCurrentColor()).getName())) {
+            return;
+        }
+        executor.execute(() -> play(game));
+    }
+
+    /**
+     * Play the computer's turn in a game. If the turn can not be worked out or played, the computer resigns,
+     * so the other player is not left waiting for a turn that never comes.
+     *
+     * @param game the game to play in
+     */
+    private void play(CheckersGame game) {
+        try {
+            if(playTurn(game)) {
+                return;
+            }
+        } catch(RuntimeException e) {
+            LOG.log(Level.SEVERE, name + " failed while working out its turn in game " + game.getGameID() + ".", e);
+        }
+        resign(game);
+    }
+
+    /**
+     * Pick the best turn in a game, from the opening book if the game is still in it and by searching otherwise,
+     * and play it.
+     *
+     * @param game the game to play in
+     * @return false if a turn should have been played but was not, true otherwise
+     */
+    private boolean playTurn(CheckersGame game) {
+        BitBoard position = game.getBoard(false).getPosition();
+        MoveList result = new MoveList();
+        MoveList history = new MoveList();
+        game.copyHistory(history);
+        if(book != null && book.choose(position, history, ThreadLocalRandom.current(), result)) {
+            LOG.fine(String.format("%s played a book turn in game %d.", name, game.getGameID()));
+        } else {
+            Search search = searches.get();
+            if(!search.findBestTurn(position, budgetMillis, result)) {
+                LOG.warning(String.format("%s found no turn to play in game %d.", name, game.getGameID()));
+                return game.isGameOver();
+            }
+            LOG.fine(String.format("%s searched %d positions to depth %d in game %d.", name, search.getNodes(),
+                    search.getCompletedDepth(), game.getGameID()));
+        }
+
+        List<Move> moves = new ArrayList<>(result.getSteps(0));
+        for(int step = 0; step < result.getSteps(0); step++) {
+            moves.add(result.getStep(0, step));
+        }
+        Message message = gameCenter != null ? gameCenter.execute(game, played -> played.playTurn(moves))
+                : game.playTurn(moves);
+        if(message.getType() != Message.Type.INFO) {
+            LOG.warning(name + " could not play its turn: " + message.getText());
+            return game.isGameOver();
+        }
+
+        if(gameCenter != null) {
+            gameCenter.turnPlayed(game);
+            if(game.isGameOver()) {
+                gameCenter.endGame(getOpponent(game).getName());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * End a game the computer could not play its turn in by having it resign.
+     *
+     * @param game the game to resign from
+     */
+    private void resign(CheckersGame game) {
+        if(gameCenter == null) {
+            return;
+        }
+        Piece.Color color = game.redPlayer().getName().equals(name) ? Piece.Color.RED : Piece.Color.WHITE;
+        boolean resigned = gameCenter.execute(game, ended -> {
+            if(ended.isGameOver()) {
+                return false;
+            }
+            ended.endGame(CheckersGame.EndReason.RESIGNED, color);
+            return true;
+        });
+        if(resigned) {
+            LOG.warning(String.format("%s resigned from game %d.", name, game.getGameID()));
+            gameCenter.endGame(getOpponent(game).getName());
+        }
+    }
+
+    /**
+     * Get the computer's opponent in a game.
+     *
+     * @param game the game the computer is playing
+     * @return the other player in the game
+     */
+    private Player getOpponent(CheckersGame game) {
+        return game.redPlayer().getName().equals(name) ? game.whitePlayer() : game.redPlayer();
+    }
+}
@@ -0,0 +1,21 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+
+/**
+ * Where finished games go once they leave the game center, like a log, a file or a database of past games.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@FunctionalInterface
+public interface GameArchive {
+    //The archive that keeps nothing, used when no archive is given
+    GameArchive DISCARD = game -> { };
+
+    /**
+     * Keep a finished game. The game is no longer reachable through the game center, and is not changed again.
+     *
+     * @param game the finished game
+     */
+    void archive(CheckersGame game);
+}
@@ -4,23 +4,63 @@ import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Player;
 import com.webcheckers.util.Message;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
  * Used to coordinate the state of the WebCheckers Application.
  *
+ * <p>
+ * Every map is concurrent, so looking up players and games never blocks. Changes that must see more than one map
+ * agree, like pairing two players into a game, hold the locks of the players involved instead of one lock for the
+ * whole center, so games with different players never wait on each other. Each {@link CheckersGame} guards its
+ * own moves with its own lock.
+ * </p>
+ *
+ * <p>
+ * Commands that change a game are run with {@link #execute(CheckersGame, Function)}. Given an executor, the center
+ * gives each game a {@link GameMailbox}, so a game's commands run one at a time on the shared executor and the
+ * request threads only wait for their results. Without one, a command runs on the thread that asked for it while
+ * holding the game's lock.
+ * </p>
+ *
+ * <p>
+ * Games are tracked by a {@link GameLifecycle}. A game is active from the time it is created until a player ends it,
+ * then stays reachable by its ID for a grace period before it is dropped along with its spectators and handed to
+ * the lifecycle's archive. Finished games are evicted as games are created and ended, so nothing has to sweep the
+ * registry.
+ * </p>
+ *
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public class GameCenter {
     //Values used for holding active games and players
     private static final Logger LOG = Logger.getLogger(GameCenter.class.getName());
     private final PlayerLobby lobby;
-    private final HashMap<Player, CheckersGame> inGame;
-    private final HashMap<Integer, CheckersGame> games;
-    private final HashMap<Integer, Set<Player>> spectatedGames;
-    private final HashMap<Player, CheckersGame> spectators;
-    private final HashMap<Player, CheckersGame> inEndGame;
+    private final ConcurrentHashMap<Player, CheckersGame> inGame;
+    private final GameRegistry games;
+    private final GameLifecycle lifecycle;
+    private final ConcurrentHashMap<Long, Set<Player>> spectatedGames;
+    private final ConcurrentHashMap<Player, CheckersGame> spectators;
+    private final ConcurrentHashMap<Player, CheckersGame> inEndGame;
+    private volatile ComputerPlayer computer;
+    private final Executor commandExecutor;
+    private final ConcurrentHashMap<CheckersGame, GameMailbox> mailboxes;
+    private final GameNotifier notifier;
+    private final SocketTokens socketTokens;
+
+    //The system property that runs game commands on the request threads instead of in mailboxes when set to false
+    public static final String MAILBOX_PROPERTY = "gameMailboxes";
+
+    //The locks players are spread over by name; a power of two so a stripe is picked with a mask
+    static final int LOCK_STRIPES = 64;
+    private final Object[] locks;
 
     // Messages to alert to an unmade move/invalid single move when jump move is available
     static final Message COULD_NOT_RESIGN_MESSAGE = Message.error("Could not resign!");
@@ -75,7 +115,7 @@ public class GameCenter {
      * @return the game the current player is in, if one exists
      */
     public CheckersGame getGame(String name) {
-        return inGame.get(lobby.getPlayer(name));
+        return get(inGame, lobby.getPlayer(name));
     }
 
     /**
@@ -84,22 +124,240 @@ public class GameCenter {
      * @param gameID the ID of the game
      * @return the game if it exists
      */
-    public CheckersGame getGameByID(int gameID) {
+    public CheckersGame getGameByID(long gameID) {
         return games.get(gameID);
     }
 
     /**
-     * Create a new GameCenter.
+     * Get the lifecycle tracking the games.
+     *
+     * @return the lifecycle
+     */
+    public GameLifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * Drop every finished game whose grace period is over, along with its mailbox and spectators.
+     */
+    private void evictFinishedGames() {
+        lifecycle.evictExpired(game -> {
+            mailboxes.remove(game);
+            notifier.clear(game.getGameID());
+            Set<Player> watching = spectatedGames.remove(game.getGameID());
+            if(watching != null) {
+                for(Player spectator : watching) {
+                    spectators.remove(spectator, game);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the registry holding every game by its ID.
+     *
+     * @return the registry
+     */
+    public GameRegistry getRegistry() {
+        return games;
+    }
+
+    /**
+     * Create a new GameCenter that runs game commands on the threads that ask for them.
      *
      * @param playerLobby the lobby of active players
      */
     public GameCenter(PlayerLobby playerLobby) {
-        this.inGame = new HashMap<>();
+        this(playerLobby, null);
+    }
+
+    /**
+     * Create a new GameCenter.
+     *
+     * @param playerLobby the lobby of active players
+     * @param commandExecutor the executor every game's mailbox runs on, or null to run game commands on the
+     *                        threads that ask for them
+     */
+    public GameCenter(PlayerLobby playerLobby, Executor commandExecutor) {
+        this(playerLobby, commandExecutor, new GameLifecycle());
+    }
+
+    /**
+     * Create a new GameCenter.
+     *
+     * @param playerLobby the lobby of active players
+     * @param commandExecutor the executor every game's mailbox runs on, or null to run game commands on the
+     *                        threads that ask for them
+     * @param lifecycle the lifecycle that tracks the games and archives them once they are finished
+     */
+    public GameCenter(PlayerLobby playerLobby, Executor commandExecutor, GameLifecycle lifecycle) {
+        this.commandExecutor = commandExecutor;
+        this.mailboxes = new ConcurrentHashMap<>();
+        this.notifier = new GameNotifier();
+        this.socketTokens = new SocketTokens();
+        this.inGame = new ConcurrentHashMap<>();
         this.lobby = playerLobby;
-        this.games = new HashMap<>();
-        this.spectatedGames = new HashMap<>();
-        this.spectators = new HashMap<>();
-        this.inEndGame = new HashMap<>();
+        this.lifecycle = lifecycle;
+        this.games = lifecycle.getRegistry();
+        this.spectatedGames = new ConcurrentHashMap<>();
+        this.spectators = new ConcurrentHashMap<>();
+        this.inEndGame = new ConcurrentHashMap<>();
+        this.locks = new Object[LOCK_STRIPES];
+        for(int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Create the pool of daemon threads game mailboxes run on, with one thread for each available processor.
+     *
+     * @return the executor
+     */
+    public static ExecutorService createCommandExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "game-commands");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run a command that reads or changes a game and wait for its result. Commands for the same game never run at
+     * the same time, and run in the order they were asked for. A game that is no longer in the registry, like one a
+     * stale page still refers to after it was evicted, is not given a new mailbox, and its commands run directly on
+     * the game's monitor instead.
+     *
+     * @param game the game
+     * @param command the command, given the game
+     * @param <T> the type of the command's result
+     * @return the command's result
+     */
+    public <T> T execute(CheckersGame game, Function<CheckersGame, T> command) {
+        if(commandExecutor == null) {
+            synchronized(game) {
+                return command.apply(game);
+            }
+        }
+        // the registry drops a game before its mailbox is removed, so no mailbox is made after the game is evicted
+        GameMailbox mailbox = mailboxes.compute(game, (key, existing) -> existing != null ? existing
+                : games.get(key.getGameID()) == key ? new GameMailbox(key, commandExecutor) : null);
+        if(mailbox == null) {
+            synchronized(game) {
+                return command.apply(game);
+            }
+        }
+        return mailbox.call(command);
+    }
+
+    /**
+     * Get the stripe of the lock guarding a player.
+     *
+     * @param name the name of the player
+     * @return the index of the lock
+     */
+    static int stripe(String name) {
+        int hash = name == null ? 0 : name.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Get the lock guarding a player.
+     *
+     * @param name the name of the player
+     * @return the lock
+     */
+    private Object lockFor(String name) {
+        return locks[stripe(name)];
+    }
+
+    /**
+     * Look up a key that may be null in a concurrent map, which does not allow null keys.
+     *
+     * @param map the map
+     * @param key the key, or null
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return the value, or null if the key is null or not in the map
+     */
+    private static <K, V> V get(Map<K, V> map, K key) {
+        return key == null ? null : map.get(key);
+    }
+
+    /**
+     * Add a computer opponent to the player lobby. The computer can play any number of games at once, so it is
+     * never marked as being in a game.
+     *
+     * @param computer the computer player
+     */
+    public void addComputerPlayer(ComputerPlayer computer) {
+        this.lobby.addPlayer(computer.getName());
+        this.computer = computer;
+        computer.setGameCenter(this);
+    }
+
+    /**
+     * Check if the player with the name passed in is the computer opponent.
+     *
+     * @param name the name of the player
+     * @return whether or not the player is the computer
+     */
+    public boolean isComputer(String name) {
+        return computer != null && computer.getName().equals(name);
+    }
+
+    /**
+     * Get the player object to use in a new game. The computer gets a new player object for every game, since
+     * a player's color is stored on it.
+     *
+     * @param name the name of the player
+     * @return the player, or null if there is no player with that name
+     */
+    private Player playerForGame(String name) {
+        Player player = lobby.getPlayer(name);
+        if(player != null && isComputer(name)) {
+            return new Player(name);
+        }
+        return player;
+    }
+
+    /**
+     * Get the notifier that tells players and spectators about the events of their games.
+     *
+     * @return the notifier
+     */
+    public GameNotifier getNotifier() {
+        return notifier;
+    }
+
+    /**
+     * Get the tokens game pages use to open sockets as their players.
+     *
+     * @return the tokens
+     */
+    public SocketTokens getSocketTokens() {
+        return socketTokens;
+    }
+
+    /**
+     * Tell the players and spectators of a game that a turn was played in it.
+     *
+     * @param game the game the turn was played in
+     */
+    public void turnPlayed(CheckersGame game) {
+        notifier.publish(game, GameNotifier.Event.TURN);
+    }
+
+    /**
+     * Let the players and spectators of a game know a turn was submitted in it, and let the computer know so it
+     * can reply if it is playing in it.
+     *
+     * @param game the game the turn was submitted in
+     */
+    public void turnSubmitted(CheckersGame game) {
+        turnPlayed(game);
+        if(computer != null) {
+            computer.takeTurn(game);
+        }
     }
 
     /**
@@ -118,26 +376,40 @@ public class GameCenter {
      * @param whitePlayerName the name of the player using white checkers
      * @return whether or not a game was successfully created
      */
-    public synchronized GameStatus createGame(String redPlayerName, String whitePlayerName) {
-        Player red = lobby.getPlayer(redPlayerName);
-        Player white = lobby.getPlayer(whitePlayerName);
-
-        if(inGame.containsKey(red) || inGame.containsKey(white)) {
-            return GameStatus.IN_GAME;
-        } else if(spectators.containsKey(red) || spectators.containsKey(white)) {
-            return GameStatus.SPECTATING;
-        } else if(red == null || white == null) {
-            return GameStatus.NULL_PLAYER;
-        } else if(red.equals(white)) {
-            return GameStatus.SAME_PLAYER;
-        }
+    public GameStatus createGame(String redPlayerName, String whitePlayerName) {
+        Player red = playerForGame(redPlayerName);
+        Player white = playerForGame(whitePlayerName);
 
-        CheckersGame game = new CheckersGame(red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
-        inGame.put(red, game);
-        inGame.put(white, game);
-        games.put(Objects.hash(redPlayerName, whitePlayerName), game);
+        // take the two players' locks in a fixed order so two pairings can never wait on each other
+        int first = Math.min(stripe(redPlayerName), stripe(whitePlayerName));
+        int second = Math.max(stripe(redPlayerName), stripe(whitePlayerName));
+        CheckersGame game;
+        synchronized(locks[first]) {
+            synchronized(locks[second]) {
+                if(get(inGame, red) != null || get(inGame, white) != null) {
+                    return GameStatus.IN_GAME;
+                } else if(get(spectators, red) != null || get(spectators, white) != null) {
+                    return GameStatus.SPECTATING;
+                } else if(red == null || white == null) {
+                    return GameStatus.NULL_PLAYER;
+                } else if(red.equals(white)) {
+                    return GameStatus.SAME_PLAYER;
+                }
+
+                game = new CheckersGame(games.nextID(), red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+                if(!isComputer(redPlayerName)) {
+                    inGame.put(red, game);
+                }
+                if(!isComputer(whitePlayerName)) {
+                    inGame.put(white, game);
+                }
+                lifecycle.started(game);
+            }
+        }
+        evictFinishedGames();
 
         LOG.info("New checkers game created for " + red.getName() + " and " + white.getName());
+        turnSubmitted(game);
 
         return GameStatus.CREATED;
     }
@@ -147,15 +419,29 @@ public class GameCenter {
      *
      * @param name the name of the player to be removed
      */
-    public synchronized void endGame(String name) {
+    public void endGame(String name) {
         Player player = lobby.getPlayer(name);
+        CheckersGame game = get(inGame, player);
+        if(game == null) {
+            return;
+        }
         Player opponent = getOpponent(name);
-        if(player != null && inGame(name)) {
-            inEndGame.put(player, inGame.get(player));
-            if(opponent != null && inGame(opponent.getName())) {
-                inEndGame.put(opponent, inGame.get(opponent));
+        String opponentName = opponent == null ? null : opponent.getName();
+        int first = Math.min(stripe(name), stripe(opponentName));
+        int second = Math.max(stripe(name), stripe(opponentName));
+        synchronized(locks[first]) {
+            synchronized(locks[second]) {
+                if(inGame.get(player) == game) {
+                    inEndGame.put(player, game);
+                    if(opponent != null && get(inGame, lobby.getPlayer(opponentName)) == game) {
+                        inEndGame.put(lobby.getPlayer(opponentName), game);
+                    }
+                }
             }
         }
+        lifecycle.ended(game);
+        notifier.publish(game, GameNotifier.Event.GAME_OVER);
+        evictFinishedGames();
     }
 
     /**
@@ -163,12 +449,13 @@ public class GameCenter {
      *
      * @param name the name of the player trying to exit a game
      */
-    public synchronized void exitGame(String name) {
+    public void exitGame(String name) {
         Player player = lobby.getPlayer(name);
         if(player != null) {
-            CheckersGame game = getGame(name);
-            inEndGame.remove(player);
-            inGame.remove(player);
+            synchronized(lockFor(name)) {
+                inEndGame.remove(player);
+                inGame.remove(player);
+            }
         }
     }
 
@@ -178,8 +465,8 @@ public class GameCenter {
      * @param name the name of the player being checked
      * @return whether or not the player is already in a game
      */
-    public synchronized boolean inGame(String name){
-        return inGame.containsKey(lobby.getPlayer(name));
+    public boolean inGame(String name){
+        return get(inGame, lobby.getPlayer(name)) != null;
     }
 
     /**
@@ -187,29 +474,31 @@ public class GameCenter {
      *
      * @param name the name of the player to be removed
      */
-    public synchronized void removePlayer(String name){
+    public void removePlayer(String name){
         if(inGame(name)) {
             endGame(name);
         }
+        socketTokens.revoke(name);
         lobby.removePlayer(name);
     }
 
     /**
      * Get all active games and their game id's.
      *
-     * @return A map of all active games and their game id's
+     * @return A map of all active games and their game id's, which does not change
      */
-    public synchronized Map<String, String> getAllActiveGames() {
-        HashMap<String, String> activeGames = new HashMap<>();
-        for(int id : games.keySet()) {
-            if(!games.get(id).isGameOver()) {
-                String gameStr = games.get(id).toString();
-                activeGames.put(gameStr, Integer.toString(id));
-            }
-        }
-        return activeGames;
+    public Map<String, String> getAllActiveGames() {
+        return lifecycle.getSnapshot().getGames();
     }
 
+    /**
+     * Get the latest snapshot of the active games. Reading it takes no lock, and its count takes constant time.
+     *
+     * @return the snapshot
+     */
+    public ActiveGames getActiveGames() {
+        return lifecycle.getSnapshot();
+    }
 
     /**
      * Add a player to the set of players spectating the game with the gameID passed in.
@@ -217,12 +506,24 @@ public class GameCenter {
      * @param gameID the ID of the game to spectate
      * @param spectator the player to spectate said game
      */
-    public void addSpectator(int gameID, Player spectator) {
-        this.spectators.put(spectator, this.getGameByID(gameID));
-        if(!this.spectatedGames.containsKey(gameID)) {
-            this.spectatedGames.put(gameID, new HashSet<>());
+    public void addSpectator(long gameID, Player spectator) {
+        CheckersGame game = this.getGameByID(gameID);
+        if(game == null) {
+            return;
+        }
+        synchronized(lockFor(spectator.getName())) {
+            // added inside compute() so it is ordered with the remove() of an eviction: a game dropped from the
+            // registry first gets no spectator, and one dropped after has its spectator removed with it
+            this.spectatedGames.compute(gameID, (id, watching) -> {
+                if(games.get(id) != game) {
+                    return watching;
+                }
+                Set<Player> added = watching == null ? ConcurrentHashMap.newKeySet() : watching;
+                added.add(spectator);
+                this.spectators.put(spectator, game);
+                return added;
+            });
         }
-        this.spectatedGames.get(gameID).add(spectator);
     }
 
     /**
@@ -231,9 +532,14 @@ public class GameCenter {
      * @param gameID the ID of the game to remove the spectator from
      * @param spectator the player that will no longer be spectating said game
      */
-    public void removeSpectator(int gameID, Player spectator) {
-        this.spectatedGames.get(gameID).remove(spectator);
-        this.spectators.remove(spectator);
+    public void removeSpectator(long gameID, Player spectator) {
+        synchronized(lockFor(spectator.getName())) {
+            Set<Player> watching = this.spectatedGames.get(gameID);
+            if(watching != null) {
+                watching.remove(spectator);
+            }
+            this.spectators.remove(spectator);
+        }
     }
 
     /**
@@ -243,7 +549,7 @@ public class GameCenter {
      * @return the game the spectator is spectating, if one exists
      */
     public CheckersGame getGameBySpectator(Player spectator) {
-        return this.spectators.get(spectator);
+        return get(this.spectators, spectator);
     }
 
     /**
@@ -251,7 +557,7 @@ public class GameCenter {
      *
      * @return all currently spectated games
      */
-    public Map<Integer, Set<Player>> getSpectatedGames() {
+    public Map<Long, Set<Player>> getSpectatedGames() {
         return spectatedGames;
     }
 
@@ -271,8 +577,8 @@ public class GameCenter {
      * @param name the name of the player being checked
      * @return whether or not the player is already in a game
      */
-    public synchronized boolean inEndGame(String name) {
-        return inEndGame.containsKey(lobby.getPlayer(name));
+    public boolean inEndGame(String name) {
+        return get(inEndGame, lobby.getPlayer(name)) != null;
     }
 
     /**
@@ -290,7 +596,10 @@ public class GameCenter {
         if(game == null) {
             return COULD_NOT_RESIGN_MESSAGE;
         }
-        game.endGame(CheckersGame.EndReason.RESIGNED, player.getColor());
+        execute(game, resigned -> {
+            resigned.endGame(CheckersGame.EndReason.RESIGNED, player.getColor());
+            return null;
+        });
         endGame(name);
         return RESIGNED_MESSAGE;
     }
@@ -0,0 +1,212 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Tracks games from the time they start until they are archived.
+ *
+ * <p>
+ * A game that has started is in the registry and in the index of active games. Once it ends it leaves the index
+ * right away, but stays in the registry for a grace period, so its players and spectators can still see how it
+ * ended. After that it is evicted: it is removed from the registry and handed to the archive. Finished games wait
+ * in the order they ended, so finding the ones whose grace period is over only looks at the front of the queue.
+ * </p>
+ *
+ * <p>
+ * The active games are also published as an {@link ActiveGames} snapshot, which is replaced with the next version
+ * each time a game starts or ends, so the home page can list them without walking the index or taking a lock.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class GameLifecycle {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(GameLifecycle.class.getName());
+
+    //The system property holding how long a finished game is kept before it is archived, in milliseconds
+    public static final String GRACE_PROPERTY = "finishedGameMillis";
+    public static final long DEFAULT_GRACE_MILLIS = 5 * 60 * 1000;
+
+    //Values used to hold the games and what happens to them once they are finished
+    private final GameRegistry registry;
+    private final ConcurrentHashMap<Long, CheckersGame> active;
+    private final AtomicReference<ActiveGames> snapshot;
+    private final ConcurrentLinkedQueue<Finished> finished;
+    private final AtomicBoolean evicting;
+    private final long graceMillis;
+    private final GameArchive archive;
+    private final LongSupplier clock;
+
+    /**
+     * Create a lifecycle with an empty registry, a grace period read from the system properties and an archive that
+     * keeps nothing.
+     */
+    public GameLifecycle() {
+        this(new GameRegistry(), Long.getLong(GRACE_PROPERTY, DEFAULT_GRACE_MILLIS), GameArchive.DISCARD,
+                () -> System.nanoTime() / 1_000_000);
+    }
+
+    /**
+     * Create a lifecycle.
+     *
+     * @param registry the registry games are held in while they are live
+     * @param graceMillis how long a finished game is kept before it is archived, in milliseconds
+     * @param archive where finished games go
+     * @param clock the current time in milliseconds, which must never go backwards
+     */
+    public GameLifecycle(GameRegistry registry, long graceMillis, GameArchive archive, LongSupplier clock) {
+        this.registry = registry;
+        this.active = new ConcurrentHashMap<>();
+        this.snapshot = new AtomicReference<>(ActiveGames.EMPTY);
+        this.finished = new ConcurrentLinkedQueue<>();
+        this.evicting = new AtomicBoolean();
+        this.graceMillis = graceMillis;
+        this.archive = archive;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the registry live games are held in.
+     *
+     * @return the registry
+     */
+    public GameRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Add a game that has just started.
+     *
+     * @param game the game
+     */
+    public void started(CheckersGame game) {
+        registry.add(game);
+        // the snapshot is updated first, so a game ended as soon as it is active is always in it to be taken out
+        snapshot.updateAndGet(games -> games.with(game));
+        active.put(game.getGameID(), game);
+    }
+
+    /**
+     * Mark a game as finished, which starts its grace period. Marking a game more than once does nothing.
+     *
+     * @param game the game
+     */
+    public void ended(CheckersGame game) {
+        if(active.remove(game.getGameID(), game)) {
+            snapshot.updateAndGet(games -> games.without(game));
+            finished.add(new Finished(game, clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Check if a game is still being played.
+     *
+     * @param game the game
+     * @return whether or not the game has started and not ended
+     */
+    public boolean isActive(CheckersGame game) {
+        return active.get(game.getGameID()) == game;
+    }
+
+    /**
+     * Get the games being played. The view is live, and can be walked while games start and end.
+     *
+     * @return the active games
+     */
+    public Collection<CheckersGame> getActiveGames() {
+        return Collections.unmodifiableCollection(active.values());
+    }
+
+    /**
+     * Get the latest snapshot of the games being played.
+     *
+     * @return the snapshot
+     */
+    public ActiveGames getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Get the number of games being played.
+     *
+     * @return the number of active games
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * Get the number of finished games still waiting out their grace period.
+     *
+     * @return the number of finished games
+     */
+    public int getFinishedCount() {
+        return finished.size();
+    }
+
+    /**
+     * Evict every finished game whose grace period is over, removing it from the registry and archiving it. If
+     * another thread is already evicting, this returns right away, since that thread will evict the same games.
+     *
+     * @param forget called with each game as it is evicted, before it is archived, to drop anything else that
+     *               refers to it
+     * @return the number of games evicted
+     */
+    public int evictExpired(Consumer<CheckersGame> forget) {
+        if(!evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+        int evicted = 0;
+        try {
+            long now = clock.getAsLong();
+            for(Finished head = finished.peek(); head != null && now - head.endedAt >= graceMillis;
+                    head = finished.peek()) {
+                finished.poll();
+                registry.remove(head.game.getGameID());
+                forget.accept(head.game);
+                try {
+                    archive.archive(head.game);
+                } catch(RuntimeException e) {
+                    LOG.warning("Game " + head.game.getGameID() + " could not be archived: " + e.getMessage());
+                }
+                evicted++;
+            }
+        } finally {
+            evicting.set(false);
+        }
+        if(evicted > 0) {
+            LOG.fine("Archived " + evicted + " finished game(s).");
+        }
+        return evicted;
+    }
+
+    /**
+     * A finished game and when it ended.
+     */
+    private static class Finished {
+        //Values used to hold the game and when it ended
+        private final CheckersGame game;
+        private final long endedAt;
+
+        /**
+         * Create a finished game.
+         *
+         * @param game the game
+         * @param endedAt when it ended, in milliseconds
+         */
+        Finished(CheckersGame game, long endedAt) {
+            this.game = game;
+            this.endedAt = endedAt;
+        }
+    }
+}
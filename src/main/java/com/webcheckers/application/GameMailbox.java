@@ -0,0 +1,149 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The commands waiting to run on one game.
+ *
+ * <p>
+ * Commands are run one at a time, in the order they were submitted, on an executor shared by every game. At most
+ * one thread is ever running a game's commands, so commands never race each other for the game, while the commands
+ * of different games run side by side. A game with a long queue runs a batch of commands and then hands its thread
+ * back to the executor, so it can not keep other games waiting. The game's own methods still take its monitor, so a
+ * request thread that reads the game directly, like drawing its board, can briefly wait on a command that is running.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class GameMailbox {
+    //The most commands run before the thread is handed back to the executor
+    static final int BATCH_SIZE = 16;
+
+    //The mailbox whose commands the current thread is running, so a command can call back into its own game
+    private static final ThreadLocal<GameMailbox> RUNNING = new ThreadLocal<>();
+
+    //Values used to hold the game and the commands waiting to run on it
+    private final CheckersGame game;
+    private final Executor executor;
+    private final ConcurrentLinkedQueue<Runnable> commands;
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Create an empty mailbox for a game.
+     *
+     * @param game the game the commands run on
+     * @param executor the executor the commands run on, which may be shared with other mailboxes
+     */
+    public GameMailbox(CheckersGame game, Executor executor) {
+        this.game = game;
+        this.executor = executor;
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Get the game the commands run on.
+     *
+     * @return the game
+     */
+    public CheckersGame getGame() {
+        return game;
+    }
+
+    /**
+     * Queue a command to run on the game.
+     *
+     * @param command the command, given the game
+     * @param <T> the type of the command's result
+     * @return a future completed with the command's result, or with the exception it threw
+     */
+    public <T> CompletableFuture<T> submit(Function<CheckersGame, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        commands.add(() -> {
+            try {
+                result.complete(command.apply(game));
+            } catch(Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        schedule();
+        return result;
+    }
+
+    /**
+     * Run a command on the game and wait for its result. A command that calls this on its own mailbox is run right
+     * away, since waiting for it would wait forever.
+     *
+     * @param command the command, given the game
+     * @param <T> the type of the command's result
+     * @return the command's result
+     */
+    public <T> T call(Function<CheckersGame, T> command) {
+        if(RUNNING.get() == this) {
+            return command.apply(game);
+        }
+        try {
+            return submit(command).join();
+        } catch(CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of commands waiting to run.
+     *
+     * @return the number of commands
+     */
+    public int getPending() {
+        return commands.size();
+    }
+
+    /**
+     * Hand the mailbox to the executor if it has commands and is not already running or waiting to run.
+     */
+    private void schedule() {
+        if(!commands.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch(RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Run a batch of commands, then schedule the mailbox again if more have come in.
+     */
+    private void drain() {
+        RUNNING.set(this);
+        try {
+            for(int i = 0; i < BATCH_SIZE; i++) {
+                Runnable command = commands.poll();
+                if(command == null) {
+                    break;
+                }
+                command.run();
+            }
+        } finally {
+            RUNNING.remove();
+            scheduled.set(false);
+            // a command added after the last poll saw the mailbox still scheduled, so it is picked up here
+            schedule();
+        }
+    }
+}
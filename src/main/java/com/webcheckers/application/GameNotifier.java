@@ -0,0 +1,137 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Tells the players and spectators of a game when something happens in it, so they do not have to keep asking.
+ *
+ * <p>
+ * Listeners subscribe to a game by its ID. Publishing an event calls each listener of the game on the thread that
+ * published it, so a listener should hand the event off, like sending it over a socket without waiting, instead of
+ * doing slow work itself.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class GameNotifier {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(GameNotifier.class.getName());
+
+    /**
+     * The things that can happen in a game that listeners are told about.
+     */
+    public enum Event {
+        TURN,
+        GAME_OVER
+    }
+
+    /**
+     * Something told about the events of a game.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Handle an event.
+         *
+         * @param game the game the event happened in
+         * @param event what happened
+         */
+        void notify(CheckersGame game, Event event);
+
+        /**
+         * Let go of anything held for a game whose listeners have been dropped, since nothing more will be heard
+         * from it. Nothing is done by default.
+         *
+         * @param gameID the ID of the game
+         */
+        default void dropped(long gameID) {
+        }
+    }
+
+    //Values used to hold the listeners of each game
+    private final ConcurrentHashMap<Long, Set<Listener>> listeners;
+
+    /**
+     * Create a notifier with no listeners.
+     */
+    public GameNotifier() {
+        this.listeners = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Start telling a listener about the events of a game.
+     *
+     * @param gameID the ID of the game
+     * @param listener the listener
+     */
+    public void subscribe(long gameID, Listener listener) {
+        listeners.computeIfAbsent(gameID, id -> ConcurrentHashMap.newKeySet()).add(listener);
+    }
+
+    /**
+     * Stop telling a listener about the events of a game.
+     *
+     * @param gameID the ID of the game
+     * @param listener the listener
+     */
+    public void unsubscribe(long gameID, Listener listener) {
+        listeners.computeIfPresent(gameID, (id, subscribed) -> {
+            subscribed.remove(listener);
+            return subscribed.isEmpty() ? null : subscribed;
+        });
+    }
+
+    /**
+     * Drop every listener of a game, once nothing more can happen in it, and let each of them know.
+     *
+     * @param gameID the ID of the game
+     */
+    public void clear(long gameID) {
+        Set<Listener> dropped = listeners.remove(gameID);
+        if(dropped == null) {
+            return;
+        }
+        for(Listener listener : dropped) {
+            try {
+                listener.dropped(gameID);
+            } catch(RuntimeException e) {
+                LOG.warning("A listener of game " + gameID + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the number of listeners of a game.
+     *
+     * @param gameID the ID of the game
+     * @return the number of listeners
+     */
+    public int getListenerCount(long gameID) {
+        Set<Listener> subscribed = listeners.get(gameID);
+        return subscribed == null ? 0 : subscribed.size();
+    }
+
+    /**
+     * Tell every listener of a game about an event. A listener that fails does not stop the others being told.
+     *
+     * @param game the game
+     * @param event what happened
+     */
+    public void publish(CheckersGame game, Event event) {
+        Set<Listener> subscribed = listeners.get(game.getGameID());
+        if(subscribed == null) {
+            return;
+        }
+        for(Listener listener : subscribed) {
+            try {
+                listener.notify(game, event);
+            } catch(RuntimeException e) {
+                LOG.warning("A listener of game " + game.getGameID() + " failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hands out game IDs and holds the games by their ID.
+ *
+ * <p>
+ * IDs are 64 bit numbers counted up from 1, so an ID is never used twice while the server runs, even for two games
+ * between the same players. The games are spread over a fixed number of shards by ID. Each shard is a concurrent
+ * map, so a game is found in constant time and games are added and removed from many threads at once, and since
+ * IDs are handed out in order the games are spread evenly over the shards. The games can be walked one shard at a
+ * time, so a walk never has to copy the whole registry.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class GameRegistry {
+    //The number of shards used by default
+    public static final int DEFAULT_SHARDS = 16;
+
+    //Values used to hand out IDs and hold the games
+    private final AtomicLong lastID;
+    private final ConcurrentHashMap<Long, CheckersGame>[] shards;
+    private final AtomicInteger size;
+
+    /**
+     * Create an empty registry with the default number of shards.
+     */
+    public GameRegistry() {
+        this(DEFAULT_SHARDS);
+    }
+
+    /**
+     * Create an empty registry.
+     *
+     * @param shardCount the number of shards, a power of two
+     * @throws IllegalArgumentException if the number of shards is not a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public GameRegistry(int shardCount) {
+        if(shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("The number of shards must be a power of two.");
+        }
+        this.lastID = new AtomicLong(CheckersGame.NO_ID);
+        this.shards = new ConcurrentHashMap[shardCount];
+        for(int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * Hand out the next game ID.
+     *
+     * @return an ID that has never been handed out before
+     */
+    public long nextID() {
+        return lastID.incrementAndGet();
+    }
+
+    /**
+     * Get the shard a game ID belongs to.
+     *
+     * @param gameID the ID
+     * @return the index of the shard
+     */
+    public int shardOf(long gameID) {
+        return (int) (gameID ^ (gameID >>> 32)) & (shards.length - 1);
+    }
+
+    /**
+     * Add a game under its ID, replacing any game with the same ID.
+     *
+     * @param game the game
+     */
+    public void add(CheckersGame game) {
+        if(shards[shardOf(game.getGameID())].put(game.getGameID(), game) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get a game by its ID.
+     *
+     * @param gameID the ID
+     * @return the game, or null if there is no game with that ID
+     */
+    public CheckersGame get(long gameID) {
+        return shards[shardOf(gameID)].get(gameID);
+    }
+
+    /**
+     * Remove a game by its ID.
+     *
+     * @param gameID the ID
+     * @return the game removed, or null if there was no game with that ID
+     */
+    public CheckersGame remove(long gameID) {
+        CheckersGame game = shards[shardOf(gameID)].remove(gameID);
+        if(game != null) {
+            size.decrementAndGet();
+        }
+        return game;
+    }
+
+    /**
+     * Get the number of games held.
+     *
+     * @return the number of games
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Get the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Get the games in one shard. The view is live, and can be walked while games are added and removed.
+     *
+     * @param shard the index of the shard
+     * @return the games in the shard
+     */
+    public Collection<CheckersGame> getShard(int shard) {
+        return Collections.unmodifiableCollection(shards[shard].values());
+    }
+
+    /**
+     * Do something with every game held, one shard at a time.
+     *
+     * @param action what to do with each game
+     */
+    public void forEach(Consumer<CheckersGame> action) {
+        for(ConcurrentHashMap<Long, CheckersGame> shard : shards) {
+            shard.values().forEach(action);
+        }
+    }
+}
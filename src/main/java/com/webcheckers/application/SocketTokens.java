@@ -0,0 +1,85 @@
+package com.webcheckers.application;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the tokens a page uses to open a socket as the player it was drawn for.
+ *
+ * <p>
+ * Sockets can not see the HTTP session of the page that opened them, so each game page is given a token that names
+ * its player, and sends it back when it opens a socket. A player holds one token at a time: drawing a page issues a
+ * new token and forgets the last, so the tokens held never outnumber the players signed in, and signing out forgets
+ * the player's token.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class SocketTokens {
+    //The number of random bytes in a token
+    static final int TOKEN_BYTES = 18;
+
+    //Values used to make tokens and hold the token of each player, both ways round
+    private final SecureRandom random;
+    private final ConcurrentHashMap<String, String> names;
+    private final ConcurrentHashMap<String, String> tokens;
+
+    /**
+     * Create a token store holding no tokens.
+     */
+    public SocketTokens() {
+        this.random = new SecureRandom();
+        this.names = new ConcurrentHashMap<>();
+        this.tokens = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Issue a new token for a player, replacing their last one.
+     *
+     * @param name the name of the player
+     * @return the token
+     */
+    public String issue(String name) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        names.put(token, name);
+        String last = tokens.put(name, token);
+        if(last != null) {
+            names.remove(last, name);
+        }
+        return token;
+    }
+
+    /**
+     * Get the player a token was issued to.
+     *
+     * @param token the token
+     * @return the name of the player, or null if the token was never issued or has been replaced or revoked
+     */
+    public String getName(String token) {
+        return token == null ? null : names.get(token);
+    }
+
+    /**
+     * Forget the token of a player.
+     *
+     * @param name the name of the player
+     */
+    public void revoke(String name) {
+        String token = tokens.remove(name);
+        if(token != null) {
+            names.remove(token, name);
+        }
+    }
+
+    /**
+     * Get the number of tokens held.
+     *
+     * @return the number of tokens
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,834 @@
+package com.webcheckers.model;
+
+/**
+ * A compact representation of a checkers position that packs the 32 playable squares into three ints.
+ *
+ * <p>
+ * The dark squares are numbered 0 to 31 from left to right, top to bottom, so square 0 is row 0 cell 1
+ * and square 31 is row 7 cell 6. Bit n of each mask holds the state of square n.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class BitBoard {
+    //The number of playable squares on the board
+    public static final int NUM_SQUARES = 32;
+    //The number of playable squares in each row
+    static final int SQUARES_PER_ROW = BoardView.NUM_COLS / 2;
+
+    //Masks used to keep shifted pieces from wrapping around the edges of the board
+    static final int EVEN_ROWS = 0x0F0F0F0F;
+    static final int ODD_ROWS = 0xF0F0F0F0;
+    static final int LEFT_EDGE = 0x10101010;
+    static final int RIGHT_EDGE = 0x08080808;
+
+    //The four diagonal directions, in the order used by the neighbor and jump tables
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int DOWN_LEFT = 2;
+    public static final int DOWN_RIGHT = 3;
+    static final int NUM_DIRECTIONS = 4;
+
+    //Tables holding, for each square and direction, the adjacent square and the square a jump lands on, or -1 off the board
+    private static final int[] NEIGHBOR = new int[NUM_SQUARES * NUM_DIRECTIONS];
+    private static final int[] JUMP_LANDING = new int[NUM_SQUARES * NUM_DIRECTIONS];
+    //A table holding, for each square, a mask of the square and its adjacent squares
+    private static final int[] NEIGHBORHOOD = new int[NUM_SQUARES];
+
+    static {
+        int[] rowSteps = {-1, -1, 1, 1};
+        int[] cellSteps = {-1, 1, -1, 1};
+        for(int square = 0; square < NUM_SQUARES; square++) {
+            for(int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+                int row = row(square);
+                int cell = cell(square);
+                NEIGHBOR[square * NUM_DIRECTIONS + direction] =
+                        square(row + rowSteps[direction], cell + cellSteps[direction]);
+                JUMP_LANDING[square * NUM_DIRECTIONS + direction] =
+                        square(row + 2 * rowSteps[direction], cell + 2 * cellSteps[direction]);
+                if(NEIGHBOR[square * NUM_DIRECTIONS + direction] >= 0) {
+                    NEIGHBORHOOD[square] |= 1 << NEIGHBOR[square * NUM_DIRECTIONS + direction];
+                }
+            }
+            NEIGHBORHOOD[square] |= 1 << square;
+        }
+    }
+
+    //Random keys used to hash positions, one for each kind of piece on each square and one for white to move
+    private static final int NUM_PIECE_KINDS = 4;
+    private static final long[] PIECE_KEYS = new long[NUM_PIECE_KINDS * NUM_SQUARES];
+    private static final long WHITE_TO_MOVE_KEY;
+
+    static {
+        // a fixed seed keeps the keys, and so every hash, the same from run to run
+        long seed = 0x5DEECE66DL;
+        for(int i = 0; i < PIECE_KEYS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            PIECE_KEYS[i] = mix(seed);
+        }
+        seed += 0x9E3779B97F4A7C15L;
+        WHITE_TO_MOVE_KEY = mix(seed);
+    }
+
+    //The starting squares of each color
+    static final int INITIAL_WHITE = 0x00000FFF;
+    static final int INITIAL_RED = 0xFFF00000;
+
+    //The layout of the undo records returned by make()
+    static final int UNDO_SQUARE_MASK = 0x1F;
+    static final int UNDO_TO_SHIFT = 5;
+    static final int UNDO_JUMPED_SHIFT = 10;
+    static final int UNDO_CAPTURE = 1 << 15;
+    static final int UNDO_CAPTURED_KING = 1 << 16;
+
+    //Values used to hold which squares hold red pieces, white pieces, and kings of either color
+    private int red;
+    private int white;
+    private int kings;
+
+    //Values used to hold the number of pieces, kings and simple moves each color has, kept up to date as pieces move
+    private int redCount;
+    private int whiteCount;
+    private int redKingCount;
+    private int whiteKingCount;
+    private int redMobility;
+    private int whiteMobility;
+
+    //Values used to hold the color to move and the hash of the position, kept up to date as pieces move
+    private Piece.Color turn = Piece.Color.RED;
+    private long key;
+
+    //Whether or not this position is rotated to be seen from white's side, which makes it only fit for display
+    private boolean flipped;
+
+    /**
+     * Create a new, empty position.
+     */
+    public BitBoard() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Create a position from its masks.
+     *
+     * @param red the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     */
+    public BitBoard(int red, int white, int kings) {
+        setPieces(red, white, kings);
+    }
+
+    /**
+     * A copy constructor that can also return a position rotated to be seen from the other side of the board. A
+     * rotated position is only for display: its pieces can be read, but the moves of each color run the other way on
+     * it, so it keeps no mobility or key, and asking it about moves or changing it throws an exception.
+     *
+     * @param position the position to be copied
+     * @param flip whether or not the position should be flipped
+     */
+    public BitBoard(BitBoard position, boolean flip) {
+        copyFrom(position, flip);
+    }
+
+    /**
+     * Overwrite this position with a copy of another, flipping it if necessary.
+     *
+     * @param position the position to be copied
+     * @param flip whether or not the position should be flipped
+     */
+    public void copyFrom(BitBoard position, boolean flip) {
+        this.turn = position.turn;
+        this.flipped = position.flipped != flip;
+        if(flip) {
+            // rotating the board 180 degrees maps square n to square 31 - n
+            this.red = Integer.reverse(position.red);
+            this.white = Integer.reverse(position.white);
+            this.kings = Integer.reverse(position.kings);
+            if(!flipped) {
+                // rotating a rotated position back gives a position that can be played on again
+                recount();
+                return;
+            }
+        } else {
+            this.red = position.red;
+            this.white = position.white;
+            this.kings = position.kings;
+        }
+        this.redCount = position.redCount;
+        this.whiteCount = position.whiteCount;
+        this.redKingCount = position.redKingCount;
+        this.whiteKingCount = position.whiteKingCount;
+        // the mobility and key only mean anything the right way round, so a rotated copy keeps neither
+        this.redMobility = flipped ? 0 : position.redMobility;
+        this.whiteMobility = flipped ? 0 : position.whiteMobility;
+        this.key = flipped ? 0L : position.key;
+    }
+
+    /**
+     * Replace the whole position.
+     *
+     * @param red the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     */
+    public void setPieces(int red, int white, int kings) {
+        this.flipped = false;
+        this.red = red;
+        this.white = white;
+        this.kings = kings;
+        recount();
+    }
+
+    /**
+     * Check if this position is rotated to be seen from white's side, and so is only fit for display.
+     *
+     * @return whether or not this position is flipped
+     */
+    public boolean isFlipped() {
+        return flipped;
+    }
+
+    /**
+     * Make sure this position is not rotated before it is asked about moves or changed.
+     *
+     * @throws IllegalStateException if this position is flipped
+     */
+    private void requireUnflipped() {
+        if(flipped) {
+            throw new IllegalStateException("A flipped position is only for display.");
+        }
+    }
+
+    /**
+     * Count the pieces, kings and simple moves of each color from scratch.
+     */
+    private void recount() {
+        this.redCount = Integer.bitCount(red);
+        this.whiteCount = Integer.bitCount(white);
+        this.redKingCount = Integer.bitCount(red & kings);
+        this.whiteKingCount = Integer.bitCount(white & kings);
+        this.redMobility = mobility(red, getEmpty(), kings, Piece.Color.RED);
+        this.whiteMobility = mobility(white, getEmpty(), kings, Piece.Color.WHITE);
+
+        long hash = turn == Piece.Color.WHITE ? WHITE_TO_MOVE_KEY : 0L;
+        for(int pieces = red | white; pieces != 0; pieces &= pieces - 1) {
+            hash ^= pieceKey(Integer.numberOfTrailingZeros(pieces));
+        }
+        this.key = hash;
+    }
+
+    /**
+     * Scramble the bits of a seed into a random looking key.
+     *
+     * @param seed the seed
+     * @return the key
+     */
+    private static long mix(long seed) {
+        long z = seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Return the hash key of the piece on a square.
+     *
+     * @param square the square index
+     * @return the key of the piece on the square, or 0 if the square is empty
+     */
+    private long pieceKey(int square) {
+        int bit = 1 << square;
+        if(((red | white) & bit) == 0) {
+            return 0L;
+        }
+        int kind = ((white & bit) != 0 ? 2 : 0) + ((kings & bit) != 0 ? 1 : 0);
+        return PIECE_KEYS[kind * NUM_SQUARES + square];
+    }
+
+    /**
+     * Return the square index of the row and cell passed in.
+     *
+     * @param row the row of the square
+     * @param cell the cell of the square
+     * @return the square index, or -1 if the row and cell are off the board or on a light square
+     */
+    public static int square(int row, int cell) {
+        if(row < 0 || row >= BoardView.NUM_ROWS || cell < 0 || cell >= BoardView.NUM_COLS || ((row + cell) & 1) == 0) {
+            return -1;
+        }
+        return row * SQUARES_PER_ROW + (cell >> 1);
+    }
+
+    /**
+     * Return the row a square is in.
+     *
+     * @param square the square index
+     * @return the row of the square
+     */
+    public static int row(int square) {
+        return square / SQUARES_PER_ROW;
+    }
+
+    /**
+     * Return the cell a square is in.
+     *
+     * @param square the square index
+     * @return the cell of the square
+     */
+    public static int cell(int square) {
+        return ((square % SQUARES_PER_ROW) << 1) + (1 - (row(square) & 1));
+    }
+
+    /**
+     * Return the square next to a square in the direction passed in. This is also the square jumped over
+     * by a jump in that direction.
+     *
+     * @param square the square index
+     * @param direction one of UP_LEFT, UP_RIGHT, DOWN_LEFT or DOWN_RIGHT
+     * @return the adjacent square, or -1 if it is off the board
+     */
+    public static int neighbor(int square, int direction) {
+        return NEIGHBOR[square * NUM_DIRECTIONS + direction];
+    }
+
+    /**
+     * Return the square a jump from a square in the direction passed in lands on.
+     *
+     * @param square the square index
+     * @param direction one of UP_LEFT, UP_RIGHT, DOWN_LEFT or DOWN_RIGHT
+     * @return the landing square, or -1 if it is off the board
+     */
+    public static int jumpLanding(int square, int direction) {
+        return JUMP_LANDING[square * NUM_DIRECTIONS + direction];
+    }
+
+    /**
+     * Return the square jumped over by a jump between two squares.
+     *
+     * @param from the square the jump starts on
+     * @param to the square the jump lands on
+     * @return the square in between
+     */
+    public static int between(int from, int to) {
+        return square((row(from) + row(to)) >> 1, (cell(from) + cell(to)) >> 1);
+    }
+
+    /**
+     * Shift every square in the mask one step up and to the left.
+     *
+     * @param mask the squares to shift
+     * @return the squares reached
+     */
+    static int upLeft(int mask) {
+        return ((mask & EVEN_ROWS) >>> 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) >>> 5);
+    }
+
+    /**
+     * Shift every square in the mask one step up and to the right.
+     *
+     * @param mask the squares to shift
+     * @return the squares reached
+     */
+    static int upRight(int mask) {
+        return ((mask & EVEN_ROWS & ~RIGHT_EDGE) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+    }
+
+    /**
+     * Shift every square in the mask one step down and to the left.
+     *
+     * @param mask the squares to shift
+     * @return the squares reached
+     */
+    static int downLeft(int mask) {
+        return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS & ~LEFT_EDGE) << 3);
+    }
+
+    /**
+     * Shift every square in the mask one step down and to the right.
+     *
+     * @param mask the squares to shift
+     * @return the squares reached
+     */
+    static int downRight(int mask) {
+        return ((mask & EVEN_ROWS & ~RIGHT_EDGE) << 5) | ((mask & ODD_ROWS) << 4);
+    }
+
+    /**
+     * Check if any of the pieces passed in can make a simple move. Red singles move towards row 0 and
+     * white singles move towards row 7.
+     *
+     * @param own the squares holding the pieces to check
+     * @param empty the empty squares
+     * @param kings the squares holding kings
+     * @param color the color of the pieces
+     * @return whether or not at least one of the pieces can move
+     */
+    static boolean canMove(int own, int empty, int kings, Piece.Color color) {
+        int up = color == Piece.Color.RED ? own : own & kings;
+        int down = color == Piece.Color.RED ? own & kings : own;
+        return ((upLeft(up) | upRight(up)) & empty) != 0
+                || ((downLeft(down) | downRight(down)) & empty) != 0;
+    }
+
+    /**
+     * Count the simple moves the pieces passed in can make.
+     *
+     * @param own the squares holding the pieces to count the moves of
+     * @param empty the empty squares
+     * @param kings the squares holding kings
+     * @param color the color of the pieces
+     * @return the number of simple moves
+     */
+    static int mobility(int own, int empty, int kings, Piece.Color color) {
+        int up = color == Piece.Color.RED ? own : own & kings;
+        int down = color == Piece.Color.RED ? own & kings : own;
+        return Integer.bitCount(upLeft(up) & empty) + Integer.bitCount(upRight(up) & empty)
+                + Integer.bitCount(downLeft(down) & empty) + Integer.bitCount(downRight(down) & empty);
+    }
+
+    /**
+     * Check if any of the pieces passed in can jump. Red singles jump towards row 0 and
+     * white singles jump towards row 7.
+     *
+     * @param own the squares holding the pieces to check
+     * @param opponent the squares holding the opponent's pieces
+     * @param empty the empty squares
+     * @param kings the squares holding kings
+     * @param color the color of the pieces
+     * @return whether or not at least one of the pieces can jump
+     */
+    static boolean canJump(int own, int opponent, int empty, int kings, Piece.Color color) {
+        int up = color == Piece.Color.RED ? own : own & kings;
+        int down = color == Piece.Color.RED ? own & kings : own;
+        return ((upLeft(upLeft(up) & opponent) | upRight(upRight(up) & opponent)) & empty) != 0
+                || ((downLeft(downLeft(down) & opponent) | downRight(downRight(down) & opponent)) & empty) != 0;
+    }
+
+    /**
+     * Return the squares holding pieces of the color passed in.
+     *
+     * @param color the color of the pieces
+     * @return the squares holding pieces of that color
+     */
+    public int getPieces(Piece.Color color) {
+        return color == Piece.Color.RED ? red : white;
+    }
+
+    /**
+     * Return the squares holding red pieces.
+     *
+     * @return the squares holding red pieces
+     */
+    public int getRed() {
+        return red;
+    }
+
+    /**
+     * Return the squares holding white pieces.
+     *
+     * @return the squares holding white pieces
+     */
+    public int getWhite() {
+        return white;
+    }
+
+    /**
+     * Return the squares holding kings of either color.
+     *
+     * @return the squares holding kings
+     */
+    public int getKings() {
+        return kings;
+    }
+
+    /**
+     * Return the squares that do not hold a piece.
+     *
+     * @return the empty squares
+     */
+    public int getEmpty() {
+        return ~(red | white);
+    }
+
+    /**
+     * Return the number of pieces a color has left.
+     *
+     * @param color the color of the pieces
+     * @return the number of pieces, kings included
+     */
+    public int getPieceCount(Piece.Color color) {
+        return color == Piece.Color.RED ? redCount : whiteCount;
+    }
+
+    /**
+     * Return the number of kings a color has.
+     *
+     * @param color the color of the kings
+     * @return the number of kings
+     */
+    public int getKingCount(Piece.Color color) {
+        return color == Piece.Color.RED ? redKingCount : whiteKingCount;
+    }
+
+    /**
+     * Return the number of simple moves a color could make, ignoring the forced jump rule.
+     *
+     * @param color the color of the pieces
+     * @return the number of simple moves
+     */
+    public int getMobility(Piece.Color color) {
+        requireUnflipped();
+        return color == Piece.Color.RED ? redMobility : whiteMobility;
+    }
+
+    /**
+     * Return the color to move in this position.
+     *
+     * @return the color to move
+     */
+    public Piece.Color getTurn() {
+        return turn;
+    }
+
+    /**
+     * Set the color to move in this position.
+     *
+     * @param turn the color to move
+     */
+    public void setTurn(Piece.Color turn) {
+        requireUnflipped();
+        if(this.turn != turn) {
+            key ^= WHITE_TO_MOVE_KEY;
+            this.turn = turn;
+        }
+    }
+
+    /**
+     * Return the Zobrist hash of this position. Equal positions with the same color to move always have
+     * the same key, and the key is kept up to date with a few XORs as pieces move.
+     *
+     * @return the 64 bit hash of the position
+     */
+    public long getKey() {
+        requireUnflipped();
+        return key;
+    }
+
+    /**
+     * Check if a square holds a piece.
+     *
+     * @param square the square index
+     * @return whether or not the square holds a piece
+     */
+    public boolean isOccupied(int square) {
+        return ((red | white) & (1 << square)) != 0;
+    }
+
+    /**
+     * Check if a square holds a piece of the color passed in.
+     *
+     * @param square the square index
+     * @param color the color to check for
+     * @return whether or not the square holds a piece of that color
+     */
+    public boolean isColor(int square, Piece.Color color) {
+        return (getPieces(color) & (1 << square)) != 0;
+    }
+
+    /**
+     * Check if a square holds a king.
+     *
+     * @param square the square index
+     * @return whether or not the square holds a king
+     */
+    public boolean isKing(int square) {
+        return (kings & (1 << square)) != 0;
+    }
+
+    /**
+     * Return the color of the piece on a square.
+     *
+     * @param square the square index
+     * @return the color of the piece, or null if the square is empty
+     */
+    public Piece.Color getColor(int square) {
+        int bit = 1 << square;
+        if((red & bit) != 0) {
+            return Piece.Color.RED;
+        } else if((white & bit) != 0) {
+            return Piece.Color.WHITE;
+        }
+        return null;
+    }
+
+    /**
+     * Return the piece on a square.
+     *
+     * @param square the square index
+     * @return the piece on the square, or null if the square is empty
+     */
+    public Piece getPiece(int square) {
+        Piece.Color color = getColor(square);
+        if(color == null) {
+            return null;
+        } else if(isKing(square)) {
+            return King.of(color);
+        }
+        return Single.of(color);
+    }
+
+    /**
+     * Place a piece on a square, replacing whatever was there.
+     *
+     * @param square the square index
+     * @param piece the piece to place, or null to empty the square
+     */
+    public void setPiece(int square, Piece piece) {
+        requireUnflipped();
+        int bit = 1 << square;
+        red &= ~bit;
+        white &= ~bit;
+        kings &= ~bit;
+        if(piece != null) {
+            if(piece.getColor() == Piece.Color.RED) {
+                red |= bit;
+            } else {
+                white |= bit;
+            }
+            if(piece.getType() == Piece.Type.KING) {
+                kings |= bit;
+            }
+        }
+        recount();
+    }
+
+    /**
+     * Move the piece on one square to another, removing the piece on the jumped square if there is one.
+     *
+     * @param from the square the piece starts on
+     * @param to the square the piece ends on
+     * @param jumped the square jumped over, or -1 if the move is not a jump
+     */
+    public void move(int from, int to, int jumped) {
+        requireUnflipped();
+        // only pieces next to a square that changed can gain or lose moves
+        int region = NEIGHBORHOOD[from] | NEIGHBORHOOD[to];
+        if(jumped >= 0) {
+            region |= NEIGHBORHOOD[jumped];
+        }
+        int redBefore = mobility(red & region, getEmpty(), kings, Piece.Color.RED);
+        int whiteBefore = mobility(white & region, getEmpty(), kings, Piece.Color.WHITE);
+
+        key ^= pieceKey(from);
+        if(jumped >= 0) {
+            key ^= pieceKey(jumped);
+        }
+
+        int fromBit = 1 << from;
+        int toBit = 1 << to;
+        if((red & fromBit) != 0) {
+            red ^= fromBit | toBit;
+        } else {
+            white ^= fromBit | toBit;
+        }
+        if((kings & fromBit) != 0) {
+            kings ^= fromBit | toBit;
+        }
+        if(jumped >= 0) {
+            int jumpedBit = 1 << jumped;
+            boolean king = (kings & jumpedBit) != 0;
+            if((red & jumpedBit) != 0) {
+                redCount--;
+                redKingCount -= king ? 1 : 0;
+            } else if((white & jumpedBit) != 0) {
+                whiteCount--;
+                whiteKingCount -= king ? 1 : 0;
+            }
+            red &= ~jumpedBit;
+            white &= ~jumpedBit;
+            kings &= ~jumpedBit;
+        }
+
+        key ^= pieceKey(to);
+
+        redMobility += mobility(red & region, getEmpty(), kings, Piece.Color.RED) - redBefore;
+        whiteMobility += mobility(white & region, getEmpty(), kings, Piece.Color.WHITE) - whiteBefore;
+    }
+
+    /**
+     * Make a move in place and return a record that {@link #unmake(int)} can use to take it back.
+     *
+     * @param from the square the piece starts on
+     * @param to the square the piece ends on
+     * @param jumped the square jumped over, or -1 if the move is not a jump
+     * @return the undo record for the move
+     */
+    public int make(int from, int to, int jumped) {
+        int undo = from | (to << UNDO_TO_SHIFT);
+        if(jumped >= 0) {
+            undo |= (jumped << UNDO_JUMPED_SHIFT) | UNDO_CAPTURE;
+            if(isKing(jumped)) {
+                undo |= UNDO_CAPTURED_KING;
+            }
+        }
+        move(from, to, jumped);
+        return undo;
+    }
+
+    /**
+     * Take back a move made with {@link #make(int, int, int)}, restoring any captured piece.
+     *
+     * @param undo the undo record returned when the move was made
+     */
+    public void unmake(int undo) {
+        requireUnflipped();
+        int jumped = (undo >>> UNDO_JUMPED_SHIFT) & UNDO_SQUARE_MASK;
+        int region = NEIGHBORHOOD[getFrom(undo)] | NEIGHBORHOOD[getTo(undo)];
+        if((undo & UNDO_CAPTURE) != 0) {
+            region |= NEIGHBORHOOD[jumped];
+        }
+        int redBefore = mobility(red & region, getEmpty(), kings, Piece.Color.RED);
+        int whiteBefore = mobility(white & region, getEmpty(), kings, Piece.Color.WHITE);
+
+        key ^= pieceKey(getTo(undo));
+
+        int fromBit = 1 << getFrom(undo);
+        int toBit = 1 << getTo(undo);
+        boolean redMoved = (red & toBit) != 0;
+        if(redMoved) {
+            red ^= fromBit | toBit;
+        } else {
+            white ^= fromBit | toBit;
+        }
+        if((kings & toBit) != 0) {
+            kings ^= fromBit | toBit;
+        }
+        if((undo & UNDO_CAPTURE) != 0) {
+            int jumpedBit = 1 << jumped;
+            boolean king = (undo & UNDO_CAPTURED_KING) != 0;
+            if(redMoved) {
+                white |= jumpedBit;
+                whiteCount++;
+                whiteKingCount += king ? 1 : 0;
+            } else {
+                red |= jumpedBit;
+                redCount++;
+                redKingCount += king ? 1 : 0;
+            }
+            if(king) {
+                kings |= jumpedBit;
+            }
+            key ^= pieceKey(jumped);
+        }
+
+        key ^= pieceKey(getFrom(undo));
+
+        redMobility += mobility(red & region, getEmpty(), kings, Piece.Color.RED) - redBefore;
+        whiteMobility += mobility(white & region, getEmpty(), kings, Piece.Color.WHITE) - whiteBefore;
+    }
+
+    /**
+     * Return the square a move started on.
+     *
+     * @param undo the undo record of the move
+     * @return the square the piece started on
+     */
+    public static int getFrom(int undo) {
+        return undo & UNDO_SQUARE_MASK;
+    }
+
+    /**
+     * Return the square a move ended on.
+     *
+     * @param undo the undo record of the move
+     * @return the square the piece ended on
+     */
+    public static int getTo(int undo) {
+        return (undo >>> UNDO_TO_SHIFT) & UNDO_SQUARE_MASK;
+    }
+
+    /**
+     * Turn the piece on a square into a king.
+     *
+     * @param square the square index
+     */
+    public void crown(int square) {
+        requireUnflipped();
+        int bit = 1 << square;
+        if((kings & bit) != 0) {
+            return;
+        }
+        if((red & bit) != 0) {
+            redKingCount++;
+            redMobility += mobility(bit, getEmpty(), bit, Piece.Color.RED) - mobility(bit, getEmpty(), 0, Piece.Color.RED);
+        } else if((white & bit) != 0) {
+            whiteKingCount++;
+            whiteMobility += mobility(bit, getEmpty(), bit, Piece.Color.WHITE) - mobility(bit, getEmpty(), 0, Piece.Color.WHITE);
+        }
+        key ^= pieceKey(square);
+        kings |= (red | white) & bit;
+        key ^= pieceKey(square);
+    }
+
+    /**
+     * Turn the king on a square back into a single, taking back a call to {@link #crown(int)}.
+     *
+     * @param square the square index
+     */
+    public void uncrown(int square) {
+        requireUnflipped();
+        int bit = 1 << square;
+        if((kings & bit) == 0) {
+            return;
+        }
+        if((red & bit) != 0) {
+            redKingCount--;
+            redMobility += mobility(bit, getEmpty(), 0, Piece.Color.RED) - mobility(bit, getEmpty(), bit, Piece.Color.RED);
+        } else {
+            whiteKingCount--;
+            whiteMobility += mobility(bit, getEmpty(), 0, Piece.Color.WHITE) - mobility(bit, getEmpty(), bit, Piece.Color.WHITE);
+        }
+        key ^= pieceKey(square);
+        kings &= ~bit;
+        key ^= pieceKey(square);
+    }
+
+    /**
+     * Check if the player with the color passed in can make a simple move.
+     *
+     * @param color the player's color
+     * @return whether or not they have a simple move
+     */
+    public boolean canMove(Piece.Color color) {
+        return getMobility(color) > 0;
+    }
+
+    /**
+     * Check if the player with the color passed in can jump.
+     *
+     * @param color the player's color
+     * @return whether or not they have a jump
+     */
+    public boolean canJump(Piece.Color color) {
+        requireUnflipped();
+        int opponent = color == Piece.Color.RED ? white : red;
+        return canJump(getPieces(color), opponent, getEmpty(), kings, color);
+    }
+
+    /**
+     * Check if the piece on a square can jump.
+     *
+     * @param square the square index
+     * @return whether or not the piece on that square can jump
+     */
+    public boolean canJumpFrom(int square) {
+        requireUnflipped();
+        Piece.Color color = getColor(square);
+        if(color == null) {
+            return false;
+        }
+        int opponent = color == Piece.Color.RED ? white : red;
+        return canJump(1 << square, opponent, getEmpty(), kings, color);
+    }
+}
@@ -8,12 +8,19 @@ import java.util.*;
 /**
  * A class to represent the game board.
  *
+ * <p>
+ * The position itself is held in a {@link BitBoard}. The grid of {@link Space}s returned by
+ * {@link #getBoard()} and walked by {@link #iterator()} is a view of that position that is only
+ * built when it is asked for.
+ * </p>
+ *
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public class BoardView implements Iterable<Row>{
     //Values used in generating the game board
     private Player red;
     private Player white;
+    private BitBoard position;
     private Space[][] board;
     private MoveType lastMoveType = MoveType.NONE;
     private boolean checkedJumps = false;
@@ -29,6 +36,13 @@ public class BoardView implements Iterable<Row>{
         JUMP
     }
 
+    //The layout of the turn state saved in the undo records returned by make()
+    private static final int UNDO_MOVE_TYPE_SHIFT = 18;
+    private static final int UNDO_MOVE_TYPE_MASK = 0x3;
+    private static final int UNDO_CHECKED_JUMPS = 1 << 20;
+    private static final int UNDO_PLAYER_HAS_JUMP = 1 << 21;
+    private static final int UNDO_GAME_OVER = 1 << 22;
+
     //The number of rows in the checkerboard
     public static final int NUM_ROWS = 8;
     //The number of cols in the checkerboard
@@ -67,7 +81,7 @@ public class BoardView implements Iterable<Row>{
     public BoardView(Player red, Player white){
         this.red = red;
         this.white = white;
-        this.board = new Space[NUM_ROWS][NUM_COLS];
+        this.position = new BitBoard();
         initBoard();
         if(Application.isInDemoMode()) {
             setupDemoBoard();
@@ -78,97 +92,113 @@ public class BoardView implements Iterable<Row>{
      * Called if the application is in demo mode to set up special boards use to demonstrate specific functionality.
      */
     private void setupDemoBoard() {
-        if(red.getName().equals("jump") || white.getName().equals("jump")) {
-            for (int i = 1; i < 7; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
-            }
-            board[5][2].setPiece(new Single(Piece.Color.RED));
-            board[4][1].setPiece(new Single(Piece.Color.RED));
-            board[5][6].setPiece(new Single(Piece.Color.RED));
-            board[4][5].setPiece(new Single(Piece.Color.WHITE));
-        } else if(red.getName().equals("mjump") || white.getName().equals("mjump")) {
-            for (int i = 0; i < 8; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
-            }
-            board[6][1].setPiece(new Single(Piece.Color.RED));
-            board[5][4].setPiece(new Single(Piece.Color.RED));
-            board[4][5].setPiece(new Single(Piece.Color.WHITE));
-            board[3][4].setPiece(new Single(Piece.Color.WHITE));
-            board[5][2].setPiece(new Single(Piece.Color.WHITE));
-            board[5][2].setPiece(new Single(Piece.Color.WHITE));
-            board[3][2].setPiece(new Single(Piece.Color.WHITE));
-            board[2][5].setPiece(null);
-            board[2][1].setPiece(null);
-        } else if(red.getName().equals("king") || white.getName().equals("king")) {
-            for (int i = 0; i < 3; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
-            }
-            board[0][1].setPiece(new Single(Piece.Color.WHITE));
-            board[1][4].setPiece(new Single(Piece.Color.RED));
-        } else if(red.getName().equals("mking") || white.getName().equals("mking")) {
-            for (int i = 1; i < 7; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
-            }
-            board[4][3].setPiece(new King(Piece.Color.RED));
-        } else if(red.getName().equals("jking") || white.getName().equals("jking")) {
-            for (int i = 0; i < 8; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
-            }
-            board[4][3].setPiece(new King(Piece.Color.RED));
-            board[3][4].setPiece(new Single(Piece.Color.WHITE));
-            board[1][6].setPiece(new Single(Piece.Color.WHITE));
-            board[5][4].setPiece(new Single(Piece.Color.WHITE));
-            board[5][6].setPiece(new Single(Piece.Color.WHITE));
-            board[3][6].setPiece(new Single(Piece.Color.WHITE));
-        } else if(red.getName().equals("win") || white.getName().equals("win")) {
-            for (int i = 0; i < 8; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
-            }
-            board[4][1].setPiece(new Single(Piece.Color.WHITE));
-            board[5][0].setPiece(new Single(Piece.Color.RED));
-        } else if(red.getName().equals("nomoves") || white.getName().equals("nomoves")) {
-            for (int i = 0; i < 8; i++) {
-                for (int j = 0; j < 8; j++) {
-                    board[i][j].setPiece(null);
-                }
+        setupDemoBoard(position, red.getName(), white.getName());
+    }
+
+    /**
+     * Create the position of a demo board, starting from the initial position. Used by tools that test the rules
+     * on the same boards the demo uses.
+     *
+     * @param name the name of the demo board, like jump or nomoves
+     * @return the position, which is the initial position if there is no demo board with that name
+     */
+    static BitBoard demoPosition(String name) {
+        BitBoard position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        setupDemoBoard(position, name, name);
+        return position;
+    }
+
+    /**
+     * Set up the demo board picked by the names of the players.
+     *
+     * @param position the position to set up
+     * @param redName the name of the red player
+     * @param whiteName the name of the white player
+     */
+    private static void setupDemoBoard(BitBoard position, String redName, String whiteName) {
+        if(redName.equals("jump") || whiteName.equals("jump")) {
+            clearRows(position, 1, 7);
+            placePiece(position, 5, 2, Single.of(Piece.Color.RED));
+            placePiece(position, 4, 1, Single.of(Piece.Color.RED));
+            placePiece(position, 5, 6, Single.of(Piece.Color.RED));
+            placePiece(position, 4, 5, Single.of(Piece.Color.WHITE));
+        } else if(redName.equals("mjump") || whiteName.equals("mjump")) {
+            clearRows(position, 0, 8);
+            placePiece(position, 6, 1, Single.of(Piece.Color.RED));
+            placePiece(position, 5, 4, Single.of(Piece.Color.RED));
+            placePiece(position, 4, 5, Single.of(Piece.Color.WHITE));
+            placePiece(position, 3, 4, Single.of(Piece.Color.WHITE));
+            placePiece(position, 5, 2, Single.of(Piece.Color.WHITE));
+            placePiece(position, 3, 2, Single.of(Piece.Color.WHITE));
+        } else if(redName.equals("king") || whiteName.equals("king")) {
+            clearRows(position, 0, 3);
+            placePiece(position, 0, 1, Single.of(Piece.Color.WHITE));
+            placePiece(position, 1, 4, Single.of(Piece.Color.RED));
+        } else if(redName.equals("mking") || whiteName.equals("mking")) {
+            clearRows(position, 1, 7);
+            placePiece(position, 4, 3, King.of(Piece.Color.RED));
+        } else if(redName.equals("jking") || whiteName.equals("jking")) {
+            clearRows(position, 0, 8);
+            placePiece(position, 4, 3, King.of(Piece.Color.RED));
+            placePiece(position, 3, 4, Single.of(Piece.Color.WHITE));
+            placePiece(position, 1, 6, Single.of(Piece.Color.WHITE));
+            placePiece(position, 5, 4, Single.of(Piece.Color.WHITE));
+            placePiece(position, 5, 6, Single.of(Piece.Color.WHITE));
+            placePiece(position, 3, 6, Single.of(Piece.Color.WHITE));
+        } else if(redName.equals("win") || whiteName.equals("win")) {
+            clearRows(position, 0, 8);
+            placePiece(position, 4, 1, Single.of(Piece.Color.WHITE));
+            placePiece(position, 5, 0, Single.of(Piece.Color.RED));
+        } else if(redName.equals("nomoves") || whiteName.equals("nomoves")) {
+            clearRows(position, 0, 8);
+            placePiece(position, 7, 0, Single.of(Piece.Color.RED));
+            placePiece(position, 7, 6, Single.of(Piece.Color.RED));
+            placePiece(position, 6, 7, Single.of(Piece.Color.WHITE));
+        }
+    }
+
+    /**
+     * Remove every piece in a range of rows. Used when setting up demo boards.
+     *
+     * @param position the position to change
+     * @param fromRow the first row to clear
+     * @param toRow the row after the last row to clear
+     */
+    private static void clearRows(BitBoard position, int fromRow, int toRow) {
+        for(int row = fromRow; row < toRow; row++) {
+            for(int col = 0; col < NUM_COLS; col++) {
+                placePiece(position, row, col, null);
             }
-            board[7][0].setPiece(new Single(Piece.Color.RED));
-            board[7][6].setPiece(new Single(Piece.Color.RED));
-            board[6][7].setPiece(new Single(Piece.Color.WHITE));
         }
     }
 
     /**
-     * A copy constructor that can also return a flipped copy of the board.
+     * Place a piece on the square at the row and cell passed in. Light squares are ignored.
+     *
+     * @param position the position to change
+     * @param row the row of the square
+     * @param cell the cell of the square
+     * @param piece the piece to place, or null to empty the square
+     */
+    private static void placePiece(BitBoard position, int row, int cell, Piece piece) {
+        int square = BitBoard.square(row, cell);
+        if(square >= 0) {
+            position.setPiece(square, piece);
+        }
+    }
+
+    /**
+     * A copy constructor that can also return a flipped copy of the board. The game is always played on an
+     * unflipped board; flipped copies are only used to show the white player the board from their side, so their
+     * pieces can be read but asking them about moves, or changing them, throws an {@link IllegalStateException}.
      *
      * @param board the board to be copied
      * @param flip whether or not the board should be flipped
      */
     public BoardView(BoardView board, boolean flip) {
-        this.board = new Space[NUM_ROWS][NUM_COLS];
         this.red = board.red;
         this.white = board.white;
-        for(int row = 0; row < NUM_ROWS; row++) {
-            for (int col = 0; col < NUM_COLS; col++) {
-                if(flip) {
-                    this.board[row][col] = new Space(board.getRow(NUM_ROWS - row - 1)[NUM_COLS - col - 1], true);
-                } else {
-                    this.board[row][col] = new Space(board.getRow(row)[col], false);
-                }
-            }
-        }
+        this.position = new BitBoard(board.position, flip);
     }
 
     /**
@@ -178,26 +208,28 @@ public class BoardView implements Iterable<Row>{
      * @return a message about the validity of the move being checked
      */
     public Message checkMove(Move move, Piece.Color playerColor) {
+        if(position.isFlipped()) {
+            throw new IllegalStateException("A flipped board is only for display.");
+        }
         Position start = move.getStart();
         Position end = move.getEnd();
-        Space startSpace = getSpace(start);
-        Space endSpace = getSpace(end);
 
-        if(startSpace == null || endSpace == null) {
+        if(!validPosition(start) || !validPosition(end)) {
             return NULL_SPACE_MESSAGE;
         }
 
-        Piece startPiece = startSpace.getPiece();
+        int from = BitBoard.square(start.getRow(), start.getCell());
+        int to = BitBoard.square(end.getRow(), end.getCell());
 
-        if(startPiece == null) {
+        if(from < 0 || !position.isOccupied(from)) {
             return NULL_START_PIECE_MESSAGE;
         }
 
-        if(startPiece.getColor() != playerColor) {
+        if(position.getColor(from) != playerColor) {
             return OPPONENTS_PIECE_MESSAGE;
         }
 
-        if(endSpace.getPiece() != null) {
+        if(to >= 0 && position.isOccupied(to)) {
             return OCCUPIED_END_SPACE_MESSAGE;
         }
 
@@ -206,6 +238,14 @@ public class BoardView implements Iterable<Row>{
             checkedJumps = true;
         }
 
+        // red singles may only move towards row 0 and white singles towards row 7, kings may move in any direction
+        boolean forward;
+        if(playerColor == Piece.Color.RED) {
+            forward = position.isKing(from) || (start.getRow() > end.getRow());
+        } else {
+            forward = position.isKing(from) || (start.getRow() < end.getRow());
+        }
+
         if(move.isSimpleMove()) {
             if(lastMoveType == MoveType.SIMPLE) {
                 return DOUBLE_MOVE_MESSAGE;
@@ -217,7 +257,7 @@ public class BoardView implements Iterable<Row>{
                 return FORCED_JUMP_MESSAGE;
             }
 
-            if(startPiece.isMoveValid(move)) {
+            if(forward) {
                 return VALID_MOVE_MESSAGE;
             } else {
                 return ILLEGAL_MOVE_MESSAGE;
@@ -227,16 +267,14 @@ public class BoardView implements Iterable<Row>{
                 return JUMP_AFTER_MOVING_MESSAGE;
             }
 
-            Space jumpedSquare = getJumpedSquare(move);
-            if(startPiece.isJumpValid(move, jumpedSquare, endSpace)) {
+            int jumped = getJumpedSquareIndex(move);
+            boolean captured = position.isOccupied(jumped) && !position.isColor(jumped, playerColor);
+            if(forward && captured) {
                 return VALID_JUMP_MESSAGE;
-            } else {
-                Piece jumpedPiece = jumpedSquare.getPiece();
-                if(jumpedPiece == null) {
-                    return JUMP_OVER_NOTHING_MESSAGE;
-                } else if(jumpedPiece.getColor() == playerColor) {
-                    return JUMP_OVER_OWN_PIECE_MESSAGE;
-                }
+            } else if(!position.isOccupied(jumped)) {
+                return JUMP_OVER_NOTHING_MESSAGE;
+            } else if(position.isColor(jumped, playerColor)) {
+                return JUMP_OVER_OWN_PIECE_MESSAGE;
             }
         }
         return INVALID_MOVE_MESSAGE;
@@ -244,39 +282,95 @@ public class BoardView implements Iterable<Row>{
 
     /**
      * Makes a move on the board.
-     * Calculates if a piece is a king and sets it as one if true
      *
      * @param move the move made by the player
      */
     public void makeMove(Move move) {
+        make(move);
+    }
+
+    /**
+     * Makes a move on the board in place and returns a record that {@link #unmake(int)} can use to take it back.
+     *
+     * @param move the move made by the player
+     * @return the undo record for the move
+     */
+    public int make(Move move) {
         Position start = move.getStart();
         Position end = move.getEnd();
 
-        Space startSpace = getSpace(start);
-        Space endSpace = getSpace(end);
-        assert startSpace != null;
-        assert endSpace != null;
-        Piece piece = startSpace.getPiece();
-        startSpace.setPiece(null);
+        int from = BitBoard.square(start.getRow(), start.getCell());
+        int to = BitBoard.square(end.getRow(), end.getCell());
+        assert from >= 0;
+        assert to >= 0;
+
+        int undo = lastMoveType.ordinal() << UNDO_MOVE_TYPE_SHIFT;
+        if(checkedJumps) {
+            undo |= UNDO_CHECKED_JUMPS;
+        }
+        if(playerHasJump) {
+            undo |= UNDO_PLAYER_HAS_JUMP;
+        }
+        if(isGameOver) {
+            undo |= UNDO_GAME_OVER;
+        }
 
-        Piece.Color playerColor = piece.getColor();
+        Piece.Color playerColor = position.getColor(from);
         Piece.Color opponentColor;
         if(playerColor == Piece.Color.RED) {
             opponentColor = Piece.Color.WHITE;
         } else {
             opponentColor = Piece.Color.RED;
         }
-        endSpace.setPiece(piece);
 
         if(move.isJump()) {
-            getJumpedSquare(move).setPiece(null);
+            undo |= position.make(from, to, getJumpedSquareIndex(move));
             lastMoveType = MoveType.JUMP;
             isGameOver = (!piecesRemaining(opponentColor) || !movesRemaining(opponentColor));
-            playerHasJump = endSpace.getPiece().hasJump(this, end.getRow(), end.getCell());
+            playerHasJump = position.canJumpFrom(to);
         } else {
+            undo |= position.make(from, to, -1);
             isGameOver = !movesRemaining(opponentColor);
             lastMoveType = MoveType.SIMPLE;
         }
+        return undo;
+    }
+
+    /**
+     * Takes back a move made with {@link #make(Move)}, restoring the position and the state of the turn.
+     *
+     * @param undo the undo record returned when the move was made
+     */
+    public void unmake(int undo) {
+        position.unmake(undo);
+        lastMoveType = MoveType.values()[(undo >>> UNDO_MOVE_TYPE_SHIFT) & UNDO_MOVE_TYPE_MASK];
+        checkedJumps = (undo & UNDO_CHECKED_JUMPS) != 0;
+        playerHasJump = (undo & UNDO_PLAYER_HAS_JUMP) != 0;
+        isGameOver = (undo & UNDO_GAME_OVER) != 0;
+    }
+
+    /**
+     * Overwrite this board with the position of another board, flipping it if necessary, and start a new turn.
+     *
+     * @param board the board to copy the position of
+     * @param flip whether or not the position should be flipped
+     */
+    public void copyFrom(BoardView board, boolean flip) {
+        position.copyFrom(board.position, flip);
+        lastMoveType = MoveType.NONE;
+        resetJumpData();
+    }
+
+    /**
+     * Return the index of the square jumped over by a jump.
+     *
+     * @param move the jump
+     * @return the square index of the jumped square
+     */
+    private int getJumpedSquareIndex(Move move) {
+        Position start = move.getStart();
+        Position end = move.getEnd();
+        return BitBoard.square((start.getRow() + end.getRow()) / 2, (start.getCell() + end.getCell()) / 2);
     }
 
     /**
@@ -290,7 +384,18 @@ public class BoardView implements Iterable<Row>{
         Position end = move.getEnd();
         int row = (start.getRow() + end.getRow()) / 2;
         int cell = (start.getCell() + end.getCell()) / 2;
-        return board[row][cell];
+        return getBoard()[row][cell];
+    }
+
+    /**
+     * Fill a move list with every legal turn a player can take from this position.
+     *
+     * @param playerColor the color of the player to move
+     * @param list the list to fill, which is cleared first
+     * @return the number of legal turns
+     */
+    public int legalMoves(Piece.Color playerColor, MoveList list) {
+        return MoveGenerator.generate(position, playerColor, list);
     }
 
     /**
@@ -301,18 +406,7 @@ public class BoardView implements Iterable<Row>{
      * @return true if the player can make a jump move, false otherwise
      */
     public boolean playerCanJump(Piece.Color playerColor) {
-        Piece piece;
-        int rowIdx = 0;
-        for(Space[] row : board) {
-            for(Space space : row) {
-                piece = space.getPiece();
-                if((piece != null) && (piece.getColor() == playerColor) && piece.hasJump(this, rowIdx, space.getCellIdx())) {
-                    return true;
-                }
-            }
-            rowIdx++;
-        }
-        return false;
+        return position.canJump(playerColor);
     }
 
     /**
@@ -323,7 +417,7 @@ public class BoardView implements Iterable<Row>{
      */
     public Space getSpace(Position position) {
         if(validPosition(position)) {
-            return board[position.getRow()][position.getCell()];
+            return getBoard()[position.getRow()][position.getCell()];
         }
         return null;
     }
@@ -384,7 +478,7 @@ public class BoardView implements Iterable<Row>{
      * @return the Space at that position
      */
     public Space getSquare(Position position) {
-        return board[position.getRow()][position.getCell()];
+        return getBoard()[position.getRow()][position.getCell()];
     }
 
     /**
@@ -394,37 +488,45 @@ public class BoardView implements Iterable<Row>{
      * @return the row at the given index
      */
     public Space[] getRow(int rowIdx) {
-        return board[rowIdx];
+        return getBoard()[rowIdx];
     }
 
     /**
-     * Returns the current board.
+     * Returns the current board. The spaces on the board read and write through to the position.
      *
      * @return the current board
      */
     public Space[][] getBoard(){
+        if(board == null) {
+            board = new Space[NUM_ROWS][NUM_COLS];
+            for(int row = 0; row < NUM_ROWS; row++) {
+                for(int col = 0; col < NUM_COLS; col++) {
+                    int square = BitBoard.square(row, col);
+                    if(square >= 0) {
+                        board[row][col] = new Space(col, position, square);
+                    } else {
+                        board[row][col] = new Space(col, null, false);
+                    }
+                }
+            }
+        }
         return board;
     }
 
+    /**
+     * Returns the position backing this board.
+     *
+     * @return the position backing this board
+     */
+    public BitBoard getPosition() {
+        return position;
+    }
+
     /**
      * Initialize the board to a valid initial board state.
      */
     public void initBoard() {
-        for(int row = 0; row < NUM_ROWS; row++) {
-            for(int col = 0; col < NUM_COLS; col++) {
-                if((row + col) % 2 == 1) {
-                    if(row <= 2) {
-                        board[row][col] = new Space(col, new Single(Piece.Color.WHITE), true);
-                    } else if(row >= 5) {
-                        board[row][col] = new Space(col, new Single(Piece.Color.RED), true);
-                    } else {
-                        board[row][col] = new Space(col, null, true);
-                    }
-                } else {
-                    board[row][col] = new Space(col, null, false);
-                }
-            }
-        }
+        position.setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
     }
 
     /**
@@ -433,14 +535,47 @@ public class BoardView implements Iterable<Row>{
      * @return true if they have at least one piece left on the board, false otherwise
      * */
     public boolean piecesRemaining(Piece.Color playerColor){
-        for(int row = 0; row < NUM_ROWS; row++) {
-            for (int col = 0; col < NUM_COLS; col++) {
-                if (board[row][col].getPiece() != null && board[row][col].getPiece().getColor() == playerColor){
-                    return true;
-                }
-            }
-        }
-        return false;
+        return position.getPieceCount(playerColor) > 0;
+    }
+
+    /**
+     * Get the number of pieces a player has left.
+     *
+     * @param playerColor the player's color
+     * @return the number of pieces, kings included
+     */
+    public int getPieceCount(Piece.Color playerColor) {
+        return position.getPieceCount(playerColor);
+    }
+
+    /**
+     * Get the number of kings a player has.
+     *
+     * @param playerColor the player's color
+     * @return the number of kings
+     */
+    public int getKingCount(Piece.Color playerColor) {
+        return position.getKingCount(playerColor);
+    }
+
+    /**
+     * Get the number of simple moves a player's pieces could make, ignoring the forced jump rule.
+     *
+     * @param playerColor the player's color
+     * @return the number of simple moves
+     */
+    public int getMobility(Piece.Color playerColor) {
+        return position.getMobility(playerColor);
+    }
+
+    /**
+     * Get the Zobrist hash of the position on this board, including the color to move. It is updated
+     * incrementally as moves are made, so reading it costs nothing.
+     *
+     * @return the 64 bit hash of the position
+     */
+    public long positionKey() {
+        return position.getKey();
     }
 
     /**
@@ -449,18 +584,8 @@ public class BoardView implements Iterable<Row>{
      * @return true if they have at least one possible move
      * */
     public boolean movesRemaining(Piece.Color playerColor) {
-        BoardView currentBoard = new BoardView(this, playerColor == Piece.Color.WHITE);
-        for(int row = 0; row < NUM_ROWS; row++) {
-            for (int col = 0; col < NUM_COLS; col++) {
-                Piece piece = currentBoard.getBoard()[row][col].getPiece();
-                if (piece != null && piece.getColor() == playerColor) {
-                    if(piece.hasMove(currentBoard, row, col) || piece.hasJump(currentBoard, row, col)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        // the mobility count is kept up to date as pieces move, so the jump scan only runs when no simple move is left
+        return position.getMobility(playerColor) > 0 || position.canJump(playerColor);
     }
 
     /**
@@ -479,9 +604,10 @@ public class BoardView implements Iterable<Row>{
      */
     @Override
     public Iterator<Row> iterator(){
+        Space[][] spaces = getBoard();
         Collection<Row> lst = new LinkedList<>();
         for(int row = 0; row < NUM_ROWS; row++) {
-            lst.add(new Row(row, Arrays.asList(board[row])));
+            lst.add(new Row(row, Arrays.asList(spaces[row])));
         }
         return lst.iterator();
     }
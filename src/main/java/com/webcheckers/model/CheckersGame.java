@@ -4,7 +4,7 @@ import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.util.Message;
 
 import java.util.LinkedList;
-import java.util.Objects;
+import java.util.List;
 
 /**
  * A class to represent a game of web checkers.
@@ -17,14 +17,30 @@ public class CheckersGame {
     private Player white;
     private Mode mode;
     private BoardView board;
-    private int gameID;
-    private Piece.Color currentColor;
-    private LinkedList<Move> turnMoves;
-    private boolean isGameOver;
-    private boolean newTurn = false;
+    private BoardView turnBoard;
+    private final long gameID;
+    private volatile Piece.Color currentColor;
+    private int[] turnUndo;
+    private int[] turnNodes;
+    private int turnLength;
+    private TurnTrie legalTurns;
+    private boolean legalTurnsReady;
+    private MoveList history;
+    private RecentTurns recentTurns;
+    private volatile boolean isGameOver;
+    private volatile long turnSequence;
     private EndReason endReason;
     private Piece.Color endingColor;
 
+    //The ID of a game that was not given one, like a game made outside the game center
+    public static final long NO_ID = 0;
+
+    //The most moves a turn can contain, since every move after the first must capture one of twelve pieces
+    static final int MAX_TURN_MOVES = 12;
+
+    //The number of recent turns kept for viewers catching up without reloading the board
+    public static final int RECENT_TURNS = RecentTurns.DEFAULT_CAPACITY;
+
     // Messages to alert to a properly submitted and backed up move
     static final Message MOVE_BACKED_UP_MESSAGE = Message.info("Move backed up!");
     static final Message TURN_SUBMITTED_MESSAGE = Message.info("Turn submitted successfully!");
@@ -62,7 +78,7 @@ public class CheckersGame {
      * @param flip whether or not to flip the board
      * @return a copy of the board
      */
-    public BoardView getBoard(boolean flip){
+    public synchronized BoardView getBoard(boolean flip){
         return new BoardView(board, flip);
     }
 
@@ -80,7 +96,7 @@ public class CheckersGame {
      *
      * @return a message if the game is over
      */
-    public String gameOverMessage() {
+    public synchronized String gameOverMessage() {
         if(isGameOver) {
             Piece.Color losingColor;
             if(endingColor == Piece.Color.RED) {
@@ -116,23 +132,43 @@ public class CheckersGame {
     }
 
     /**
-     * Create a new game of web checkers.
+     * Create a new game of web checkers without an ID.
      *
      * @param red the player using red pieces
      * @param white the player using white pieces
      * @param mode what mode the game is in
      */
     public CheckersGame(Player red, Player white, Mode mode, BoardView board) {
+        this(NO_ID, red, white, mode, board);
+    }
+
+    /**
+     * Create a new game of web checkers.
+     *
+     * @param gameID the unique ID of the game
+     * @param red the player using red pieces
+     * @param white the player using white pieces
+     * @param mode what mode the game is in
+     */
+    public CheckersGame(long gameID, Player red, Player white, Mode mode, BoardView board) {
         this.red = red;
         red.setColor(Piece.Color.RED);
         this.white = white;
         white.setColor(Piece.Color.WHITE);
         this.mode = mode;
         this.board = board;
-        this.gameID = Objects.hash(red, white, mode);
+        this.gameID = gameID;
         this.currentColor = Piece.Color.RED;
-        this.turnMoves = new LinkedList<>();
+        this.turnBoard = new BoardView(board, false);
+        this.turnUndo = new int[MAX_TURN_MOVES];
+        this.turnNodes = new int[MAX_TURN_MOVES];
+        this.turnLength = 0;
+        this.legalTurns = new TurnTrie();
+        this.legalTurnsReady = false;
+        this.history = new MoveList();
+        this.recentTurns = new RecentTurns(RECENT_TURNS);
         this.isGameOver = false;
+        this.turnSequence = 0;
     }
 
     /**
@@ -150,10 +186,13 @@ public class CheckersGame {
      *
      * @param endReason why the game ended
      */
-    public void endGame(EndReason endReason, Piece.Color endingColor) {
+    public synchronized void endGame(EndReason endReason, Piece.Color endingColor) {
         this.endReason = endReason;
         this.endingColor = endingColor;
-        this.isGameOver = true;
+        if(!isGameOver) {
+            this.isGameOver = true;
+            turnSequence++;
+        }
     }
 
     /**
@@ -188,37 +227,50 @@ public class CheckersGame {
      *
      * @return the gameID
      */
-    public int getGameID() {
+    public long getGameID() {
         return gameID;
     }
 
     /**
-     * Test if a move is valid.
+     * Test if a move is valid. Every legal turn is worked out once, by the first move tested in a turn, so each
+     * move only has to be looked up among the turns that continue the moves made before it. Valid moves are made
+     * on the board used for the turn in progress.
      *
      * @param move the move to be tested
      * @return a message about the tested move
      */
-    public Message testMove(Move move) {
-        // flip the board if it is the white player's turn
-        BoardView copy = new BoardView(board, (currentColor == Piece.Color.WHITE));
-        for (Move turnMove : turnMoves) {
-            copy.makeMove(turnMove);
+    public synchronized Message testMove(Move move) {
+        if(turnLength == 0) {
+            // start the turn from the current position
+            turnBoard.copyFrom(board, false);
+            if(!legalTurnsReady) {
+                legalTurns.build(board.getPosition(), currentColor);
+                legalTurnsReady = true;
+            }
         }
 
-        Message message = copy.checkMove(move, currentColor);
-        if(message.getType() == Message.Type.INFO) {
-            turnMoves.addLast(move);
+        Position start = move.getStart();
+        Position end = move.getEnd();
+        int node = turnLength == 0 ? TurnTrie.ROOT : turnNodes[turnLength - 1];
+        int next = legalTurns.walk(node, BitBoard.square(start.getRow(), start.getCell()),
+                BitBoard.square(end.getRow(), end.getCell()));
+        if(next == TurnTrie.NO_NODE) {
+            // the move is not part of any legal turn, so let the board explain why
+            Message message = turnBoard.checkMove(move, currentColor);
+            return message.getType() == Message.Type.INFO ? BoardView.ILLEGAL_MOVE_MESSAGE : message;
         }
 
-        return message;
+        turnNodes[turnLength] = next;
+        turnUndo[turnLength++] = turnBoard.make(move);
+        return move.isJump() ? BoardView.VALID_JUMP_MESSAGE : BoardView.VALID_MOVE_MESSAGE;
     }
 
     /**
      * Clear the list of turn moves.
      */
-    public void clearTurnMoves() {
-        this.turnMoves.clear();
-        this.board.setLastMoveType(BoardView.MoveType.NONE);
+    public synchronized void clearTurnMoves() {
+        this.turnLength = 0;
+        this.turnBoard.setLastMoveType(BoardView.MoveType.NONE);
     }
 
     /**
@@ -227,74 +279,55 @@ public class CheckersGame {
      * @return a list of the move made this turn
      */
     protected LinkedList<Move> getTurnMoves() {
+        LinkedList<Move> turnMoves = new LinkedList<>();
+        for(int i = 0; i < turnLength; i++) {
+            int from = BitBoard.getFrom(turnUndo[i]);
+            int to = BitBoard.getTo(turnUndo[i]);
+            turnMoves.addLast(Move.of(Position.of(BitBoard.row(from), BitBoard.cell(from)),
+                    Position.of(BitBoard.row(to), BitBoard.cell(to))));
+        }
         return turnMoves;
     }
 
     /**
-     * Tracks the latest move made and backs it up
+     * Takes back the latest move made this turn.
      *
      * @return a message determining if a move was not made or was backed up
      */
-    public Message backupMove() {
-        if(turnMoves.size() == 0) {
+    public synchronized Message backupMove() {
+        if(turnLength == 0) {
             return NO_MOVES_MADE_MESSAGE;
         }
-        board.resetJumpData();
-        turnMoves.removeLast();
-        if(turnMoves.size() == 0) {
-            board.setLastMoveType(BoardView.MoveType.NONE);
-        } else if(turnMoves.getLast().isSimpleMove()) {
-            board.setLastMoveType(BoardView.MoveType.SIMPLE);
-        } else {
-            board.setLastMoveType(BoardView.MoveType.JUMP);
-        }
+        turnBoard.unmake(turnUndo[--turnLength]);
         return MOVE_BACKED_UP_MESSAGE;
     }
 
     /**
-     * Submits a move made by a player to be displayed on the board. Move will not
-     * be submitted if it is a non-jump being made while a jump move is available
+     * Submits the moves made this turn to the board. The turn will not be submitted if the
+     * last move was a jump and the piece that jumped can still jump.
      *
      * @return TURN_SUBMITTED_MESSAGE if a move can be submitted, NO_MOVES_MADE_MESSAGE or JUMP_EXISTS_MESSAGE otherwise
      */
-    public Message submitTurn() {
-        if(turnMoves.size() == 0) {
+    public synchronized Message submitTurn() {
+        if(turnLength == 0) {
             return NO_MOVES_MADE_MESSAGE;
         }
-        BoardView copy = new BoardView(board, currentColor == Piece.Color.WHITE);
-
-        if(turnMoves.getLast().isSimpleMove() && copy.playerCanJump(currentColor)) {
+        // every move made is part of a legal turn, so the only way to be unfinished is an incomplete multi-jump
+        if(!legalTurns.isComplete(turnNodes[turnLength - 1])) {
             return JUMP_EXISTS_MESSAGE;
-        } else {
-            for (Move turnMove : turnMoves) {
-                copy.makeMove(turnMove);
-            }
-            Position endPosition = turnMoves.getLast().getEnd();
-            Space endSpace = copy.getSquare(endPosition);
-            if(endSpace.getPiece().hasJump(copy, endPosition.getRow(), endPosition.getCell()) && turnMoves.getLast().isJump()) {
-                return JUMP_EXISTS_MESSAGE;
-            }
         }
 
-        for (Move turnMove : turnMoves) {
-            if(currentColor == Piece.Color.WHITE) {
-                board.makeMove(turnMove.inverse());
-            } else {
-                board.makeMove(turnMove);
-            }
-        }
-
-        Move move = turnMoves.getLast();
-        if(currentColor == Piece.Color.WHITE) {
-            move = move.inverse();
-        }
-        Position end = move.getEnd();
-        Space endSpace = board.getSpace(end);
-        Piece piece = endSpace.getPiece();
-        boolean redKing = (currentColor == Piece.Color.RED) && (end.getRow() == 0);
-        boolean whiteKing = (currentColor == Piece.Color.WHITE) && (end.getRow() == 7);
-        if((piece.getType() == Piece.Type.SINGLE) && (redKing || whiteKing)) {
-            endSpace.setPiece(new King(piece.getColor()));
+        board.copyFrom(turnBoard, false);
+
+        int end = BitBoard.getTo(turnUndo[turnLength - 1]);
+        int endRow = BitBoard.row(end);
+        boolean redKing = (currentColor == Piece.Color.RED) && (endRow == 0);
+        boolean whiteKing = (currentColor == Piece.Color.WHITE) && (endRow == BoardView.NUM_ROWS - 1);
+        boolean promotion = (redKing || whiteKing) && !board.getPosition().isKing(end);
+        long sequence = turnSequence + 1;
+        recordTurn(sequence, end, promotion);
+        if(redKing || whiteKing) {
+            board.getPosition().crown(end);
         }
 
         Piece.Color opponentColor;
@@ -304,45 +337,117 @@ public class CheckersGame {
             opponentColor = Piece.Color.RED;
         }
 
-        isGameOver = board.isGameOver();
-        if(isGameOver) {
-            if(!board.piecesRemaining(opponentColor)) {
-                endGame(EndReason.CAPTURED, currentColor);
-            } else {
-                endGame(EndReason.NO_MOVES_LEFT, currentColor);
+        Piece.Color playedColor = currentColor;
+        currentColor = opponentColor;
+        board.getPosition().setTurn(currentColor);
+        turnLength = 0;
+        legalTurnsReady = false;
+        // bumped once the board is ready, so anyone who sees the new number also sees the board it belongs to
+        turnSequence = sequence;
+
+        // the end of the game gets the next number, after the turn that ended it
+        if(!board.piecesRemaining(opponentColor)) {
+            endGame(EndReason.CAPTURED, playedColor);
+        } else if(!board.movesRemaining(opponentColor)) {
+            endGame(EndReason.NO_MOVES_LEFT, playedColor);
+        }
+        return TURN_SUBMITTED_MESSAGE;
+    }
+
+    /**
+     * Add the turn being submitted to the history of the game and its recent turns, in the same form the move
+     * generator uses.
+     *
+     * @param sequence the turn sequence number the turn is given
+     * @param end the square the turn ends on
+     * @param promotion whether or not the piece moved is crowned at the end of the turn
+     */
+    private void recordTurn(long sequence, int end, boolean promotion) {
+        int jumps = 0;
+        int captured = 0;
+        long path = 0L;
+        for(int i = 0; i < turnLength; i++) {
+            if((turnUndo[i] & BitBoard.UNDO_CAPTURE) != 0) {
+                captured |= 1 << BitBoard.between(BitBoard.getFrom(turnUndo[i]), BitBoard.getTo(turnUndo[i]));
+                path |= (long) BitBoard.getTo(turnUndo[i]) << (jumps * MoveList.PATH_BITS);
+                jumps++;
             }
-        } else {
-            board.resetJumpData();
         }
+        int move = MoveList.encode(BitBoard.getFrom(turnUndo[0]), end, jumps, promotion);
+        history.add(move, captured, path);
+        recentTurns.add(sequence, move, captured, path);
+    }
 
-        if(currentColor == Piece.Color.RED) {
-            currentColor = Piece.Color.WHITE;
-        } else {
-            currentColor = Piece.Color.RED;
+    /**
+     * Copy every turn played so far in this game, in order.
+     *
+     * @param turns a list that is cleared and given the turns
+     */
+    public synchronized void copyHistory(MoveList turns) {
+        turns.clear();
+        for(int i = 0; i < history.size(); i++) {
+            turns.add(history, i);
         }
+    }
 
-        turnMoves.clear();
-        board.setLastMoveType(BoardView.MoveType.NONE);
-        newTurn = true;
-        return TURN_SUBMITTED_MESSAGE;
+    /**
+     * Copy the recent turns a viewer has not seen, in order.
+     *
+     * @param lastSeen the turn sequence number the viewer was last shown
+     * @param turns a list that is cleared and given the turns
+     * @param turnSequences given the turn sequence number of each turn copied, at the same index, which must have
+     *                      room for {@link #RECENT_TURNS} numbers
+     * @return false if the viewer is too far behind to catch up from the recent turns, true otherwise
+     */
+    public synchronized boolean copyTurnsSince(long lastSeen, MoveList turns, long[] turnSequences) {
+        return recentTurns.copySince(lastSeen, turns, turnSequences);
+    }
+
+    /**
+     * Play a whole turn at once, for players that are not using the game page. Nothing is changed unless every
+     * move is valid and the turn can be submitted.
+     *
+     * @param moves the moves that make up the turn, in order
+     * @return TURN_SUBMITTED_MESSAGE if the turn was played, otherwise the message explaining why it was not
+     */
+    public synchronized Message playTurn(List<Move> moves) {
+        if(isGameOver) {
+            return Message.error(GAME_OVER_MESSAGE);
+        }
+        clearTurnMoves();
+        for(Move move : moves) {
+            Message message = testMove(move);
+            if(message.getType() != Message.Type.INFO) {
+                clearTurnMoves();
+                return message;
+            }
+        }
+        Message message = submitTurn();
+        if(message != TURN_SUBMITTED_MESSAGE) {
+            clearTurnMoves();
+        }
+        return message;
     }
 
     /**
-     * Check if there is a new turn available.
+     * Get the turn sequence number of the game, which starts at 0 and goes up by one each time a turn is submitted
+     * or the game ends. A page remembers the number it was shown, and there is something new to see once the
+     * number is higher, so any number of viewers can check the same game without changing it.
      *
-     * @return whether or not a new turn available.
+     * @return the turn sequence number
      */
-    public boolean isNewTurn() {
-        return newTurn;
+    public long getTurnSequence() {
+        return turnSequence;
     }
 
     /**
-     * Set whether or not there is a new turn available.
+     * Check if the game has changed since a viewer last saw it.
      *
-     * @param newTurn the new value of this.newTurn
+     * @param lastSeen the turn sequence number the viewer was last shown
+     * @return whether or not there is a turn, or the end of the game, the viewer has not seen
      */
-    public void setNewTurn(boolean newTurn) {
-        this.newTurn = newTurn;
+    public boolean hasTurnSince(long lastSeen) {
+        return turnSequence > lastSeen;
     }
 
     /**
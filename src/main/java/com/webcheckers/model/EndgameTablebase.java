@@ -0,0 +1,428 @@
+package com.webcheckers.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The solved result of every endgame position with only a few pieces left, read from files written by
+ * {@link TablebaseGenerator}.
+ *
+ * <p>
+ * There is one table for each material configuration: the number of red singles, red kings, white singles and
+ * white kings on the board. Tables only hold positions with red to move; a position with white to move is looked
+ * up by rotating the board and swapping the colors, which turns it into the same position with red to move. Each
+ * position is given a dense index from the squares its pieces stand on, and its entry is a two byte value: win,
+ * loss or draw for the side to move, along with the number of plies until the game ends.
+ * </p>
+ *
+ * <p>
+ * The files are memory-mapped, so a probe is a little arithmetic and one read from the mapped file, and the
+ * tables take up no space on the heap however large they are.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class EndgameTablebase {
+    //The most pieces a table can hold, and the most of any one kind of piece
+    public static final int MAX_PIECES = 6;
+
+    //The values stored for a position, for the side to move
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+    public static final int LOSS = 2;
+    static final int INVALID = 3;
+    static final int RESULT_MASK = 0x3;
+    static final int DISTANCE_SHIFT = 2;
+    static final int MAX_DISTANCE = 0xFFFF >>> DISTANCE_SHIFT;
+    //The value returned when no table holds a position
+    public static final int NOT_FOUND = -1;
+
+    //The layout of a table file: a header, then one value for each position
+    static final String EXTENSION = ".tb";
+    static final int MAGIC = 0x434B5442;
+    static final int HEADER_BYTES = 16;
+    static final int MAGIC_OFFSET = 0;
+    static final int MATERIAL_OFFSET = 4;
+    static final int ROUND_OFFSET = 8;
+    static final int MAX_DISTANCE_OFFSET = 12;
+    static final int VALUE_BYTES = 2;
+
+    //The layout of a material code: three bits for each kind of piece
+    static final int KIND_BITS = 3;
+    static final int KIND_MASK = 0x7;
+    static final int NUM_KINDS = 4;
+    static final int NUM_MATERIALS = 1 << (KIND_BITS * NUM_KINDS);
+
+    //The squares a single can never stand on, since it would have been crowned there
+    static final int RED_CROWN_ROW = 0x0000000F;
+    static final int WHITE_CROWN_ROW = 0xF0000000;
+
+    //The binomial coefficients used to index positions
+    private static final long[][] CHOOSE = new long[BitBoard.NUM_SQUARES + 1][MAX_PIECES + 1];
+
+    static {
+        for(int n = 0; n <= BitBoard.NUM_SQUARES; n++) {
+            CHOOSE[n][0] = 1;
+            for(int k = 1; k <= MAX_PIECES && k <= n; k++) {
+                CHOOSE[n][k] = CHOOSE[n - 1][k - 1] + CHOOSE[n - 1][k];
+            }
+        }
+    }
+
+    //Values used to hold the table for each material configuration
+    private final ByteBuffer[] tables;
+    private int maxPieces;
+
+    /**
+     * Create a tablebase holding no tables.
+     */
+    public EndgameTablebase() {
+        this.tables = new ByteBuffer[NUM_MATERIALS];
+        this.maxPieces = 0;
+    }
+
+    /**
+     * Map every finished table in a directory.
+     *
+     * @param directory the directory the tables were generated in
+     * @return the tablebase
+     * @throws IOException if a table can not be read
+     */
+    public static EndgameTablebase open(Path directory) throws IOException {
+        EndgameTablebase tablebase = new EndgameTablebase();
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for(Path file : files) {
+                try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    if(channel.size() < HEADER_BYTES || table.getInt(MAGIC_OFFSET) != MAGIC) {
+                        throw new IOException(file + " is not an endgame table.");
+                    }
+                    tablebase.put(table.getInt(MATERIAL_OFFSET), table);
+                }
+            }
+        }
+        return tablebase;
+    }
+
+    /**
+     * Add a table to this tablebase.
+     *
+     * @param material the material code of the table
+     * @param table the table, header included
+     */
+    void put(int material, ByteBuffer table) {
+        tables[material] = table;
+        maxPieces = Math.max(maxPieces, getPieceCount(material));
+    }
+
+    /**
+     * Get the most pieces any table in this tablebase holds.
+     *
+     * @return the number of pieces, 0 if there are no tables
+     */
+    public int getMaxPieces() {
+        return maxPieces;
+    }
+
+    /**
+     * Check if this tablebase has the table for a material configuration.
+     *
+     * @param material the material code
+     * @return whether or not the table is loaded
+     */
+    boolean hasTable(int material) {
+        return tables[material] != null;
+    }
+
+    /**
+     * Look up a position.
+     *
+     * @param position the position, with the color to move set
+     * @return the value of the position for the side to move, or NOT_FOUND if no table holds it
+     */
+    public int probe(BitBoard position) {
+        if(position.getTurn() == Piece.Color.RED) {
+            return probe(position.getRed(), position.getWhite(), position.getKings());
+        }
+        return probe(Integer.reverse(position.getWhite()), Integer.reverse(position.getRed()),
+                Integer.reverse(position.getKings()));
+    }
+
+    /**
+     * Look up a position with red to move.
+     *
+     * @param red the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     * @return the value of the position for red, or NOT_FOUND if no table holds it
+     */
+    int probe(int red, int white, int kings) {
+        if(red == 0) {
+            return LOSS;
+        }
+        if(white == 0 || Integer.bitCount(red | white) > maxPieces) {
+            return NOT_FOUND;
+        }
+        int material = material(red, white, kings);
+        ByteBuffer table = tables[material];
+        if(table == null) {
+            return NOT_FOUND;
+        }
+        return get(table, index(red, white, kings));
+    }
+
+    /**
+     * Read the value at an index of a table.
+     *
+     * @param table the table
+     * @param index the index of the position
+     * @return the value
+     */
+    static int get(ByteBuffer table, long index) {
+        return table.getShort((int) (HEADER_BYTES + index * VALUE_BYTES)) & 0xFFFF;
+    }
+
+    /**
+     * Write the value at an index of a table.
+     *
+     * @param table the table
+     * @param index the index of the position
+     * @param value the value
+     */
+    static void set(ByteBuffer table, long index, int value) {
+        table.putShort((int) (HEADER_BYTES + index * VALUE_BYTES), (short) value);
+    }
+
+    /**
+     * Pack a result and a distance into a value.
+     *
+     * @param result WIN or LOSS
+     * @param distance the number of plies until the game ends
+     * @return the value
+     */
+    static int value(int result, int distance) {
+        return (Math.min(distance, MAX_DISTANCE) << DISTANCE_SHIFT) | result;
+    }
+
+    /**
+     * Get the result from a value.
+     *
+     * @param value the value
+     * @return WIN, LOSS or DRAW for the side to move
+     */
+    public static int getResult(int value) {
+        return value & RESULT_MASK;
+    }
+
+    /**
+     * Get the number of plies until the game ends, with best play, from a value.
+     *
+     * @param value the value
+     * @return the distance, 0 for a draw
+     */
+    public static int getDistance(int value) {
+        return value >>> DISTANCE_SHIFT;
+    }
+
+    /**
+     * Pack the number of each kind of piece into a material code.
+     *
+     * @param redSingles the number of red singles
+     * @param redKings the number of red kings
+     * @param whiteSingles the number of white singles
+     * @param whiteKings the number of white kings
+     * @return the material code
+     */
+    static int material(int redSingles, int redKings, int whiteSingles, int whiteKings) {
+        return redSingles | (redKings << KIND_BITS) | (whiteSingles << (2 * KIND_BITS))
+                | (whiteKings << (3 * KIND_BITS));
+    }
+
+    /**
+     * Get the material code of a position.
+     *
+     * @param red the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     * @return the material code
+     */
+    static int material(int red, int white, int kings) {
+        return material(Integer.bitCount(red & ~kings), Integer.bitCount(red & kings),
+                Integer.bitCount(white & ~kings), Integer.bitCount(white & kings));
+    }
+
+    /**
+     * Get the number of one kind of piece from a material code.
+     *
+     * @param material the material code
+     * @param kind 0 for red singles, 1 for red kings, 2 for white singles and 3 for white kings
+     * @return the number of pieces of that kind
+     */
+    static int getCount(int material, int kind) {
+        return (material >>> (kind * KIND_BITS)) & KIND_MASK;
+    }
+
+    /**
+     * Get the total number of pieces in a material code.
+     *
+     * @param material the material code
+     * @return the number of pieces
+     */
+    static int getPieceCount(int material) {
+        int count = 0;
+        for(int kind = 0; kind < NUM_KINDS; kind++) {
+            count += getCount(material, kind);
+        }
+        return count;
+    }
+
+    /**
+     * Get the material code with the colors swapped, which is the table a position's successors with the other
+     * color to move are found in.
+     *
+     * @param material the material code
+     * @return the material code with the colors swapped
+     */
+    static int swapColors(int material) {
+        return material(getCount(material, 2), getCount(material, 3), getCount(material, 0), getCount(material, 1));
+    }
+
+    /**
+     * Get the name of the file holding the table for a material configuration.
+     *
+     * @param material the material code
+     * @return the file name
+     */
+    static String fileName(int material) {
+        return String.format("r%d%dw%d%d%s", getCount(material, 0), getCount(material, 1), getCount(material, 2),
+                getCount(material, 3), EXTENSION);
+    }
+
+    /**
+     * Get the number of positions in the table for a material configuration, counting positions that can not
+     * happen in a game, like a single on the row it would have been crowned on.
+     *
+     * @param material the material code
+     * @return the number of positions
+     */
+    static long size(int material) {
+        long size = 1;
+        int free = BitBoard.NUM_SQUARES;
+        for(int kind = 0; kind < NUM_KINDS; kind++) {
+            int count = getCount(material, kind);
+            size *= CHOOSE[free][count];
+            free -= count;
+        }
+        return size;
+    }
+
+    /**
+     * Get the index of a position in the table for its material configuration. The pieces of each kind, in
+     * turn, are ranked as a combination of the squares not taken by the kinds before them.
+     *
+     * @param red the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     * @return the index
+     */
+    static long index(int red, int white, int kings) {
+        long index = 0;
+        int occupied = 0;
+        int free = BitBoard.NUM_SQUARES;
+        for(int kind = 0; kind < NUM_KINDS; kind++) {
+            int pieces = kindMask(kind, red, white, kings);
+            int count = Integer.bitCount(pieces);
+            long rank = 0;
+            int k = 1;
+            for(int rest = pieces; rest != 0; rest &= rest - 1, k++) {
+                int square = Integer.numberOfTrailingZeros(rest);
+                int freeBelow = square - Integer.bitCount(occupied & ((1 << square) - 1));
+                rank += CHOOSE[freeBelow][k];
+            }
+            index = index * CHOOSE[free][count] + rank;
+            occupied |= pieces;
+            free -= count;
+        }
+        return index;
+    }
+
+    /**
+     * Rebuild the position at an index of the table for a material configuration.
+     *
+     * @param material the material code
+     * @param index the index
+     * @param masks an array given the red, white and king masks of the position, in that order
+     */
+    static void unindex(int material, long index, int[] masks) {
+        long divisor = size(material);
+        int free = BitBoard.NUM_SQUARES;
+        int red = 0;
+        int white = 0;
+        int kings = 0;
+        int occupied = 0;
+        for(int kind = 0; kind < NUM_KINDS; kind++) {
+            int count = getCount(material, kind);
+            divisor /= CHOOSE[free][count];
+            long rank = index / divisor;
+            index %= divisor;
+            free -= count;
+
+            int pieces = 0;
+            for(int k = count; k > 0; k--) {
+                int freeBelow = k - 1;
+                while(CHOOSE[freeBelow + 1][k] <= rank) {
+                    freeBelow++;
+                }
+                rank -= CHOOSE[freeBelow][k];
+                pieces |= 1 << freeSquare(occupied, freeBelow);
+            }
+            occupied |= pieces;
+            if(kind < 2) {
+                red |= pieces;
+            } else {
+                white |= pieces;
+            }
+            if((kind & 1) == 1) {
+                kings |= pieces;
+            }
+        }
+        masks[0] = red;
+        masks[1] = white;
+        masks[2] = kings;
+    }
+
+    /**
+     * Get the pieces of one kind.
+     *
+     * @param kind 0 for red singles, 1 for red kings, 2 for white singles and 3 for white kings
+     * @param red the squares holding red pieces
+     * @param white the squares holding white pieces
+     * @param kings the squares holding kings of either color
+     * @return the squares holding pieces of that kind
+     */
+    private static int kindMask(int kind, int red, int white, int kings) {
+        int pieces = kind < 2 ? red : white;
+        return (kind & 1) == 1 ? pieces & kings : pieces & ~kings;
+    }
+
+    /**
+     * Find a square that is not occupied by its rank among the unoccupied squares.
+     *
+     * @param occupied the occupied squares
+     * @param rank the number of unoccupied squares below the one wanted
+     * @return the square
+     */
+    private static int freeSquare(int occupied, int rank) {
+        int free = ~occupied;
+        for(int i = 0; i < rank; i++) {
+            free &= free - 1;
+        }
+        return Integer.numberOfTrailingZeros(free);
+    }
+}
@@ -1,14 +1,15 @@
 package com.webcheckers.model;
 
-
-import java.util.List;
-
 /**
  * A class to represent a king piece.
  *
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public class King extends Piece {
+    //The shared red and white kings
+    private static final King RED = new King(Color.RED);
+    private static final King WHITE = new King(Color.WHITE);
+
     /**
      * Create a new king piece.
      *
@@ -18,6 +19,16 @@ public class King extends Piece {
         super(Type.KING, color);
     }
 
+    /**
+     * Get the shared king of a color.
+     *
+     * @param color the color of the piece
+     * @return the piece
+     */
+    public static King of(Color color) {
+        return color == Color.RED ? RED : WHITE;
+    }
+
     /**
      * A copy constructor to create a copy of this piece.
      *
@@ -56,22 +67,14 @@ public class King extends Piece {
     /**
      * Returns whether or not this piece has any possible valid jumps.
      *
-     * @param board the current board
-     * @param startRow the row this piece is on
-     * @param startCell the cell this piece is on
+     * @param position the current position
+     * @param square the square this piece is on
      * @return whether or not this piece can jump
      */
     @Override
-    public boolean hasJump(BoardView board, int startRow, int startCell) {
-        Move jump;
-        Position start = new Position(startRow, startCell);
-
-        List<List<Integer>> signs = List.of(List.of(2, 2), List.of(-2, -2), List.of(-2, 2), List.of(2, -2));
-        for(List<Integer> pair : signs) {
-            Position end = new Position(startRow + pair.get(0), startCell + pair.get(1));
-            jump = new Move(start, end);
-
-            if(end.isValid() && this.isJumpValid(jump, board.getJumpedSquare(jump), board.getSquare(end))) {
+    public boolean hasJump(BitBoard position, int square) {
+        for(int direction = 0; direction < BitBoard.NUM_DIRECTIONS; direction++) {
+            if(canJump(position, square, direction)) {
                 return true;
             }
         }
@@ -81,22 +84,14 @@ public class King extends Piece {
     /**
      * Returns whether or not this piece has any possible valid moves.
      *
-     * @param board     the current board
-     * @param startRow  the row this piece is on
-     * @param startCell the cell this piece is on
+     * @param position the current position
+     * @param square the square this piece is on
      * @return whether or not this piece can move
      */
     @Override
-    public boolean hasMove(BoardView board, int startRow, int startCell) {
-        Move move;
-        Position start = new Position(startRow, startCell);
-
-        List<List<Integer>> signs = List.of(List.of(1, 1), List.of(-1, -1), List.of(-1, 1), List.of(1, -1));
-        for(List<Integer> pair : signs) {
-            Position end = new Position(startRow + pair.get(0), startCell + pair.get(1));
-            move = new Move(start, end);
-
-            if(end.isValid() && this.isMoveValid(move) && (board.getSquare(end).getPiece() == null)) {
+    public boolean hasMove(BitBoard position, int square) {
+        for(int direction = 0; direction < BitBoard.NUM_DIRECTIONS; direction++) {
+            if(canStep(position, square, direction)) {
                 return true;
             }
         }
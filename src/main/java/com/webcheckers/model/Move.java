@@ -3,13 +3,40 @@ package com.webcheckers.model;
 /**
  * A class to represent Move object.
  *
+ * <p>
+ * Moves can not be changed once made, so every simple move and jump that starts and ends on the board has one
+ * shared instance, returned by {@link #of(Position, Position)}.
+ * </p>
+ *
  * @author Eric Landers esl7511@rit.edu
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public class Move{
     //The starting and ending position of a Move
-    private Position start;
-    private Position end;
+    private final Position start;
+    private final Position end;
+
+    //The shared move between each pair of squares that are one or two diagonal steps apart, indexed by square
+    private static final int NUM_POSITIONS = BoardView.NUM_ROWS * BoardView.NUM_COLS;
+    private static final Move[] MOVES = new Move[NUM_POSITIONS * NUM_POSITIONS];
+
+    static {
+        for(int row = 0; row < BoardView.NUM_ROWS; row++) {
+            for(int cell = 0; cell < BoardView.NUM_COLS; cell++) {
+                for(int distance = 1; distance <= 2; distance++) {
+                    for(int rows = -distance; rows <= distance; rows += 2 * distance) {
+                        for(int cells = -distance; cells <= distance; cells += 2 * distance) {
+                            Position start = Position.of(row, cell);
+                            Position end = Position.of(row + rows, cell + cells);
+                            if(end.isValid()) {
+                                MOVES[index(start, end)] = new Move(start, end);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
 
     /**
      * Create a new move.
@@ -22,6 +49,34 @@ public class Move{
         this.end = end;
     }
 
+    /**
+     * Get the move between two positions, which is the shared instance if it is a simple move or jump on the board.
+     *
+     * @param start the starting position of the move
+     * @param end the ending position of the move
+     * @return the move
+     */
+    public static Move of(Position start, Position end) {
+        if(start.isValid() && end.isValid()) {
+            Move move = MOVES[index(start, end)];
+            if(move != null) {
+                return move;
+            }
+        }
+        return new Move(start, end);
+    }
+
+    /**
+     * Get the index of the shared move between two positions on the board.
+     *
+     * @param start the starting position
+     * @param end the ending position
+     * @return the index in MOVES
+     */
+    private static int index(Position start, Position end) {
+        return start.hashCode() * NUM_POSITIONS + end.hashCode();
+    }
+
     /**
      * Returns the starting position of a Move
      *
@@ -64,7 +119,7 @@ public class Move{
      * @return an inverted version of a Move
      */
     public Move inverse() {
-        return new Move(start.inverse(), end.inverse());
+        return of(start.inverse(), end.inverse());
     }
 
     /**
@@ -80,4 +135,14 @@ public class Move{
         final Move o = (Move) obj;
         return this.start.equals(o.start) && this.end.equals(o.end);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get a hash code for this move that agrees with equals.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * start.hashCode() + end.hashCode();
+    }
+}
@@ -0,0 +1,138 @@
+package com.webcheckers.model;
+
+/**
+ * Generates every legal turn for one side of a position.
+ *
+ * <p>
+ * A turn is either a simple move or a complete jump sequence that continues until the piece can no
+ * longer jump. If the side to move has any jump, only jumps are generated, which is the same forced
+ * jump rule that {@link BoardView#checkMove} enforces. Pieces are crowned when the turn is submitted,
+ * so a single keeps moving as a single for the rest of its jump sequence.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class MoveGenerator {
+    /**
+     * This class only holds static methods and should not be instantiated.
+     */
+    private MoveGenerator() {
+    }
+
+    /**
+     * Fill a move list with every legal turn for a color. The list is cleared first.
+     *
+     * @param position the current position
+     * @param color the color of the player to move
+     * @param list the list to fill
+     * @return the number of turns generated
+     */
+    public static int generate(BitBoard position, Piece.Color color, MoveList list) {
+        list.clear();
+        int own = position.getPieces(color);
+        int opponent = color == Piece.Color.RED ? position.getWhite() : position.getRed();
+        int empty = position.getEmpty();
+        int kings = position.getKings();
+
+        for(int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            boolean king = (kings & (1 << from)) != 0;
+            addJumps(list, from, from, opponent, empty, king, color, 0, 0L, 0);
+        }
+        if(!list.isEmpty()) {
+            return list.size();
+        }
+
+        for(int pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            boolean king = (kings & (1 << from)) != 0;
+            int first = firstDirection(king, color);
+            int last = lastDirection(king, color);
+            for(int direction = first; direction <= last; direction++) {
+                int to = BitBoard.neighbor(from, direction);
+                if(to >= 0 && (empty & (1 << to)) != 0) {
+                    list.add(MoveList.encode(from, to, 0, promotes(to, king, color)), 0, 0L);
+                }
+            }
+        }
+        return list.size();
+    }
+
+    /**
+     * Add every jump sequence that continues from a square. A sequence is only added once the piece
+     * can no longer jump.
+     *
+     * @param list the list to fill
+     * @param from the square the sequence started on
+     * @param square the square the piece is on now
+     * @param opponent the opponent's pieces that have not been captured yet
+     * @param empty the empty squares
+     * @param king whether or not the piece is a king
+     * @param color the color of the piece
+     * @param captured the squares captured so far
+     * @param path the squares landed on so far
+     * @param jumps the number of jumps made so far
+     * @return whether or not the piece could jump from this square
+     */
+    private static boolean addJumps(MoveList list, int from, int square, int opponent, int empty, boolean king,
+                                    Piece.Color color, int captured, long path, int jumps) {
+        boolean jumped = false;
+        int first = firstDirection(king, color);
+        int last = lastDirection(king, color);
+        for(int direction = first; direction <= last; direction++) {
+            int to = BitBoard.jumpLanding(square, direction);
+            if(to < 0 || (empty & (1 << to)) == 0) {
+                continue;
+            }
+            int over = BitBoard.neighbor(square, direction);
+            if((opponent & (1 << over)) == 0) {
+                continue;
+            }
+            jumped = true;
+
+            // the jumped piece is removed right away, just like when the player makes the jump on the board
+            int nextCaptured = captured | (1 << over);
+            long nextPath = path | ((long) to << (jumps * MoveList.PATH_BITS));
+            int nextEmpty = (empty | (1 << square) | (1 << over)) & ~(1 << to);
+            if(!addJumps(list, from, to, opponent & ~(1 << over), nextEmpty, king, color, nextCaptured, nextPath, jumps + 1)) {
+                list.add(MoveList.encode(from, to, jumps + 1, promotes(to, king, color)), nextCaptured, nextPath);
+            }
+        }
+        return jumped;
+    }
+
+    /**
+     * Get the first direction a piece can move in.
+     *
+     * @param king whether or not the piece is a king
+     * @param color the color of the piece
+     * @return the first direction
+     */
+    private static int firstDirection(boolean king, Piece.Color color) {
+        return (king || color == Piece.Color.RED) ? BitBoard.UP_LEFT : BitBoard.DOWN_LEFT;
+    }
+
+    /**
+     * Get the last direction a piece can move in.
+     *
+     * @param king whether or not the piece is a king
+     * @param color the color of the piece
+     * @return the last direction
+     */
+    private static int lastDirection(boolean king, Piece.Color color) {
+        return (king || color == Piece.Color.WHITE) ? BitBoard.DOWN_RIGHT : BitBoard.UP_RIGHT;
+    }
+
+    /**
+     * Check if a single ending its turn on a square is crowned.
+     *
+     * @param square the square the turn ends on
+     * @param king whether or not the piece is already a king
+     * @param color the color of the piece
+     * @return whether or not the piece is crowned
+     */
+    private static boolean promotes(int square, boolean king, Piece.Color color) {
+        int crownRow = color == Piece.Color.RED ? 0 : BoardView.NUM_ROWS - 1;
+        return !king && BitBoard.row(square) == crownRow;
+    }
+}
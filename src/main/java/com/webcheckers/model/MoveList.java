@@ -0,0 +1,262 @@
+package com.webcheckers.model;
+
+/**
+ * A reusable buffer of legal moves, stored in primitive arrays so that filling it does not allocate.
+ *
+ * <p>
+ * Each entry is a whole turn: either a simple move or a complete jump sequence. An entry is held in three
+ * parallel arrays. The move word packs the starting square, the final square, the number of jumps and a
+ * promotion flag. The captured mask has a bit set for every square jumped over. The path packs the square
+ * landed on after each jump, five bits per jump.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class MoveList {
+    //The number of entries a new list has room for before it has to grow
+    static final int DEFAULT_CAPACITY = 64;
+
+    //The layout of a move word
+    static final int SQUARE_MASK = 0x1F;
+    static final int TO_SHIFT = 5;
+    static final int JUMPS_SHIFT = 10;
+    static final int JUMPS_MASK = 0xF;
+    static final int PROMOTION = 1 << 14;
+    //The number of bits used by each square in a path
+    static final int PATH_BITS = 5;
+
+    //Values used to hold the entries in this list
+    private int[] moves;
+    private int[] captured;
+    private long[] paths;
+    private int size;
+
+    /**
+     * Create a new, empty move list.
+     */
+    public MoveList() {
+        this.moves = new int[DEFAULT_CAPACITY];
+        this.captured = new int[DEFAULT_CAPACITY];
+        this.paths = new long[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Pack a move into a move word.
+     *
+     * @param from the starting square
+     * @param to the final square
+     * @param jumps the number of jumps made, 0 for a simple move
+     * @param promotion whether or not the move ends on the row that crowns the piece
+     * @return the move word
+     */
+    public static int encode(int from, int to, int jumps, boolean promotion) {
+        int move = from | (to << TO_SHIFT) | (jumps << JUMPS_SHIFT);
+        return promotion ? move | PROMOTION : move;
+    }
+
+    /**
+     * Empty this list so it can be filled again.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Get the number of entries in this list.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if this list has no entries.
+     *
+     * @return whether or not this list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add an entry to the end of this list, growing it if it is full.
+     *
+     * @param move the move word
+     * @param capturedSquares the squares jumped over
+     * @param path the squares landed on after each jump
+     */
+    public void add(int move, int capturedSquares, long path) {
+        if(size == moves.length) {
+            grow();
+        }
+        moves[size] = move;
+        captured[size] = capturedSquares;
+        paths[size] = path;
+        size++;
+    }
+
+    /**
+     * Add a copy of an entry from another list to the end of this list.
+     *
+     * @param other the list holding the entry
+     * @param index the index of the entry in the other list
+     */
+    public void add(MoveList other, int index) {
+        add(other.moves[index], other.captured[index], other.paths[index]);
+    }
+
+    /**
+     * Swap two entries of this list.
+     *
+     * @param i the index of the first entry
+     * @param j the index of the second entry
+     */
+    public void swap(int i, int j) {
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+        int capturedSquares = captured[i];
+        captured[i] = captured[j];
+        captured[j] = capturedSquares;
+        long path = paths[i];
+        paths[i] = paths[j];
+        paths[j] = path;
+    }
+
+    /**
+     * Double the capacity of this list.
+     */
+    private void grow() {
+        int capacity = moves.length * 2;
+        int[] newMoves = new int[capacity];
+        int[] newCaptured = new int[capacity];
+        long[] newPaths = new long[capacity];
+        System.arraycopy(moves, 0, newMoves, 0, size);
+        System.arraycopy(captured, 0, newCaptured, 0, size);
+        System.arraycopy(paths, 0, newPaths, 0, size);
+        this.moves = newMoves;
+        this.captured = newCaptured;
+        this.paths = newPaths;
+    }
+
+    /**
+     * Get the move word of an entry.
+     *
+     * @param index the index of the entry
+     * @return the move word
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Get the starting square of an entry.
+     *
+     * @param index the index of the entry
+     * @return the starting square
+     */
+    public int getFrom(int index) {
+        return moves[index] & SQUARE_MASK;
+    }
+
+    /**
+     * Get the final square of an entry.
+     *
+     * @param index the index of the entry
+     * @return the final square
+     */
+    public int getTo(int index) {
+        return (moves[index] >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * Get the number of jumps made by an entry.
+     *
+     * @param index the index of the entry
+     * @return the number of jumps, 0 for a simple move
+     */
+    public int getJumps(int index) {
+        return (moves[index] >>> JUMPS_SHIFT) & JUMPS_MASK;
+    }
+
+    /**
+     * Check if an entry is a jump sequence.
+     *
+     * @param index the index of the entry
+     * @return whether or not the entry captures any pieces
+     */
+    public boolean isJump(int index) {
+        return getJumps(index) > 0;
+    }
+
+    /**
+     * Check if an entry ends on the row that crowns the piece.
+     *
+     * @param index the index of the entry
+     * @return whether or not the piece moved is crowned at the end of the turn
+     */
+    public boolean isPromotion(int index) {
+        return (moves[index] & PROMOTION) != 0;
+    }
+
+    /**
+     * Get the squares jumped over by an entry.
+     *
+     * @param index the index of the entry
+     * @return a mask of the captured squares
+     */
+    public int getCaptured(int index) {
+        return captured[index];
+    }
+
+    /**
+     * Get the number of single steps an entry is made of, which is how many moves the player submits for it.
+     *
+     * @param index the index of the entry
+     * @return the number of steps
+     */
+    public int getSteps(int index) {
+        return Math.max(1, getJumps(index));
+    }
+
+    /**
+     * Get the square a step of an entry starts on.
+     *
+     * @param index the index of the entry
+     * @param step the step, starting from 0
+     * @return the starting square of the step
+     */
+    public int getStepFrom(int index, int step) {
+        return step == 0 ? getFrom(index) : getStepTo(index, step - 1);
+    }
+
+    /**
+     * Get the square a step of an entry ends on.
+     *
+     * @param index the index of the entry
+     * @param step the step, starting from 0
+     * @return the final square of the step
+     */
+    public int getStepTo(int index, int step) {
+        if(!isJump(index)) {
+            return getTo(index);
+        }
+        return (int) (paths[index] >>> (step * PATH_BITS)) & SQUARE_MASK;
+    }
+
+    /**
+     * Get a step of an entry as a move that can be sent to a game.
+     *
+     * @param index the index of the entry
+     * @param step the step, starting from 0
+     * @return the move made by the step
+     */
+    public Move getStep(int index, int step) {
+        int from = getStepFrom(index, step);
+        int to = getStepTo(index, step);
+        return Move.of(Position.of(BitBoard.row(from), BitBoard.cell(from)),
+                Position.of(BitBoard.row(to), BitBoard.cell(to)));
+    }
+}
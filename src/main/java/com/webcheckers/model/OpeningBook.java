@@ -0,0 +1,335 @@
+package com.webcheckers.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * A book of opening turns, stored as a trie of the turns played from the standard starting position.
+ *
+ * <p>
+ * The whole book is one array of ints. It starts with a short header, followed by the nodes of the trie. A node
+ * is the number of turns that continue from it, followed by an entry for each of those turns: the move word and
+ * captured mask of the turn, as made by {@link MoveGenerator}, how many games in the book played it, and the
+ * offset of the node it leads to. A node's entries are sorted, so the turn played can be found with a binary
+ * search. Since the layout is the same in memory as on disk, a book file is loaded by mapping it, or with a single
+ * read, with nothing to parse, and books are made by {@link OpeningBookBuilder}. The book of the bundled openings is
+ * compiled when the project is built, and read from the classpath. A book is checked once when it is loaded, so a
+ * truncated or corrupt file is turned away then instead of failing the first time a turn is chosen from it.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class OpeningBook {
+    //The layout of the header
+    static final int MAGIC = 0x434B4F42;
+    static final int VERSION = 1;
+    static final int HEADER_INTS = 2;
+    //The node of the starting position
+    public static final int ROOT = HEADER_INTS;
+    //The value returned when a line of play is not in the book
+    public static final int NO_NODE = -1;
+    //The book of the bundled openings, compiled into the classes when the project is built
+    public static final String BUNDLED_BOOK = "/openings.book";
+
+    //The layout of an entry
+    static final int ENTRY_INTS = 4;
+    static final int MOVE = 0;
+    static final int CAPTURED = 1;
+    static final int WEIGHT = 2;
+    static final int CHILD = 3;
+
+    //Values used to hold the trie
+    private final IntBuffer book;
+
+    /**
+     * Create a book from its ints.
+     *
+     * @param book the header and nodes of the book
+     * @throws IllegalArgumentException if the ints are not a book, or a node or turn in it runs past its end
+     */
+    OpeningBook(IntBuffer book) {
+        if(book.limit() <= HEADER_INTS || book.get(0) != MAGIC || book.get(1) != VERSION) {
+            throw new IllegalArgumentException("Not an opening book.");
+        }
+        check(book);
+        this.book = book;
+    }
+
+    /**
+     * Check that every node of a book fits in it, that every turn was played at least once, and that every turn
+     * leads to the start of a later node, so nothing read from the book can fall outside it.
+     *
+     * @param book the header and nodes of the book
+     * @throws IllegalArgumentException if the book is truncated or corrupt
+     */
+    private static void check(IntBuffer book) {
+        int limit = book.limit();
+        BitSet nodes = new BitSet(limit);
+        // nodes are laid out one after another, so a walk over them must end exactly at the end of the book
+        for(int node = ROOT; node < limit; node = entryOffset(node, book.get(node))) {
+            int count = book.get(node);
+            if(count < 0 || count > (limit - node - 1) / ENTRY_INTS) {
+                throw new IllegalArgumentException("The node at " + node + " runs past the end of the book.");
+            }
+            nodes.set(node);
+        }
+        for(int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            int end = entryOffset(node, book.get(node));
+            long total = 0;
+            for(int entry = node + 1; entry < end; entry += ENTRY_INTS) {
+                int weight = book.get(entry + WEIGHT);
+                int child = book.get(entry + CHILD);
+                if(weight <= 0) {
+                    throw new IllegalArgumentException("A turn at " + entry + " was never played.");
+                }
+                if(child < end || child >= limit || !nodes.get(child)) {
+                    throw new IllegalArgumentException("A turn at " + entry + " leads outside the book.");
+                }
+                total += weight;
+            }
+            if(total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The turns of the node at " + node + " are played too often.");
+            }
+        }
+    }
+
+    /**
+     * Map a book file.
+     *
+     * @param file the book file
+     * @return the book
+     * @throws IOException if the file can not be read or is not a book
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+            return new OpeningBook(ints);
+        } catch(IllegalArgumentException e) {
+            throw new IOException(file + " is not an opening book.", e);
+        }
+    }
+
+    /**
+     * Read the book of the bundled openings from the classpath.
+     *
+     * @return the book
+     * @throws IOException if the book is missing, can not be read or is not a book
+     */
+    public static OpeningBook bundled() throws IOException {
+        try(InputStream in = OpeningBook.class.getResourceAsStream(BUNDLED_BOOK)) {
+            if(in == null) {
+                throw new IOException(BUNDLED_BOOK + " is missing; it is compiled when the project is built.");
+            }
+            return read(in, BUNDLED_BOOK);
+        }
+    }
+
+    /**
+     * Read a book from a stream in one go.
+     *
+     * @param in the stream holding the book
+     * @param name the name of the book, used in error messages
+     * @return the book
+     * @throws IOException if the stream can not be read or does not hold a book
+     */
+    static OpeningBook read(InputStream in, String name) throws IOException {
+        try {
+            return new OpeningBook(ByteBuffer.wrap(in.readAllBytes()).asIntBuffer());
+        } catch(IllegalArgumentException e) {
+            throw new IOException(name + " is not an opening book.", e);
+        }
+    }
+
+    /**
+     * Write this book in the format read by {@link #open(Path)}.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the book can not be written
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        for(int i = 0; i < book.limit(); i++) {
+            data.writeInt(book.get(i));
+        }
+        data.flush();
+    }
+
+    /**
+     * Find the node reached by a line of play from the starting position.
+     *
+     * @param turns the turns played, in order
+     * @return the node, or NO_NODE if the line leaves the book
+     */
+    public int find(MoveList turns) {
+        int node = ROOT;
+        for(int i = 0; i < turns.size() && node != NO_NODE; i++) {
+            node = child(node, turns.getMove(i), turns.getCaptured(i));
+        }
+        return node;
+    }
+
+    /**
+     * Find the node reached by playing a turn from a node.
+     *
+     * @param node the node
+     * @param move the move word of the turn
+     * @param captured the squares captured by the turn
+     * @return the node reached, or NO_NODE if the turn is not in the book
+     */
+    public int child(int node, int move, int captured) {
+        int entry = indexOf(node, move, captured);
+        return entry < 0 ? NO_NODE : book.get(entryOffset(node, entry) + CHILD);
+    }
+
+    /**
+     * Binary search the entries of a node for a turn.
+     *
+     * @param node the node
+     * @param move the move word of the turn
+     * @param captured the squares captured by the turn
+     * @return the index of the entry, or -1 if there is none
+     */
+    private int indexOf(int node, int move, int captured) {
+        int low = 0;
+        int high = getChildCount(node) - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = entryOffset(node, middle);
+            int order = compare(book.get(offset + MOVE), book.get(offset + CAPTURED), move, captured);
+            if(order < 0) {
+                low = middle + 1;
+            } else if(order > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compare two turns in the order a node's entries are sorted in.
+     *
+     * @param move the move word of the first turn
+     * @param captured the squares captured by the first turn
+     * @param otherMove the move word of the second turn
+     * @param otherCaptured the squares captured by the second turn
+     * @return a negative number, zero or a positive number as the first turn sorts before, with or after the second
+     */
+    static int compare(int move, int captured, int otherMove, int otherCaptured) {
+        int order = Integer.compare(move, otherMove);
+        return order != 0 ? order : Integer.compareUnsigned(captured, otherCaptured);
+    }
+
+    /**
+     * Get the offset of an entry of a node.
+     *
+     * @param node the node
+     * @param entry the index of the entry
+     * @return the offset of the entry in the book
+     */
+    private static int entryOffset(int node, int entry) {
+        return node + 1 + entry * ENTRY_INTS;
+    }
+
+    /**
+     * Get the number of book turns that continue from a node.
+     *
+     * @param node the node
+     * @return the number of turns
+     */
+    public int getChildCount(int node) {
+        return book.get(node);
+    }
+
+    /**
+     * Get the move word of a book turn.
+     *
+     * @param node the node the turn is played from
+     * @param entry the index of the turn
+     * @return the move word
+     */
+    public int getMove(int node, int entry) {
+        return book.get(entryOffset(node, entry) + MOVE);
+    }
+
+    /**
+     * Get the squares captured by a book turn.
+     *
+     * @param node the node the turn is played from
+     * @param entry the index of the turn
+     * @return the captured mask
+     */
+    public int getCaptured(int node, int entry) {
+        return book.get(entryOffset(node, entry) + CAPTURED);
+    }
+
+    /**
+     * Get how many games in the book played a turn.
+     *
+     * @param node the node the turn is played from
+     * @param entry the index of the turn
+     * @return the weight of the turn
+     */
+    public int getWeight(int node, int entry) {
+        return book.get(entryOffset(node, entry) + WEIGHT);
+    }
+
+    /**
+     * Pick a book turn for a game, choosing between the turns played from its position at random in proportion
+     * to how often each was played. The game's turns are replayed from the starting position first, so a game
+     * that did not start from it never gets a book turn.
+     *
+     * @param position the current position of the game
+     * @param history the turns played in the game so far
+     * @param random the source of randomness
+     * @param result a list that is cleared and given the turn picked
+     * @return whether or not a turn was picked
+     */
+    public boolean choose(BitBoard position, MoveList history, Random random, MoveList result) {
+        result.clear();
+        int node = find(history);
+        if(node == NO_NODE || getChildCount(node) == 0) {
+            return false;
+        }
+
+        BitBoard replay = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        for(int i = 0; i < history.size(); i++) {
+            PdnReader.playTurn(replay, history, i);
+        }
+        if(replay.getKey() != position.getKey() || replay.getRed() != position.getRed()
+                || replay.getWhite() != position.getWhite() || replay.getKings() != position.getKings()) {
+            return false;
+        }
+
+        MoveList legal = new MoveList();
+        int count = MoveGenerator.generate(position, position.getTurn(), legal);
+        int total = 0;
+        for(int entry = 0; entry < getChildCount(node); entry++) {
+            total += getWeight(node, entry);
+        }
+        int pick = random.nextInt(total);
+        for(int entry = 0; entry < getChildCount(node); entry++) {
+            pick -= getWeight(node, entry);
+            if(pick < 0) {
+                for(int i = 0; i < count; i++) {
+                    if(legal.getMove(i) == getMove(node, entry) && legal.getCaptured(i) == getCaptured(node, entry)) {
+                        result.add(legal, i);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,204 @@
+package com.webcheckers.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds an {@link OpeningBook} from games, counting how often each turn was played after each line of play.
+ *
+ * <p>
+ * Run it with {@code mvn compile exec:java@opening-book -Dexec.args="book pdn..."} to compile PDN files into a
+ * book file, which the computer player reads when the {@code openingBook} system property names it. The bundled
+ * openings are compiled into {@link OpeningBook#BUNDLED_BOOK} the same way each time the project is compiled.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class OpeningBookBuilder {
+    //The deepest turn of a game that is put in the book by default
+    public static final int DEFAULT_MAX_PLIES = 16;
+    //The opening lines bundled with the game, compiled into the bundled book when the project is built
+    public static final String BUNDLED_OPENINGS = "/openings.pdn";
+
+    //Values used to hold the trie as it is built
+    private final int maxPlies;
+    private final Node root;
+    private int entryCount;
+    private int nodeCount;
+
+    /**
+     * Create a builder for an empty book.
+     *
+     * @param maxPlies the deepest turn of a game to put in the book
+     */
+    public OpeningBookBuilder(int maxPlies) {
+        this.maxPlies = maxPlies;
+        this.root = new Node();
+        this.nodeCount = 1;
+    }
+
+    /**
+     * Compile PDN files into a book file.
+     *
+     * @param args the book file to write, followed by the PDN files to read
+     * @throws IOException if a file can not be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("Usage: OpeningBookBuilder book pdn...");
+            return;
+        }
+        OpeningBookBuilder builder = new OpeningBookBuilder(DEFAULT_MAX_PLIES);
+        for(int i = 1; i < args.length; i++) {
+            builder.addGames(PdnReader.read(Files.newBufferedReader(Paths.get(args[i]), StandardCharsets.UTF_8)));
+        }
+        try(OutputStream out = Files.newOutputStream(Paths.get(args[0]))) {
+            builder.build().write(out);
+        }
+        System.out.printf("Wrote %d turns after %d lines of play to %s.%n", builder.entryCount, builder.nodeCount,
+                args[0]);
+    }
+
+    /**
+     * Add games to the book.
+     *
+     * @param games the turns of each game
+     */
+    public void addGames(List<MoveList> games) {
+        for(MoveList game : games) {
+            addGame(game);
+        }
+    }
+
+    /**
+     * Add a game to the book, up to the deepest turn the book holds.
+     *
+     * @param turns the turns of the game, in order
+     */
+    public void addGame(MoveList turns) {
+        Node node = root;
+        for(int i = 0; i < turns.size() && i < maxPlies; i++) {
+            node = node.child(turns.getMove(i), turns.getCaptured(i));
+        }
+    }
+
+    /**
+     * Lay the trie out as a book.
+     *
+     * @return the book
+     */
+    public OpeningBook build() {
+        int size = OpeningBook.HEADER_INTS + nodeCount + entryCount * OpeningBook.ENTRY_INTS;
+        int[] book = new int[size];
+        book[0] = OpeningBook.MAGIC;
+        book[1] = OpeningBook.VERSION;
+        layOut(root, book, OpeningBook.ROOT);
+        return new OpeningBook(IntBuffer.wrap(book));
+    }
+
+    /**
+     * Write a node and everything below it into the book, depth first.
+     *
+     * @param node the node
+     * @param book the book being laid out
+     * @param offset where the node goes
+     * @return the offset after the node and everything below it
+     */
+    private static int layOut(Node node, int[] book, int offset) {
+        node.sort();
+        book[offset] = node.size;
+        int next = offset + 1 + node.size * OpeningBook.ENTRY_INTS;
+        for(int i = 0; i < node.size; i++) {
+            int entry = offset + 1 + i * OpeningBook.ENTRY_INTS;
+            book[entry + OpeningBook.MOVE] = node.moves[i];
+            book[entry + OpeningBook.CAPTURED] = node.captured[i];
+            book[entry + OpeningBook.WEIGHT] = node.weights[i];
+            book[entry + OpeningBook.CHILD] = next;
+            next = layOut(node.children[i], book, next);
+        }
+        return next;
+    }
+
+    /**
+     * A line of play while the book is being built, with the turns that were played after it.
+     */
+    private class Node {
+        //Values used to hold the turns played after this line
+        private int[] moves = new int[0];
+        private int[] captured = new int[0];
+        private int[] weights = new int[0];
+        private Node[] children = new Node[0];
+        private int size;
+
+        /**
+         * Count a turn played after this line, adding it if it has not been played before.
+         *
+         * @param move the move word of the turn
+         * @param capturedSquares the squares captured by the turn
+         * @return the node of the line with the turn played
+         */
+        Node child(int move, int capturedSquares) {
+            for(int i = 0; i < size; i++) {
+                if(moves[i] == move && captured[i] == capturedSquares) {
+                    weights[i]++;
+                    return children[i];
+                }
+            }
+            if(size == moves.length) {
+                int capacity = Math.max(1, size * 2);
+                moves = Arrays.copyOf(moves, capacity);
+                captured = Arrays.copyOf(captured, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            moves[size] = move;
+            captured[size] = capturedSquares;
+            weights[size] = 1;
+            children[size] = new Node();
+            entryCount++;
+            nodeCount++;
+            return children[size++];
+        }
+
+        /**
+         * Sort the turns played after this line into the order the book searches them in.
+         */
+        void sort() {
+            for(int i = 1; i < size; i++) {
+                for(int j = i; j > 0; j--) {
+                    if(OpeningBook.compare(moves[j - 1], captured[j - 1], moves[j], captured[j]) <= 0) {
+                        break;
+                    }
+                    swap(j - 1, j);
+                }
+            }
+        }
+
+        /**
+         * Swap two turns.
+         *
+         * @param i the index of the first turn
+         * @param j the index of the second turn
+         */
+        private void swap(int i, int j) {
+            int move = moves[i];
+            moves[i] = moves[j];
+            moves[j] = move;
+            int capturedSquares = captured[i];
+            captured[i] = captured[j];
+            captured[j] = capturedSquares;
+            int weight = weights[i];
+            weights[i] = weights[j];
+            weights[j] = weight;
+            Node child = children[i];
+            children[i] = children[j];
+            children[j] = child;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.webcheckers.model;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A game-tree search that runs on several threads at once and shares one {@link TranspositionTable} between them.
+ *
+ * <p>
+ * This is a lazy SMP search: every thread runs its own {@link Search} over the whole tree, and the threads only
+ * work together through the results they leave in the shared table. Helper threads start their iterations at
+ * different depths so they fill the table with results the main thread will need next. The main thread decides
+ * when the search ends; once it finishes, the helpers are stopped and the turn picked by whichever thread
+ * finished the deepest iteration is kept.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class ParallelSearch {
+    //Values used to hold the searches run by each thread and the threads the helpers run on
+    private final TranspositionTable table;
+    private final Search[] workers;
+    private final MoveList[] results;
+    private final ExecutorService helpers;
+    private final Future<Boolean>[] pending;
+
+    //Values used to hold the totals of the last search
+    private long nodes;
+    private int completedDepth;
+    private int bestScore;
+
+    /**
+     * Create a new parallel search.
+     *
+     * @param threads the number of threads to search on, at least 1
+     * @param table the transposition table shared by every thread
+     */
+    @SuppressWarnings("unchecked")
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if(threads < 1) {
+            throw new IllegalArgumentException("A search needs at least one thread, not " + threads + ".");
+        }
+        this.table = table;
+        this.workers = new Search[threads];
+        this.results = new MoveList[threads];
+        for(int i = 0; i < threads; i++) {
+            workers[i] = new Search(table);
+            workers[i].setStartDepth(1 + (i & 1));
+            results[i] = new MoveList();
+        }
+        this.pending = new Future[threads];
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the number of threads this search runs on.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Set the endgame tablebase every thread uses to score positions with few enough pieces left.
+     *
+     * @param tablebase the tablebase, or null to search every position
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        for(Search worker : workers) {
+            worker.setTablebase(tablebase);
+        }
+    }
+
+    /**
+     * Pick a turn for the color to move in a position.
+     *
+     * @param root the position to search, which is not changed
+     * @param budgetMillis how long the search may run for, in milliseconds
+     * @param result a list that is cleared and given the turn picked
+     * @return false if the color to move has no legal turn, true otherwise
+     */
+    public boolean findBestTurn(BitBoard root, long budgetMillis, MoveList result) {
+        return findBestTurn(root, budgetMillis, Search.MAX_DEPTH, result);
+    }
+
+    /**
+     * Pick a turn for the color to move in a position, searching no deeper than a fixed depth.
+     *
+     * @param root the position to search, which is not changed
+     * @param budgetMillis how long the search may run for, in milliseconds
+     * @param maxDepth the deepest iteration the main thread searches
+     * @param result a list that is cleared and given the turn picked
+     * @return false if the color to move has no legal turn, true otherwise
+     */
+    public synchronized boolean findBestTurn(BitBoard root, long budgetMillis, int maxDepth, MoveList result) {
+        table.newSearch();
+        for(Search worker : workers) {
+            worker.resetStop();
+        }
+        for(int i = 1; i < workers.length; i++) {
+            Search worker = workers[i];
+            MoveList helperResult = results[i];
+            pending[i] = helpers.submit(() -> worker.findBestTurn(root, budgetMillis, Search.MAX_DEPTH, helperResult));
+        }
+
+        boolean found = workers[0].findBestTurn(root, budgetMillis, maxDepth, results[0]);
+        for(int i = 1; i < workers.length; i++) {
+            workers[i].stop();
+        }
+        for(int i = 1; i < workers.length; i++) {
+            await(pending[i]);
+            pending[i] = null;
+        }
+
+        result.clear();
+        nodes = 0;
+        int best = 0;
+        for(int i = 0; i < workers.length; i++) {
+            nodes += workers[i].getNodes();
+            if(workers[i].getCompletedDepth() > workers[best].getCompletedDepth()) {
+                best = i;
+            }
+        }
+        completedDepth = workers[best].getCompletedDepth();
+        bestScore = workers[best].getBestScore();
+        if(found) {
+            result.add(results[best], 0);
+        }
+        return found;
+    }
+
+    /**
+     * Wait for a helper thread to finish its search.
+     *
+     * @param future the helper's search
+     */
+    private static void await(Future<Boolean> future) {
+        try {
+            future.get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("A search helper failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Stop the helper threads. The search can not be used afterwards.
+     */
+    public void shutdown() {
+        if(helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * Get the number of positions searched by every thread during the last search.
+     *
+     * @return the number of positions searched
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Get the depth of the deepest iteration finished by any thread during the last search.
+     *
+     * @return the depth, 0 if no iteration finished
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Get the score of the turn picked by the last search, for the color to move.
+     *
+     * @return the score
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+}
@@ -0,0 +1,255 @@
+package com.webcheckers.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the games in a Portable Draughts Notation (PDN) file.
+ *
+ * <p>
+ * PDN numbers the dark squares 1 to 32 from the side of the player who moves first, whose pieces start on squares
+ * 1 to 12. That player is red here, and red starts on the other side of the board, so a PDN square is turned into
+ * a square of this game by rotating the board: square n becomes square 32 - n. Every move is checked against the
+ * legal turns generated for the position, so a game read from a file can be replayed exactly. Games that start
+ * from a set up position are skipped, and a game with an illegal move keeps only the moves before it.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class PdnReader {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(PdnReader.class.getName());
+
+    //The patterns used to pick out the parts of a game
+    private static final Pattern TOKEN = Pattern.compile("\\[[^\\]]*\\]|\\{[^}]*\\}|[()]|[^\\s(){}\\[]+");
+    private static final Pattern MOVE = Pattern.compile("(\\d+)((?:[-x]\\d+)+)[!?]*");
+    private static final Pattern RESULT = Pattern.compile("1-0|0-1|1/2-1/2|2-0|0-2|1-1|\\*");
+    private static final Pattern MOVE_NUMBER = Pattern.compile("\\d+\\.+");
+    //The tag that marks a game starting from a set up position
+    private static final String SETUP_TAG = "[FEN";
+
+    //The highest square number in PDN
+    static final int NUM_SQUARES = BitBoard.NUM_SQUARES;
+
+    /**
+     * This class only holds static methods and should not be instantiated.
+     */
+    private PdnReader() {
+    }
+
+    /**
+     * Read every game in a PDN file.
+     *
+     * @param in the file to read
+     * @return the turns of each game that starts from the standard position, in order
+     * @throws IOException if the file can not be read
+     */
+    public static List<MoveList> read(Reader in) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try(BufferedReader reader = new BufferedReader(in)) {
+            for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+                text.append(line).append('\n');
+            }
+        }
+
+        List<MoveList> games = new ArrayList<>();
+        GameBuilder game = new GameBuilder();
+        int variationDepth = 0;
+        Matcher tokens = TOKEN.matcher(text);
+        while(tokens.find()) {
+            String token = tokens.group();
+            if(token.equals("(")) {
+                variationDepth++;
+            } else if(token.equals(")")) {
+                variationDepth = Math.max(0, variationDepth - 1);
+            } else if(variationDepth > 0 || token.startsWith("{")) {
+                // variations and comments are not part of the game
+                continue;
+            } else if(token.startsWith("[")) {
+                if(game.hasMoves()) {
+                    game.finish(games);
+                }
+                if(token.startsWith(SETUP_TAG)) {
+                    game.skip();
+                }
+            } else if(RESULT.matcher(token).matches()) {
+                game.finish(games);
+            } else if(!MOVE_NUMBER.matcher(token).matches()) {
+                game.play(token);
+            }
+        }
+        game.finish(games);
+        return games;
+    }
+
+    /**
+     * Convert a PDN square number into a square of this game.
+     *
+     * @param square the PDN square, from 1 to 32
+     * @return the square, or -1 if the number is not a square
+     */
+    static int toSquare(int square) {
+        return square >= 1 && square <= NUM_SQUARES ? NUM_SQUARES - square : -1;
+    }
+
+    /**
+     * Convert a square of this game into a PDN square number.
+     *
+     * @param square the square
+     * @return the PDN square, from 1 to 32
+     */
+    static int toPdn(int square) {
+        return NUM_SQUARES - square;
+    }
+
+    /**
+     * The game being read, played out on a board so each move can be matched to a legal turn.
+     */
+    private static class GameBuilder {
+        //Values used to hold the game read so far
+        private final BitBoard position = new BitBoard();
+        private final MoveList legal = new MoveList();
+        private MoveList turns;
+        private boolean ignored;
+
+        /**
+         * Start the first game.
+         */
+        GameBuilder() {
+            reset();
+        }
+
+        /**
+         * Start a new game from the standard position.
+         */
+        private void reset() {
+            position.setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+            position.setTurn(Piece.Color.RED);
+            turns = new MoveList();
+            ignored = false;
+        }
+
+        /**
+         * Check if any move of the current game has been read.
+         *
+         * @return whether or not the game has moves
+         */
+        boolean hasMoves() {
+            return !turns.isEmpty();
+        }
+
+        /**
+         * Ignore the rest of the current game.
+         */
+        void skip() {
+            ignored = true;
+        }
+
+        /**
+         * End the current game, keeping it if it has any moves, and start the next one.
+         *
+         * @param games the games read so far
+         */
+        void finish(List<MoveList> games) {
+            if(!turns.isEmpty()) {
+                games.add(turns);
+            }
+            reset();
+        }
+
+        /**
+         * Play a move of the current game.
+         *
+         * @param token the move as written in the file, like 11-15 or 22x15x8
+         */
+        void play(String token) {
+            if(ignored) {
+                return;
+            }
+            Matcher move = MOVE.matcher(token);
+            if(!move.matches()) {
+                return;
+            }
+            String[] squares = token.replaceAll("[!?]", "").split("[-x]");
+            int[] landings = new int[squares.length];
+            for(int i = 0; i < squares.length; i++) {
+                landings[i] = toSquare(Integer.parseInt(squares[i]));
+            }
+
+            Piece.Color color = position.getTurn();
+            int count = MoveGenerator.generate(position, color, legal);
+            int match = -1;
+            for(int i = 0; i < count && match < 0; i++) {
+                if(matches(i, landings)) {
+                    match = i;
+                }
+            }
+            if(match < 0) {
+                LOG.fine("Illegal move " + token + " after " + turns.size() + " turns; the rest of the game is skipped.");
+                ignored = true;
+                return;
+            }
+
+            turns.add(legal, match);
+            playTurn(position, legal, match);
+        }
+
+        /**
+         * Check if a legal turn goes through the squares written for a move.
+         *
+         * @param index the index of the turn in the legal list
+         * @param landings the squares written, the first being where the turn starts
+         * @return whether or not the turn matches
+         */
+        private boolean matches(int index, int[] landings) {
+            if(legal.getFrom(index) != landings[0] || legal.getTo(index) != landings[landings.length - 1]) {
+                return false;
+            }
+            // a multi-jump may be written with every landing square, or with only the first and last
+            if(landings.length > 2) {
+                if(landings.length - 1 != legal.getSteps(index)) {
+                    return false;
+                }
+                for(int step = 0; step < landings.length - 1; step++) {
+                    if(legal.getStepTo(index, step) != landings[step + 1]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Play a turn from a move list on a position and hand the move to the other color.
+     *
+     * @param position the position to play on
+     * @param turns the list holding the turn
+     * @param index the index of the turn
+     */
+    static void playTurn(BitBoard position, MoveList turns, int index) {
+        int from = turns.getFrom(index);
+        int to = turns.getTo(index);
+        int captured = turns.getCaptured(index);
+        Piece.Color color = position.getTurn();
+        int own = (position.getPieces(color) & ~(1 << from)) | (1 << to);
+        int opponent = (color == Piece.Color.RED ? position.getWhite() : position.getRed()) & ~captured;
+        int kings = position.getKings() & ~captured & ~(1 << from);
+        if(position.isKing(from) || turns.isPromotion(index)) {
+            kings |= 1 << to;
+        }
+        Piece.Color next = color == Piece.Color.RED ? Piece.Color.WHITE : Piece.Color.RED;
+        if(color == Piece.Color.RED) {
+            position.setPieces(own, opponent, kings);
+        } else {
+            position.setPieces(opponent, own, kings);
+        }
+        position.setTurn(next);
+    }
+}
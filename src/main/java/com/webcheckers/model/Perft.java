@@ -0,0 +1,272 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the positions reached by playing every legal turn to a fixed depth, which checks the move generator and
+ * the make and unmake code against known numbers and measures how fast they are.
+ *
+ * <p>
+ * The counts from the initial position are the published perft numbers for checkers, and the counts from the
+ * demo boards set up by {@link BoardView} were recorded from this tool once they agreed with the rules the game
+ * page enforces. Run it with {@code mvn compile exec:java@perft}, optionally passing the depth, the number of
+ * threads and the positions to count with {@code -Dexec.args="depth threads position..."}. With more than one
+ * thread the turns near the root are counted in parallel on a fork/join pool.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class Perft {
+    //The name of the starting position; every other position is a demo board
+    public static final String INITIAL = "initial";
+    //The positions counted when none are passed in
+    static final String[] POSITIONS = {INITIAL, "jump", "mjump", "king", "jking", "nomoves"};
+    //The settings used when none are passed in
+    static final int DEFAULT_DEPTH = 10;
+    static final int DEFAULT_THREADS = 1;
+    //Parallel counts below this depth are not split into more tasks
+    static final int SPLIT_DEPTH = 6;
+
+    //The known counts for each position, indexed by depth
+    private static final Map<String, long[]> EXPECTED = new HashMap<>();
+
+    static {
+        EXPECTED.put(INITIAL, new long[]{1L, 7L, 49L, 302L, 1469L, 7361L, 36768L, 179740L, 845931L, 3963680L,
+                18391564L, 85242128L, 388623673L, 1766623630L, 7978439499L});
+        EXPECTED.put("jump", new long[]{1L, 1L, 7L, 84L, 475L, 4281L, 21160L, 154934L, 714299L, 4835416L});
+        EXPECTED.put("mjump", new long[]{1L, 3L, 3L, 6L, 26L, 43L, 190L, 364L, 1814L, 4824L});
+        EXPECTED.put("king", new long[]{1L, 9L, 18L, 168L, 246L, 2474L, 4605L, 29202L, 28929L, 74396L});
+        EXPECTED.put("jking", new long[]{1L, 4L, 12L, 24L, 55L, 212L, 730L, 1650L, 5773L, 20404L});
+        EXPECTED.put("nomoves", new long[]{1L, 2L, 1L, 3L, 5L, 14L, 37L, 91L, 253L, 715L});
+    }
+
+    //Values used to hold the position being counted
+    private final BitBoard position;
+    private final MoveList[] lists;
+    private final int[] undo;
+
+    /**
+     * Create a counter for a position.
+     *
+     * @param root the position to count from, which is not changed
+     */
+    public Perft(BitBoard root) {
+        this.position = new BitBoard(root, false);
+        this.lists = new MoveList[Search.MAX_PLY];
+        for(int ply = 0; ply < Search.MAX_PLY; ply++) {
+            lists[ply] = new MoveList();
+        }
+        this.undo = new int[Search.MAX_PLY * CheckersGame.MAX_TURN_MOVES];
+    }
+
+    /**
+     * Run perft from the positions passed in, printing each count, whether it matches the known count and how
+     * many positions were counted per second. Exits with a failing status if any count is wrong.
+     *
+     * @param args the depth to count to, the number of threads to count on and the positions to count from
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+        List<String> names = new ArrayList<>();
+        for(int i = 2; i < args.length; i++) {
+            names.add(args[i]);
+        }
+        if(names.isEmpty()) {
+            names.addAll(Arrays.asList(POSITIONS));
+        }
+
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        boolean passed = true;
+        System.out.printf("Counting to depth %d on %d thread(s).%n", depth, threads);
+        System.out.printf("%-9s %5s %14s %14s %10s %14s %s%n", "position", "depth", "nodes", "expected",
+                "time (ms)", "nodes/sec", "result");
+        try {
+            for(String name : names) {
+                BitBoard root = position(name);
+                for(int d = 1; d <= depth; d++) {
+                    long start = System.nanoTime();
+                    long nodes = pool == null ? new Perft(root).count(d) : count(root, d, pool);
+                    double millis = (System.nanoTime() - start) / 1e6;
+                    long expected = getExpected(name, d);
+                    String result = expected < 0 ? "unknown" : expected == nodes ? "ok" : "MISMATCH";
+                    passed &= expected < 0 || expected == nodes;
+                    System.out.printf("%-9s %5d %14d %14s %10.1f %14.0f %s%n", name, d, nodes,
+                            expected < 0 ? "-" : Long.toString(expected), millis, nodes / Math.max(millis / 1000, 1e-6),
+                            result);
+                }
+            }
+        } finally {
+            if(pool != null) {
+                pool.shutdown();
+            }
+        }
+        if(!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Get a position perft can be run from.
+     *
+     * @param name the initial position or the name of a demo board
+     * @return the position, with red to move
+     * @throws IllegalArgumentException if there is no position with that name
+     */
+    public static BitBoard position(String name) {
+        for(String known : POSITIONS) {
+            if(known.equals(name)) {
+                return BoardView.demoPosition(name);
+            }
+        }
+        throw new IllegalArgumentException("There is no position named " + name + ".");
+    }
+
+    /**
+     * Get the known count for a position.
+     *
+     * @param name the name of the position
+     * @param depth the depth counted to
+     * @return the count, or -1 if it is not known
+     */
+    public static long getExpected(String name, int depth) {
+        long[] counts = EXPECTED.get(name);
+        return counts != null && depth < counts.length ? counts[depth] : -1;
+    }
+
+    /**
+     * Count the positions reached by playing every legal turn to a depth.
+     *
+     * @param depth the number of turns to play
+     * @return the number of positions at that depth
+     */
+    public long count(int depth) {
+        return depth == 0 ? 1 : count(depth, 0);
+    }
+
+    /**
+     * Count the positions below the current position. The last turn is not played, since the number of positions
+     * it leads to is the number of turns generated.
+     *
+     * @param depth the number of turns left to play, at least one
+     * @param ply the number of turns played from the root
+     * @return the number of positions
+     */
+    private long count(int depth, int ply) {
+        MoveList list = lists[ply];
+        int count = MoveGenerator.generate(position, position.getTurn(), list);
+        if(depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for(int n = 0; n < count; n++) {
+            makeTurn(list, n, ply);
+            nodes += count(depth - 1, ply + 1);
+            unmakeTurn(list, n, ply);
+        }
+        return nodes;
+    }
+
+    /**
+     * Count the positions reached from a position on a fork/join pool.
+     *
+     * @param root the position to count from, which is not changed
+     * @param depth the number of turns to play
+     * @param pool the pool to count on
+     * @return the number of positions at that depth
+     */
+    public static long count(BitBoard root, int depth, ForkJoinPool pool) {
+        return pool.invoke(new CountTask(root, depth));
+    }
+
+    /**
+     * Make every step of a turn, crown the piece if it reached the far row and pass the turn, the same way the
+     * search does.
+     *
+     * @param list the list holding the turn
+     * @param index the index of the turn
+     * @param ply the ply the turn is made at
+     */
+    private void makeTurn(MoveList list, int index, int ply) {
+        int base = ply * CheckersGame.MAX_TURN_MOVES;
+        boolean jump = list.isJump(index);
+        for(int step = 0; step < list.getSteps(index); step++) {
+            int from = list.getStepFrom(index, step);
+            int to = list.getStepTo(index, step);
+            undo[base + step] = position.make(from, to, jump ? BitBoard.between(from, to) : -1);
+        }
+        if(list.isPromotion(index)) {
+            position.crown(list.getTo(index));
+        }
+        position.setTurn(position.getTurn() == Piece.Color.RED ? Piece.Color.WHITE : Piece.Color.RED);
+    }
+
+    /**
+     * Take back a turn made with {@link #makeTurn(MoveList, int, int)}.
+     *
+     * @param list the list holding the turn
+     * @param index the index of the turn
+     * @param ply the ply the turn was made at
+     */
+    private void unmakeTurn(MoveList list, int index, int ply) {
+        position.setTurn(position.getTurn() == Piece.Color.RED ? Piece.Color.WHITE : Piece.Color.RED);
+        if(list.isPromotion(index)) {
+            position.uncrown(list.getTo(index));
+        }
+        int base = ply * CheckersGame.MAX_TURN_MOVES;
+        for(int step = list.getSteps(index) - 1; step >= 0; step--) {
+            position.unmake(undo[base + step]);
+        }
+    }
+
+    /**
+     * Counts the positions below one position, splitting into a task for each turn until the depth left is small.
+     */
+    private static class CountTask extends RecursiveTask<Long> {
+        //Values used to hold the position this task counts from
+        private final BitBoard position;
+        private final int depth;
+
+        /**
+         * Create a task.
+         *
+         * @param position the position to count from, which the task owns
+         * @param depth the number of turns to play
+         */
+        CountTask(BitBoard position, int depth) {
+            this.position = position;
+            this.depth = depth;
+        }
+
+        /**
+         * Count the positions, forking a task for each turn when there is enough depth left to be worth it.
+         *
+         * @return the number of positions
+         */
+        @Override
+        protected Long compute() {
+            if(depth < SPLIT_DEPTH) {
+                return new Perft(position).count(depth);
+            }
+            MoveList list = new MoveList();
+            int count = MoveGenerator.generate(position, position.getTurn(), list);
+            List<CountTask> tasks = new ArrayList<>(count);
+            for(int n = 0; n < count; n++) {
+                BitBoard child = new BitBoard(position, false);
+                PdnReader.playTurn(child, list, n);
+                tasks.add(new CountTask(child, depth - 1));
+            }
+            long nodes = 0;
+            for(CountTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.webcheckers.model;
 
-import java.util.List;
-
 /**
  * A abstract class to represent a checker piece.
  *
+ * <p>
+ * Pieces can not be changed once made, so there is one shared piece of each kind, returned by
+ * {@link #of(Type, Color)}, and a board can hold the same piece on any number of squares.
+ * </p>
+ *
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public abstract class Piece {
     //Values used to hold the type and color of this checker
-    private Type rank;
-    private Color color;
+    private final Type rank;
+    private final Color color;
 
     /**
      * An enum to represent the type of a piece (king or single).
@@ -46,6 +49,17 @@ public abstract class Piece {
         this.color = color;
     }
 
+    /**
+     * Get the shared piece of a kind.
+     *
+     * @param rank the type of piece
+     * @param color the color of the piece
+     * @return the piece
+     */
+    public static Piece of(Type rank, Color color) {
+        return rank == Type.KING ? King.of(color) : Single.of(color);
+    }
+
     /**
      * Return what type of piece this piece is.
      *
@@ -91,7 +105,10 @@ public abstract class Piece {
      * @param board the current board
      * @return whether or not this piece can jump
      */
-    public abstract boolean hasJump(BoardView board, int startRow, int startCell);
+    public boolean hasJump(BoardView board, int startRow, int startCell) {
+        int square = BitBoard.square(startRow, startCell);
+        return square >= 0 && hasJump(board.getPosition(), square);
+    }
 
     /**
      * Returns whether or not this piece has any possible valid moves.
@@ -101,7 +118,58 @@ public abstract class Piece {
      * @param board the current board
      * @return whether or not this piece can move
      */
-    public abstract boolean hasMove(BoardView board, int startRow, int startCell);
+    public boolean hasMove(BoardView board, int startRow, int startCell) {
+        int square = BitBoard.square(startRow, startCell);
+        return square >= 0 && hasMove(board.getPosition(), square);
+    }
+
+    /**
+     * Returns whether or not this piece has any possible valid jumps.
+     *
+     * @param position the current position
+     * @param square the square this piece is on
+     * @return whether or not this piece can jump
+     */
+    public abstract boolean hasJump(BitBoard position, int square);
+
+    /**
+     * Returns whether or not this piece has any possible valid moves.
+     *
+     * @param position the current position
+     * @param square the square this piece is on
+     * @return whether or not this piece can move
+     */
+    public abstract boolean hasMove(BitBoard position, int square);
+
+    /**
+     * Checks if this piece can make a simple move from a square in the direction passed in.
+     *
+     * @param position the current position
+     * @param square the square this piece is on
+     * @param direction the direction to move in
+     * @return whether or not the move is possible
+     */
+    protected boolean canStep(BitBoard position, int square, int direction) {
+        int end = BitBoard.neighbor(square, direction);
+        return end >= 0 && !position.isOccupied(end);
+    }
+
+    /**
+     * Checks if this piece can jump from a square in the direction passed in.
+     *
+     * @param position the current position
+     * @param square the square this piece is on
+     * @param direction the direction to jump in
+     * @return whether or not the jump is possible
+     */
+    protected boolean canJump(BitBoard position, int square, int direction) {
+        int end = BitBoard.jumpLanding(square, direction);
+        if(end < 0 || position.isOccupied(end)) {
+            return false;
+        }
+        int jumped = BitBoard.neighbor(square, direction);
+        return position.isOccupied(jumped) && position.getColor(jumped) != this.color;
+    }
 
     /**
      * Checks if two spaces are equal.
@@ -117,4 +185,14 @@ public abstract class Piece {
         return this.rank == o.rank && this.color == o.color;
     }
 
+    /**
+     * Get a hash code for this piece that agrees with equals.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return rank.ordinal() * Color.values().length + color.ordinal();
+    }
+
 }
@@ -3,13 +3,29 @@ package com.webcheckers.model;
 /**
  * A class to represent Position object.
  *
+ * <p>
+ * Positions can not be changed once made, so every square of the board has one shared instance, returned by
+ * {@link #of(int, int)}. New positions are only made for coordinates off the board.
+ * </p>
+ *
  * @author Eric Landers esl7511@rit.edu
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public class Position{
     //Values used to hold the coordinates of this Position
-    private int row;
-    private int cell;
+    private final int row;
+    private final int cell;
+
+    //The shared position of each square of the board, indexed by row and then cell
+    private static final Position[] POSITIONS = new Position[BoardView.NUM_ROWS * BoardView.NUM_COLS];
+
+    static {
+        for(int row = 0; row < BoardView.NUM_ROWS; row++) {
+            for(int cell = 0; cell < BoardView.NUM_COLS; cell++) {
+                POSITIONS[row * BoardView.NUM_COLS + cell] = new Position(row, cell);
+            }
+        }
+    }
 
     /**
      * Creates a new position
@@ -22,6 +38,20 @@ public class Position{
         this.cell = cell;
     }
 
+    /**
+     * Get the position of a square, which is the shared instance if the square is on the board.
+     *
+     * @param row the row location of the position
+     * @param cell the cell the position occupies
+     * @return the position
+     */
+    public static Position of(int row, int cell) {
+        if(row >= 0 && row < BoardView.NUM_ROWS && cell >= 0 && cell < BoardView.NUM_COLS) {
+            return POSITIONS[row * BoardView.NUM_COLS + cell];
+        }
+        return new Position(row, cell);
+    }
+
     /**
      * Returns the cell of a position
      *
@@ -41,12 +71,12 @@ public class Position{
     }
 
     /**
-     * Inverts a position by creating a new position with an inverted row and cell
+     * Inverts a position by getting the position with an inverted row and cell
      *
-     * @return a new inverted Position
+     * @return the inverted Position
      */
     public Position inverse() {
-        return new Position(BoardView.NUM_ROWS - row - 1, BoardView.NUM_COLS - cell - 1);
+        return of(BoardView.NUM_ROWS - row - 1, BoardView.NUM_COLS - cell - 1);
     }
 
     /**
@@ -74,4 +104,14 @@ public class Position{
         final Position o = (Position) obj;
         return this.row ==o.row && this.cell ==o.cell;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get a hash code for this position that agrees with equals.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return row * BoardView.NUM_COLS + cell;
+    }
+}
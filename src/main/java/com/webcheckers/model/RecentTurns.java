@@ -0,0 +1,132 @@
+package com.webcheckers.model;
+
+/**
+ * A fixed-size ring buffer of the most recent turns of a game, each tagged with the turn sequence number it was
+ * given, so a viewer can be sent just the turns it has not seen.
+ *
+ * <p>
+ * Turns are held the same way as in a {@link MoveList}, in parallel primitive arrays, so recording a turn never
+ * allocates. Once the buffer is full each new turn replaces the oldest one. The sequence number of the newest turn
+ * that has been replaced is remembered, so the buffer can tell whether it still holds every turn after a given
+ * number or whether the viewer has fallen too far behind and has to be sent the whole board instead.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class RecentTurns {
+    //The number of turns a buffer keeps unless it is given a capacity
+    public static final int DEFAULT_CAPACITY = 32;
+
+    //Values used to hold the turns in this buffer, from the oldest at start
+    private final long[] sequences;
+    private final int[] moves;
+    private final int[] captured;
+    private final long[] paths;
+    private final int mask;
+    private int start;
+    private int size;
+    private long droppedThrough;
+
+    /**
+     * Create an empty buffer that keeps the default number of turns.
+     */
+    public RecentTurns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty buffer.
+     *
+     * @param capacity the number of turns kept, which must be a power of two
+     */
+    public RecentTurns(int capacity) {
+        if(capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("The capacity must be a power of two: " + capacity);
+        }
+        this.sequences = new long[capacity];
+        this.moves = new int[capacity];
+        this.captured = new int[capacity];
+        this.paths = new long[capacity];
+        this.mask = capacity - 1;
+        this.start = 0;
+        this.size = 0;
+        this.droppedThrough = 0;
+    }
+
+    /**
+     * Record a turn, replacing the oldest turn if the buffer is full.
+     *
+     * @param sequence the turn sequence number of the turn, which must be higher than any recorded before it
+     * @param move the move word, as packed by {@link MoveList#encode}
+     * @param capturedSquares the squares jumped over
+     * @param path the squares landed on after each jump
+     */
+    public void add(long sequence, int move, int capturedSquares, long path) {
+        int slot;
+        if(size == sequences.length) {
+            slot = start;
+            droppedThrough = sequences[slot];
+            start = (start + 1) & mask;
+        } else {
+            slot = (start + size) & mask;
+            size++;
+        }
+        sequences[slot] = sequence;
+        moves[slot] = move;
+        captured[slot] = capturedSquares;
+        paths[slot] = path;
+    }
+
+    /**
+     * Get the number of turns in this buffer.
+     *
+     * @return the number of turns
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of turns this buffer keeps.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return sequences.length;
+    }
+
+    /**
+     * Check if this buffer still holds every turn recorded after a sequence number.
+     *
+     * @param lastSeen the turn sequence number the viewer was last shown
+     * @return whether or not no turn after it has been replaced
+     */
+    public boolean covers(long lastSeen) {
+        return lastSeen >= droppedThrough;
+    }
+
+    /**
+     * Copy every turn recorded after a sequence number, oldest first.
+     *
+     * @param lastSeen the turn sequence number the viewer was last shown
+     * @param turns a list that is cleared and given the turns
+     * @param turnSequences given the sequence number of each turn copied, at the same index, which must have room for
+     *                      {@link #capacity()} numbers
+     * @return false if some of the turns after lastSeen have been replaced, in which case nothing is copied,
+     *         true otherwise
+     */
+    public boolean copySince(long lastSeen, MoveList turns, long[] turnSequences) {
+        turns.clear();
+        if(!covers(lastSeen)) {
+            return false;
+        }
+        for(int i = 0; i < size; i++) {
+            int slot = (start + i) & mask;
+            if(sequences[slot] > lastSeen) {
+                turnSequences[turns.size()] = sequences[slot];
+                turns.add(moves[slot], captured[slot], paths[slot]);
+            }
+        }
+        return true;
+    }
+}
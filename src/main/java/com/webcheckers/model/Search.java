@@ -0,0 +1,568 @@
+package com.webcheckers.model;
+
+/**
+ * A game-tree search that picks a turn for the color to move in a position.
+ *
+ * <p>
+ * The search is an iterative-deepening negamax alpha-beta search. Leaves are resolved with a quiescence search
+ * that keeps playing forced captures, results are cached in a {@link TranspositionTable}, and moves are tried
+ * best first: the cached best move, then the longest captures, then quiet moves that caused cutoffs before.
+ * Each search is limited by a wall-clock budget, and the turn picked by the deepest finished iteration is kept.
+ * </p>
+ *
+ * <p>
+ * A search works on its own copy of the position and keeps all of its buffers between searches, so one instance
+ * must only be used by one thread at a time.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class Search {
+    //The deepest the search can go, counting both iterations and extensions
+    public static final int MAX_PLY = 64;
+    //The deepest iteration the search will start
+    static final int MAX_DEPTH = 48;
+
+    //The score of a won position, less the number of plies it takes to win
+    static final int WIN_SCORE = 30000;
+    //Scores beyond this are wins or losses found by the search
+    static final int WIN_THRESHOLD = WIN_SCORE - MAX_PLY;
+    static final int INFINITY = WIN_SCORE + 1;
+    //The score of a position the endgame tablebase says is won, less the number of plies it takes to win
+    static final int TABLEBASE_WIN_SCORE = WIN_THRESHOLD - 1;
+    //Scores beyond this are wins or losses found by the search or the endgame tablebase
+    static final int TABLEBASE_THRESHOLD = TABLEBASE_WIN_SCORE - MAX_PLY - EndgameTablebase.MAX_DISTANCE;
+
+    //The values used to evaluate a position
+    static final int SINGLE_VALUE = 100;
+    static final int KING_VALUE = 150;
+    static final int ADVANCE_VALUE = 3;
+    static final int MOBILITY_VALUE = 2;
+
+    //How many nodes are searched between checks of the clock, less one
+    static final int CLOCK_CHECK_MASK = 1023;
+    //The history score past which every history score is halved, which keeps them below the scores of jumps
+    static final int HISTORY_LIMIT = 1 << 20;
+
+    //Values used to hold the position being searched and the buffers used at each ply
+    private final TranspositionTable table;
+    private final BitBoard position;
+    private final MoveList[] lists;
+    private int[][] orderScores;
+    private final int[] undo;
+    private final int[] history;
+    private EndgameTablebase tablebase;
+
+    //Values used to hold the state of the search in progress
+    private long deadline;
+    private boolean stopped;
+    private volatile boolean stopRequested;
+    private int startDepth = 1;
+    private long nodes;
+    private int completedDepth;
+    private int bestScore;
+
+    /**
+     * Create a new search.
+     *
+     * @param table the transposition table the search caches its results in
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+        this.position = new BitBoard();
+        this.lists = new MoveList[MAX_PLY];
+        this.orderScores = new int[MAX_PLY][MoveList.DEFAULT_CAPACITY];
+        for(int ply = 0; ply < MAX_PLY; ply++) {
+            lists[ply] = new MoveList();
+        }
+        this.undo = new int[MAX_PLY * CheckersGame.MAX_TURN_MOVES];
+        this.history = new int[BitBoard.NUM_SQUARES * BitBoard.NUM_SQUARES];
+    }
+
+    /**
+     * Pick a turn for the color to move in a position. The history scores left by earlier searches are halved
+     * first, so turns that were good in older positions count for less than ones found in this search.
+     *
+     * @param root the position to search, which is not changed
+     * @param budgetMillis how long the search may run for, in milliseconds
+     * @param result a list that is cleared and given the turn picked
+     * @return false if the color to move has no legal turn, true otherwise
+     */
+    public boolean findBestTurn(BitBoard root, long budgetMillis, MoveList result) {
+        stopRequested = false;
+        table.newSearch();
+        ageHistory();
+        return findBestTurn(root, budgetMillis, MAX_DEPTH, result);
+    }
+
+    /**
+     * Pick a turn for the color to move in a position, searching no deeper than a fixed depth. Unlike
+     * {@link #findBestTurn(BitBoard, long, MoveList)}, this does not clear a stop requested before it starts or
+     * start a new search in the transposition table, so several threads can run it as parts of one search.
+     *
+     * @param root the position to search, which is not changed
+     * @param budgetMillis how long the search may run for, in milliseconds
+     * @param maxDepth the deepest iteration to search
+     * @param result a list that is cleared and given the turn picked
+     * @return false if the color to move has no legal turn, true otherwise
+     */
+    public boolean findBestTurn(BitBoard root, long budgetMillis, int maxDepth, MoveList result) {
+        result.clear();
+        position.copyFrom(root, false);
+        deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        stopped = false;
+        nodes = 0;
+        completedDepth = 0;
+        bestScore = 0;
+
+        MoveList rootMoves = lists[0];
+        int count = MoveGenerator.generate(position, position.getTurn(), rootMoves);
+        if(count == 0) {
+            return false;
+        }
+        if(count == 1) {
+            result.add(rootMoves, 0);
+            return true;
+        }
+
+        int bestIndex = 0;
+        long entry = table.probe(position.getKey());
+        scoreMoves(rootMoves, 0, TranspositionTable.getMove(entry));
+        for(int depth = Math.min(startDepth, maxDepth); depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+            int alpha = -INFINITY;
+            int iterationBest = -1;
+            int iterationScore = -INFINITY;
+            for(int n = 0; n < count; n++) {
+                pickNext(rootMoves, 0, n);
+                makeTurn(rootMoves, n, 0);
+                int score = -negamax(depth - 1, -INFINITY, -alpha, 1);
+                unmakeTurn(rootMoves, n, 0);
+                if(stopped) {
+                    break;
+                }
+                if(score > iterationScore) {
+                    iterationScore = score;
+                    iterationBest = n;
+                }
+                if(score > alpha) {
+                    alpha = score;
+                }
+            }
+            if(stopped) {
+                break;
+            }
+
+            // move the best turn to the front so the next, deeper iteration tries it first
+            rootMoves.swap(0, iterationBest);
+            bestIndex = 0;
+            completedDepth = depth;
+            bestScore = iterationScore;
+            table.store(position.getKey(), depth, TranspositionTable.EXACT, iterationScore, rootMoves.getMove(0));
+            for(int n = 0; n < count; n++) {
+                orderScores[0][n] = n == 0 ? 1 : 0;
+            }
+            if(Math.abs(iterationScore) >= WIN_THRESHOLD) {
+                break;
+            }
+        }
+
+        result.add(rootMoves, bestIndex);
+        return true;
+    }
+
+    /**
+     * Set the endgame tablebase used to score positions with few enough pieces left, instead of searching them.
+     *
+     * @param tablebase the tablebase, or null to search every position
+     */
+    public void setTablebase(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Ask a search running on another thread to stop as soon as possible. The search keeps the turn picked by
+     * its deepest finished iteration.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Clear a stop requested with {@link #stop()}, so the search can be run again.
+     */
+    void resetStop() {
+        stopRequested = false;
+    }
+
+    /**
+     * Set the depth of the first iteration. Helper threads in a parallel search start at different depths so they
+     * spread out over the tree instead of repeating each other's work.
+     *
+     * @param startDepth the depth of the first iteration
+     */
+    void setStartDepth(int startDepth) {
+        this.startDepth = Math.max(1, startDepth);
+    }
+
+    /**
+     * Turn a value from the endgame tablebase into a score. Tablebase wins score below the wins the search finds
+     * itself, but far above any evaluation, and shorter wins score higher.
+     *
+     * @param value the value of the position for the side to move
+     * @param ply the number of plies from the root
+     * @return the score of the position for the side to move
+     */
+    private static int tablebaseScore(int value, int ply) {
+        int distance = EndgameTablebase.getDistance(value);
+        switch(EndgameTablebase.getResult(value)) {
+            case EndgameTablebase.WIN:
+                return TABLEBASE_WIN_SCORE - ply - distance;
+            case EndgameTablebase.LOSS:
+                return -TABLEBASE_WIN_SCORE + ply + distance;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Search a position to a fixed depth.
+     *
+     * @param depth the number of plies left to search
+     * @param alpha the score the side to move is already sure of
+     * @param beta the score the opponent is already sure of
+     * @param ply the number of plies from the root
+     * @return the score of the position for the side to move
+     */
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        if((++nodes & CLOCK_CHECK_MASK) == 0 && (stopRequested || System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if(stopped) {
+            return 0;
+        }
+        if(tablebase != null) {
+            int value = tablebase.probe(position);
+            if(value != EndgameTablebase.NOT_FOUND) {
+                return tablebaseScore(value, ply);
+            }
+        }
+        if(depth <= 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        if(ply >= MAX_PLY - 1) {
+            return evaluate();
+        }
+
+        int originalAlpha = alpha;
+        long key = position.getKey();
+        long entry = table.probe(key);
+        if(entry != 0 && TranspositionTable.getDepth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.getScore(entry), ply);
+            int bound = TranspositionTable.getBound(entry);
+            if(bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        MoveList list = lists[ply];
+        int count = MoveGenerator.generate(position, position.getTurn(), list);
+        if(count == 0) {
+            return -WIN_SCORE + ply;
+        }
+        // a forced turn does not use up depth, since there is nothing to choose between
+        int nextDepth = count == 1 ? depth : depth - 1;
+        scoreMoves(list, ply, TranspositionTable.getMove(entry));
+
+        int best = -INFINITY;
+        int bestMove = 0;
+        for(int n = 0; n < count; n++) {
+            pickNext(list, ply, n);
+            makeTurn(list, n, ply);
+            int score = -negamax(nextDepth, -beta, -alpha, ply + 1);
+            unmakeTurn(list, n, ply);
+            if(stopped) {
+                return 0;
+            }
+            if(score > best) {
+                best = score;
+                bestMove = list.getMove(n);
+            }
+            if(score > alpha) {
+                alpha = score;
+            }
+            if(alpha >= beta) {
+                if(!list.isJump(n)) {
+                    int index = list.getFrom(n) * BitBoard.NUM_SQUARES + list.getTo(n);
+                    history[index] += depth * depth;
+                    if(history[index] > HISTORY_LIMIT) {
+                        ageHistory();
+                    }
+                }
+                break;
+            }
+        }
+
+        int bound;
+        if(best <= originalAlpha) {
+            bound = TranspositionTable.UPPER;
+        } else if(best >= beta) {
+            bound = TranspositionTable.LOWER;
+        } else {
+            bound = TranspositionTable.EXACT;
+        }
+        table.store(key, depth, bound, toTable(best, ply), bestMove);
+        return best;
+    }
+
+    /**
+     * Search forced captures until the position is quiet, then evaluate it.
+     *
+     * @param alpha the score the side to move is already sure of
+     * @param beta the score the opponent is already sure of
+     * @param ply the number of plies from the root
+     * @return the score of the position for the side to move
+     */
+    private int quiescence(int alpha, int beta, int ply) {
+        if((++nodes & CLOCK_CHECK_MASK) == 0 && (stopRequested || System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if(stopped) {
+            return 0;
+        }
+        if(ply >= MAX_PLY - 1) {
+            return evaluate();
+        }
+
+        MoveList list = lists[ply];
+        int count = MoveGenerator.generate(position, position.getTurn(), list);
+        if(count == 0) {
+            return -WIN_SCORE + ply;
+        }
+        if(!list.isJump(0)) {
+            return evaluate();
+        }
+
+        // captures are forced, so there is no standing pat while one is available
+        scoreMoves(list, ply, 0);
+        int best = -INFINITY;
+        for(int n = 0; n < count; n++) {
+            pickNext(list, ply, n);
+            makeTurn(list, n, ply);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            unmakeTurn(list, n, ply);
+            if(stopped) {
+                return 0;
+            }
+            if(score > best) {
+                best = score;
+            }
+            if(score > alpha) {
+                alpha = score;
+            }
+            if(alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Score the position for the side to move from its material, how far its singles have advanced
+     * and how many moves it has.
+     *
+     * @return the score of the position
+     */
+    int evaluate() {
+        int score = evaluate(Piece.Color.RED) - evaluate(Piece.Color.WHITE);
+        return position.getTurn() == Piece.Color.RED ? score : -score;
+    }
+
+    /**
+     * Score the pieces of one color.
+     *
+     * @param color the color of the pieces
+     * @return the score of the pieces
+     */
+    private int evaluate(Piece.Color color) {
+        int kings = position.getKingCount(color);
+        int singles = position.getPieceCount(color) - kings;
+        int singleSquares = position.getPieces(color) & ~position.getKings();
+
+        int advance = 0;
+        for(int row = 0; row < BoardView.NUM_ROWS; row++) {
+            int onRow = Integer.bitCount(singleSquares & (0xF << (row * BitBoard.SQUARES_PER_ROW)));
+            int distance = color == Piece.Color.RED ? BoardView.NUM_ROWS - 1 - row : row;
+            advance += onRow * distance;
+        }
+        return singles * SINGLE_VALUE + kings * KING_VALUE + advance * ADVANCE_VALUE
+                + position.getMobility(color) * MOBILITY_VALUE;
+    }
+
+    /**
+     * Give each turn in a list an ordering score: the cached best move first, then longer captures,
+     * then moves that caused cutoffs before.
+     *
+     * @param list the list of turns
+     * @param ply the ply the list belongs to
+     * @param tableMove the move word of the cached best move, 0 if there is none
+     */
+    private void scoreMoves(MoveList list, int ply, int tableMove) {
+        if(orderScores[ply].length < list.size()) {
+            orderScores[ply] = new int[list.size() * 2];
+        }
+        int[] scores = orderScores[ply];
+        for(int i = 0; i < list.size(); i++) {
+            if(tableMove != 0 && list.getMove(i) == tableMove) {
+                scores[i] = Integer.MAX_VALUE;
+            } else if(list.isJump(i)) {
+                scores[i] = (1 << 24) + list.getJumps(i);
+            } else {
+                scores[i] = history[list.getFrom(i) * BitBoard.NUM_SQUARES + list.getTo(i)];
+            }
+        }
+    }
+
+    /**
+     * Halve every history score.
+     */
+    private void ageHistory() {
+        for(int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Move the remaining turn with the highest ordering score to a position in a list.
+     *
+     * @param list the list of turns
+     * @param ply the ply the list belongs to
+     * @param n the position to fill
+     */
+    private void pickNext(MoveList list, int ply, int n) {
+        int[] scores = orderScores[ply];
+        int best = n;
+        for(int i = n + 1; i < list.size(); i++) {
+            if(scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        if(best != n) {
+            list.swap(n, best);
+            int score = scores[n];
+            scores[n] = scores[best];
+            scores[best] = score;
+        }
+    }
+
+    /**
+     * Make every step of a turn, crown the piece if it reached the far row and pass the turn.
+     *
+     * @param list the list holding the turn
+     * @param index the index of the turn
+     * @param ply the ply the turn is made at
+     */
+    private void makeTurn(MoveList list, int index, int ply) {
+        int base = ply * CheckersGame.MAX_TURN_MOVES;
+        boolean jump = list.isJump(index);
+        for(int step = 0; step < list.getSteps(index); step++) {
+            int from = list.getStepFrom(index, step);
+            int to = list.getStepTo(index, step);
+            undo[base + step] = position.make(from, to, jump ? BitBoard.between(from, to) : -1);
+        }
+        if(list.isPromotion(index)) {
+            position.crown(list.getTo(index));
+        }
+        position.setTurn(position.getTurn() == Piece.Color.RED ? Piece.Color.WHITE : Piece.Color.RED);
+    }
+
+    /**
+     * Take back a turn made with {@link #makeTurn(MoveList, int, int)}.
+     *
+     * @param list the list holding the turn
+     * @param index the index of the turn
+     * @param ply the ply the turn was made at
+     */
+    private void unmakeTurn(MoveList list, int index, int ply) {
+        position.setTurn(position.getTurn() == Piece.Color.RED ? Piece.Color.WHITE : Piece.Color.RED);
+        if(list.isPromotion(index)) {
+            position.uncrown(list.getTo(index));
+        }
+        int base = ply * CheckersGame.MAX_TURN_MOVES;
+        for(int step = list.getSteps(index) - 1; step >= 0; step--) {
+            position.unmake(undo[base + step]);
+        }
+    }
+
+    /**
+     * Convert a score to be stored in the table, so wins, including tablebase wins, are measured from the stored
+     * position.
+     *
+     * @param score the score
+     * @param ply the number of plies from the root
+     * @return the score to store
+     */
+    static int toTable(int score, int ply) {
+        if(score >= TABLEBASE_THRESHOLD) {
+            return score + ply;
+        } else if(score <= -TABLEBASE_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Convert a score read from the table, so wins, including tablebase wins, are measured from the root.
+     *
+     * @param score the stored score
+     * @param ply the number of plies from the root
+     * @return the score
+     */
+    static int fromTable(int score, int ply) {
+        if(score >= TABLEBASE_THRESHOLD) {
+            return score - ply;
+        } else if(score <= -TABLEBASE_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Get the number of positions visited by the last search.
+     *
+     * @return the number of nodes searched
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Get the depth of the deepest iteration the last search finished.
+     *
+     * @return the depth reached
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Get the score of the turn picked by the last search, for the side that was to move.
+     *
+     * @return the score of the turn picked
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Get the history score of a quiet move, which orders it among the other quiet moves.
+     *
+     * @param from the square the move starts on
+     * @param to the square the move ends on
+     * @return the move's history score
+     */
+    int getHistoryScore(int from, int to) {
+        return history[from * BitBoard.NUM_SQUARES + to];
+    }
+}
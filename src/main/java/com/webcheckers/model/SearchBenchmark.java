@@ -0,0 +1,76 @@
+package com.webcheckers.model;
+
+/**
+ * Measures how the parallel search scales with the number of threads it runs on.
+ *
+ * <p>
+ * For each thread count the search is run from the initial position to a fixed depth with a fresh, shared
+ * transposition table, and the time it took to reach that depth and the number of positions searched per second
+ * are printed. Run it with {@code mvn compile exec:java@search-benchmark}, optionally passing the depth and
+ * thread counts with {@code -Dexec.args="depth threads..."}.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class SearchBenchmark {
+    //The settings used when none are passed in
+    static final int DEFAULT_DEPTH = 12;
+    static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16};
+    //The number of times each thread count is measured, the fastest of which is reported
+    static final int RUNS = 3;
+    //The size of the shared transposition table, in megabytes
+    static final int TABLE_MEGABYTES = 64;
+    //How long a single search may run for before it gives up on reaching the depth
+    static final long BUDGET_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the depth to search to, followed by the thread counts to measure
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int[] threadCounts = DEFAULT_THREADS;
+        if(args.length > 1) {
+            threadCounts = new int[args.length - 1];
+            for(int i = 1; i < args.length; i++) {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        BitBoard root = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        TranspositionTable table = TranspositionTable.withMegabytes(TABLE_MEGABYTES);
+        System.out.printf("Searching the initial position to depth %d on %d processors.%n", depth,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %14s %14s %9s%n", "threads", "time (ms)", "nodes", "nodes/sec", "speedup");
+
+        double baseMillis = 0;
+        for(int threads : threadCounts) {
+            ParallelSearch search = new ParallelSearch(threads, table);
+            MoveList result = new MoveList();
+            // one untimed run lets the JIT compile the search before it is measured
+            table.clear();
+            search.findBestTurn(root, BUDGET_MILLIS, depth, result);
+
+            double bestMillis = Double.MAX_VALUE;
+            long bestNodes = 0;
+            for(int run = 0; run < RUNS; run++) {
+                table.clear();
+                long start = System.nanoTime();
+                search.findBestTurn(root, BUDGET_MILLIS, depth, result);
+                double millis = (System.nanoTime() - start) / 1e6;
+                if(millis < bestMillis) {
+                    bestMillis = millis;
+                    bestNodes = search.getNodes();
+                }
+            }
+            search.shutdown();
+
+            if(baseMillis == 0) {
+                baseMillis = bestMillis;
+            }
+            System.out.printf("%8d %12.1f %14d %14.0f %8.2fx%n", threads, bestMillis, bestNodes,
+                    bestNodes / (bestMillis / 1000), baseMillis / bestMillis);
+        }
+    }
+}
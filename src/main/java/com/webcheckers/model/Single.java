@@ -1,13 +1,15 @@
 package com.webcheckers.model;
 
-import java.util.List;
-
 /**
  * A class to represent a single piece.
  *
  * @author Jesse Burdick-Pless jb4411@g.rit.edu
  */
 public class Single extends Piece{
+    //The shared red and white singles
+    private static final Single RED = new Single(Color.RED);
+    private static final Single WHITE = new Single(Color.WHITE);
+
     /**
      * Create a new single piece.
      *
@@ -17,6 +19,16 @@ public class Single extends Piece{
         super(Type.SINGLE, color);
     }
 
+    /**
+     * Get the shared single of a color.
+     *
+     * @param color the color of the piece
+     * @return the piece
+     */
+    public static Single of(Color color) {
+        return color == Color.RED ? RED : WHITE;
+    }
+
     /**
      * A copy constructor to create a copy of this piece.
      *
@@ -27,6 +39,15 @@ public class Single extends Piece{
         return new Single(this.getColor());
     }
 
+    /**
+     * Get the direction this piece moves in. Red singles move towards row 0 and white singles move towards row 7.
+     *
+     * @return -1 if this piece moves towards row 0, 1 otherwise
+     */
+    private int forward() {
+        return this.getColor() == Color.RED ? -1 : 1;
+    }
+
     /**
      * Checks if a move is a valid simple hop.
      *
@@ -35,7 +56,7 @@ public class Single extends Piece{
      */
     @Override
     public boolean isMoveValid(Move move) {
-        return move.isSimpleMove() && ((move.getStart().getRow() - move.getEnd().getRow()) == 1);
+        return move.isSimpleMove() && ((move.getEnd().getRow() - move.getStart().getRow()) == forward());
     }
 
     /**
@@ -49,53 +70,41 @@ public class Single extends Piece{
     @Override
     public boolean isJumpValid(Move move, Space jumpedSquare, Space endSpace) {
         boolean captured = (jumpedSquare.getPiece() != null) && (jumpedSquare.getPiece().getColor() != this.getColor());
-        return move.isJump() && ((move.getStart().getRow() - move.getEnd().getRow()) == 2) && captured && (endSpace.getPiece() == null);
+        return move.isJump() && ((move.getEnd().getRow() - move.getStart().getRow()) == 2 * forward()) && captured && (endSpace.getPiece() == null);
+    }
+
+    /**
+     * Get the first of the two directions this piece moves in. The second direction always follows the first.
+     *
+     * @return UP_LEFT for red singles, DOWN_LEFT for white singles
+     */
+    private int firstDirection() {
+        return this.getColor() == Color.RED ? BitBoard.UP_LEFT : BitBoard.DOWN_LEFT;
     }
 
     /**
      * Returns whether or not this piece has any possible valid jumps.
      *
-     * @param startRow the row this piece is on
-     * @param startCell the cell this piece is on
-     * @param board the current board
+     * @param position the current position
+     * @param square the square this piece is on
      * @return whether or not this piece can jump
      */
     @Override
-    public boolean hasJump(BoardView board, int startRow, int startCell) {
-        Move jump;
-        Position start = new Position(startRow, startCell);
-        Position end = new Position(startRow - 2, startCell - 2);
-        jump = new Move(start, end);
-        if(end.isValid() && this.isJumpValid(jump, board.getJumpedSquare(jump), board.getSquare(end))) {
-            return true;
-        } else {
-            end = new Position(startRow - 2, startCell + 2);
-            jump = new Move(start, end);
-            return end.isValid() && this.isJumpValid(jump, board.getJumpedSquare(jump), board.getSquare(end));
-        }
+    public boolean hasJump(BitBoard position, int square) {
+        int direction = firstDirection();
+        return canJump(position, square, direction) || canJump(position, square, direction + 1);
     }
 
     /**
      * Returns whether or not this piece has any possible valid moves.
      *
-     * @param board     the current board
-     * @param startRow  the row this piece is on
-     * @param startCell the cell this piece is on
+     * @param position the current position
+     * @param square the square this piece is on
      * @return whether or not this piece can move
      */
     @Override
-    public boolean hasMove(BoardView board, int startRow, int startCell) {
-        Move move;
-        Position start = new Position(startRow, startCell);
-
-        List<List<Integer>> signs = List.of(List.of(-1, -1), List.of(-1, 1));
-        for(List<Integer> pair : signs) {
-            Position end = new Position(startRow + pair.get(0), startCell + pair.get(1));
-            move = new Move(start, end);
-            if(end.isValid() && this.isMoveValid(move) && (board.getSquare(end).getPiece() == null)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean hasMove(BitBoard position, int square) {
+        int direction = firstDirection();
+        return canStep(position, square, direction) || canStep(position, square, direction + 1);
     }
 }
@@ -10,6 +10,9 @@ public class Space {
     private int cellIdx;
     private boolean valid;
     private Piece piece;
+    //The position and square this space is a view of, if it belongs to a board
+    private final BitBoard position;
+    private final int square;
 
     /**
      * Create a new Space.
@@ -22,6 +25,23 @@ public class Space {
         this.cellIdx = cellIdx;
         this.piece = piece;
         this.valid = valid;
+        this.position = null;
+        this.square = -1;
+    }
+
+    /**
+     * Create a new Space that reads and writes its piece through to a square of a position.
+     *
+     * @param cellIdx the index of this space in its row
+     * @param position the position backing this space
+     * @param square the index of this space's square in the position
+     */
+    Space(int cellIdx, BitBoard position, int square) {
+        this.cellIdx = cellIdx;
+        this.piece = null;
+        this.valid = true;
+        this.position = position;
+        this.square = square;
     }
 
     /**
@@ -35,12 +55,11 @@ public class Space {
         } else {
             this.cellIdx = space.getCellIdx();
         }
-        if(space.getPiece() != null) {
-            this.piece = space.getPiece().getCopy();
-        } else {
-            this.piece = null;
-        }
+        // pieces can not be changed, so the copy can hold the same piece
+        this.piece = space.getPiece();
         this.valid = space.isValid();
+        this.position = null;
+        this.square = -1;
     }
 
     /**
@@ -61,7 +80,7 @@ public class Space {
         if(!this.valid){
             return false;
         } else {
-            return this.piece == null;
+            return getPiece() == null;
         }
     }
 
@@ -71,6 +90,9 @@ public class Space {
      * @return the piece if there is a piece, otherwise null.
      */
     public Piece getPiece(){
+        if(position != null) {
+            return position.getPiece(square);
+        }
         return piece;
     }
 
@@ -80,7 +102,11 @@ public class Space {
      * @param piece the piece to be on this space
      */
     public void setPiece(Piece piece) {
-        this.piece = piece;
+        if(position != null) {
+            position.setPiece(square, piece);
+        } else {
+            this.piece = piece;
+        }
     }
 
     /**
@@ -104,11 +130,13 @@ public class Space {
         if(obj == this) return true;
         if(!(obj instanceof Space)) return false;
         final Space o = (Space) obj;
+        Piece piece = this.getPiece();
+        Piece other = o.getPiece();
         boolean samePiece;
-        if(this.piece == null || o.piece == null) {
-            samePiece = this.piece == o.piece;
+        if(piece == null || other == null) {
+            samePiece = piece == other;
         } else {
-            samePiece = this.piece.equals(o.piece);
+            samePiece = piece.equals(other);
         }
         return this.cellIdx == o.cellIdx && this.valid == o.valid && samePiece;
     }
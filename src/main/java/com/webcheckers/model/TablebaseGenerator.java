@@ -0,0 +1,383 @@
+package com.webcheckers.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import static com.webcheckers.model.EndgameTablebase.*;
+
+/**
+ * Solves every endgame position with up to a given number of pieces by retrograde analysis and writes the results
+ * to the table files read by {@link EndgameTablebase}.
+ *
+ * <p>
+ * Tables are solved from the fewest pieces up, and for the same number of pieces from the fewest singles up, so
+ * every position a capture or a crowning leads to has already been solved. The only moves that stay in the same
+ * number of pieces and singles hand the turn to the other color, so a table is solved together with the table
+ * that has the colors swapped. Solving goes in rounds: round n marks the positions that are won or lost in n
+ * plies, using only results from earlier rounds, until a round marks nothing new. Positions left over are draws.
+ * Each round is split between a pool of threads, and the tables are written straight into memory-mapped files,
+ * so even the largest table never sits on the heap.
+ * </p>
+ *
+ * <p>
+ * Generation can be stopped at any point and picked up later. Tables are built in files ending in {@code .part}
+ * that record the last round they finished, and a table is only renamed to its final name once it is solved.
+ * Run it with {@code mvn compile exec:java@tablebase}, optionally passing the directory, the most pieces and the
+ * number of threads with {@code -Dexec.args="directory pieces threads"}.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class TablebaseGenerator {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(TablebaseGenerator.class.getName());
+
+    //The settings used when none are passed in
+    static final String DEFAULT_DIRECTORY = "tablebases";
+    //The extension of a table that is still being solved
+    static final String PART_EXTENSION = ".part";
+    //The number of positions each task of a round works through
+    static final int CHUNK_SIZE = 1 << 16;
+    //The round number recorded in a finished table
+    static final int SOLVED = -1;
+
+    //Values used to hold the settings of the generator and the tables solved so far
+    private final Path directory;
+    private final int maxPieces;
+    private final ExecutorService pool;
+    private final EndgameTablebase tablebase;
+    private int maxDistance;
+
+    /**
+     * Create a new generator.
+     *
+     * @param directory the directory to write the tables to
+     * @param maxPieces the most pieces to solve positions for
+     * @param threads the number of threads to solve on
+     */
+    public TablebaseGenerator(Path directory, int maxPieces, int threads) {
+        if(maxPieces > MAX_PIECES) {
+            throw new IllegalArgumentException("Tables can hold at most " + MAX_PIECES + " pieces.");
+        }
+        this.directory = directory;
+        this.maxPieces = maxPieces;
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        this.tablebase = new EndgameTablebase();
+        this.maxDistance = 0;
+    }
+
+    /**
+     * Generate the tables.
+     *
+     * @param args the directory to write to, the most pieces and the number of threads
+     * @throws IOException if a table can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : DEFAULT_DIRECTORY);
+        int pieces = args.length > 1 ? Integer.parseInt(args[1]) : MAX_PIECES;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        TablebaseGenerator generator = new TablebaseGenerator(directory, pieces, threads);
+        try {
+            generator.generate();
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    /**
+     * Solve every table that has not been solved yet.
+     *
+     * @return the tablebase holding every table
+     * @throws IOException if a table can not be written
+     */
+    public EndgameTablebase generate() throws IOException {
+        Files.createDirectories(directory);
+        for(int pieces = 2; pieces <= maxPieces; pieces++) {
+            for(int singles = 0; singles <= pieces; singles++) {
+                for(int redSingles = 0; redSingles <= singles; redSingles++) {
+                    int whiteSingles = singles - redSingles;
+                    for(int redKings = 0; redKings <= pieces - singles; redKings++) {
+                        int whiteKings = pieces - singles - redKings;
+                        if(redSingles + redKings == 0 || whiteSingles + whiteKings == 0) {
+                            continue;
+                        }
+                        int material = material(redSingles, redKings, whiteSingles, whiteKings);
+                        if(!tablebase.hasTable(material)) {
+                            solve(material, swapColors(material));
+                        }
+                    }
+                }
+            }
+        }
+        return tablebase;
+    }
+
+    /**
+     * Stop the threads the generator solves on.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Solve a table together with the table that has the colors swapped, or load them if they are already solved.
+     *
+     * @param material the material code of the table
+     * @param swapped the material code with the colors swapped, which may be the same
+     * @throws IOException if a table can not be written
+     */
+    private void solve(int material, int swapped) throws IOException {
+        int[] pair = material == swapped ? new int[] {material} : new int[] {material, swapped};
+        List<Integer> unsolved = new ArrayList<>();
+        List<MappedByteBuffer> unsolvedTables = new ArrayList<>();
+        int round = Integer.MAX_VALUE;
+        for(int code : pair) {
+            MappedByteBuffer table = map(code);
+            tablebase.put(code, table);
+            int tableRound = table.getInt(ROUND_OFFSET);
+            if(tableRound == SOLVED) {
+                maxDistance = Math.max(maxDistance, table.getInt(MAX_DISTANCE_OFFSET));
+            } else {
+                unsolved.add(code);
+                unsolvedTables.add(table);
+                round = Math.min(round, tableRound);
+            }
+        }
+        if(unsolved.isEmpty()) {
+            return;
+        }
+
+        // if generation stopped between renaming the two tables, only the one left is solved again
+        int[] materials = unsolved.stream().mapToInt(Integer::intValue).toArray();
+        MappedByteBuffer[] tables = unsolvedTables.toArray(new MappedByteBuffer[0]);
+
+        LOG.info("Solving " + fileName(materials[0]) + (materials.length > 1 ? " and " + fileName(materials[1]) : "")
+                + " from round " + round + ".");
+        // a result in another table decided in d plies decides positions here in round d + 1, so every round up
+        // to one past the longest distance seen so far has to run even if it marks nothing
+        for(boolean changed = true; changed || round <= maxDistance + 1; round++) {
+            changed = runRound(materials, tables, round);
+            for(MappedByteBuffer table : tables) {
+                table.force();
+                if(changed) {
+                    table.putInt(MAX_DISTANCE_OFFSET, round);
+                }
+                table.putInt(ROUND_OFFSET, round + 1);
+                table.force();
+            }
+        }
+
+        maxDistance = Math.max(maxDistance, tables[0].getInt(MAX_DISTANCE_OFFSET));
+        for(int i = 0; i < materials.length; i++) {
+            tables[i].putInt(ROUND_OFFSET, SOLVED);
+            tables[i].force();
+            Path part = directory.resolve(fileName(materials[i]) + PART_EXTENSION);
+            Files.move(part, directory.resolve(fileName(materials[i])), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Map the file of a table, creating it if it does not exist yet. A solved table is mapped from its final
+     * file, anything else from its part file.
+     *
+     * @param material the material code of the table
+     * @return the mapped table
+     * @throws IOException if the file can not be mapped
+     */
+    private MappedByteBuffer map(int material) throws IOException {
+        Path file = directory.resolve(fileName(material));
+        if(Files.exists(file)) {
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        Path part = directory.resolve(fileName(material) + PART_EXTENSION);
+        long bytes = HEADER_BYTES + size(material) * VALUE_BYTES;
+        try(FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // a part file of the wrong size is left from something else, so start it over; growing the file by
+            // mapping it fills it with zeros, which is every position undecided
+            boolean fresh = channel.size() != bytes;
+            if(fresh) {
+                channel.truncate(0);
+            }
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            boolean damaged = table.getInt(MAGIC_OFFSET) != MAGIC || table.getInt(MATERIAL_OFFSET) != material;
+            if(!fresh && damaged) {
+                int offset = 0;
+                for(; offset + Long.BYTES <= bytes; offset += Long.BYTES) {
+                    table.putLong(offset, 0L);
+                }
+                for(; offset < bytes; offset += VALUE_BYTES) {
+                    table.putShort(offset, (short) 0);
+                }
+            }
+            if(fresh || damaged) {
+                table.putInt(MAGIC_OFFSET, MAGIC);
+                table.putInt(MATERIAL_OFFSET, material);
+                table.putInt(ROUND_OFFSET, 0);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Run one round over every position of the tables being solved, split between the threads.
+     *
+     * @param materials the material codes of the tables
+     * @param tables the tables
+     * @param round the round to run, 0 to mark the positions that can not happen or have no legal moves
+     * @return whether or not any position was marked
+     * @throws IOException if a thread fails
+     */
+    private boolean runRound(int[] materials, MappedByteBuffer[] tables, int round) throws IOException {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for(int i = 0; i < materials.length; i++) {
+            long size = size(materials[i]);
+            for(long start = 0; start < size; start += CHUNK_SIZE) {
+                tasks.add(new RoundTask(materials[i], tables[i], start, Math.min(size, start + CHUNK_SIZE), round));
+            }
+        }
+
+        boolean changed = false;
+        try {
+            for(Future<Boolean> result : pool.invokeAll(tasks)) {
+                changed |= result.get();
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generation was interrupted.", e);
+        } catch(ExecutionException e) {
+            throw new IOException("A round failed.", e.getCause());
+        }
+        return changed;
+    }
+
+    /**
+     * One thread's share of a round: a range of positions from one table.
+     */
+    private class RoundTask implements Callable<Boolean> {
+        //Values used to hold the range of positions and the buffers used to work through them
+        private final int material;
+        private final MappedByteBuffer table;
+        private final long start;
+        private final long end;
+        private final int round;
+        private final int[] masks = new int[3];
+        private final BitBoard position = new BitBoard();
+        private final MoveList moves = new MoveList();
+
+        /**
+         * Create a task for a range of positions.
+         *
+         * @param material the material code of the table
+         * @param table the table
+         * @param start the first index in the range
+         * @param end the index after the last one in the range
+         * @param round the round being run
+         */
+        RoundTask(int material, MappedByteBuffer table, long start, long end, int round) {
+            this.material = material;
+            this.table = table;
+            this.start = start;
+            this.end = end;
+            this.round = round;
+        }
+
+        /**
+         * Mark every position in the range that is decided this round.
+         *
+         * @return whether or not any position was marked
+         */
+        @Override
+        public Boolean call() {
+            boolean changed = false;
+            for(long index = start; index < end; index++) {
+                if(get(table, index) != DRAW) {
+                    continue;
+                }
+                unindex(material, index, masks);
+                int value = round == 0 ? initialValue() : solveValue();
+                if(value != DRAW) {
+                    set(table, index, value);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Mark a position that can not happen in a game, or that red has no legal move in.
+         *
+         * @return INVALID, a loss in 0 plies, or DRAW if the position is not decided yet
+         */
+        private int initialValue() {
+            int red = masks[0];
+            int white = masks[1];
+            int kings = masks[2];
+            if((red & ~kings & RED_CROWN_ROW) != 0 || (white & ~kings & WHITE_CROWN_ROW) != 0) {
+                return INVALID;
+            }
+            position.setPieces(red, white, kings);
+            if(MoveGenerator.generate(position, Piece.Color.RED, moves) == 0) {
+                return value(LOSS, 0);
+            }
+            return DRAW;
+        }
+
+        /**
+         * Decide a position from the results of the positions its moves lead to, counting only results found in
+         * earlier rounds. The position is won if a move leads to a loss for white, and lost if every move leads
+         * to a win for white.
+         *
+         * @return a win or loss in this round's number of plies, or DRAW if the position is not decided yet
+         */
+        private int solveValue() {
+            int red = masks[0];
+            int white = masks[1];
+            int kings = masks[2];
+            position.setPieces(red, white, kings);
+            int count = MoveGenerator.generate(position, Piece.Color.RED, moves);
+            boolean allLost = true;
+            for(int i = 0; i < count; i++) {
+                int from = moves.getFrom(i);
+                int to = moves.getTo(i);
+                int captured = moves.getCaptured(i);
+                int newRed = (red & ~(1 << from)) | (1 << to);
+                int newWhite = white & ~captured;
+                int newKings = kings & ~captured & ~(1 << from);
+                if((kings & (1 << from)) != 0 || moves.isPromotion(i)) {
+                    newKings |= 1 << to;
+                }
+
+                // with the board rotated and the colors swapped, white's reply is red to move again
+                int reply = tablebase.probe(Integer.reverse(newWhite), Integer.reverse(newRed),
+                        Integer.reverse(newKings));
+                int result = getResult(reply);
+                boolean decided = reply != NOT_FOUND && getDistance(reply) < round;
+                if(decided && result == LOSS) {
+                    return value(WIN, round);
+                }
+                if(!decided || result != WIN) {
+                    allLost = false;
+                }
+            }
+            return allLost ? value(LOSS, round) : DRAW;
+        }
+    }
+}
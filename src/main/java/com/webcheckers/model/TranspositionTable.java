@@ -0,0 +1,257 @@
+package com.webcheckers.model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size cache of search results, indexed by the Zobrist key of a position, that many search threads
+ * can share without locking.
+ *
+ * <p>
+ * The whole table is a single primitive array, so its memory use is fixed when it is created and it holds no
+ * objects for the garbage collector to trace. Each entry is two longs: a data word packing the score, the depth
+ * searched, the type of bound the score is, the best move found and the search it was stored by, and the key of
+ * the position XORed with the data word. Two threads writing the same entry at once can leave the key of one
+ * write beside the data of the other; such an entry no longer XORs back to any real key, so it is simply treated
+ * as a miss.
+ * </p>
+ *
+ * <p>
+ * Entries are grouped into buckets of two, and a position can be stored in either entry of its bucket. When a
+ * bucket is full, the entry searched the least deep is replaced, counting entries left over from earlier searches
+ * as shallower the older they are, so the table fills with results from the current search over time.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class TranspositionTable {
+    //The types of bound a stored score can be
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    //The layout of a data word
+    static final int SCORE_OFFSET = 1 << 15;
+    static final int SCORE_MASK = 0xFFFF;
+    static final int DEPTH_SHIFT = 16;
+    static final int DEPTH_MASK = 0xFF;
+    static final int BOUND_SHIFT = 24;
+    static final int BOUND_MASK = 0x3;
+    static final int MOVE_SHIFT = 26;
+    static final int MOVE_MASK = 0x7FFF;
+    static final int GENERATION_SHIFT = 41;
+    static final int GENERATION_MASK = 0x3F;
+
+    //The layout of the table: two longs per entry and two entries per bucket
+    static final int ENTRY_LONGS = 2;
+    static final int BUCKET_ENTRIES = 2;
+    static final int BYTES_PER_ENTRY = ENTRY_LONGS * Long.BYTES;
+    //How many plies of depth an entry is worth less for each search since it was stored
+    static final int AGE_PENALTY = 4;
+
+    //Values used to hold the entries of the table
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    /**
+     * Create a new, empty table.
+     *
+     * @param entries the number of entries to hold, rounded down to a power of two
+     */
+    public TranspositionTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries, BUCKET_ENTRIES));
+        this.table = new long[size * ENTRY_LONGS];
+        this.bucketMask = size / BUCKET_ENTRIES - 1;
+    }
+
+    /**
+     * Create a new, empty table that uses no more than a given amount of memory.
+     *
+     * @param megabytes the most memory the table may use, in megabytes
+     * @return the table
+     */
+    public static TranspositionTable withMegabytes(int megabytes) {
+        long entries = ((long) Math.max(megabytes, 0) << 20) / BYTES_PER_ENTRY;
+        return new TranspositionTable((int) Math.min(entries, Integer.highestOneBit(Integer.MAX_VALUE / ENTRY_LONGS)));
+    }
+
+    /**
+     * Pack a search result into a data word.
+     *
+     * @param depth the depth searched
+     * @param bound the type of bound the score is
+     * @param score the score
+     * @param move the move word of the best move, 0 if there is none
+     * @param generation the search storing the result
+     * @return the data word
+     */
+    static long pack(int depth, int bound, int score, int move, int generation) {
+        return ((long) (score + SCORE_OFFSET) & SCORE_MASK)
+                | ((long) (depth & DEPTH_MASK) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (move & MOVE_MASK) << MOVE_SHIFT)
+                | ((long) (generation & GENERATION_MASK) << GENERATION_SHIFT);
+    }
+
+    /**
+     * Get the number of entries this table holds.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return table.length / ENTRY_LONGS;
+    }
+
+    /**
+     * Get the amount of memory used by the entries of this table.
+     *
+     * @return the size of the table, in bytes
+     */
+    public long getBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    /**
+     * Remove every entry from this table.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    /**
+     * Start a new search, so entries stored by earlier searches are replaced before the new search's own.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Look up a position.
+     *
+     * @param key the Zobrist key of the position
+     * @return the data word stored for the position, or 0 if there is none
+     */
+    public long probe(long key) {
+        int first = bucket(key);
+        for(int index = first; index < first + BUCKET_ENTRIES * ENTRY_LONGS; index += ENTRY_LONGS) {
+            long entry = table[index + 1];
+            if((table[index] ^ entry) == key) {
+                return entry;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Store a search result. A result already stored for the same position is only replaced by one searched at
+     * least as deep, unless it was stored by an earlier search. Otherwise the least valuable entry in the bucket
+     * is replaced.
+     *
+     * @param key the Zobrist key of the position
+     * @param depth the depth searched
+     * @param bound the type of bound the score is
+     * @param score the score
+     * @param move the move word of the best move, 0 if there is none
+     */
+    public void store(long key, int depth, int bound, int score, int move) {
+        int current = generation;
+        int first = bucket(key);
+        int victim = first;
+        int victimWorth = Integer.MAX_VALUE;
+        for(int index = first; index < first + BUCKET_ENTRIES * ENTRY_LONGS; index += ENTRY_LONGS) {
+            long entry = table[index + 1];
+            if((table[index] ^ entry) == key) {
+                if(getDepth(entry) > depth && getGeneration(entry) == current) {
+                    return;
+                }
+                victim = index;
+                break;
+            }
+            int worth = worth(entry, current);
+            if(worth < victimWorth) {
+                victim = index;
+                victimWorth = worth;
+            }
+        }
+
+        long entry = pack(depth, bound, score, move, current);
+        table[victim] = key ^ entry;
+        table[victim + 1] = entry;
+    }
+
+    /**
+     * Find the first long of the bucket a position is stored in.
+     *
+     * @param key the Zobrist key of the position
+     * @return the index of the bucket's first entry in the table
+     */
+    private int bucket(long key) {
+        return ((int) key & bucketMask) * BUCKET_ENTRIES * ENTRY_LONGS;
+    }
+
+    /**
+     * Rate how much an entry is worth keeping: its depth, less a penalty for every search since it was stored.
+     *
+     * @param entry the data word of the entry
+     * @param current the current search
+     * @return the worth of the entry, lowest for an empty entry
+     */
+    private static int worth(long entry, int current) {
+        if(entry == 0) {
+            return Integer.MIN_VALUE;
+        }
+        int age = (current - getGeneration(entry)) & GENERATION_MASK;
+        return getDepth(entry) - age * AGE_PENALTY;
+    }
+
+    /**
+     * Get the score from a data word.
+     *
+     * @param data the data word
+     * @return the score
+     */
+    public static int getScore(long data) {
+        return (int) (data & SCORE_MASK) - SCORE_OFFSET;
+    }
+
+    /**
+     * Get the depth searched from a data word.
+     *
+     * @param data the data word
+     * @return the depth
+     */
+    public static int getDepth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    /**
+     * Get the type of bound from a data word.
+     *
+     * @param data the data word
+     * @return EXACT, LOWER or UPPER, or 0 if the data word is empty
+     */
+    public static int getBound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    /**
+     * Get the move word of the best move from a data word.
+     *
+     * @param data the data word
+     * @return the move word, or 0 if there is none
+     */
+    public static int getMove(long data) {
+        return (int) (data >>> MOVE_SHIFT) & MOVE_MASK;
+    }
+
+    /**
+     * Get the search that stored a data word.
+     *
+     * @param data the data word
+     * @return the generation of the search
+     */
+    static int getGeneration(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+}
@@ -0,0 +1,181 @@
+package com.webcheckers.model;
+
+/**
+ * A prefix trie of every legal turn a player can take, built once at the start of the turn.
+ *
+ * <p>
+ * Each node below the root is one step of a turn, a simple move or a single jump, and the path from the root
+ * to a node is the sequence of steps made so far. A node is complete if a legal turn ends there. Nodes are
+ * stored in primitive arrays and reused from turn to turn, so rebuilding the trie does not allocate once it
+ * has grown to fit the largest turn set seen.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class TurnTrie {
+    //The node every turn starts from
+    public static final int ROOT = 0;
+    //The value returned when a step does not continue any legal turn
+    public static final int NO_NODE = -1;
+
+    //The number of nodes a new trie has room for before it has to grow
+    static final int DEFAULT_CAPACITY = 64;
+
+    //Values used to hold the nodes of the trie
+    private int[] steps;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private boolean[] complete;
+    private int size;
+
+    //A buffer reused to generate the legal turns
+    private final MoveList moves;
+
+    /**
+     * Create a new trie holding no turns.
+     */
+    public TurnTrie() {
+        this.steps = new int[DEFAULT_CAPACITY];
+        this.firstChild = new int[DEFAULT_CAPACITY];
+        this.nextSibling = new int[DEFAULT_CAPACITY];
+        this.complete = new boolean[DEFAULT_CAPACITY];
+        this.moves = new MoveList();
+        clear();
+    }
+
+    /**
+     * Pack a step into the key stored in a node.
+     *
+     * @param from the square the step starts on
+     * @param to the square the step ends on
+     * @return the step key
+     */
+    static int step(int from, int to) {
+        return from | (to << MoveList.TO_SHIFT);
+    }
+
+    /**
+     * Remove every turn from this trie.
+     */
+    public void clear() {
+        this.size = 1;
+        steps[ROOT] = -1;
+        firstChild[ROOT] = NO_NODE;
+        nextSibling[ROOT] = NO_NODE;
+        complete[ROOT] = false;
+    }
+
+    /**
+     * Rebuild this trie to hold every legal turn for a player.
+     *
+     * @param position the position at the start of the turn
+     * @param color the color of the player to move
+     * @return the number of legal turns
+     */
+    public int build(BitBoard position, Piece.Color color) {
+        clear();
+        int count = MoveGenerator.generate(position, color, moves);
+        for(int i = 0; i < count; i++) {
+            int node = ROOT;
+            for(int step = 0; step < moves.getSteps(i); step++) {
+                int key = step(moves.getStepFrom(i, step), moves.getStepTo(i, step));
+                int child = child(node, key);
+                if(child == NO_NODE) {
+                    child = addChild(node, key);
+                }
+                node = child;
+            }
+            complete[node] = true;
+        }
+        return count;
+    }
+
+    /**
+     * Find the node reached by making a step from a node.
+     *
+     * @param node the node reached so far
+     * @param from the square the step starts on
+     * @param to the square the step ends on
+     * @return the node reached, or NO_NODE if the step does not continue a legal turn
+     */
+    public int walk(int node, int from, int to) {
+        if(from < 0 || to < 0) {
+            return NO_NODE;
+        }
+        return child(node, step(from, to));
+    }
+
+    /**
+     * Check if a legal turn ends at a node.
+     *
+     * @param node the node to check
+     * @return whether or not the steps leading to the node make a complete turn
+     */
+    public boolean isComplete(int node) {
+        return complete[node];
+    }
+
+    /**
+     * Check if this trie holds any turns.
+     *
+     * @return whether or not the player has a legal turn
+     */
+    public boolean isEmpty() {
+        return firstChild[ROOT] == NO_NODE;
+    }
+
+    /**
+     * Find the child of a node holding a step.
+     *
+     * @param node the parent node
+     * @param key the step key
+     * @return the child, or NO_NODE if there is none
+     */
+    private int child(int node, int key) {
+        for(int child = firstChild[node]; child != NO_NODE; child = nextSibling[child]) {
+            if(steps[child] == key) {
+                return child;
+            }
+        }
+        return NO_NODE;
+    }
+
+    /**
+     * Add a child to a node, growing the trie if it is full.
+     *
+     * @param node the parent node
+     * @param key the step key
+     * @return the new child
+     */
+    private int addChild(int node, int key) {
+        if(size == steps.length) {
+            grow();
+        }
+        int child = size++;
+        steps[child] = key;
+        firstChild[child] = NO_NODE;
+        nextSibling[child] = firstChild[node];
+        complete[child] = false;
+        firstChild[node] = child;
+        return child;
+    }
+
+    /**
+     * Double the number of nodes this trie can hold.
+     */
+    private void grow() {
+        int capacity = steps.length * 2;
+        int[] newSteps = new int[capacity];
+        int[] newFirstChild = new int[capacity];
+        int[] newNextSibling = new int[capacity];
+        boolean[] newComplete = new boolean[capacity];
+        System.arraycopy(steps, 0, newSteps, 0, size);
+        System.arraycopy(firstChild, 0, newFirstChild, 0, size);
+        System.arraycopy(nextSibling, 0, newNextSibling, 0, size);
+        System.arraycopy(complete, 0, newComplete, 0, size);
+        this.steps = newSteps;
+        this.firstChild = newFirstChild;
+        this.nextSibling = newNextSibling;
+        this.complete = newComplete;
+    }
+}
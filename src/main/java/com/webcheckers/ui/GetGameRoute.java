@@ -35,6 +35,8 @@ public class GetGameRoute implements Route {
     static final String CURRENT_USER_ATTR = "currentUser";
     static final String VIEW_MODE_ATTR = "viewMode";
     static final String MODE_OPTIONS_JSON_ATTR = "modeOptionsAsJSON";
+    static final String TURN_OPTION = "turn";
+    static final String SOCKET_TOKEN_OPTION = "socketToken";
     static final String RED_PLAYER_ATTR = "redPlayer";
     static final String WHITE_PLAYER_ATTR = "whitePlayer";
     static final String ACTIVE_COLOR_ATTR = "activeColor";
@@ -119,10 +121,13 @@ public class GetGameRoute implements Route {
             vm.put(MESSAGE_ATTR, IN_GAME_ERROR_MESSAGE);
         }
 
-        Gson gson = new Gson();
-        final Map<String, Object> modeOptions = new HashMap<>(2);
+        Gson gson = ModelTypeAdapters.GSON;
+        final Map<String, Object> modeOptions = new HashMap<>(4);
+        // the turn is read before the board, so the page never claims a newer turn than the board it shows
+        modeOptions.put(TURN_OPTION, game.getTurnSequence());
         modeOptions.put("isGameOver", game.isGameOver());
         modeOptions.put("gameOverMessage", game.gameOverMessage());
+        modeOptions.put(SOCKET_TOKEN_OPTION, gameCenter.getSocketTokens().issue(name));
         vm.put(MODE_OPTIONS_JSON_ATTR, gson.toJson(modeOptions));
 
         vm.put(CURRENT_USER_ATTR, current);
@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Logger;
 
+import com.webcheckers.application.ActiveGames;
 import com.webcheckers.application.GameCenter;
 import com.webcheckers.application.PlayerLobby;
 import com.webcheckers.model.CheckersGame;
@@ -108,22 +109,26 @@ public class GetHomeRoute implements Route {
       response.redirect(WebServer.GAME_URL);
       CheckersGame game = gameCenter.getGame(name);
       if(lobby.getPlayer(name).getColor() == game.getCurrentColor()) {
-        game.clearTurnMoves();
+        gameCenter.execute(game, g -> {
+          g.clearTurnMoves();
+          return null;
+        });
       }
       return null;
     }
 
-    Map<String, String> activeGames = gameCenter.getAllActiveGames();
+    // the snapshot never changes, so it is read without holding up games being created or finished
+    ActiveGames activeGames = gameCenter.getActiveGames();
 
     if(name != null) {
       vm.put(CURRENT_USER_ATTR, lobby.getPlayer(name));
       vm.put(CURRENT_PLAYERS_ATTR, lobby.getAllPlayers());
-      vm.put(ACTIVE_GAMES_ATTR, activeGames);
+      vm.put(ACTIVE_GAMES_ATTR, activeGames.getGames());
     } else {
       vm.put(CURRENT_USER_ATTR, null);
     }
     vm.put(NUM_PLAYERS_ATTR, lobby.getNumPlayers());
-    vm.put(NUM_ACTIVE_GAMES_ATTR, activeGames.size());
+    vm.put(NUM_ACTIVE_GAMES_ATTR, activeGames.getCount());
 
     // render the View
     return templateEngine.render(new ModelAndView(vm , "home.ftl"));
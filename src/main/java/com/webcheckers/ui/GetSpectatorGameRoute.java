@@ -36,6 +36,9 @@ public class GetSpectatorGameRoute implements Route {
     static final String BOARD_ATTR = "board";
     static final String MESSAGE_ATTR = "message";
     static final String GAME_ID_ATTR = "gameID";
+    static final String MODE_OPTIONS_JSON_ATTR = "modeOptionsAsJSON";
+    static final String TURN_OPTION = "turn";
+    static final String SOCKET_TOKEN_OPTION = "socketToken";
 
     /**
      * Create the Spark Route (UI controller) to handle all {@code GET /spectator/game} HTTP requests.
@@ -77,22 +80,35 @@ public class GetSpectatorGameRoute implements Route {
         }
 
         Map<String, Object> vm = new HashMap<>();
-        int gameID = Integer.parseInt(request.queryParams(GAME_ID_ATTR));
+        long gameID = Long.parseLong(request.queryParams(GAME_ID_ATTR));
         CheckersGame game = gameCenter.getGameByID(gameID);
+        if(game == null) {
+            // the game has been archived, or never existed
+            response.redirect(WebServer.HOME_URL);
+            return null;
+        }
         Player current = lobby.getPlayer(name);
         vm.put(CURRENT_USER_ATTR, current);
         gameCenter.addSpectator(gameID, current);
         vm.put(VIEW_MODE_ATTR, CheckersGame.Mode.SPECTATOR);
+        // the turn, the color to move and the board are read in one command, so they always belong to the same turn
+        long turn = gameCenter.execute(game, spectated -> {
+            Piece.Color activeColor = spectated.getCurrentColor();
+            vm.put(ACTIVE_COLOR_ATTR, activeColor);
+            vm.put(BOARD_ATTR, spectated.getBoard(activeColor != Piece.Color.RED));
+            if(spectated.isGameOver()) {
+                vm.put(MESSAGE_ATTR, Message.info(spectated.gameOverMessage()));
+            }
+            return spectated.getTurnSequence();
+        });
+        Map<String, Object> modeOptions = new HashMap<>(2);
+        modeOptions.put(TURN_OPTION, turn);
+        modeOptions.put(SOCKET_TOKEN_OPTION, gameCenter.getSocketTokens().issue(name));
+        vm.put(MODE_OPTIONS_JSON_ATTR, ModelTypeAdapters.GSON.toJson(modeOptions));
         Player red = game.redPlayer();
         vm.put(RED_PLAYER_ATTR, red);
         Player white = game.whitePlayer();
         vm.put(WHITE_PLAYER_ATTR, white);
-        Piece.Color activeColor = game.getCurrentColor();
-        vm.put(ACTIVE_COLOR_ATTR, activeColor);
-        vm.put(BOARD_ATTR, game.getBoard(activeColor != Piece.Color.RED));
-        if(game.isGameOver()) {
-            vm.put(MESSAGE_ATTR, Message.info(game.gameOverMessage()));
-        }
         vm.put("title", red.getName() + " VS " + white.getName());
 
         // render the View
@@ -55,7 +55,7 @@ public class GetSpectatorStopWatchingRoute implements Route {
             return null;
         }
         Player current = gameCenter.getLobby().getPlayer(name);
-        int gameID = Integer.parseInt(request.queryParams(GAME_ID_ATTR));
+        long gameID = Long.parseLong(request.queryParams(GAME_ID_ATTR));
         gameCenter.removeSpectator(gameID, current);
         response.redirect(WebServer.HOME_URL);
         return null;
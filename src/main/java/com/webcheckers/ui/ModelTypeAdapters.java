@@ -0,0 +1,196 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+
+import java.io.IOException;
+
+/**
+ * Gson adapters that read positions, moves and pieces as the shared instances the model keeps, so reading a move
+ * sent by the game page does not make any new objects. The JSON is the same as Gson writes without them.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public final class ModelTypeAdapters {
+    //The Gson used by the routes, which is safe to share between requests
+    public static final Gson GSON = register(new GsonBuilder()).create();
+
+    /**
+     * This class only holds static methods and should not be instantiated.
+     */
+    private ModelTypeAdapters() {
+    }
+
+    /**
+     * Add the adapters to a Gson builder.
+     *
+     * @param builder the builder
+     * @return the builder
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder.registerTypeAdapter(Position.class, new PositionAdapter().nullSafe())
+                .registerTypeAdapter(Move.class, new MoveAdapter().nullSafe())
+                .registerTypeHierarchyAdapter(Piece.class, new PieceAdapter().nullSafe());
+    }
+
+    /**
+     * Reads and writes a position as its row and cell.
+     */
+    static class PositionAdapter extends TypeAdapter<Position> {
+        /**
+         * Write a position.
+         *
+         * @param out the writer
+         * @param position the position
+         * @throws IOException if it can not be written
+         */
+        @Override
+        public void write(JsonWriter out, Position position) throws IOException {
+            out.beginObject();
+            out.name("row").value(position.getRow());
+            out.name("cell").value(position.getCell());
+            out.endObject();
+        }
+
+        /**
+         * Read a position.
+         *
+         * @param in the reader
+         * @return the shared position
+         * @throws IOException if it can not be read
+         */
+        @Override
+        public Position read(JsonReader in) throws IOException {
+            int row = 0;
+            int cell = 0;
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "row":
+                        row = in.nextInt();
+                        break;
+                    case "cell":
+                        cell = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return Position.of(row, cell);
+        }
+    }
+
+    /**
+     * Reads and writes a move as its start and end positions.
+     */
+    static class MoveAdapter extends TypeAdapter<Move> {
+        //The adapter used for the positions of the move
+        private final PositionAdapter positions = new PositionAdapter();
+
+        /**
+         * Write a move.
+         *
+         * @param out the writer
+         * @param move the move
+         * @throws IOException if it can not be written
+         */
+        @Override
+        public void write(JsonWriter out, Move move) throws IOException {
+            out.beginObject();
+            out.name("start");
+            positions.write(out, move.getStart());
+            out.name("end");
+            positions.write(out, move.getEnd());
+            out.endObject();
+        }
+
+        /**
+         * Read a move.
+         *
+         * @param in the reader
+         * @return the shared move
+         * @throws IOException if it can not be read
+         */
+        @Override
+        public Move read(JsonReader in) throws IOException {
+            Position start = null;
+            Position end = null;
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "start":
+                        start = positions.read(in);
+                        break;
+                    case "end":
+                        end = positions.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if(start == null || end == null) {
+                throw new IOException("A move needs a start and an end.");
+            }
+            return Move.of(start, end);
+        }
+    }
+
+    /**
+     * Reads and writes a piece as its rank and color.
+     */
+    static class PieceAdapter extends TypeAdapter<Piece> {
+        /**
+         * Write a piece.
+         *
+         * @param out the writer
+         * @param piece the piece
+         * @throws IOException if it can not be written
+         */
+        @Override
+        public void write(JsonWriter out, Piece piece) throws IOException {
+            out.beginObject();
+            out.name("rank").value(piece.getType().name());
+            out.name("color").value(piece.getColor().name());
+            out.endObject();
+        }
+
+        /**
+         * Read a piece.
+         *
+         * @param in the reader
+         * @return the shared piece
+         * @throws IOException if it can not be read
+         */
+        @Override
+        public Piece read(JsonReader in) throws IOException {
+            Piece.Type rank = null;
+            Piece.Color color = null;
+            in.beginObject();
+            while(in.hasNext()) {
+                switch(in.nextName()) {
+                    case "rank":
+                        rank = Piece.Type.valueOf(in.nextString());
+                        break;
+                    case "color":
+                        color = Piece.Color.valueOf(in.nextString());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if(rank == null || color == null) {
+                throw new IOException("A piece needs a rank and a color.");
+            }
+            return Piece.of(rank, color);
+        }
+    }
+}
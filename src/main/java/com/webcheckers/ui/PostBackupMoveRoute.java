@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.webcheckers.application.GameCenter;
 import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Move;
+import com.webcheckers.util.Message;
 import spark.*;
 import java.util.logging.Logger;
 
@@ -43,7 +44,8 @@ public class PostBackupMoveRoute implements Route{
         String name = request.session().attribute("name");
         CheckersGame game = gameCenter.getGame(name);
 
-        Gson gson = new Gson();
-        return gson.toJson(game.backupMove());
+        Gson gson = ModelTypeAdapters.GSON;
+        Message message = gameCenter.execute(game, CheckersGame::backupMove);
+        return gson.toJson(message);
     }
 }
\ No newline at end of file
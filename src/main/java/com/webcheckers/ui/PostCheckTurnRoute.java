@@ -4,6 +4,7 @@ import com.webcheckers.application.PlayerLobby;
 import spark.*;
 import java.util.logging.Logger;
 import com.google.gson.Gson;
+import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Player;
 import com.webcheckers.util.Message;
 
@@ -19,6 +20,7 @@ public class PostCheckTurnRoute implements Route {
     //Variables used to hold the objects used by this route
     private final GameCenter gameCenter;
     private final PlayerLobby playerLobby;
+    private final TurnLongPoll longPoll;
 
     /**
      * Create the Spark Route (UI controller) to handle all {@code POST /checkTurn} HTTP requests.
@@ -29,11 +31,15 @@ public class PostCheckTurnRoute implements Route {
     public PostCheckTurnRoute(GameCenter gameCenter, PlayerLobby playerLobby){
         this.gameCenter = gameCenter;
         this.playerLobby = playerLobby;
+        this.longPoll = new TurnLongPoll(gameCenter.getNotifier());
         LOG.config("PostCheckTurnRoute is initialized.");
     }
 
     /**
-     * Check to see if the opponent has submitted their turn.
+     * Check to see if the opponent has submitted their turn. A page that sends the turn sequence number it was shown
+     * is told whether the game has changed since; otherwise it is told whether it is the player's turn. A request
+     * with a {@code wait} parameter is held for up to that many seconds, until the opponent submits their turn or the
+     * game ends.
      *
      * @param request the HTTP request
      * @param response the HTTP response
@@ -42,18 +48,49 @@ public class PostCheckTurnRoute implements Route {
     @Override
     public Object handle(Request request, Response response) throws Exception {
         LOG.finer("PostCheckTurnRoute is invoked.");
-        Gson gson = new Gson();
 
         String name = request.session().attribute("name");
         Player player = this.playerLobby.getPlayer(name);
+        CheckersGame game = gameCenter.getGame(player.getName());
+        long lastTurn = TurnLongPoll.lastTurn(request);
 
-        String json; 
-        if(player.getColor() == gameCenter.getGame(player.getName()).getCurrentColor()){
-            json = gson.toJson(Message.info("true"));
+        if(longPoll.park(request, response, game, () -> isTurnOver(player, game, lastTurn),
+                () -> answer(player, game, lastTurn))) {
+            return "";
+        }
+        return answer(player, game, lastTurn);
+    }
+
+    /**
+     * Check if the player no longer has to wait for their opponent.
+     *
+     * @param player the player checking
+     * @param game the game they are playing
+     * @param lastTurn the turn sequence number the player's page was shown, or {@link TurnLongPoll#NO_TURN}
+     * @return true if the player should reload the game, false otherwise
+     */
+    private static boolean isTurnOver(Player player, CheckersGame game, long lastTurn) {
+        if(lastTurn != TurnLongPoll.NO_TURN) {
+            return game.hasTurnSince(lastTurn);
+        }
+        return player.getColor() == game.getCurrentColor() || game.isGameOver();
+    }
+
+    /**
+     * Make the answer to a check.
+     *
+     * @param player the player checking
+     * @param game the game they are playing
+     * @param lastTurn the turn sequence number the player's page was shown, or {@link TurnLongPoll#NO_TURN}
+     * @return json message with the text true if the player should reload the game, and false otherwise
+     */
+    private static String answer(Player player, CheckersGame game, long lastTurn) {
+        Gson gson = ModelTypeAdapters.GSON;
+        if(isTurnOver(player, game, lastTurn)){
+            return gson.toJson(Message.info("true"));
         }
         else {
-            json = gson.toJson(Message.info("false"));
+            return gson.toJson(Message.info("false"));
         }
-        return json;
     }
 }
\ No newline at end of file
@@ -46,7 +46,7 @@ public class PostResignGameRoute implements Route {
     public Object handle(Request request, Response response) throws Exception {
         String name = request.session().attribute("name");
 
-        Gson gson = new Gson();
+        Gson gson = ModelTypeAdapters.GSON;
         return gson.toJson(gameCenter.resign(name));
     }
 }
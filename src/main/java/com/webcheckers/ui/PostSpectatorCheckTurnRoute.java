@@ -24,6 +24,7 @@ public class PostSpectatorCheckTurnRoute implements Route {
     //Variables used to hold the objects used by this route
     private final GameCenter gameCenter;
     private final PlayerLobby lobby;
+    private final TurnLongPoll longPoll;
 
     /**
      * Create the Spark Route (UI controller) to handle all {@code GET /spectator/stopWatching} HTTP requests.
@@ -34,12 +35,16 @@ public class PostSpectatorCheckTurnRoute implements Route {
     public PostSpectatorCheckTurnRoute(GameCenter gameCenter, PlayerLobby lobby) {
         this.gameCenter = gameCenter;
         this.lobby = lobby;
+        this.longPoll = new TurnLongPoll(gameCenter.getNotifier());
         //
         LOG.config("PostSpectatorCheckTurnRoute is initialized.");
     }
 
     /**
-     * Check if there is a new turn the spectator has not yet seen.
+     * Check if there is a new turn the spectator has not yet seen, from the turn sequence number their page was
+     * shown. Nothing about the game is changed, so every spectator of a game is answered the same way. A request
+     * with a {@code wait} parameter is held for up to that many seconds, until the next turn is played or the game
+     * ends.
      *
      * @param request
      *   the HTTP request
@@ -52,7 +57,6 @@ public class PostSpectatorCheckTurnRoute implements Route {
     @Override
     public Object handle(Request request, Response response) throws Exception {
         LOG.finer("PostSpectatorCheckTurnRoute is invoked.");
-        Gson gson = new Gson();
 
         String name = request.session().attribute("name");
         if(name == null) {
@@ -66,9 +70,27 @@ public class PostSpectatorCheckTurnRoute implements Route {
             return null;
         }
 
+        // a page that does not say what it was shown has nothing to compare with, so it is never told to reload
+        long lastTurn = TurnLongPoll.lastTurn(request);
+        long seen = lastTurn == TurnLongPoll.NO_TURN ? Long.MAX_VALUE : lastTurn;
+        if(longPoll.park(request, response, spectatedGame, () -> spectatedGame.hasTurnSince(seen),
+                () -> answer(spectatedGame, seen))) {
+            return "";
+        }
+        return answer(spectatedGame, seen);
+    }
+
+    /**
+     * Make the answer to a check.
+     *
+     * @param spectatedGame the game being spectated
+     * @param lastTurn the turn sequence number the spectator's page was shown
+     * @return json message with the text true if there is a new turn, and false otherwise
+     */
+    private static String answer(CheckersGame spectatedGame, long lastTurn) {
+        Gson gson = ModelTypeAdapters.GSON;
         String json;
-        if(spectatedGame.isNewTurn()){
-            spectatedGame.setNewTurn(false);
+        if(spectatedGame.hasTurnSince(lastTurn)){
             json = gson.toJson(Message.info("true"));
         } else {
             json = gson.toJson(Message.info("false"));
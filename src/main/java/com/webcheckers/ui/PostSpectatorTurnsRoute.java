@@ -0,0 +1,154 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameCenter;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.BitBoard;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.MoveList;
+import com.webcheckers.model.Player;
+import com.webcheckers.model.Position;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * UI controller to POST for the turns of a spectated game the spectator has not yet seen, so their page can apply
+ * them to the board it is showing instead of reloading.
+ *
+ * <p>
+ * The page sends the turn sequence number it was last shown. The answer holds the game's current number, whose
+ * turn it is, whether the game is over, and each newer turn as the steps it was played in, the squares it captured
+ * and whether it crowned a piece, all from red's side of the board. If the spectator is too far behind for the
+ * game's recent turns to catch them up, the answer is marked incomplete and the page reloads instead.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class PostSpectatorTurnsRoute implements Route {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(PostSpectatorTurnsRoute.class.getName());
+
+    //The fields of an answer
+    static final String TURN_FIELD = "turn";
+    static final String COMPLETE_FIELD = "complete";
+    static final String ACTIVE_COLOR_FIELD = "activeColor";
+    static final String IS_GAME_OVER_FIELD = "isGameOver";
+    static final String GAME_OVER_MESSAGE_FIELD = "gameOverMessage";
+    static final String TURNS_FIELD = "turns";
+    //The fields of a turn in an answer
+    static final String STEPS_FIELD = "steps";
+    static final String CAPTURED_FIELD = "captured";
+    static final String PROMOTION_FIELD = "promotion";
+
+    //Variables used to hold the objects used by this route
+    private final GameCenter gameCenter;
+    private final PlayerLobby lobby;
+
+    /**
+     * Create the Spark Route (UI controller) to handle all {@code POST /spectator/turns} HTTP requests.
+     *
+     * @param gameCenter the game center used to coordinate the state of the WebCheckers Application
+     * @param lobby the lobby used to hold all players that are currently logged in
+     */
+    public PostSpectatorTurnsRoute(GameCenter gameCenter, PlayerLobby lobby) {
+        this.gameCenter = gameCenter;
+        this.lobby = lobby;
+        //
+        LOG.config("PostSpectatorTurnsRoute is initialized.");
+    }
+
+    /**
+     * Get the turns of the spectated game played after the turn sequence number the spectator's page was shown.
+     *
+     * @param request
+     *   the HTTP request
+     * @param response
+     *   the HTTP response
+     *
+     * @return
+     *   the turns the spectator has not seen, as JSON
+     */
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        LOG.finer("PostSpectatorTurnsRoute is invoked.");
+
+        String name = request.session().attribute("name");
+        if(name == null) {
+            response.redirect(WebServer.HOME_URL);
+            return null;
+        }
+        Player current = lobby.getPlayer(name);
+        CheckersGame spectatedGame = gameCenter.getGameBySpectator(current);
+        if(spectatedGame == null) {
+            response.redirect(WebServer.HOME_URL);
+            return null;
+        }
+
+        long lastTurn = TurnLongPoll.lastTurn(request);
+        // read as one command, so no turn can be played between the parts of the answer
+        Map<String, Object> delta = gameCenter.execute(spectatedGame, game -> delta(game, lastTurn));
+        return ModelTypeAdapters.GSON.toJson(delta);
+    }
+
+    /**
+     * Make the answer for a spectator.
+     *
+     * @param game the game being spectated
+     * @param lastTurn the turn sequence number the spectator's page was shown, or {@link TurnLongPoll#NO_TURN}
+     * @return the fields of the answer
+     */
+    static Map<String, Object> delta(CheckersGame game, long lastTurn) {
+        MoveList turns = new MoveList();
+        long[] sequences = new long[CheckersGame.RECENT_TURNS];
+        boolean complete = lastTurn != TurnLongPoll.NO_TURN && game.copyTurnsSince(lastTurn, turns, sequences);
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put(TURN_FIELD, game.getTurnSequence());
+        delta.put(COMPLETE_FIELD, complete);
+        delta.put(ACTIVE_COLOR_FIELD, game.getCurrentColor().name());
+        delta.put(IS_GAME_OVER_FIELD, game.isGameOver());
+        if(game.isGameOver()) {
+            delta.put(GAME_OVER_MESSAGE_FIELD, game.gameOverMessage());
+        }
+        List<Map<String, Object>> played = new ArrayList<>(turns.size());
+        for(int i = 0; i < turns.size(); i++) {
+            played.add(turn(turns, i, sequences[i]));
+        }
+        delta.put(TURNS_FIELD, played);
+        return delta;
+    }
+
+    /**
+     * Make the part of an answer describing one turn.
+     *
+     * @param turns the list holding the turn
+     * @param index the index of the turn in the list
+     * @param sequence the turn sequence number of the turn
+     * @return the fields of the turn
+     */
+    private static Map<String, Object> turn(MoveList turns, int index, long sequence) {
+        List<Move> steps = new ArrayList<>(turns.getSteps(index));
+        for(int step = 0; step < turns.getSteps(index); step++) {
+            steps.add(turns.getStep(index, step));
+        }
+        List<Position> captured = new ArrayList<>(turns.getJumps(index));
+        for(int squares = turns.getCaptured(index); squares != 0; squares &= squares - 1) {
+            int square = Integer.numberOfTrailingZeros(squares);
+            captured.add(Position.of(BitBoard.row(square), BitBoard.cell(square)));
+        }
+
+        Map<String, Object> turn = new LinkedHashMap<>();
+        turn.put(TURN_FIELD, sequence);
+        turn.put(STEPS_FIELD, steps);
+        turn.put(CAPTURED_FIELD, captured);
+        turn.put(PROMOTION_FIELD, turns.isPromotion(index));
+        return turn;
+    }
+}
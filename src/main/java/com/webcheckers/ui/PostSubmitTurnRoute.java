@@ -46,10 +46,12 @@ public class PostSubmitTurnRoute implements Route{
         String name = request.session().attribute("name");
         CheckersGame game = gameCenter.getGame(name);
 
-        Gson gson = new Gson();
-        Message message = game.submitTurn();
+        Gson gson = ModelTypeAdapters.GSON;
+        Message message = gameCenter.execute(game, CheckersGame::submitTurn);
         if(game.isGameOver()) {
             gameCenter.endGame(name);
+        } else if(message.getType() == Message.Type.INFO) {
+            gameCenter.turnSubmitted(game);
         }
         return gson.toJson(message);
     }
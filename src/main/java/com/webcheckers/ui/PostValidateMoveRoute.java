@@ -49,9 +49,12 @@ public class PostValidateMoveRoute implements Route  {
         String name = request.session().attribute("name");
         CheckersGame game = gameCenter.getGame(name);
 
-        Gson gson = new Gson();
-        Move move = gson.fromJson(request.queryParams("actionData"), Move.class);
+        Gson gson = ModelTypeAdapters.GSON;
+        Move sent = gson.fromJson(request.queryParams("actionData"), Move.class);
+        // the white player sees a flipped board, so their moves are flipped back before they reach the game
+        Move move = name.equals(game.whitePlayer().getName()) ? sent.inverse() : sent;
 
-        return gson.toJson(game.testMove(move));
+        Message message = gameCenter.execute(game, played -> played.testMove(move));
+        return gson.toJson(message);
     }
 }
@@ -0,0 +1,244 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameNotifier;
+import com.webcheckers.model.CheckersGame;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Lets a check-turn route wait for the next event in a game before answering, for clients that cannot keep a
+ * WebSocket open.
+ *
+ * <p>
+ * A request that asks to wait is parked with the servlet's async support, so no thread is held while it waits. It
+ * is answered as soon as the game publishes an event, or with the same answer as an ordinary check once the wait is
+ * over. Because Spark writes and closes the response once a route returns, a parked response is committed before
+ * the route returns, which tells Spark to leave the body alone.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+public class TurnLongPoll {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(TurnLongPoll.class.getName());
+
+    //The parameter holding how many seconds a check may wait, and the most it may ask for
+    public static final String WAIT_PARAM = "wait";
+    public static final int MAX_WAIT_SECONDS = 30;
+
+    //The parameter holding the turn sequence number a page was last shown, sent as the page's action data
+    public static final String LAST_TURN_PARAM = "actionData";
+    public static final long NO_TURN = -1;
+
+    //The content type Spark gives the answers it writes itself
+    static final String CONTENT_TYPE = "text/html; charset=utf-8";
+
+    //Variables used to hold the notifier parked requests listen to and the threads that answer them
+    private final GameNotifier notifier;
+    private final Executor executor;
+
+    /**
+     * Create a long poll that listens to the events of a notifier and answers on the common pool.
+     *
+     * @param notifier the notifier games publish their events to
+     */
+    public TurnLongPoll(GameNotifier notifier) {
+        this(notifier, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a long poll.
+     *
+     * @param notifier the notifier games publish their events to
+     * @param executor the threads parked requests are answered on when an event is published
+     */
+    TurnLongPoll(GameNotifier notifier, Executor executor) {
+        this.notifier = notifier;
+        this.executor = executor;
+    }
+
+    /**
+     * Get how long a request asked to wait, up to {@link #MAX_WAIT_SECONDS}.
+     *
+     * @param request the HTTP request
+     * @return the number of seconds, or 0 if the request did not ask to wait or asked for something that is not a
+     *         number
+     */
+    public static int waitSeconds(Request request) {
+        String wait = request.queryParams(WAIT_PARAM);
+        if(wait == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Math.min(MAX_WAIT_SECONDS, Integer.parseInt(wait.trim())));
+        } catch(NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Get the turn sequence number a check says its page was last shown.
+     *
+     * @param request the HTTP request
+     * @return the number, or {@link #NO_TURN} if the request did not send one or sent something that is not a number
+     */
+    public static long lastTurn(Request request) {
+        String lastTurn = request.queryParams(LAST_TURN_PARAM);
+        if(lastTurn == null) {
+            return NO_TURN;
+        }
+        try {
+            return Math.max(NO_TURN, Long.parseLong(lastTurn.trim()));
+        } catch(NumberFormatException e) {
+            return NO_TURN;
+        }
+    }
+
+    /**
+     * Park a request until something happens in its game or its wait is over. If the request did not ask to wait,
+     * or it cannot be parked, nothing is done and the route should answer it right away.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param game the game the request is checking
+     * @param ready whether the answer is already worth sending, checked once the request is listening so an event
+     *              published while it was being parked is not missed
+     * @param answer the JSON answer, made when the request is answered
+     * @return true if the request was parked and the route should return without a body, false otherwise
+     */
+    public boolean park(Request request, Response response, CheckersGame game, BooleanSupplier ready,
+                        Supplier<String> answer) {
+        int seconds = waitSeconds(request);
+        HttpServletRequest raw = request.raw();
+        if(seconds == 0 || raw == null || !raw.isAsyncSupported()) {
+            return false;
+        }
+
+        AsyncContext async = raw.startAsync();
+        async.setTimeout(seconds * 1000L);
+        response.type(CONTENT_TYPE);
+        try {
+            response.raw().flushBuffer();
+        } catch(IOException e) {
+            async.complete();
+            return true;
+        }
+        Parked parked = new Parked(async, game.getGameID(), answer);
+        async.addListener(parked);
+        notifier.subscribe(parked.gameID, parked);
+        if(ready.getAsBoolean()) {
+            parked.answer();
+        }
+        return true;
+    }
+
+    /**
+     * A request waiting for the next event in its game.
+     */
+    private class Parked implements GameNotifier.Listener, AsyncListener {
+        //Values used to hold the parked request and how to answer it
+        private final AsyncContext async;
+        private final long gameID;
+        private final Supplier<String> answer;
+        private final AtomicBoolean answered;
+
+        /**
+         * Create a parked request.
+         *
+         * @param async the async context of the request
+         * @param gameID the ID of the game it is waiting on
+         * @param answer the JSON answer, made when the request is answered
+         */
+        Parked(AsyncContext async, long gameID, Supplier<String> answer) {
+            this.async = async;
+            this.gameID = gameID;
+            this.answer = answer;
+            this.answered = new AtomicBoolean();
+        }
+
+        /**
+         * Answer the request, unless it has already been answered.
+         */
+        void answer() {
+            if(!answered.compareAndSet(false, true)) {
+                return;
+            }
+            notifier.unsubscribe(gameID, this);
+            try {
+                async.getResponse().getWriter().write(answer.get());
+            } catch(IOException | RuntimeException e) {
+                LOG.fine("A parked check of game " + gameID + " could not be answered: " + e.getMessage());
+            } finally {
+                async.complete();
+            }
+        }
+
+        /**
+         * Answer the request on another thread, so the thread publishing the event is not held up. The container's
+         * own {@link AsyncContext#start} is not used, since Spark's handler has no servlet context for it to run in.
+         *
+         * @param game the game the event happened in
+         * @param event what happened
+         */
+        @Override
+        public void notify(CheckersGame game, GameNotifier.Event event) {
+            if(!answered.get()) {
+                executor.execute(this::answer);
+            }
+        }
+
+        /**
+         * Answer the request with the ordinary answer once its wait is over.
+         *
+         * @param event the async event
+         */
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            answer();
+        }
+
+        /**
+         * Stop listening once the request has been answered.
+         *
+         * @param event the async event
+         */
+        @Override
+        public void onComplete(AsyncEvent event) {
+            notifier.unsubscribe(gameID, this);
+        }
+
+        /**
+         * Stop listening if the request failed, like the client going away.
+         *
+         * @param event the async event
+         */
+        @Override
+        public void onError(AsyncEvent event) {
+            if(answered.compareAndSet(false, true)) {
+                notifier.unsubscribe(gameID, this);
+                async.complete();
+            }
+        }
+
+        /**
+         * Nothing is done when the request is parked again.
+         *
+         * @param event the async event
+         */
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
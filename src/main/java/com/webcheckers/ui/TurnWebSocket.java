@@ -0,0 +1,189 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameCenter;
+import com.webcheckers.application.GameNotifier;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * UI controller for the {@code /turns} WebSocket, which pushes the events of a game to its players and spectators
+ * as they happen instead of having their pages ask every few seconds.
+ *
+ * <p>
+ * A socket belongs to the player named by the token its page was drawn with, sent as the {@code token} parameter of
+ * the socket's URL, and follows the game that player is playing or spectating. Spark runs sockets apart from the
+ * routes, with no view of their HTTP sessions, so the token is what ties a socket to a player. Each event is sent as a small JSON object, and the page then asks the usual routes for
+ * whatever it needs. Messages are sent without waiting, so a slow client never holds up the thread publishing the
+ * event.
+ * </p>
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@WebSocket
+public class TurnWebSocket {
+    //The log for this object
+    private static final Logger LOG = Logger.getLogger(TurnWebSocket.class.getName());
+
+    //The parameter of the socket's URL holding the token of its page
+    public static final String TOKEN_PARAM = "token";
+
+    //The fields of an event sent to a client
+    static final String GAME_ID_FIELD = "gameID";
+    static final String EVENT_FIELD = "event";
+    static final String ACTIVE_COLOR_FIELD = "activeColor";
+
+    //Variables used to hold the objects used by this controller and the open sockets
+    private final GameCenter gameCenter;
+    private final PlayerLobby lobby;
+    private final Gson gson;
+    private final Map<Session, Subscription> subscriptions;
+
+    /**
+     * Create the WebSocket controller for {@code /turns}.
+     *
+     * @param gameCenter the game center used to coordinate the state of the WebCheckers Application
+     * @param lobby the lobby used to hold all players that are currently logged in
+     */
+    public TurnWebSocket(GameCenter gameCenter, PlayerLobby lobby) {
+        this.gameCenter = gameCenter;
+        this.lobby = lobby;
+        this.gson = ModelTypeAdapters.GSON;
+        this.subscriptions = new ConcurrentHashMap<>();
+        //
+        LOG.config("TurnWebSocket is initialized.");
+    }
+
+    /**
+     * Subscribe a newly opened socket to the game its player is playing or spectating. A socket with no token, a
+     * token that is not held, or a player with no game, is closed.
+     *
+     * @param session the socket
+     */
+    @OnWebSocketConnect
+    public void onConnect(Session session) {
+        Player player = lobby.getPlayer(gameCenter.getSocketTokens().getName(token(session)));
+        CheckersGame game = null;
+        if(player != null) {
+            game = gameCenter.getGame(player.getName());
+            if(game == null) {
+                game = gameCenter.getGameBySpectator(player);
+            }
+        }
+        if(game == null) {
+            session.close();
+            return;
+        }
+
+        Subscription subscription = new Subscription(session, game.getGameID());
+        subscriptions.put(session, subscription);
+        gameCenter.getNotifier().subscribe(subscription.gameID, subscription);
+        LOG.finer(player.getName() + " is following game " + subscription.gameID + ".");
+    }
+
+    /**
+     * Unsubscribe a socket once it has closed.
+     *
+     * @param session the socket
+     * @param statusCode the status the socket closed with
+     * @param reason why the socket closed
+     */
+    @OnWebSocketClose
+    public void onClose(Session session, int statusCode, String reason) {
+        Subscription subscription = subscriptions.remove(session);
+        if(subscription != null) {
+            gameCenter.getNotifier().unsubscribe(subscription.gameID, subscription);
+        }
+    }
+
+    /**
+     * Get the number of open sockets following games.
+     *
+     * @return the number of sockets
+     */
+    int getOpenCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Get the token a socket was opened with.
+     *
+     * @param session the socket
+     * @return the token, or null if the socket's URL has none
+     */
+    static String token(Session session) {
+        Map<String, List<String>> parameters = session.getUpgradeRequest().getParameterMap();
+        List<String> token = parameters == null ? null : parameters.get(TOKEN_PARAM);
+        return token == null || token.isEmpty() ? null : token.get(0);
+    }
+
+    /**
+     * Turn an event into the JSON sent to a client.
+     *
+     * @param game the game the event happened in
+     * @param event what happened
+     * @return the JSON object
+     */
+    String toJson(CheckersGame game, GameNotifier.Event event) {
+        Map<String, String> message = new HashMap<>();
+        message.put(GAME_ID_FIELD, Long.toString(game.getGameID()));
+        message.put(EVENT_FIELD, event.name());
+        message.put(ACTIVE_COLOR_FIELD, game.getCurrentColor().name());
+        return gson.toJson(message);
+    }
+
+    /**
+     * An open socket following a game.
+     */
+    private class Subscription implements GameNotifier.Listener {
+        //Values used to hold the socket and the game it follows
+        private final Session session;
+        private final long gameID;
+
+        /**
+         * Create a subscription.
+         *
+         * @param session the socket
+         * @param gameID the ID of the game it follows
+         */
+        Subscription(Session session, long gameID) {
+            this.session = session;
+            this.gameID = gameID;
+        }
+
+        /**
+         * Send an event down the socket, if it is still open.
+         *
+         * @param game the game the event happened in
+         * @param event what happened
+         */
+        @Override
+        public void notify(CheckersGame game, GameNotifier.Event event) {
+            if(session.isOpen()) {
+                session.getRemote().sendStringByFuture(toJson(game, event));
+            }
+        }
+
+        /**
+         * Forget the socket and close it once its game is dropped, since nothing more will be sent down it.
+         *
+         * @param gameID the ID of the game
+         */
+        @Override
+        public void dropped(long gameID) {
+            subscriptions.remove(session, this);
+            session.close();
+        }
+    }
+}
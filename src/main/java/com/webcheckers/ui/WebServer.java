@@ -7,6 +7,7 @@ import java.util.logging.Logger;
 
 import com.google.gson.Gson;
 
+import com.webcheckers.application.ComputerPlayer;
 import com.webcheckers.application.GameCenter;
 import com.webcheckers.application.PlayerLobby;
 import spark.TemplateEngine;
@@ -66,7 +67,9 @@ public class WebServer {
   public static final String SPECTATE_GAME_URL = "/spectator/game";
   public static final String STOP_SPECTATING_GAME_URL = "/spectator/stopWatching";
   public static final String SPECTATOR_CHECKTURN_URL = "/spectator/checkTurn";
+  public static final String SPECTATOR_TURNS_URL = "/spectator/turns";
   public static final String RESIGN_GAME_URL = "/resignGame";
+  public static final String TURNS_URL = "/turns";
 
   //
   // Attributes
@@ -151,7 +154,14 @@ public class WebServer {
     //// code clean; using small classes.
 
     final PlayerLobby playerLobby = new PlayerLobby();
-    final GameCenter gameCenter = new GameCenter(playerLobby);
+    // Each game's commands run in order on a shared pool unless the gameMailboxes property turns it off.
+    final boolean mailboxes = Boolean.parseBoolean(System.getProperty(GameCenter.MAILBOX_PROPERTY, "true"));
+    final GameCenter gameCenter = new GameCenter(playerLobby,
+        mailboxes ? GameCenter.createCommandExecutor() : null);
+    gameCenter.addComputerPlayer(new ComputerPlayer());
+
+    // Pushes turns to players and spectators. WebSockets must be set up before any route.
+    webSocket(TURNS_URL, new TurnWebSocket(gameCenter, playerLobby));
 
     // Shows the Checkers game Home page.
     get(HOME_URL, new GetHomeRoute(templateEngine, gameCenter, playerLobby));
@@ -179,6 +189,8 @@ public class WebServer {
     get(STOP_SPECTATING_GAME_URL, new GetSpectatorStopWatchingRoute(gameCenter));
     // Spectator check turn
     post(SPECTATOR_CHECKTURN_URL, new PostSpectatorCheckTurnRoute(gameCenter, playerLobby));
+    // Spectator catch up on the turns not yet seen
+    post(SPECTATOR_TURNS_URL, new PostSpectatorTurnsRoute(gameCenter, playerLobby));
     // Resign from game
     post(RESIGN_GAME_URL, new PostResignGameRoute(gameCenter, playerLobby));
     //
@@ -148,6 +148,22 @@ define(function(require){
     $toCell.removeClass(SPACE_CLASS);
   }
 
+  /**
+   * Remove the Piece DOM element at a position, as when it is captured.
+   */
+  BoardController.prototype.removePiece = function removePiece(position) {
+    var $space = this.getSpace$(position);
+    $space.find('div.' + PIECE_CLASS).remove();
+    $space.addClass(SPACE_CLASS);
+  }
+
+  /**
+   * Crown a Piece DOM element.
+   */
+  BoardController.prototype.crownPiece = function crownPiece($piece) {
+    $piece.attr('data-type', 'KING');
+  }
+
   /**
    * Gets a jQuery element for a specific position.
    */
@@ -9,6 +9,7 @@ define(function(require){
   // imports
   const BoardController = require('./BoardController');
   const GameState = require('./model/GameState');
+  const TurnSocket = require('./util/TurnSocket');
   
   // MVP imports
   const PlayController = require('./modes/play/PlayController');
@@ -47,6 +48,8 @@ define(function(require){
     this.setRedPlayersName(this._gameState.getRedPlayer());
     this.setWhitePlayersName(this._gameState.getWhitePlayer());
     this.setTurnFlasher();
+    // sockets are opened with this page's token, since they can not see its session
+    TurnSocket.setToken(this._gameState.getSocketToken());
     
     // launch the Mode controller
     switch (this._gameState.getViewMode()) {
@@ -56,7 +59,7 @@ define(function(require){
       break;
     case SPECTATOR_MODE:
       console.debug('Spectator mode');
-      this._modeController = new SpectatorController(this, this._gameState);
+      this._modeController = new SpectatorController(this, this._boardController, this._gameState);
       break;
     case REPLAY_MODE:
       console.debug('Replay mode');
@@ -47,6 +47,27 @@ define(function(require){
       return gameData.modeOptions[optionName];
     };
 
+    /**
+     * Record a turn played since the Game View was shown.
+     *
+     * @param {number} turn  the turn sequence number of the game after the turn
+     * @param {string} activeColor  the color of the Player whose turn it is now
+     */
+    this.setTurn = function setTurn(turn, activeColor) {
+      gameData.modeOptions[GameState.TURN_OPTION] = turn;
+      gameData.activeColor = activeColor;
+    };
+
+    /**
+     * Record that the game has ended since the Game View was shown.
+     *
+     * @param {string} message  the message saying how the game ended
+     */
+    this.setGameOver = function setGameOver(message) {
+      gameData.modeOptions[GameState.IS_END_OPTION] = true;
+      gameData.modeOptions[GameState.END_MESSAGE_OPTION] = message;
+    };
+
     /**
      * Get the name of the Player currently viewing the Game View.
      * This is the HTTP session's user.
@@ -127,6 +148,16 @@ define(function(require){
    */
   GameState.END_MESSAGE_OPTION = "gameOverMessage";
 
+  /**
+   * The name of the modeOption that states the turn sequence number shown.
+   */
+  GameState.TURN_OPTION = "turn";
+
+  /**
+   * The name of the modeOption that holds the token this page opens sockets with.
+   */
+  GameState.SOCKET_TOKEN_OPTION = "socketToken";
+
   /**
    * Queries whether this state is valid for the Play mode.
    */
@@ -152,6 +183,24 @@ define(function(require){
     return this.getModeOption(GameState.END_MESSAGE_OPTION) || "Game over, man!";
   };
 
+  /**
+   * Supplies the turn sequence number of the game as this page shows it.
+   * The server is asked whether there is anything newer than this.
+   */
+  GameState.prototype.getTurn = function getTurn() {
+    const turn = this.getModeOption(GameState.TURN_OPTION);
+    return (turn === undefined) ? null : turn;
+  };
+
+  /**
+   * Supplies the token this page opens sockets with, so the server knows
+   * whose page it is.
+   */
+  GameState.prototype.getSocketToken = function getSocketToken() {
+    const token = this.getModeOption(GameState.SOCKET_TOKEN_OPTION);
+    return (token === undefined) ? null : token;
+  };
+
     /**
    * Queries whether it's the current player's turn.
    */
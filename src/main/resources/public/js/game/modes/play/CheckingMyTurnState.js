@@ -12,16 +12,20 @@ define(function (require) {
   // imports
   const PlayModeConstants = require('./PlayModeConstants');
   const AjaxUtils = require('../../util/AjaxUtils');
+  const TurnSocket = require('../../util/TurnSocket');
 
   /**
    * Constructor function.
    * 
    * @param {PlayController} controller
    *    The Play mode controller object.
+   * @param {GameState} gameState
+   *    The starting state of the game.
    */
-  function CheckingMyTurnState(controller) {
+  function CheckingMyTurnState(controller, gameState) {
     // private attributes
     this._controller = controller;
+    this._gameState = gameState;
   }
 
   //
@@ -40,8 +44,8 @@ define(function (require) {
    */
   CheckingMyTurnState.prototype.onEntry = function onEntry() {
     this._controller.disableButton(PlayModeConstants.RESIGN_BUTTON_ID);
-    // query the server if it's my turn
-    AjaxUtils.callServer('/checkTurn',
+    // query the server if there is a newer turn than the one shown
+    AjaxUtils.callServerWithData(TurnSocket.checkURL('/checkTurn'), this._gameState.getTurn(),
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
@@ -73,7 +73,7 @@ define(function(require){
     this.addStateDefinition(PlayModeConstants.WAITING_TO_CHECK_MY_TURN,
         new WaitingForMyTurnState(this));
     this.addStateDefinition(PlayModeConstants.CHECKING_MY_TURN,
-        new CheckingMyTurnState(this));
+        new CheckingMyTurnState(this, gameState));
     // The "Game Over" singular state
     this.addStateDefinition(PlayModeConstants.GAME_OVER,
         new GameOverState(this, gameState));
@@ -3,14 +3,16 @@
  *
  * This component is an concrete implementation of a state
  * for the Game view; this state represents the state in which
- * the view is waiting between calls to the server to check whether
- * it's the current player's turn.
+ * the view is waiting for the server to say the opponent has played,
+ * before checking whether it's the current player's turn.
  */
 define(function(require){
     'use strict';
 
     // imports
     const PlayModeConstants = require('./PlayModeConstants');
+    const LangUtils = require('../../util/LangUtils');
+    const TurnSocket = require('../../util/TurnSocket');
 
     /**
      * Constructor function.
@@ -39,8 +41,21 @@ define(function(require){
      */
     WaitingForMyTurnState.prototype.onEntry = function onEntry() {
         this._controller.enableButton(PlayModeConstants.RESIGN_BUTTON_ID);
-        // wait five seconds then check my turn
-        setTimeout(() => { this._controller.setState(PlayModeConstants.CHECKING_MY_TURN); }, 5000);
+        // wait for the server to push the next turn, then check my turn
+        TurnSocket.next(handleEvent, this);
+    }
+
+    //
+    // Private methods
+    //
+
+    function handleEvent(event) {
+        if (LangUtils.exists(event) && event.event === 'GAME_OVER') {
+            // end the State machine by refreshing the Game View to show how the game ended
+            this._controller.refresh();
+        } else {
+            this._controller.setState(PlayModeConstants.CHECKING_MY_TURN);
+        }
     }
 
     // export class constructor
@@ -0,0 +1,127 @@
+/**
+ * This module exports the CatchingUpState class constructor.
+ *
+ * This component is an concrete implementation of a state
+ * for the Game view; this state represents the state in which
+ * the view asks the server for the turns played since it was
+ * shown and plays them on the board, instead of reloading the
+ * whole page.
+ */
+define(function(require){
+  'use strict';
+
+  // imports
+  const SpectatorModeConstants = require('./SpectatorModeConstants');
+  const AjaxUtils = require('../../util/AjaxUtils');
+  const LangUtils = require('../../util/LangUtils');
+  const Move = require('../../model/Move');
+  const Position = require('../../model/Position');
+
+  /**
+   * The index of the last row and cell of the board.
+   */
+  const LAST_INDEX = 7;
+
+  /**
+   * Constructor function.
+   *
+   * @param {SpectatorController} controller
+   *    The Spectator mode controller object.
+   * @param {GameView} view
+   *    The Game view object.
+   * @param {BoardController} boardController
+   *    The controller of the board in the Game view.
+   * @param {GameState} gameState
+   *    The state of the game.
+   */
+  function CatchingUpState(controller, view, boardController, gameState) {
+    // private attributes
+    this._controller = controller;
+    this._view = view;
+    this._boardController = boardController;
+    this._gameState = gameState;
+    // the board was drawn from white's side if it was white's turn when the page was shown
+    this._flipped = !gameState.isRedsTurn();
+  }
+
+  //
+  // Public (external) methods
+  //
+
+  /**
+   * Get the name of this state.
+   */
+  CatchingUpState.prototype.getName = function getName() {
+    return SpectatorModeConstants.CATCHING_UP;
+  };
+
+  /**
+   * Method when entering this state.
+   */
+  CatchingUpState.prototype.onEntry = function onEntry() {
+    // ask the server for the turns played after the one shown
+    AjaxUtils.callServerWithData('/spectator/turns', this._gameState.getTurn(),
+        // the handler method should be run in the context of 'this' State object
+        handleResponse, this);
+  };
+
+  //
+  // Private methods
+  //
+
+  function handleResponse(delta) {
+    // the server can only send the whole board when the page is too far behind
+    if (!delta.complete || !this._playTurns(delta.turns)) {
+      window.location.reload(true);
+      return;
+    }
+    this._gameState.setTurn(delta.turn, delta.activeColor);
+    if (delta.isGameOver) {
+      this._gameState.setGameOver(delta.gameOverMessage);
+    }
+    this._view.setTurnFlasher();
+    // redraw the helper text and wait for the next turn
+    this._controller.setState(SpectatorModeConstants.STARTING_SPECTATOR_MODE);
+  }
+
+  /**
+   * Play turns on the board.
+   *
+   * @param {Array} turns  the turns, each with its steps, captured positions and promotion
+   * @return {boolean} false if the board did not hold a piece that was moved, true otherwise
+   */
+  CatchingUpState.prototype._playTurns = function _playTurns(turns) {
+    for (const turn of turns) {
+      let $piece = null;
+      for (const step of turn.steps) {
+        const move = new Move(this._toView(step.start), this._toView(step.end));
+        $piece = this._boardController.getPiece$(move.start);
+        if (!LangUtils.exists($piece)) {
+          return false;
+        }
+        this._boardController.movePiece($piece, move);
+      }
+      turn.captured.forEach(position => this._boardController.removePiece(this._toView(position)));
+      if (turn.promotion) {
+        this._boardController.crownPiece($piece);
+      }
+    }
+    return true;
+  };
+
+  /**
+   * Turn a position from red's side of the board into one on the board as it is drawn.
+   *
+   * @param {object} position  the row and cell from red's side
+   * @return {Position} the position on the drawn board
+   */
+  CatchingUpState.prototype._toView = function _toView(position) {
+    return this._flipped
+        ? new Position(LAST_INDEX - position.row, LAST_INDEX - position.cell)
+        : new Position(position.row, position.cell);
+  };
+
+  // export class constructor
+  return CatchingUpState;
+
+});
@@ -12,16 +12,20 @@ define(function(require){
   // imports
   const SpectatorModeConstants = require('./SpectatorModeConstants');
   const AjaxUtils = require('../../util/AjaxUtils');
+  const TurnSocket = require('../../util/TurnSocket');
 
   /**
    * Constructor function.
    * 
    * @param {SpectatorController} controller
    *    The Spectator mode controller object.
+   * @param {GameState} gameState
+   *    The starting state of the game.
    */
-  function CheckingForNextTurnState(controller) {
+  function CheckingForNextTurnState(controller, gameState) {
     // private attributes
     this._controller = controller;
+    this._gameState = gameState;
   }
 
   //
@@ -40,7 +44,7 @@ define(function(require){
    */
   CheckingForNextTurnState.prototype.onEntry = function onEntry() {
     // query the server if the next turn has been played
-    AjaxUtils.callServer('/spectator/checkTurn',
+    AjaxUtils.callServerWithData(TurnSocket.checkURL('/spectator/checkTurn'), this._gameState.getTurn(),
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
@@ -54,8 +58,8 @@ define(function(require){
     if (message.type === 'INFO') {
       // check for special case messages
       if (message.text === 'true') {
-        // tell the browser to redisplay the Game View to get the updated board
-        window.location.reload(true);
+        // fetch the new turns and play them on the board
+        this._controller.setState(SpectatorModeConstants.CATCHING_UP);
       }
       // otherwise, check to see if there is a message to display
       else {
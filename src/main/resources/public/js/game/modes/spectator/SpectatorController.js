@@ -21,11 +21,12 @@ define(function(require){
   const StartingSpectatorModeState = require('./StartingSpectatorModeState');
   const WaitingForNextTurnState = require('./WaitingForNextTurnState');
   const CheckingForNextTurnState = require('./CheckingForNextTurnState');
+  const CatchingUpState = require('./CatchingUpState');
 
   /**
    * Constructor function.
    */
-  function SpectatorController(view, gameState) {
+  function SpectatorController(view, boardController, gameState) {
 
     // expose read-only Game data
     this.getGameID = function () {
@@ -40,7 +41,9 @@ define(function(require){
     this.addStateDefinition(SpectatorModeConstants.WAITING_FOR_NEXT_TURN,
         new WaitingForNextTurnState(this));
     this.addStateDefinition(SpectatorModeConstants.CHECKING_FOR_NEXT_TURN,
-        new CheckingForNextTurnState(this));
+        new CheckingForNextTurnState(this, gameState));
+    this.addStateDefinition(SpectatorModeConstants.CATCHING_UP,
+        new CatchingUpState(this, view, boardController, gameState));
     
     // Add the ModeControls mixin
     ControlsToolbarMixin.call(this);
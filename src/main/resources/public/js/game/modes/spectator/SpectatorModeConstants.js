@@ -17,6 +17,7 @@ define(function(){
       STARTING_SPECTATOR_MODE: 'Starting Spectator Mode'
       ,WAITING_FOR_NEXT_TURN: 'Waiting for the Next Turn'
       ,CHECKING_FOR_NEXT_TURN: 'Checking for the Next Turn'
+      ,CATCHING_UP: 'Catching up on New Turns'
 
       //
       // Buttons
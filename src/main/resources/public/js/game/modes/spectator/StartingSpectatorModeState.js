@@ -66,7 +66,7 @@ define(function(require){
     if (this._gameState.isGameOver()) {
       helperText += `<b> ${this._gameState.getGameOverMessage()} </b>`;
     } else {
-      helperText += `It's ${this._gameState.getActivePlayer()} turn.  The page will refresh periodically.`;
+      helperText += `It's ${this._gameState.getActivePlayer()} turn.  The board will update as each turn is played.`;
     }
     this._view.setHelperText(helperText);
   };
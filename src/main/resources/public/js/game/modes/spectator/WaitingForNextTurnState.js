@@ -3,14 +3,16 @@
  * 
  * This component is an concrete implementation of a state
  * for the Game view; this state represents the state in which
- * the view is waiting between calls to the server to check whether
- * the next turn has been made in the game being spectated.
+ * the view is waiting for the server to say the next turn has been
+ * made in the game being spectated.
  */
 define(function(require){
   'use strict';
 
   // imports
   const SpectatorModeConstants = require('./SpectatorModeConstants');
+  const LangUtils = require('../../util/LangUtils');
+  const TurnSocket = require('../../util/TurnSocket');
 
   /**
    * Constructor function.
@@ -24,6 +26,11 @@ define(function(require){
     this._checkNextTurn = function () {
       controller.setState(SpectatorModeConstants.CHECKING_FOR_NEXT_TURN);
     }
+    // a function to change the Spectator controller's
+    // state to fetch the turns played since.
+    this._catchUp = function () {
+      controller.setState(SpectatorModeConstants.CATCHING_UP);
+    }
   }
 
   //
@@ -41,10 +48,24 @@ define(function(require){
    * Method when entering this state.
    */
   WaitingForNextTurnState.prototype.onEntry = function onEntry() {
-    // wait five seconds then check my turn
-    setTimeout(this._checkNextTurn, 5000);
+    // wait for the server to push the next turn
+    TurnSocket.next(handleEvent, this);
   };
 
+  //
+  // Private methods
+  //
+
+  function handleEvent(event) {
+    if (LangUtils.exists(event)) {
+      // fetch the new turns and play them on the board
+      this._catchUp();
+    } else {
+      // nothing was pushed in time, so check with the server
+      this._checkNextTurn();
+    }
+  }
+
   // export class constructor
   return WaitingForNextTurnState;
   
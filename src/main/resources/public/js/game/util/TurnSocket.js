@@ -0,0 +1,203 @@
+/**
+ * This module exports a map of functions used to wait for the next event
+ * in the game being viewed, pushed by the server over a WebSocket.
+ */
+define(function (require) {
+  'use strict';
+
+  // imports
+  const LangUtils = require('./LangUtils');
+
+  /**
+   * How long to wait before checking with the server anyway, in milliseconds,
+   * when there is no socket to wait on.
+   */
+  const POLL_MILLIS = 5000;
+
+  /**
+   * How long to wait for an event before checking with the server anyway,
+   * in milliseconds, in case an event was lost.
+   */
+  const SAFETY_MILLIS = 60000;
+
+  /**
+   * How long the server is asked to hold a check, in seconds, when the
+   * browser cannot keep a socket open.
+   */
+  const WAIT_SECONDS = 25;
+
+  /**
+   * How long a socket must stay open, in milliseconds, to count as working.
+   * One the server closes sooner was turned away, and is not tried again.
+   */
+  const QUICK_CLOSE_MILLIS = 2000;
+
+  /**
+   * Utility object that keeps one WebSocket open for the page and hands each
+   * event from it to whoever is waiting.
+   */
+  const TurnSocket = {
+
+    /**
+     * The open socket, if any.
+     */
+    _socket: null,
+
+    /**
+     * Whether or not sockets have failed on this page, so only polling is used.
+     */
+    _failed: false,
+
+    /**
+     * The token this page opens sockets with, if it was given one.
+     */
+    _token: null,
+
+    /**
+     * The callback waiting for the next event, and its timer.
+     */
+    _waiting: null,
+    _timer: null,
+
+    /**
+     * An event that came in while nothing was waiting.
+     */
+    _missed: null,
+
+    /**
+     * Wait for the next event in the game.
+     *
+     * <p>
+     *   The callback is given the event, an object with the 'gameID', the
+     *   'event' (TURN or GAME_OVER) and the 'activeColor' of the game. If there
+     *   is no event in time, or the browser cannot keep a socket open, the
+     *   callback is given null and should check with the server itself, at
+     *   the URL given by 'checkURL'.
+     *
+     * @param callback  the function given the event, or null
+     * @param callbackContext  the object context within which the callback is executed (the 'this' object)
+     */
+    next: function (callback, callbackContext) {
+      TurnSocket._cancel();
+      const handler = callback.bind(callbackContext);
+      if (LangUtils.exists(TurnSocket._missed)) {
+        const event = TurnSocket._missed;
+        TurnSocket._missed = null;
+        setTimeout(() => handler(event), 0);
+        return;
+      }
+      TurnSocket._waiting = handler;
+      TurnSocket._timer = setTimeout(() => TurnSocket._deliver(null), TurnSocket._fallbackMillis());
+    },
+
+    /**
+     * Set the token this page opens sockets with.  Without one only checks
+     * with the server are used.
+     *
+     * @param token  the token the page was drawn with, or null
+     */
+    setToken: function (token) {
+      TurnSocket._token = token;
+    },
+
+    /**
+     * Get the URL to check with the server at.  When sockets have failed the
+     * server is asked to hold the check until the next event instead.
+     *
+     * @param actionURL  the URL of the check
+     * @return {string}  the URL to call
+     */
+    checkURL: function (actionURL) {
+      return TurnSocket._polling() ? actionURL + '?wait=' + WAIT_SECONDS : actionURL;
+    },
+
+    /**
+     * Whether or not only checks with the server can be used on this page.
+     *
+     * @return {boolean} true if there is no socket to wait on
+     */
+    _polling: function () {
+      return TurnSocket._failed || !LangUtils.exists(TurnSocket._token) || !('WebSocket' in window);
+    },
+
+    /**
+     * How long to wait before checking with the server anyway.  A check that
+     * the server holds is sent right away.
+     *
+     * @return {number} the delay in milliseconds
+     */
+    _fallbackMillis: function () {
+      if (!TurnSocket._open()) {
+        return TurnSocket._polling() ? 0 : POLL_MILLIS;
+      }
+      return SAFETY_MILLIS;
+    },
+
+    /**
+     * Stop waiting without calling back.
+     */
+    _cancel: function () {
+      if (LangUtils.exists(TurnSocket._timer)) {
+        clearTimeout(TurnSocket._timer);
+      }
+      TurnSocket._timer = null;
+      TurnSocket._waiting = null;
+    },
+
+    /**
+     * Hand an event, or null, to the waiting callback.
+     *
+     * @param event  the event, or null if there was none
+     */
+    _deliver: function (event) {
+      const handler = TurnSocket._waiting;
+      TurnSocket._cancel();
+      if (LangUtils.exists(handler)) {
+        handler(event);
+      } else if (LangUtils.exists(event)) {
+        TurnSocket._missed = event;
+      }
+    },
+
+    /**
+     * Open the socket if it is not already open.
+     *
+     * @return {boolean} whether or not there is a socket to wait on
+     */
+    _open: function () {
+      if (TurnSocket._polling()) {
+        return false;
+      }
+      if (LangUtils.exists(TurnSocket._socket)) {
+        return true;
+      }
+      const protocol = window.location.protocol === 'https:' ? 'wss://' : 'ws://';
+      const socket = new WebSocket(protocol + window.location.host + '/turns?token='
+          + encodeURIComponent(TurnSocket._token));
+      let openedAt = null;
+      socket.onopen = () => {
+        openedAt = Date.now();
+        // an event published before the socket opened is never sent, so whoever is waiting checks with the server once
+        TurnSocket._deliver(null);
+      };
+      socket.onmessage = (message) => { TurnSocket._deliver(JSON.parse(message.data)); };
+      socket.onclose = () => {
+        TurnSocket._socket = null;
+        // a socket that never opened, or that the server closed right away, is not tried again, so the page
+        // falls back to checks the server holds; one that closed later is reopened by the next wait
+        TurnSocket._failed = TurnSocket._failed || openedAt === null
+            || Date.now() - openedAt < QUICK_CLOSE_MILLIS;
+        if (LangUtils.exists(TurnSocket._waiting)) {
+          clearTimeout(TurnSocket._timer);
+          TurnSocket._timer = setTimeout(() => TurnSocket._deliver(null),
+              TurnSocket._polling() ? 0 : POLL_MILLIS);
+        }
+      };
+      TurnSocket._socket = socket;
+      return true;
+    }
+
+  };
+
+  return TurnSocket;
+});
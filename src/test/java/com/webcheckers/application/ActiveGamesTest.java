@@ -0,0 +1,81 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link ActiveGames} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class ActiveGamesTest {
+    /**
+     * Create a game.
+     *
+     * @param gameID the ID of the game
+     * @param red the name of the red player
+     * @param white the name of the white player
+     * @return the game
+     */
+    private static CheckersGame newGame(long gameID, String red, String white) {
+        Player redPlayer = new Player(red);
+        Player whitePlayer = new Player(white);
+        return new CheckersGame(gameID, redPlayer, whitePlayer, CheckersGame.Mode.PLAY,
+                new BoardView(redPlayer, whitePlayer));
+    }
+
+    /**
+     * Test that the empty snapshot has no games.
+     */
+    @Test
+    public void test_empty() {
+        assertEquals(0, ActiveGames.EMPTY.getVersion());
+        assertEquals(0, ActiveGames.EMPTY.getCount());
+        assertTrue(ActiveGames.EMPTY.getGames().isEmpty());
+    }
+
+    /**
+     * Test that each game started or ended makes a new version, and old versions do not change.
+     */
+    @Test
+    public void test_withAndWithout() {
+        CheckersGame first = newGame(1, "a", "b");
+        CheckersGame second = newGame(2, "c", "d");
+        ActiveGames one = ActiveGames.EMPTY.with(first);
+        ActiveGames two = one.with(second);
+        assertEquals(1, one.getVersion());
+        assertEquals(2, two.getVersion());
+        assertEquals(1, one.getCount());
+        assertEquals(2, two.getCount());
+        assertEquals("1", two.getGames().get("a VS b"));
+        assertEquals(Arrays.asList("a VS b", "c VS d"), new ArrayList<>(two.getGames().keySet()));
+
+        ActiveGames three = two.without(first);
+        assertEquals(3, three.getVersion());
+        assertEquals(1, three.getCount());
+        assertNull(three.getGames().get("a VS b"));
+        assertEquals(2, two.getCount());
+        assertSame(three, three.without(first));
+        // a rematch with the same name is not taken out by the game it replaced
+        assertSame(three, three.without(newGame(4, "c", "d")));
+    }
+
+    /**
+     * Test that the games in a snapshot can not be changed.
+     */
+    @Test
+    public void test_immutable() {
+        ActiveGames snapshot = ActiveGames.EMPTY.with(newGame(1, "a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getGames().clear());
+        assertThrows(UnsupportedOperationException.class, () -> ActiveGames.EMPTY.getGames().put("a", "b"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * The unit test suite for the {@link ComputerPlayer} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class ComputerPlayerTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private ComputerPlayer CuT;
+
+    // friendly objects
+    private PlayerLobby lobby;
+    private GameCenter gameCenter;
+    private List<Runnable> tasks;
+
+    /**
+     * Setup new objects for each test. Searches are queued instead of being run on other threads, so each test
+     * decides when the computer plays.
+     */
+    @BeforeEach
+    public void setup() {
+        tasks = new ArrayList<>();
+        // create a unique CuT for each test
+        CuT = new ComputerPlayer("Bot", 20, tasks::add);
+        lobby = new PlayerLobby();
+        gameCenter = new GameCenter(lobby);
+        gameCenter.addComputerPlayer(CuT);
+        gameCenter.addPlayer("Human");
+    }
+
+    /**
+     * Test that the computer is listed in the lobby and can play more than one game at once.
+     */
+    @Test
+    public void test_challenge() {
+        assertNotNull(lobby.getPlayer("Bot"));
+        assertTrue(gameCenter.isComputer("Bot"));
+        assertFalse(gameCenter.isComputer("Human"));
+
+        assertEquals(GameCenter.GameStatus.CREATED, gameCenter.createGame("Human", "Bot"));
+        assertEquals("Bot", gameCenter.getOpponent("Human").getName());
+        assertFalse(gameCenter.inGame("Bot"));
+
+        gameCenter.addPlayer("Other");
+        assertEquals(GameCenter.GameStatus.CREATED, gameCenter.createGame("Other", "Bot"));
+    }
+
+    /**
+     * Test that the computer only searches on its own turn, and plays its turn once the search runs.
+     */
+    @Test
+    public void test_takeTurn() {
+        gameCenter.createGame("Human", "Bot");
+        CheckersGame game = gameCenter.getGame("Human");
+        assertTrue(tasks.isEmpty());
+
+        game.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        game.submitTurn();
+        gameCenter.turnSubmitted(game);
+        assertEquals(1, tasks.size());
+        assertEquals(Piece.Color.WHITE, game.getCurrentColor());
+
+        tasks.remove(0).run();
+        assertEquals(Piece.Color.RED, game.getCurrentColor());
+
+        // Case: nothing happens when it is not the computer's turn
+        gameCenter.turnSubmitted(game);
+        assertTrue(tasks.isEmpty());
+    }
+
+    /**
+     * Test that the computer moves first when it is the red player.
+     */
+    @Test
+    public void test_computerMovesFirst() {
+        gameCenter.createGame("Bot", "Human");
+        CheckersGame game = gameCenter.getGame("Human");
+        assertEquals(1, tasks.size());
+
+        tasks.remove(0).run();
+        assertEquals(Piece.Color.WHITE, game.getCurrentColor());
+    }
+
+    /**
+     * Test that the computer does not play in a game that ended while it was thinking.
+     */
+    @Test
+    public void test_gameOver() {
+        gameCenter.createGame("Bot", "Human");
+        CheckersGame game = gameCenter.getGame("Human");
+        gameCenter.resign("Human");
+
+        tasks.remove(0).run();
+        assertEquals(Piece.Color.RED, game.getCurrentColor());
+    }
+
+    /**
+     * Test that the computer resigns when working out its turn fails, instead of leaving its opponent waiting.
+     */
+    @Test
+    public void test_failureResigns() {
+        gameCenter.createGame("Bot", "Human");
+        CheckersGame game = spy(gameCenter.getGame("Human"));
+        tasks.clear();
+        doThrow(new IllegalStateException("broken")).when(game).getBoard(anyBoolean());
+
+        CuT.takeTurn(game);
+        tasks.remove(0).run();
+        assertTrue(game.isGameOver());
+        assertEquals(String.format("%s has resigned.", game.getPlayer(Piece.Color.RED)), game.gameOverMessage());
+        assertTrue(gameCenter.inEndGame("Human"));
+    }
+}
@@ -6,10 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -114,7 +118,18 @@ public class GameCenterTest {
         CuT.addPlayer("Player2");
         CuT.createGame("Player1","Player2");
 
-        assertEquals(CuT.getGame("Player1"), CuT.getGameByID(Objects.hash("Player1","Player2")));
+        CheckersGame game = CuT.getGame("Player1");
+        assertEquals(game, CuT.getGameByID(game.getGameID()));
+        assertNull(CuT.getGameByID(CheckersGame.NO_ID));
+
+        // a rematch between the same players gets a new ID
+        CuT.exitGame("Player1");
+        CuT.exitGame("Player2");
+        CuT.createGame("Player1","Player2");
+        CheckersGame rematch = CuT.getGame("Player1");
+        assertTrue(rematch.getGameID() > game.getGameID());
+        assertEquals(game, CuT.getGameByID(game.getGameID()));
+        assertEquals(rematch, CuT.getGameByID(rematch.getGameID()));
     }
 
     /**
@@ -171,7 +186,7 @@ public class GameCenterTest {
         CuT.addPlayer("Player3");
         CuT.createGame("Player1","Player2");
         CuT.addPlayer("spectating");
-        CuT.addSpectator(Objects.hash("Player1", "Player2"), playerLobby.getPlayer("spectating"));
+        CuT.addSpectator(CuT.getGame("Player1").getGameID(), playerLobby.getPlayer("spectating"));
         assertEquals(GameCenter.GameStatus.SPECTATING, CuT.createGame("player3","spectating"));
     }
 
@@ -215,10 +230,13 @@ public class GameCenterTest {
         CuT.addPlayer("Player2");
         CuT.addPlayer("Player3");
         CuT.createGame("Player1","Player2");
+        String token = CuT.getSocketTokens().issue("Player3");
 
         CuT.removePlayer("Player3");
         //Assert "Player3" is no longer in the lobby
         assertNull(playerLobby.getPlayer("Player3"));
+        //Assert the token "Player3" was issued no longer names them
+        assertNull(CuT.getSocketTokens().getName(token));
 
         CuT.removePlayer("Player1");
         //Assert "Player1" is no longer in the lobby
@@ -249,8 +267,8 @@ public class GameCenterTest {
         String gameStr = "Player1 VS Player2";
         assertTrue(activeGames.containsKey(gameStr));
 
-        int gameID = Objects.hash("Player1","Player2");
-        assertEquals(Integer.toString(gameID), activeGames.get(gameStr));
+        long gameID = CuT.getGame("Player1").getGameID();
+        assertEquals(Long.toString(gameID), activeGames.get(gameStr));
     }
 
     /**
@@ -259,9 +277,9 @@ public class GameCenterTest {
     @Test
     public void test_getSpectatedGames() {
         // Case: initial state, no games are being spectated
-        Map<Integer, Set<Player>> spectatedGames = CuT.getSpectatedGames();
+        Map<Long, Set<Player>> spectatedGames = CuT.getSpectatedGames();
         assertTrue(spectatedGames.isEmpty());
-        Map<Integer, Set<Player>> expectedMap = new HashMap<>();
+        Map<Long, Set<Player>> expectedMap = new HashMap<>();
         assertEquals(expectedMap, spectatedGames);
     }
 
@@ -287,13 +305,13 @@ public class GameCenterTest {
         CuT.addPlayer("spectator1");
         CuT.addPlayer("spectator2");
         CuT.createGame("Player1","Player2");
-        int gameID = Objects.hash("Player1","Player2");
-        CheckersGame game = CuT.getGameByID(gameID);
+        CheckersGame game = CuT.getGame("Player1");
+        long gameID = game.getGameID();
 
         // Case: game not already in spectatedGames
         Player spectator1 = playerLobby.getPlayer("spectator1");
         CuT.addSpectator(gameID, spectator1);
-        Map<Integer, Set<Player>> spectatedGames = CuT.getSpectatedGames();
+        Map<Long, Set<Player>> spectatedGames = CuT.getSpectatedGames();
         Map<Player, CheckersGame> spectators = CuT.getSpectators();
         // Assert that the game was added to spectatedGames
         assertTrue(spectatedGames.containsKey(gameID));
@@ -323,14 +341,14 @@ public class GameCenterTest {
         CuT.addPlayer("Player2");
         CuT.addPlayer("spectator1");
         CuT.createGame("Player1","Player2");
-        int gameID = Objects.hash("Player1","Player2");
-        CheckersGame game = CuT.getGameByID(gameID);
+        CheckersGame game = CuT.getGame("Player1");
+        long gameID = game.getGameID();
         Player spectator1 = playerLobby.getPlayer("spectator1");
         CuT.addSpectator(gameID, spectator1);
 
         // Invoke the test
         CuT.removeSpectator(gameID, spectator1);
-        Map<Integer, Set<Player>> spectatedGames = CuT.getSpectatedGames();
+        Map<Long, Set<Player>> spectatedGames = CuT.getSpectatedGames();
         Map<Player, CheckersGame> spectators = CuT.getSpectators();
         //Assert that the spectator was removed from the set of players spectating the game
         assertFalse(spectatedGames.get(gameID).contains(spectator1));
@@ -347,8 +365,8 @@ public class GameCenterTest {
         CuT.addPlayer("Player2");
         CuT.addPlayer("spectator");
         CuT.createGame("Player1","Player2");
-        int gameID = Objects.hash("Player1","Player2");
-        CheckersGame game = CuT.getGameByID(gameID);
+        CheckersGame game = CuT.getGame("Player1");
+        long gameID = game.getGameID();
         Player spectator = playerLobby.getPlayer("spectator");
 
         // Case: the spectator is not spectating any games
@@ -376,4 +394,234 @@ public class GameCenterTest {
         CuT.createGame("Player1","Player2");
         assertEquals(GameCenter.RESIGNED_MESSAGE, CuT.resign("Player1"));
     }
+
+    /**
+     * Test that games are paired correctly when many are created at once, and that a player wanted by several
+     * games at once only ends up in one of them.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void test_createGameConcurrently() throws Exception {
+        final int pairs = 100;
+        CuT.addPlayer("wanted");
+        for(int i = 0; i < pairs; i++) {
+            CuT.addPlayer("red" + i);
+            CuT.addPlayer("white" + i);
+            CuT.addPlayer("rival" + i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GameCenter.GameStatus>> independent = new ArrayList<>();
+            List<Future<GameCenter.GameStatus>> contested = new ArrayList<>();
+            for(int i = 0; i < pairs; i++) {
+                String red = "red" + i;
+                String white = "white" + i;
+                String rival = "rival" + i;
+                independent.add(pool.submit(() -> CuT.createGame(red, white)));
+                contested.add(pool.submit(() -> CuT.createGame("wanted", rival)));
+            }
+
+            int created = 0;
+            for(Future<GameCenter.GameStatus> status : contested) {
+                if(status.get() == GameCenter.GameStatus.CREATED) {
+                    created++;
+                }
+            }
+            assertEquals(1, created);
+            for(Future<GameCenter.GameStatus> status : independent) {
+                assertEquals(GameCenter.GameStatus.CREATED, status.get());
+            }
+            assertTrue(CuT.inGame("wanted"));
+            assertEquals(pairs + 1, CuT.getAllActiveGames().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test adding and removing spectators of a game from many threads at once.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void test_spectateConcurrently() throws Exception {
+        final int watchers = 100;
+        CuT.addPlayer("Player1");
+        CuT.addPlayer("Player2");
+        CuT.createGame("Player1","Player2");
+        long gameID = CuT.getGame("Player1").getGameID();
+        for(int i = 0; i < watchers; i++) {
+            CuT.addPlayer("spectator" + i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for(int i = 0; i < watchers; i++) {
+                Player spectator = playerLobby.getPlayer("spectator" + i);
+                boolean leaves = i % 2 == 0;
+                done.add(pool.submit(() -> {
+                    CuT.addSpectator(gameID, spectator);
+                    if(leaves) {
+                        CuT.removeSpectator(gameID, spectator);
+                    }
+                }));
+            }
+            for(Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(watchers / 2, CuT.getSpectatedGames().get(gameID).size());
+        assertEquals(watchers / 2, CuT.getSpectators().size());
+    }
+
+    /**
+     * Test running commands on a game, both on the calling thread and in the game's mailbox.
+     */
+    @Test
+    public void test_execute() {
+        CuT.addPlayer("Player1");
+        CuT.addPlayer("Player2");
+        CuT.createGame("Player1","Player2");
+        CheckersGame game = CuT.getGame("Player1");
+        assertEquals(Thread.currentThread(), CuT.execute(game, played -> Thread.currentThread()));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GameCenter mailboxes = new GameCenter(new PlayerLobby(), executor);
+            mailboxes.addPlayer("Player1");
+            mailboxes.addPlayer("Player2");
+            mailboxes.createGame("Player1","Player2");
+            game = mailboxes.getGame("Player1");
+            assertNotEquals(Thread.currentThread(), mailboxes.execute(game, played -> Thread.currentThread()));
+            assertEquals(game.toString(), mailboxes.execute(game, CheckersGame::toString));
+            assertEquals(GameCenter.RESIGNED_MESSAGE, mailboxes.resign("Player1"));
+            assertTrue(game.isGameOver());
+            assertTrue(mailboxes.inEndGame("Player2"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that an evicted game is not given a mailbox again, so its commands run on the calling thread instead.
+     */
+    @Test
+    public void test_executeEvicted() {
+        long[] now = {0};
+        GameLifecycle lifecycle = new GameLifecycle(new GameRegistry(), 1000, game -> { }, () -> now[0]);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CuT = new GameCenter(playerLobby, executor, lifecycle);
+            CuT.addPlayer("Player1");
+            CuT.addPlayer("Player2");
+            CuT.createGame("Player1","Player2");
+            CheckersGame game = CuT.getGame("Player1");
+            assertNotEquals(Thread.currentThread(), CuT.execute(game, played -> Thread.currentThread()));
+
+            // the next game started after the grace period evicts the finished one
+            CuT.resign("Player1");
+            now[0] = 1000;
+            CuT.exitGame("Player1");
+            CuT.exitGame("Player2");
+            CuT.createGame("Player1","Player2");
+            assertNull(CuT.getGameByID(game.getGameID()));
+            assertEquals(Thread.currentThread(), CuT.execute(game, played -> Thread.currentThread()));
+            assertNotEquals(Thread.currentThread(),
+                    CuT.execute(CuT.getGame("Player1"), played -> Thread.currentThread()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that a finished game leaves the active games right away and is archived after its grace period, along
+     * with its spectators.
+     */
+    @Test
+    public void test_evictFinishedGames() {
+        List<CheckersGame> archived = new ArrayList<>();
+        long[] now = {0};
+        GameLifecycle lifecycle = new GameLifecycle(new GameRegistry(), 1000, archived::add, () -> now[0]);
+        CuT = new GameCenter(playerLobby, null, lifecycle);
+        assertSame(lifecycle, CuT.getLifecycle());
+        CuT.addPlayer("Player1");
+        CuT.addPlayer("Player2");
+        CuT.addPlayer("spectator");
+        CuT.createGame("Player1","Player2");
+        CheckersGame game = CuT.getGame("Player1");
+        long gameID = game.getGameID();
+        Player spectator = playerLobby.getPlayer("spectator");
+        CuT.addSpectator(gameID, spectator);
+
+        assertEquals(GameCenter.RESIGNED_MESSAGE, CuT.resign("Player1"));
+        assertTrue(CuT.getAllActiveGames().isEmpty());
+        assertEquals(0, lifecycle.getActiveCount());
+        assertSame(game, CuT.getGameByID(gameID));
+
+        // the next game started after the grace period evicts the finished one
+        now[0] = 1000;
+        CuT.exitGame("Player1");
+        CuT.exitGame("Player2");
+        CuT.createGame("Player1","Player2");
+        assertNull(CuT.getGameByID(gameID));
+        assertEquals(1, archived.size());
+        assertSame(game, archived.get(0));
+        assertNull(CuT.getGameBySpectator(spectator));
+        assertFalse(CuT.getSpectatedGames().containsKey(gameID));
+        assertEquals(1, CuT.getAllActiveGames().size());
+    }
+
+    /**
+     * Test that a spectator is not added to a game that is evicted between being looked up and the spectator being
+     * added, so the game leaves nothing behind once it is gone.
+     */
+    @Test
+    public void test_addSpectatorEvicted() {
+        GameRegistry registry = new GameRegistry() {
+            @Override
+            public CheckersGame get(long gameID) {
+                // the game is evicted right after the lookup hands it out
+                CheckersGame game = super.get(gameID);
+                remove(gameID);
+                return game;
+            }
+        };
+        CuT = new GameCenter(playerLobby, null, new GameLifecycle(registry, 1000, game -> { }, () -> 0));
+        CuT.addPlayer("Player1");
+        CuT.addPlayer("Player2");
+        CuT.addPlayer("spectator");
+        CuT.createGame("Player1","Player2");
+        long gameID = CuT.getGame("Player1").getGameID();
+        Player spectator = playerLobby.getPlayer("spectator");
+
+        CuT.addSpectator(gameID, spectator);
+        assertFalse(CuT.getSpectatedGames().containsKey(gameID));
+        assertNull(CuT.getGameBySpectator(spectator));
+    }
+
+    /**
+     * Test that the players and spectators of a game are told about its turns and its end.
+     */
+    @Test
+    public void test_notifier() {
+        CuT.addPlayer("Player1");
+        CuT.addPlayer("Player2");
+        CuT.createGame("Player1","Player2");
+        CheckersGame game = CuT.getGame("Player1");
+        List<GameNotifier.Event> heard = new ArrayList<>();
+        CuT.getNotifier().subscribe(game.getGameID(), (played, event) -> heard.add(event));
+
+        CuT.turnSubmitted(game);
+        CuT.turnPlayed(game);
+        CuT.resign("Player2");
+        assertEquals(3, heard.size());
+        assertEquals(GameNotifier.Event.TURN, heard.get(0));
+        assertEquals(GameNotifier.Event.TURN, heard.get(1));
+        assertEquals(GameNotifier.Event.GAME_OVER, heard.get(2));
+    }
 }
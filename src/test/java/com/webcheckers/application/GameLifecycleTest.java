@@ -0,0 +1,161 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link GameLifecycle} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class GameLifecycleTest {
+    //How long finished games are kept in these tests
+    private static final long GRACE = 1000;
+
+    /**
+     * The component-under-test (CuT).
+     */
+    private GameLifecycle CuT;
+
+    // friendly objects
+    private GameRegistry registry;
+    private List<CheckersGame> archived;
+    private long now;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        registry = new GameRegistry();
+        archived = new ArrayList<>();
+        now = 0;
+        CuT = new GameLifecycle(registry, GRACE, archived::add, () -> now);
+    }
+
+    /**
+     * Create a game with the next ID from the registry.
+     *
+     * @return the game
+     */
+    private CheckersGame newGame() {
+        Player red = new Player("red");
+        Player white = new Player("white");
+        return new CheckersGame(registry.nextID(), red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+    }
+
+    /**
+     * Test that a started game is registered and active.
+     */
+    @Test
+    public void test_started() {
+        CheckersGame game = newGame();
+        CuT.started(game);
+        assertSame(registry, CuT.getRegistry());
+        assertSame(game, registry.get(game.getGameID()));
+        assertTrue(CuT.isActive(game));
+        assertEquals(1, CuT.getActiveCount());
+        assertTrue(CuT.getActiveGames().contains(game));
+    }
+
+    /**
+     * Test that the snapshot of active games follows games starting and ending.
+     */
+    @Test
+    public void test_snapshot() {
+        assertSame(ActiveGames.EMPTY, CuT.getSnapshot());
+        CheckersGame game = newGame();
+        CuT.started(game);
+        ActiveGames started = CuT.getSnapshot();
+        assertEquals(1, started.getVersion());
+        assertEquals(Long.toString(game.getGameID()), started.getGames().get(game.toString()));
+
+        CuT.ended(game);
+        CuT.ended(game);
+        assertEquals(2, CuT.getSnapshot().getVersion());
+        assertEquals(0, CuT.getSnapshot().getCount());
+        assertEquals(1, started.getCount());
+    }
+
+    /**
+     * Test that an ended game stops being active but is kept until its grace period is over.
+     */
+    @Test
+    public void test_ended() {
+        CheckersGame game = newGame();
+        CuT.started(game);
+        CuT.ended(game);
+        CuT.ended(game);
+        assertFalse(CuT.isActive(game));
+        assertEquals(0, CuT.getActiveCount());
+        assertEquals(1, CuT.getFinishedCount());
+
+        now = GRACE - 1;
+        assertEquals(0, CuT.evictExpired(evicted -> fail("evicted too early")));
+        assertSame(game, registry.get(game.getGameID()));
+        assertTrue(archived.isEmpty());
+
+        now = GRACE;
+        List<CheckersGame> forgotten = new ArrayList<>();
+        assertEquals(1, CuT.evictExpired(forgotten::add));
+        assertNull(registry.get(game.getGameID()));
+        assertEquals(forgotten, archived);
+        assertEquals(game, archived.get(0));
+        assertEquals(0, CuT.getFinishedCount());
+    }
+
+    /**
+     * Test that only the games whose grace period is over are evicted, in the order they ended.
+     */
+    @Test
+    public void test_evictInOrder() {
+        CheckersGame first = newGame();
+        CheckersGame second = newGame();
+        CheckersGame playing = newGame();
+        CuT.started(first);
+        CuT.started(second);
+        CuT.started(playing);
+        CuT.ended(first);
+        now = GRACE / 2;
+        CuT.ended(second);
+
+        now = GRACE;
+        assertEquals(1, CuT.evictExpired(game -> { }));
+        now = GRACE * 2;
+        assertEquals(1, CuT.evictExpired(game -> { }));
+        assertEquals(2, archived.size());
+        assertSame(first, archived.get(0));
+        assertSame(second, archived.get(1));
+        assertSame(playing, registry.get(playing.getGameID()));
+        assertTrue(CuT.isActive(playing));
+    }
+
+    /**
+     * Test that an archive that fails does not stop other games from being evicted.
+     */
+    @Test
+    public void test_archiveFails() {
+        CuT = new GameLifecycle(registry, GRACE, game -> {
+            throw new IllegalStateException("full");
+        }, () -> now);
+        CheckersGame first = newGame();
+        CheckersGame second = newGame();
+        CuT.started(first);
+        CuT.started(second);
+        CuT.ended(first);
+        CuT.ended(second);
+        now = GRACE;
+        assertEquals(2, CuT.evictExpired(game -> { }));
+        assertEquals(0, registry.size());
+    }
+}
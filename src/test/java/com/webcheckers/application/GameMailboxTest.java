@@ -0,0 +1,147 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link GameMailbox} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class GameMailboxTest {
+    //The number of commands sent at once
+    private static final int COMMANDS = 1000;
+
+    /**
+     * The component-under-test (CuT).
+     */
+    private GameMailbox CuT;
+
+    // friendly objects
+    private CheckersGame game;
+    private ExecutorService executor;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        Player red = new Player("red");
+        Player white = new Player("white");
+        game = new CheckersGame(red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+        executor = Executors.newFixedThreadPool(4);
+        CuT = new GameMailbox(game, executor);
+    }
+
+    /**
+     * Stop the executor after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test that a command is given the game and its result is returned.
+     */
+    @Test
+    public void test_call() {
+        assertSame(game, CuT.getGame());
+        assertSame(game, CuT.call(played -> played));
+        assertEquals(game.toString(), CuT.call(CheckersGame::toString));
+        assertEquals(0, CuT.getPending());
+    }
+
+    /**
+     * Test that an exception thrown by a command reaches the caller.
+     */
+    @Test
+    public void test_callThrows() {
+        assertThrows(IllegalStateException.class, () -> CuT.call(played -> {
+            throw new IllegalStateException();
+        }));
+        // the mailbox keeps working afterwards
+        assertSame(game, CuT.call(played -> played));
+    }
+
+    /**
+     * Test that a command calling back into its own mailbox does not wait on itself.
+     */
+    @Test
+    public void test_callFromCommand() {
+        assertEquals(game.toString(), CuT.call(played -> CuT.call(CheckersGame::toString)));
+    }
+
+    /**
+     * Test that commands sent from one thread run in order.
+     *
+     * @throws Exception if a command fails
+     */
+    @Test
+    public void test_order() throws Exception {
+        List<Integer> ran = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for(int i = 0; i < COMMANDS; i++) {
+            int command = i;
+            results.add(CuT.submit(played -> {
+                ran.add(command);
+                return command;
+            }));
+        }
+        for(int i = 0; i < COMMANDS; i++) {
+            assertEquals(i, (int) results.get(i).get());
+        }
+        for(int i = 0; i < COMMANDS; i++) {
+            assertEquals(i, (int) ran.get(i));
+        }
+    }
+
+    /**
+     * Test that commands sent from many threads never run at the same time.
+     *
+     * @throws Exception if a command fails
+     */
+    @Test
+    public void test_oneAtATime() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        int[] count = new int[1];
+        ExecutorService senders = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> sent = new ArrayList<>();
+            for(int i = 0; i < COMMANDS; i++) {
+                sent.add(senders.submit(() -> CuT.call(played -> {
+                    if(running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    count[0]++;
+                    running.decrementAndGet();
+                    return null;
+                })));
+            }
+            for(Future<?> future : sent) {
+                future.get();
+            }
+        } finally {
+            senders.shutdown();
+        }
+        assertEquals(0, overlaps.get());
+        assertEquals(COMMANDS, (int) CuT.call(played -> count[0]));
+    }
+}
@@ -0,0 +1,125 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link GameNotifier} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class GameNotifierTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private GameNotifier CuT;
+
+    // friendly objects
+    private CheckersGame game;
+    private CheckersGame other;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        CuT = new GameNotifier();
+        Player red = new Player("red");
+        Player white = new Player("white");
+        game = new CheckersGame(1, red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+        other = new CheckersGame(2, red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+    }
+
+    /**
+     * Test that only the listeners of a game are told about its events.
+     */
+    @Test
+    public void test_publish() {
+        List<GameNotifier.Event> heard = new ArrayList<>();
+        List<GameNotifier.Event> otherHeard = new ArrayList<>();
+        CuT.subscribe(game.getGameID(), (played, event) -> {
+            assertSame(game, played);
+            heard.add(event);
+        });
+        CuT.subscribe(other.getGameID(), (played, event) -> otherHeard.add(event));
+
+        CuT.publish(game, GameNotifier.Event.TURN);
+        CuT.publish(game, GameNotifier.Event.GAME_OVER);
+        assertEquals(2, heard.size());
+        assertEquals(GameNotifier.Event.TURN, heard.get(0));
+        assertEquals(GameNotifier.Event.GAME_OVER, heard.get(1));
+        assertTrue(otherHeard.isEmpty());
+    }
+
+    /**
+     * Test that listeners stop being told once they unsubscribe or the game is cleared.
+     */
+    @Test
+    public void test_unsubscribe() {
+        List<GameNotifier.Event> heard = new ArrayList<>();
+        GameNotifier.Listener listener = (played, event) -> heard.add(event);
+        CuT.subscribe(game.getGameID(), listener);
+        CuT.subscribe(game.getGameID(), (played, event) -> heard.add(event));
+        assertEquals(2, CuT.getListenerCount(game.getGameID()));
+
+        CuT.unsubscribe(game.getGameID(), listener);
+        CuT.unsubscribe(other.getGameID(), listener);
+        assertEquals(1, CuT.getListenerCount(game.getGameID()));
+        CuT.publish(game, GameNotifier.Event.TURN);
+        assertEquals(1, heard.size());
+
+        CuT.clear(game.getGameID());
+        assertEquals(0, CuT.getListenerCount(game.getGameID()));
+        CuT.publish(game, GameNotifier.Event.TURN);
+        assertEquals(1, heard.size());
+    }
+
+    /**
+     * Test that the listeners of a cleared game are told they were dropped.
+     */
+    @Test
+    public void test_clear() {
+        List<Long> dropped = new ArrayList<>();
+        CuT.subscribe(game.getGameID(), new GameNotifier.Listener() {
+            @Override
+            public void notify(CheckersGame played, GameNotifier.Event event) {
+            }
+
+            @Override
+            public void dropped(long gameID) {
+                dropped.add(gameID);
+            }
+        });
+        CuT.subscribe(game.getGameID(), (played, event) -> { });
+
+        CuT.clear(other.getGameID());
+        assertTrue(dropped.isEmpty());
+        CuT.clear(game.getGameID());
+        assertEquals(1, dropped.size());
+        assertEquals(game.getGameID(), dropped.get(0).longValue());
+    }
+
+    /**
+     * Test that a listener that fails does not stop the others being told.
+     */
+    @Test
+    public void test_failingListener() {
+        List<GameNotifier.Event> heard = new ArrayList<>();
+        CuT.subscribe(game.getGameID(), (played, event) -> {
+            throw new IllegalStateException("closed");
+        });
+        CuT.subscribe(game.getGameID(), (played, event) -> heard.add(event));
+        CuT.publish(game, GameNotifier.Event.TURN);
+        assertEquals(1, heard.size());
+    }
+}
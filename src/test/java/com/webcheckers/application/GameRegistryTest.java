@@ -0,0 +1,147 @@
+package com.webcheckers.application;
+
+import com.webcheckers.model.BoardView;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link GameRegistry} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class GameRegistryTest {
+    //The number of games added at once
+    private static final int GAMES = 1000;
+
+    /**
+     * The component-under-test (CuT).
+     */
+    private GameRegistry CuT;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        CuT = new GameRegistry(4);
+    }
+
+    /**
+     * Create a game with the next ID from the registry.
+     *
+     * @return the game
+     */
+    private CheckersGame newGame() {
+        Player red = new Player("red");
+        Player white = new Player("white");
+        return new CheckersGame(CuT.nextID(), red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+    }
+
+    /**
+     * Test that only a power of two can be the number of shards.
+     */
+    @Test
+    public void test_shardCount() {
+        assertEquals(4, CuT.getShardCount());
+        assertEquals(GameRegistry.DEFAULT_SHARDS, new GameRegistry().getShardCount());
+        assertThrows(IllegalArgumentException.class, () -> new GameRegistry(0));
+        assertThrows(IllegalArgumentException.class, () -> new GameRegistry(6));
+    }
+
+    /**
+     * Test that IDs count up from one and are never handed out twice.
+     */
+    @Test
+    public void test_nextID() {
+        assertEquals(1, CuT.nextID());
+        assertEquals(2, CuT.nextID());
+        assertNotEquals(CheckersGame.NO_ID, CuT.nextID());
+    }
+
+    /**
+     * Test adding, finding and removing games.
+     */
+    @Test
+    public void test_addGetRemove() {
+        CheckersGame first = newGame();
+        CheckersGame second = newGame();
+        CuT.add(first);
+        CuT.add(second);
+        CuT.add(second);
+        assertEquals(2, CuT.size());
+        assertSame(first, CuT.get(first.getGameID()));
+        assertSame(second, CuT.get(second.getGameID()));
+        assertNull(CuT.get(CheckersGame.NO_ID));
+
+        assertSame(first, CuT.remove(first.getGameID()));
+        assertNull(CuT.remove(first.getGameID()));
+        assertNull(CuT.get(first.getGameID()));
+        assertEquals(1, CuT.size());
+    }
+
+    /**
+     * Test that games are spread evenly over the shards and every game is walked once.
+     */
+    @Test
+    public void test_shards() {
+        for(int i = 0; i < GAMES; i++) {
+            CuT.add(newGame());
+        }
+        int total = 0;
+        for(int shard = 0; shard < CuT.getShardCount(); shard++) {
+            assertEquals(GAMES / CuT.getShardCount(), CuT.getShard(shard).size());
+            for(CheckersGame game : CuT.getShard(shard)) {
+                assertEquals(shard, CuT.shardOf(game.getGameID()));
+            }
+            total += CuT.getShard(shard).size();
+        }
+        assertEquals(GAMES, total);
+
+        Set<Long> walked = new HashSet<>();
+        CuT.forEach(game -> walked.add(game.getGameID()));
+        assertEquals(GAMES, walked.size());
+        assertThrows(UnsupportedOperationException.class, () -> CuT.getShard(0).clear());
+    }
+
+    /**
+     * Test handing out IDs and adding games from many threads at once.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void test_concurrent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CheckersGame>> added = new ArrayList<>();
+            for(int i = 0; i < GAMES; i++) {
+                added.add(pool.submit(() -> {
+                    CheckersGame game = newGame();
+                    CuT.add(game);
+                    return game;
+                }));
+            }
+            Set<Long> ids = new HashSet<>();
+            for(Future<CheckersGame> game : added) {
+                assertTrue(ids.add(game.get().getGameID()));
+                assertSame(game.get(), CuT.get(game.get().getGameID()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(GAMES, CuT.size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.webcheckers.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link SocketTokens} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Application-tier")
+public class SocketTokensTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private SocketTokens CuT;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        CuT = new SocketTokens();
+    }
+
+    /**
+     * Test that a token names the player it was issued to, and that tokens are not handed out twice.
+     */
+    @Test
+    public void test_issue() {
+        String red = CuT.issue("red");
+        String white = CuT.issue("white");
+        assertNotEquals(red, white);
+        assertEquals("red", CuT.getName(red));
+        assertEquals("white", CuT.getName(white));
+        assertNull(CuT.getName("nobody"));
+        assertNull(CuT.getName(null));
+    }
+
+    /**
+     * Test that a new token replaces a player's last one, so a player only ever holds one.
+     */
+    @Test
+    public void test_replace() {
+        String first = CuT.issue("red");
+        String second = CuT.issue("red");
+        assertNotEquals(first, second);
+        assertNull(CuT.getName(first));
+        assertEquals("red", CuT.getName(second));
+        assertEquals(1, CuT.size());
+    }
+
+    /**
+     * Test that a revoked token no longer names its player.
+     */
+    @Test
+    public void test_revoke() {
+        String token = CuT.issue("red");
+        CuT.revoke("red");
+        CuT.revoke("white");
+        assertNull(CuT.getName(token));
+        assertEquals(0, CuT.size());
+    }
+}
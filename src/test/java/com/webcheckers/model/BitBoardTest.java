@@ -0,0 +1,248 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link BitBoard} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class BitBoardTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private BitBoard CuT;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+    }
+
+    /**
+     * Test that square(), row() and cell() agree with each other for every square on the board.
+     */
+    @Test
+    public void test_squareRowCell() {
+        for(int row = 0; row < BoardView.NUM_ROWS; row++) {
+            for(int cell = 0; cell < BoardView.NUM_COLS; cell++) {
+                int square = BitBoard.square(row, cell);
+                if((row + cell) % 2 == 0) {
+                    assertEquals(-1, square);
+                } else {
+                    assertEquals(row, BitBoard.row(square));
+                    assertEquals(cell, BitBoard.cell(square));
+                }
+            }
+        }
+        assertEquals(-1, BitBoard.square(-1, 0));
+        assertEquals(-1, BitBoard.square(8, 1));
+        assertEquals(0, BitBoard.square(0, 1));
+        assertEquals(31, BitBoard.square(7, 6));
+    }
+
+    /**
+     * Test that the neighbor and jump landing tables agree with the rows and cells of the squares.
+     */
+    @Test
+    public void test_neighborJumpLanding() {
+        int square = BitBoard.square(5, 2);
+        assertEquals(BitBoard.square(4, 1), BitBoard.neighbor(square, BitBoard.UP_LEFT));
+        assertEquals(BitBoard.square(4, 3), BitBoard.neighbor(square, BitBoard.UP_RIGHT));
+        assertEquals(BitBoard.square(6, 1), BitBoard.neighbor(square, BitBoard.DOWN_LEFT));
+        assertEquals(BitBoard.square(6, 3), BitBoard.neighbor(square, BitBoard.DOWN_RIGHT));
+        assertEquals(BitBoard.square(3, 0), BitBoard.jumpLanding(square, BitBoard.UP_LEFT));
+        assertEquals(BitBoard.square(7, 4), BitBoard.jumpLanding(square, BitBoard.DOWN_RIGHT));
+
+        // Case: squares on the edges of the board
+        square = BitBoard.square(0, 1);
+        assertEquals(-1, BitBoard.neighbor(square, BitBoard.UP_RIGHT));
+        assertEquals(BitBoard.square(1, 0), BitBoard.neighbor(square, BitBoard.DOWN_LEFT));
+        assertEquals(-1, BitBoard.jumpLanding(square, BitBoard.DOWN_LEFT));
+        assertEquals(BitBoard.square(2, 3), BitBoard.jumpLanding(square, BitBoard.DOWN_RIGHT));
+    }
+
+    /**
+     * Test that setPiece() and getPiece() work correctly.
+     */
+    @Test
+    public void test_setPiece() {
+        int square = BitBoard.square(4, 3);
+        assertNull(CuT.getPiece(square));
+
+        CuT.setPiece(square, new King(Piece.Color.WHITE));
+        assertEquals(new King(Piece.Color.WHITE), CuT.getPiece(square));
+        assertTrue(CuT.isKing(square));
+        assertEquals(Piece.Color.WHITE, CuT.getColor(square));
+
+        CuT.setPiece(square, new Single(Piece.Color.RED));
+        assertEquals(new Single(Piece.Color.RED), CuT.getPiece(square));
+        assertFalse(CuT.isKing(square));
+
+        CuT.setPiece(square, null);
+        assertFalse(CuT.isOccupied(square));
+    }
+
+    /**
+     * Test that the copy constructor works correctly when flip is true.
+     */
+    @Test
+    public void test_constructorFlip() {
+        CuT.setPiece(BitBoard.square(4, 3), new King(Piece.Color.RED));
+        BitBoard flipped = new BitBoard(CuT, true);
+        for(int square = 0; square < BitBoard.NUM_SQUARES; square++) {
+            int row = BitBoard.row(square);
+            int cell = BitBoard.cell(square);
+            int expected = BitBoard.square(BoardView.NUM_ROWS - row - 1, BoardView.NUM_COLS - cell - 1);
+            assertEquals(CuT.getPiece(expected), flipped.getPiece(square));
+        }
+        assertTrue(flipped.isFlipped());
+        assertEquals(CuT.getPieceCount(Piece.Color.RED), flipped.getPieceCount(Piece.Color.RED));
+        assertEquals(CuT.getKingCount(Piece.Color.RED), flipped.getKingCount(Piece.Color.RED));
+        // the move directions are reversed on a flipped position, so it can not be asked about moves or changed
+        assertThrows(IllegalStateException.class, flipped::getKey);
+        assertThrows(IllegalStateException.class, () -> flipped.getMobility(Piece.Color.RED));
+        assertThrows(IllegalStateException.class, () -> flipped.canJump(Piece.Color.WHITE));
+        assertThrows(IllegalStateException.class, () -> flipped.setPiece(0, null));
+
+        BitBoard unflipped = new BitBoard(flipped, true);
+        assertFalse(unflipped.isFlipped());
+        assertEquals(CuT.getKey(), unflipped.getKey());
+        assertEquals(CuT.getMobility(Piece.Color.RED), unflipped.getMobility(Piece.Color.RED));
+        assertEquals(CuT.getMobility(Piece.Color.WHITE), unflipped.getMobility(Piece.Color.WHITE));
+    }
+
+    /**
+     * Test that move() works correctly for simple moves and jumps.
+     */
+    @Test
+    public void test_move() {
+        int from = BitBoard.square(5, 2);
+        int over = BitBoard.square(4, 3);
+        int to = BitBoard.square(3, 4);
+        CuT.setPiece(from, new King(Piece.Color.RED));
+        CuT.setPiece(over, new Single(Piece.Color.WHITE));
+
+        CuT.move(from, to, over);
+        assertFalse(CuT.isOccupied(from));
+        assertFalse(CuT.isOccupied(over));
+        assertEquals(new King(Piece.Color.RED), CuT.getPiece(to));
+    }
+
+    /**
+     * Test that canMove() and canJump() work correctly.
+     */
+    @Test
+    public void test_canMoveCanJump() {
+        // Case: initial board state
+        assertTrue(CuT.canMove(Piece.Color.RED));
+        assertFalse(CuT.canJump(Piece.Color.RED));
+
+        // Case: a jump is possible
+        CuT.setPiece(BitBoard.square(4, 3), new Single(Piece.Color.WHITE));
+        assertTrue(CuT.canJump(Piece.Color.RED));
+        assertTrue(CuT.canJumpFrom(BitBoard.square(5, 2)));
+        assertFalse(CuT.canJumpFrom(BitBoard.square(5, 0)));
+
+        // Case: a single in the corner cannot move backwards, but a king can
+        CuT.setPieces(0, 0, 0);
+        CuT.setPiece(BitBoard.square(0, 1), new Single(Piece.Color.RED));
+        assertFalse(CuT.canMove(Piece.Color.RED));
+        CuT.setPiece(BitBoard.square(0, 1), new King(Piece.Color.RED));
+        assertTrue(CuT.canMove(Piece.Color.RED));
+
+        // Case: white singles move towards row 7
+        CuT.setPieces(0, 0, 0);
+        CuT.setPiece(BitBoard.square(0, 1), new Single(Piece.Color.WHITE));
+        assertTrue(CuT.canMove(Piece.Color.WHITE));
+        CuT.setPiece(BitBoard.square(1, 2), new Single(Piece.Color.RED));
+        assertTrue(CuT.canJump(Piece.Color.WHITE));
+        assertFalse(CuT.canJump(Piece.Color.RED));
+        CuT.setPieces(0, 0, 0);
+        CuT.setPiece(BitBoard.square(7, 6), new Single(Piece.Color.WHITE));
+        assertFalse(CuT.canMove(Piece.Color.WHITE));
+    }
+
+    /**
+     * Test that the piece, king and mobility counts stay correct as moves are made, crowned and taken back.
+     */
+    @Test
+    public void test_counters() {
+        assertEquals(12, CuT.getPieceCount(Piece.Color.RED));
+        assertEquals(12, CuT.getPieceCount(Piece.Color.WHITE));
+        assertEquals(7, CuT.getMobility(Piece.Color.RED));
+        assertEquals(7, CuT.getMobility(Piece.Color.WHITE));
+
+        int simple = CuT.make(BitBoard.square(5, 2), BitBoard.square(4, 3), -1);
+        int advance = CuT.make(BitBoard.square(2, 5), BitBoard.square(3, 4), -1);
+        CuT.setPiece(BitBoard.square(3, 4), null);
+        CuT.setPiece(BitBoard.square(3, 4), new King(Piece.Color.WHITE));
+        assertEquals(1, CuT.getKingCount(Piece.Color.WHITE));
+        assertCountsMatch();
+
+        int jump = CuT.make(BitBoard.square(4, 3), BitBoard.square(2, 5), BitBoard.square(3, 4));
+        assertEquals(11, CuT.getPieceCount(Piece.Color.WHITE));
+        assertEquals(0, CuT.getKingCount(Piece.Color.WHITE));
+        assertCountsMatch();
+
+        CuT.crown(BitBoard.square(2, 5));
+        assertEquals(1, CuT.getKingCount(Piece.Color.RED));
+        assertCountsMatch();
+
+        CuT.unmake(jump);
+        assertEquals(12, CuT.getPieceCount(Piece.Color.WHITE));
+        assertEquals(1, CuT.getKingCount(Piece.Color.WHITE));
+        assertCountsMatch();
+        CuT.unmake(advance);
+        CuT.unmake(simple);
+        assertCountsMatch();
+
+        BitBoard flipped = new BitBoard(CuT, true);
+        assertEquals(CuT.getPieceCount(Piece.Color.RED), flipped.getPieceCount(Piece.Color.RED));
+    }
+
+    /**
+     * Check that the kept counts agree with counts made from scratch.
+     */
+    private void assertCountsMatch() {
+        BitBoard fresh = new BitBoard(CuT.getRed(), CuT.getWhite(), CuT.getKings());
+        for(Piece.Color color : Piece.Color.values()) {
+            assertEquals(fresh.getPieceCount(color), CuT.getPieceCount(color));
+            assertEquals(fresh.getKingCount(color), CuT.getKingCount(color));
+            assertEquals(BitBoard.mobility(CuT.getPieces(color), CuT.getEmpty(), CuT.getKings(), color),
+                    CuT.getMobility(color));
+        }
+    }
+
+    /**
+     * Test that the position key is kept up to date as moves are made, crowned and taken back.
+     */
+    @Test
+    public void test_key() {
+        long initial = CuT.getKey();
+        assertEquals(initial, new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0).getKey());
+
+        CuT.setTurn(Piece.Color.WHITE);
+        assertNotEquals(initial, CuT.getKey());
+        CuT.setTurn(Piece.Color.RED);
+        assertEquals(initial, CuT.getKey());
+
+        CuT.setPiece(BitBoard.square(4, 3), new King(Piece.Color.WHITE));
+        long before = CuT.getKey();
+        int jump = CuT.make(BitBoard.square(5, 2), BitBoard.square(3, 4), BitBoard.square(4, 3));
+        assertEquals(new BitBoard(CuT.getRed(), CuT.getWhite(), CuT.getKings()).getKey(), CuT.getKey());
+        CuT.crown(BitBoard.square(3, 4));
+        assertEquals(new BitBoard(CuT.getRed(), CuT.getWhite(), CuT.getKings()).getKey(), CuT.getKey());
+        CuT.setPiece(BitBoard.square(3, 4), new Single(Piece.Color.RED));
+        CuT.unmake(jump);
+        assertEquals(before, CuT.getKey());
+    }
+}
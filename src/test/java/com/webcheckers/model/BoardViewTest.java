@@ -108,6 +108,34 @@ public class BoardViewTest {
         }
     }
 
+    /**
+     * Test that a flipped copy is only for display: its pieces can be read, asking it about moves or changing it
+     * throws, and flipping it back gives a board that plays like the original.
+     */
+    @Test
+    public void test_constructorFlipDisplayOnly() {
+        board[4][3].setPiece(new King(Color.WHITE));
+        BoardView flipped = new BoardView(CuT, true);
+        for(Color color : Color.values()) {
+            assertEquals(CuT.piecesRemaining(color), flipped.piecesRemaining(color));
+            assertEquals(CuT.getPieceCount(color), flipped.getPieceCount(color));
+        }
+        assertEquals(new King(Color.WHITE), flipped.getBoard()[3][4].getPiece());
+
+        assertThrows(IllegalStateException.class, () -> flipped.movesRemaining(Color.RED));
+        assertThrows(IllegalStateException.class, flipped::positionKey);
+        assertThrows(IllegalStateException.class,
+                () -> flipped.checkMove(new Move(new Position(2, 1), new Position(3, 0)), Color.RED));
+        assertThrows(IllegalStateException.class, () -> flipped.getBoard()[3][4].setPiece(null));
+
+        BoardView unflipped = new BoardView(flipped, true);
+        for(Color color : Color.values()) {
+            assertEquals(CuT.movesRemaining(color), unflipped.movesRemaining(color));
+            assertEquals(CuT.getMobility(color), unflipped.getMobility(color));
+        }
+        assertEquals(CuT.positionKey(), unflipped.positionKey());
+    }
+
     /**
      * Test that checkMove() works correctly when the starting and ending space of the move are null.
      */
@@ -220,6 +248,20 @@ public class BoardViewTest {
         assertEquals(BoardView.ILLEGAL_MOVE_MESSAGE, CuT.checkMove(move, Color.RED));
     }
 
+    /**
+     * Test that checkMove() works correctly for the white player, whose singles move towards row 7.
+     */
+    @Test
+    public void test_checkMoveWhiteSimpleMove() {
+        move = new Move(new Position(2, 1), new Position(3, 0));
+        assertEquals(BoardView.VALID_MOVE_MESSAGE, CuT.checkMove(move, Color.WHITE));
+
+        CuT.resetJumpData();
+        board[1][0].setPiece(null);
+        move = new Move(new Position(2, 1), new Position(1, 0));
+        assertEquals(BoardView.ILLEGAL_MOVE_MESSAGE, CuT.checkMove(move, Color.WHITE));
+    }
+
     /**
      * Test that checkMove() works correctly when the player is trying jump after making a simple move.
      */
@@ -368,6 +410,57 @@ public class BoardViewTest {
         assertTrue(CuT.playerHasJump());
     }
 
+    /**
+     * Test that unmake() restores the position and turn state from before make().
+     */
+    @Test
+    public void test_makeUnmake() {
+        BoardView initial = new BoardView(CuT, false);
+        board[4][3].setPiece(new King(Color.WHITE));
+        BoardView before = new BoardView(CuT, false);
+
+        // Case: a jump that captures a king
+        move = new Move(new Position(5, 2), new Position(3, 4));
+        int undo = CuT.make(move);
+        assertNull(board[4][3].getPiece());
+        assertEquals(BoardView.MoveType.JUMP, CuT.getLastMoveType());
+
+        CuT.unmake(undo);
+        assertEquals(BoardView.MoveType.NONE, CuT.getLastMoveType());
+        assertFalse(CuT.playerHasJump());
+        for(int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < BoardView.NUM_COLS; col++) {
+                assertEquals(before.getBoard()[row][col], board[row][col]);
+            }
+        }
+
+        // Case: a simple move
+        board[4][3].setPiece(null);
+        undo = CuT.make(new Move(new Position(5, 0), new Position(4, 1)));
+        assertEquals(BoardView.MoveType.SIMPLE, CuT.getLastMoveType());
+        CuT.unmake(undo);
+        for(int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < BoardView.NUM_COLS; col++) {
+                assertEquals(initial.getBoard()[row][col], board[row][col]);
+            }
+        }
+    }
+
+    /**
+     * Test that copyFrom() works correctly.
+     */
+    @Test
+    public void test_copyFrom() {
+        BoardView other = new BoardView(red, white);
+        other.getBoard()[4][3].setPiece(new King(Color.WHITE));
+        CuT.setLastMoveType(BoardView.MoveType.JUMP);
+
+        CuT.copyFrom(other, true);
+        assertEquals(BoardView.MoveType.NONE, CuT.getLastMoveType());
+        assertEquals(new King(Color.WHITE), board[3][4].getPiece());
+        assertEquals(new Single(Color.RED), board[0][1].getPiece());
+    }
+
     /**
      * Test that getJumpedSquare() works correctly.
      */
@@ -4,7 +4,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import java.util.LinkedList;
-import java.util.Objects;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -154,7 +153,9 @@ public class CheckersGameTest {
      */
     @Test
     public void test_getGameID() {
-        assertEquals(Objects.hash(red, white, CheckersGame.Mode.PLAY), CuT.getGameID());
+        assertEquals(CheckersGame.NO_ID, CuT.getGameID());
+        CuT = new CheckersGame(1L << 40, red, white, CheckersGame.Mode.PLAY, new BoardView(red, white));
+        assertEquals(1L << 40, CuT.getGameID());
     }
 
     /**
@@ -220,27 +221,49 @@ public class CheckersGameTest {
         CuT.testMove(valid);
         assertEquals(CheckersGame.MOVE_BACKED_UP_MESSAGE, CuT.backupMove());
 
-        // Case turnMoves.getLast().isSimpleMove() is true
-        LinkedList<Move> turnMoves = CuT.getTurnMoves();
-        turnMoves.addLast(valid);
-        turnMoves.addLast(valid);
+        // Case: the backed up move can be made again, and a different simple move is now allowed
+        Move other = new Move(new Position(5, 0), new Position(4, 1));
+        assertEquals(BoardView.VALID_MOVE_MESSAGE, CuT.testMove(other));
         assertEquals(CheckersGame.MOVE_BACKED_UP_MESSAGE, CuT.backupMove());
-        turnMoves.clear();
+        assertTrue(CuT.getTurnMoves().isEmpty());
 
         // Set up valid jump
         CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
         CuT.submitTurn();
-        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)));
+        // the white player's moves are written from their side of the board and flipped to the game's coordinates
+        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)).inverse());
         CuT.submitTurn();
         Move jump = new Move(new Position(4, 1), new Position(2, 3));
         CuT.testMove(jump);
         // Test backing up a jump
         assertEquals(CheckersGame.MOVE_BACKED_UP_MESSAGE, CuT.backupMove());
 
-        // Case turnMoves.getLast().isSimpleMove() is false
-        turnMoves.addLast(jump);
-        turnMoves.addLast(jump);
+        // Case: backing up a jump puts the captured piece back, so the same jump is legal again
+        assertEquals(BoardView.VALID_JUMP_MESSAGE, CuT.testMove(jump));
         assertEquals(CheckersGame.MOVE_BACKED_UP_MESSAGE, CuT.backupMove());
+        assertEquals(CheckersGame.NO_MOVES_MADE_MESSAGE, CuT.backupMove());
+    }
+
+    /**
+     * Test that testMove() only allows the piece that jumped to keep jumping.
+     */
+    @Test
+    public void test_testMoveSecondPieceJump() {
+        Space[][] board = boardView.getBoard();
+        for(Space[] row : board) {
+            for(Space space : row) {
+                space.setPiece(null);
+            }
+        }
+        board[5][0].setPiece(new Single(Piece.Color.RED));
+        board[5][4].setPiece(new Single(Piece.Color.RED));
+        board[4][1].setPiece(new Single(Piece.Color.WHITE));
+        board[4][5].setPiece(new Single(Piece.Color.WHITE));
+        CuT = new CheckersGame(red, white, CheckersGame.Mode.PLAY, boardView);
+
+        assertEquals(BoardView.VALID_JUMP_MESSAGE, CuT.testMove(new Move(new Position(5, 0), new Position(3, 2))));
+        assertEquals(BoardView.ILLEGAL_MOVE_MESSAGE, CuT.testMove(new Move(new Position(5, 4), new Position(3, 6))));
+        assertEquals(CheckersGame.TURN_SUBMITTED_MESSAGE, CuT.submitTurn());
     }
 
     /**
@@ -252,32 +275,30 @@ public class CheckersGameTest {
         assertEquals(CheckersGame.NO_MOVES_MADE_MESSAGE, CuT.submitTurn());
 
         //Case: jump exists, but player made a simple move
-        LinkedList<Move> turnMoves = CuT.getTurnMoves();
         // Set up valid jump
         CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
         CuT.submitTurn();
-        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)));
+        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)).inverse());
         CuT.submitTurn();
 
-        //Add simple move
+        //Try a simple move, it is refused so there is nothing to submit
         Move simple = new Move(new Position(5, 2), new Position(4, 3));
-        turnMoves.addLast(simple);
-        assertEquals(CheckersGame.JUMP_EXISTS_MESSAGE, CuT.submitTurn());
-        turnMoves.removeLast();
+        assertEquals(BoardView.FORCED_JUMP_MESSAGE, CuT.testMove(simple));
+        assertEquals(CheckersGame.NO_MOVES_MADE_MESSAGE, CuT.submitTurn());
 
         //Case: double jump exists, but player only did the first jump
         // Set up double jump
         CuT.testMove(new Move(new Position(4, 1), new Position(2, 3)));
         CuT.submitTurn();
-        CuT.testMove(new Move(new Position(6, 3), new Position(4, 5)));
+        CuT.testMove(new Move(new Position(6, 3), new Position(4, 5)).inverse());
         CuT.submitTurn();
         CuT.testMove(new Move(new Position(6, 1), new Position(5, 0)));
         CuT.submitTurn();
-        CuT.testMove(new Move(new Position(7, 2), new Position(6, 3)));
+        CuT.testMove(new Move(new Position(7, 2), new Position(6, 3)).inverse());
         CuT.submitTurn();
         CuT.testMove(new Move(new Position(5, 2), new Position(4, 1)));
         CuT.submitTurn();
-        CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)).inverse());
         CuT.submitTurn();
         //Only make first of two jumps
         CuT.testMove(new Move(new Position(4, 1), new Position(2, 3)));
@@ -324,31 +345,118 @@ public class CheckersGameTest {
     }
 
     /**
-     * Test that isNewTurn() works correctly.
+     * Test that the position key of the board changes with each submitted turn and includes the color to move.
+     */
+    @Test
+    public void test_positionKey() {
+        long initial = CuT.getBoard(false).positionKey();
+        CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        assertEquals(initial, CuT.getBoard(false).positionKey());
+
+        CuT.submitTurn();
+        BitBoard position = CuT.getBoard(false).getPosition();
+        assertNotEquals(initial, position.getKey());
+        assertEquals(Piece.Color.WHITE, position.getTurn());
+        BitBoard expected = new BitBoard(position.getRed(), position.getWhite(), position.getKings());
+        expected.setTurn(Piece.Color.WHITE);
+        assertEquals(expected.getKey(), position.getKey());
+    }
+
+    /**
+     * Test that copyHistory() gives the submitted turns in the same form the move generator makes them.
+     */
+    @Test
+    public void test_copyHistory() {
+        MoveList history = new MoveList();
+        CuT.copyHistory(history);
+        assertTrue(history.isEmpty());
+
+        CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        CuT.submitTurn();
+        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)).inverse());
+        CuT.submitTurn();
+        BitBoard before = new BitBoard(CuT.getBoard(false).getPosition(), false);
+        CuT.testMove(new Move(new Position(4, 1), new Position(2, 3)));
+        CuT.submitTurn();
+
+        CuT.copyHistory(history);
+        assertEquals(3, history.size());
+        assertEquals(BitBoard.square(5, 0), history.getFrom(0));
+        assertEquals(BitBoard.square(4, 1), history.getTo(0));
+        assertEquals(0, history.getCaptured(0));
+
+        MoveList legal = new MoveList();
+        assertEquals(1, MoveGenerator.generate(before, Piece.Color.RED, legal));
+        assertEquals(legal.getMove(0), history.getMove(2));
+        assertEquals(legal.getCaptured(0), history.getCaptured(2));
+    }
+
+    /**
+     * Test that getTurnSequence() works correctly.
      */
     @Test
-    public void test_isNewTurn() {
-        // Case: initial state, no new turns
-        assertFalse(CuT.isNewTurn());
+    public void test_getTurnSequence() {
+        // Case: initial state, no turns
+        assertEquals(0, CuT.getTurnSequence());
 
-        // Case:a move has been made, there should be a new turn
+        // Case: a move that has not been submitted is not a turn
         CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        assertEquals(0, CuT.getTurnSequence());
+
+        // Case: each submitted turn is numbered
+        CuT.submitTurn();
+        assertEquals(1, CuT.getTurnSequence());
+        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)).inverse());
         CuT.submitTurn();
-        assertTrue(CuT.isNewTurn());
+        assertEquals(2, CuT.getTurnSequence());
+
+        // Case: the end of the game is numbered once
+        CuT.endGame(CheckersGame.EndReason.RESIGNED, Piece.Color.RED);
+        assertEquals(3, CuT.getTurnSequence());
+        CuT.endGame(CheckersGame.EndReason.RESIGNED, Piece.Color.RED);
+        assertEquals(3, CuT.getTurnSequence());
     }
 
     /**
-     * Test that setNewTurn() works correctly.
+     * Test that hasTurnSince() works correctly.
      */
     @Test
-    public void test_setNewTurn() {
-        // Case: setting newTurn to true
-        CuT.setNewTurn(true);
-        assertTrue(CuT.isNewTurn());
-
-        // Case: setting newTurn to false
-        CuT.setNewTurn(false);
-        assertFalse(CuT.isNewTurn());
+    public void test_hasTurnSince() {
+        assertFalse(CuT.hasTurnSince(0));
+        CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        CuT.submitTurn();
+        // every viewer that saw turn 0 sees the new turn, however many have checked before them
+        assertTrue(CuT.hasTurnSince(0));
+        assertTrue(CuT.hasTurnSince(0));
+        assertFalse(CuT.hasTurnSince(1));
+    }
+
+    /**
+     * Test that copyTurnsSince() works correctly.
+     */
+    @Test
+    public void test_copyTurnsSince() {
+        MoveList turns = new MoveList();
+        long[] sequences = new long[CheckersGame.RECENT_TURNS];
+        assertTrue(CuT.copyTurnsSince(0, turns, sequences));
+        assertTrue(turns.isEmpty());
+
+        CuT.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        CuT.submitTurn();
+        CuT.testMove(new Move(new Position(5, 4), new Position(4, 5)).inverse());
+        CuT.submitTurn();
+
+        // Case: a viewer that saw the first turn is sent the second
+        assertTrue(CuT.copyTurnsSince(1, turns, sequences));
+        assertEquals(1, turns.size());
+        assertEquals(2, sequences[0]);
+        assertEquals(new Move(new Position(5, 4), new Position(4, 5)).inverse(), turns.getStep(0, 0));
+
+        // Case: a viewer that saw nothing is sent both, in order
+        assertTrue(CuT.copyTurnsSince(0, turns, sequences));
+        assertEquals(2, turns.size());
+        assertEquals(1, sequences[0]);
+        assertEquals(new Move(new Position(5, 0), new Position(4, 1)), turns.getStep(0, 0));
     }
 
     /**
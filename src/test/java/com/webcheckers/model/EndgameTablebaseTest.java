@@ -0,0 +1,115 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link EndgameTablebase} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class EndgameTablebaseTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private EndgameTablebase CuT;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new EndgameTablebase();
+    }
+
+    /**
+     * Test packing and unpacking material codes.
+     */
+    @Test
+    public void test_material() {
+        int material = EndgameTablebase.material(2, 1, 0, 3);
+        assertEquals(2, EndgameTablebase.getCount(material, 0));
+        assertEquals(1, EndgameTablebase.getCount(material, 1));
+        assertEquals(0, EndgameTablebase.getCount(material, 2));
+        assertEquals(3, EndgameTablebase.getCount(material, 3));
+        assertEquals(6, EndgameTablebase.getPieceCount(material));
+        assertEquals(EndgameTablebase.material(0, 3, 2, 1), EndgameTablebase.swapColors(material));
+        assertEquals("r21w03.tb", EndgameTablebase.fileName(material));
+
+        int red = (1 << 20) | (1 << 21) | (1 << 5);
+        int white = (1 << 1) | (1 << 2) | (1 << 3);
+        int kings = (1 << 5) | white;
+        assertEquals(material, EndgameTablebase.material(red, white, kings));
+    }
+
+    /**
+     * Test that the table sizes count every way to place the pieces.
+     */
+    @Test
+    public void test_size() {
+        assertEquals(32 * 31, EndgameTablebase.size(EndgameTablebase.material(0, 1, 0, 1)));
+        assertEquals(496 * 30, EndgameTablebase.size(EndgameTablebase.material(2, 0, 0, 1)));
+        assertEquals(32 * 31 * 30 * 29 * 28 * 27 / 4,
+                EndgameTablebase.size(EndgameTablebase.material(2, 1, 2, 1)));
+    }
+
+    /**
+     * Test that every index of a table maps to a distinct position with the right pieces and back again.
+     */
+    @Test
+    public void test_indexRoundTrip() {
+        int material = EndgameTablebase.material(1, 1, 2, 0);
+        int[] masks = new int[3];
+        for(long index = 0; index < EndgameTablebase.size(material); index++) {
+            EndgameTablebase.unindex(material, index, masks);
+            assertEquals(0, masks[0] & masks[1]);
+            assertEquals(material, EndgameTablebase.material(masks[0], masks[1], masks[2]));
+            assertEquals(index, EndgameTablebase.index(masks[0], masks[1], masks[2]));
+        }
+    }
+
+    /**
+     * Test packing and unpacking the value of a position.
+     */
+    @Test
+    public void test_value() {
+        int value = EndgameTablebase.value(EndgameTablebase.WIN, 17);
+        assertEquals(EndgameTablebase.WIN, EndgameTablebase.getResult(value));
+        assertEquals(17, EndgameTablebase.getDistance(value));
+        assertEquals(EndgameTablebase.DRAW, EndgameTablebase.getResult(EndgameTablebase.DRAW));
+    }
+
+    /**
+     * Test that a position with white to move is looked up in the table with the colors swapped.
+     */
+    @Test
+    public void test_probe() {
+        int material = EndgameTablebase.material(0, 1, 0, 1);
+        ByteBuffer table = ByteBuffer.allocate(
+                (int) (EndgameTablebase.HEADER_BYTES + EndgameTablebase.size(material) * EndgameTablebase.VALUE_BYTES));
+        CuT.put(material, table);
+        assertEquals(2, CuT.getMaxPieces());
+
+        BitBoard position = new BitBoard();
+        position.setPiece(BitBoard.square(2, 1), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(5, 4), new King(Piece.Color.WHITE));
+        int value = EndgameTablebase.value(EndgameTablebase.LOSS, 9);
+        long index = EndgameTablebase.index(Integer.reverse(position.getWhite()), Integer.reverse(position.getRed()),
+                Integer.reverse(position.getKings()));
+        EndgameTablebase.set(table, index, value);
+
+        position.setTurn(Piece.Color.WHITE);
+        assertEquals(value, CuT.probe(position));
+
+        // Case: material with no table
+        position.setPiece(BitBoard.square(6, 1), new Single(Piece.Color.RED));
+        assertEquals(EndgameTablebase.NOT_FOUND, CuT.probe(position));
+    }
+}
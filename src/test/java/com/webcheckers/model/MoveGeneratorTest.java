@@ -0,0 +1,128 @@
+package com.webcheckers.model;
+
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The unit test suite for the {@link MoveGenerator} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class MoveGeneratorTest {
+    // friendly objects
+    private BitBoard position;
+    private MoveList list;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        list = new MoveList();
+    }
+
+    /**
+     * Test that both players have seven simple moves from the starting position.
+     */
+    @Test
+    public void test_initialPosition() {
+        assertEquals(7, MoveGenerator.generate(position, Piece.Color.RED, list));
+        for(int i = 0; i < list.size(); i++) {
+            assertFalse(list.isJump(i));
+            assertEquals(5, BitBoard.row(list.getFrom(i)));
+            assertEquals(4, BitBoard.row(list.getTo(i)));
+        }
+
+        assertEquals(7, MoveGenerator.generate(position, Piece.Color.WHITE, list));
+        for(int i = 0; i < list.size(); i++) {
+            assertEquals(2, BitBoard.row(list.getFrom(i)));
+            assertEquals(3, BitBoard.row(list.getTo(i)));
+        }
+    }
+
+    /**
+     * Test that only jumps are generated when a jump exists.
+     */
+    @Test
+    public void test_forcedJump() {
+        position.setPiece(BitBoard.square(4, 3), new Single(Piece.Color.WHITE));
+
+        assertEquals(2, MoveGenerator.generate(position, Piece.Color.RED, list));
+        for(int i = 0; i < list.size(); i++) {
+            assertTrue(list.isJump(i));
+            assertEquals(1 << BitBoard.square(4, 3), list.getCaptured(i));
+            assertEquals(3, BitBoard.row(list.getTo(i)));
+        }
+    }
+
+    /**
+     * Test that a multi-jump is generated as one turn that captures every piece on the way.
+     */
+    @Test
+    public void test_multipleJump() {
+        position.setPieces(0, 0, 0);
+        position.setPiece(BitBoard.square(5, 0), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(4, 1), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(2, 3), new Single(Piece.Color.WHITE));
+
+        assertEquals(1, MoveGenerator.generate(position, Piece.Color.RED, list));
+        assertEquals(2, list.getJumps(0));
+        assertEquals(BitBoard.square(3, 2), list.getStepTo(0, 0));
+        assertEquals(BitBoard.square(1, 4), list.getTo(0));
+        assertEquals((1 << BitBoard.square(4, 1)) | (1 << BitBoard.square(2, 3)), list.getCaptured(0));
+        assertFalse(list.isPromotion(0));
+    }
+
+    /**
+     * Test that kings move in every direction and singles are flagged when they reach the king row.
+     */
+    @Test
+    public void test_kingsAndPromotion() {
+        position.setPieces(0, 0, 0);
+        position.setPiece(BitBoard.square(3, 4), new King(Piece.Color.WHITE));
+        assertEquals(4, MoveGenerator.generate(position, Piece.Color.WHITE, list));
+
+        position.setPieces(0, 0, 0);
+        position.setPiece(BitBoard.square(6, 1), new Single(Piece.Color.WHITE));
+        assertEquals(2, MoveGenerator.generate(position, Piece.Color.WHITE, list));
+        assertTrue(list.isPromotion(0));
+        assertTrue(list.isPromotion(1));
+
+        position.setPieces(0, 0, 0);
+        assertEquals(0, MoveGenerator.generate(position, Piece.Color.WHITE, list));
+    }
+
+    /**
+     * Test that every step of every generated turn is accepted by checkMove.
+     */
+    @Test
+    public void test_agreesWithCheckMove() {
+        BoardView board = new BoardView(mock(Player.class), mock(Player.class));
+        board.getPosition().setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        board.getPosition().setPiece(BitBoard.square(4, 3), new Single(Piece.Color.WHITE));
+        board.getPosition().setPiece(BitBoard.square(1, 6), null);
+
+        MoveGenerator.generate(board.getPosition(), Piece.Color.RED, list);
+        assertFalse(list.isEmpty());
+        for(int i = 0; i < list.size(); i++) {
+            BoardView turn = new BoardView(board, false);
+            for(int step = 0; step < list.getSteps(i); step++) {
+                int from = list.getStepFrom(i, step);
+                int to = list.getStepTo(i, step);
+                Move move = new Move(new Position(BitBoard.row(from), BitBoard.cell(from)),
+                        new Position(BitBoard.row(to), BitBoard.cell(to)));
+                Message message = turn.checkMove(move, Piece.Color.RED);
+                assertEquals(Message.Type.INFO, message.getType());
+                turn.makeMove(move);
+            }
+            assertFalse(turn.playerHasJump());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link MoveList} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class MoveListTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private MoveList CuT;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new MoveList();
+    }
+
+    /**
+     * Test that a simple move is stored and read back correctly.
+     */
+    @Test
+    public void test_simpleMove() {
+        assertTrue(CuT.isEmpty());
+        CuT.add(MoveList.encode(20, 16, 0, false), 0, 0L);
+
+        assertEquals(1, CuT.size());
+        assertEquals(20, CuT.getFrom(0));
+        assertEquals(16, CuT.getTo(0));
+        assertFalse(CuT.isJump(0));
+        assertFalse(CuT.isPromotion(0));
+        assertEquals(1, CuT.getSteps(0));
+        assertEquals(20, CuT.getStepFrom(0, 0));
+        assertEquals(16, CuT.getStepTo(0, 0));
+    }
+
+    /**
+     * Test that a jump sequence is stored and read back correctly.
+     */
+    @Test
+    public void test_jumpSequence() {
+        long path = 13L | (6L << MoveList.PATH_BITS);
+        CuT.add(MoveList.encode(20, 6, 2, false), (1 << 16) | (1 << 9), path);
+
+        assertTrue(CuT.isJump(0));
+        assertEquals(2, CuT.getJumps(0));
+        assertEquals(2, CuT.getSteps(0));
+        assertEquals((1 << 16) | (1 << 9), CuT.getCaptured(0));
+        assertEquals(20, CuT.getStepFrom(0, 0));
+        assertEquals(13, CuT.getStepTo(0, 0));
+        assertEquals(13, CuT.getStepFrom(0, 1));
+        assertEquals(6, CuT.getStepTo(0, 1));
+    }
+
+    /**
+     * Test that the list grows past its starting capacity and can be cleared and reused.
+     */
+    @Test
+    public void test_growAndClear() {
+        for(int i = 0; i < MoveList.DEFAULT_CAPACITY + 1; i++) {
+            CuT.add(MoveList.encode(i % BitBoard.NUM_SQUARES, 0, 0, true), 0, 0L);
+        }
+        assertEquals(MoveList.DEFAULT_CAPACITY + 1, CuT.size());
+        assertEquals(0, CuT.getFrom(MoveList.DEFAULT_CAPACITY));
+        assertTrue(CuT.isPromotion(MoveList.DEFAULT_CAPACITY));
+
+        CuT.clear();
+        assertTrue(CuT.isEmpty());
+    }
+}
@@ -80,4 +80,31 @@ public class MoveTest {
         Move inverse = new Move(start.inverse(), end.inverse());
         assertEquals(inverse, CuT.inverse());
     }
+
+    /**
+     * Test that of() returns one shared move for each simple move and jump on the board.
+     */
+    @Test
+    public void test_of(){
+        Move simple = Move.of(Position.of(5, 0), Position.of(4, 1));
+        assertSame(simple, Move.of(new Position(5, 0), new Position(4, 1)));
+        assertSame(simple, simple.inverse().inverse());
+        Move jump = Move.of(Position.of(5, 0), Position.of(3, 2));
+        assertSame(jump, Move.of(Position.of(5, 0), Position.of(3, 2)));
+        assertTrue(jump.isJump());
+
+        // Case: not a simple move or jump
+        assertEquals(CuT, Move.of(start, end));
+        assertNotSame(Move.of(start, end), Move.of(start, end));
+    }
+
+    /**
+     * Test that equal moves have equal hash codes.
+     */
+    @Test
+    public void test_hashCode(){
+        assertEquals(CuT.hashCode(), new Move(new Position(1, 3), new Position(7, 8)).hashCode());
+        assertNotEquals(Move.of(Position.of(5, 0), Position.of(4, 1)).hashCode(),
+                Move.of(Position.of(4, 1), Position.of(5, 0)).hashCode());
+    }
 }
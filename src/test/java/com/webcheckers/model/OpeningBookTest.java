@@ -0,0 +1,213 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link OpeningBook} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class OpeningBookTest {
+    //The games the test book is built from
+    private static final String GAMES = "1. 11-15 23-19 2. 8-11 *\n1. 11-15 23-19 2. 9-14 *\n1. 11-15 22-18 *\n"
+            + "1. 9-14 22-18 *";
+
+    /**
+     * The component-under-test (CuT).
+     */
+    private OpeningBook CuT;
+
+    // friendly objects
+    private List<MoveList> games;
+
+    /**
+     * Setup new objects for each test.
+     *
+     * @throws IOException if the games can not be read
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        games = PdnReader.read(new StringReader(GAMES));
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_MAX_PLIES);
+        builder.addGames(games);
+
+        // create a unique CuT for each test
+        CuT = builder.build();
+    }
+
+    /**
+     * Test that the turns played from a line are counted and can be found.
+     */
+    @Test
+    public void test_find() {
+        assertEquals(2, CuT.getChildCount(OpeningBook.ROOT));
+        MoveList first = games.get(0);
+        int node = CuT.child(OpeningBook.ROOT, first.getMove(0), first.getCaptured(0));
+        assertNotEquals(OpeningBook.NO_NODE, node);
+        assertEquals(2, CuT.getChildCount(node));
+        int weights = 0;
+        for(int entry = 0; entry < CuT.getChildCount(OpeningBook.ROOT); entry++) {
+            weights += CuT.getWeight(OpeningBook.ROOT, entry);
+        }
+        assertEquals(4, weights);
+
+        // the entries of a node are sorted
+        assertTrue(OpeningBook.compare(CuT.getMove(node, 0), CuT.getCaptured(node, 0), CuT.getMove(node, 1),
+                CuT.getCaptured(node, 1)) < 0);
+
+        assertEquals(0, CuT.getChildCount(CuT.find(first)));
+        assertEquals(OpeningBook.NO_NODE, CuT.child(OpeningBook.ROOT, first.getMove(1), first.getCaptured(1)));
+    }
+
+    /**
+     * Test that games are cut off at the deepest turn the book holds.
+     */
+    @Test
+    public void test_maxPlies() {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2);
+        builder.addGames(games);
+        OpeningBook book = builder.build();
+        MoveList first = games.get(0);
+        int node = book.child(OpeningBook.ROOT, first.getMove(0), first.getCaptured(0));
+        node = book.child(node, first.getMove(1), first.getCaptured(1));
+        assertEquals(0, book.getChildCount(node));
+    }
+
+    /**
+     * Test that a written book maps back to the same book.
+     *
+     * @throws IOException if the book can not be written or read
+     */
+    @Test
+    public void test_writeAndOpen() throws IOException {
+        Path file = Files.createTempFile("openings", ".book");
+        try {
+            try(OutputStream out = Files.newOutputStream(file)) {
+                CuT.write(out);
+            }
+            OpeningBook opened = OpeningBook.open(file);
+            for(MoveList game : games) {
+                assertEquals(CuT.find(game), opened.find(game));
+            }
+
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+            assertThrows(IOException.class, () -> OpeningBook.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test that a book turn is picked for a game still in the book and not for one that has left it.
+     */
+    @Test
+    public void test_choose() {
+        BitBoard position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        MoveList history = new MoveList();
+        MoveList result = new MoveList();
+        Random random = new Random(1);
+        for(int i = 0; i < 20; i++) {
+            assertTrue(CuT.choose(position, history, random, result));
+            assertEquals(1, result.size());
+            assertNotEquals(OpeningBook.NO_NODE, CuT.child(OpeningBook.ROOT, result.getMove(0), result.getCaptured(0)));
+        }
+
+        // Case: the game has left the book
+        MoveList first = games.get(0);
+        for(int i = 0; i < first.size(); i++) {
+            history.add(first, i);
+            PdnReader.playTurn(position, first, i);
+        }
+        assertFalse(CuT.choose(position, history, random, result));
+        assertTrue(result.isEmpty());
+
+        // Case: the position does not follow from the turns played
+        history.clear();
+        history.add(first, 0);
+        position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        position.setTurn(Piece.Color.WHITE);
+        assertFalse(CuT.choose(position, history, random, result));
+    }
+
+    /**
+     * Test that the book compiled from the bundled openings is on the classpath and matches a book built from them.
+     *
+     * @throws IOException if the book or the openings can not be read
+     */
+    @Test
+    public void test_bundled() throws IOException {
+        OpeningBook book = OpeningBook.bundled();
+        assertTrue(book.getChildCount(OpeningBook.ROOT) > 1);
+        BitBoard position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        assertTrue(book.choose(position, new MoveList(), new Random(0), new MoveList()));
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_MAX_PLIES);
+        try(Reader in = new InputStreamReader(
+                OpeningBookBuilder.class.getResourceAsStream(OpeningBookBuilder.BUNDLED_OPENINGS), StandardCharsets.UTF_8)) {
+            builder.addGames(PdnReader.read(in));
+        }
+        ByteArrayOutputStream built = new ByteArrayOutputStream();
+        builder.build().write(built);
+        ByteArrayOutputStream bundled = new ByteArrayOutputStream();
+        book.write(bundled);
+        assertArrayEquals(built.toByteArray(), bundled.toByteArray());
+    }
+
+    /**
+     * Test that a truncated or corrupt book is turned away when it is read, instead of failing when a turn is chosen.
+     *
+     * @throws IOException if the book can not be written
+     */
+    @Test
+    public void test_corrupt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CuT.write(out);
+        byte[] bytes = out.toByteArray();
+        assertNotNull(OpeningBook.read(new ByteArrayInputStream(bytes), "book"));
+
+        // Case: the book is cut short
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - Integer.BYTES);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(truncated), "book"));
+
+        // Case: a turn leads past the end of the book
+        int child = (OpeningBook.ROOT + 1 + OpeningBook.CHILD) * Integer.BYTES;
+        byte[] pastEnd = bytes.clone();
+        ByteBuffer.wrap(pastEnd).putInt(child, bytes.length);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(pastEnd), "book"));
+
+        // Case: a turn leads into the middle of a node
+        byte[] intoEntry = bytes.clone();
+        ByteBuffer.wrap(intoEntry).putInt(child, OpeningBook.ROOT + 2);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(intoEntry), "book"));
+
+        // Case: a node claims more turns than the book holds
+        byte[] tooMany = bytes.clone();
+        ByteBuffer.wrap(tooMany).putInt(OpeningBook.ROOT * Integer.BYTES, 1000);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(tooMany), "book"));
+
+        // Case: a turn that was never played
+        byte[] unplayed = bytes.clone();
+        ByteBuffer.wrap(unplayed).putInt((OpeningBook.ROOT + 1 + OpeningBook.WEIGHT) * Integer.BYTES, 0);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(unplayed), "book"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link ParallelSearch} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class ParallelSearchTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private ParallelSearch CuT;
+
+    // friendly objects
+    private BitBoard position;
+    private MoveList result;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new ParallelSearch(4, new TranspositionTable(1 << 12));
+        position = new BitBoard();
+        result = new MoveList();
+    }
+
+    /**
+     * Stop the helper threads after each test.
+     */
+    @AfterEach
+    public void teardown() {
+        CuT.shutdown();
+    }
+
+    /**
+     * Test that a search needs at least one thread.
+     */
+    @Test
+    public void test_noThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSearch(0, new TranspositionTable(1)));
+    }
+
+    /**
+     * Test that every thread searches and the main thread reaches the depth asked for.
+     */
+    @Test
+    public void test_searchToDepth() {
+        position.setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        long key = position.getKey();
+
+        assertEquals(4, CuT.getThreads());
+        assertTrue(CuT.findBestTurn(position, 10_000, 6, result));
+        assertEquals(1, result.size());
+        assertEquals(5, BitBoard.row(result.getFrom(0)));
+        assertTrue(CuT.getCompletedDepth() >= 6);
+        assertTrue(CuT.getNodes() > 0);
+        assertEquals(key, position.getKey());
+    }
+
+    /**
+     * Test that the search can be run again once it has finished.
+     */
+    @Test
+    public void test_searchAgain() {
+        position.setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        assertTrue(CuT.findBestTurn(position, 10_000, 4, result));
+        assertTrue(CuT.findBestTurn(position, 10_000, 5, result));
+        assertEquals(1, result.size());
+        assertTrue(CuT.getCompletedDepth() >= 5);
+    }
+
+    /**
+     * Test that the search reports when there is no legal turn.
+     */
+    @Test
+    public void test_noMoves() {
+        position.setPiece(BitBoard.square(0, 1), new Single(Piece.Color.RED));
+        assertFalse(CuT.findBestTurn(position, 50, result));
+        assertTrue(result.isEmpty());
+    }
+
+    /**
+     * Test that the threads sharing a table still find a win.
+     */
+    @Test
+    public void test_findsWin() {
+        position.setPiece(BitBoard.square(0, 7), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(2, 7), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(2, 5), new Single(Piece.Color.RED));
+
+        assertTrue(CuT.findBestTurn(position, 200, result));
+        assertTrue(CuT.getBestScore() >= Search.WIN_THRESHOLD);
+    }
+}
@@ -0,0 +1,139 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link PdnReader} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class PdnReaderTest {
+    /**
+     * Test converting between PDN squares and squares of this game.
+     */
+    @Test
+    public void test_squares() {
+        assertEquals(31, PdnReader.toSquare(1));
+        assertEquals(0, PdnReader.toSquare(32));
+        assertEquals(-1, PdnReader.toSquare(0));
+        assertEquals(-1, PdnReader.toSquare(33));
+        for(int square = 0; square < BitBoard.NUM_SQUARES; square++) {
+            assertEquals(square, PdnReader.toSquare(PdnReader.toPdn(square)));
+        }
+        // the first player's pieces start on PDN squares 1 to 12, which is where red starts
+        int red = 0;
+        for(int square = 1; square <= 12; square++) {
+            red |= 1 << PdnReader.toSquare(square);
+        }
+        assertEquals(BitBoard.INITIAL_RED, red);
+    }
+
+    /**
+     * Test that every move of the bundled openings is legal.
+     *
+     * @throws IOException if the openings can not be read
+     */
+    @Test
+    public void test_bundled() throws IOException {
+        String text;
+        try(BufferedReader in = new BufferedReader(new InputStreamReader(
+                PdnReader.class.getResourceAsStream(OpeningBookBuilder.BUNDLED_OPENINGS), StandardCharsets.UTF_8))) {
+            text = in.lines().collect(Collectors.joining("\n"));
+        }
+        // count the moves written for each game, leaving out the tags
+        List<Integer> expected = new ArrayList<>();
+        Matcher moves = Pattern.compile("\\d+[-x]\\d+|\\*").matcher(text.replaceAll("\\[[^\\]]*\\]", ""));
+        int count = 0;
+        while(moves.find()) {
+            if(moves.group().equals("*")) {
+                expected.add(count);
+                count = 0;
+            } else {
+                count++;
+            }
+        }
+
+        List<MoveList> games = PdnReader.read(new StringReader(text));
+        assertEquals(expected.size(), games.size());
+        for(int i = 0; i < games.size(); i++) {
+            assertEquals((int) expected.get(i), games.get(i).size());
+        }
+    }
+
+    /**
+     * Test reading moves, jumps, comments and variations.
+     *
+     * @throws IOException if the games can not be read
+     */
+    @Test
+    public void test_read() throws IOException {
+        String pdn = "[Event \"test\"]\n"
+                + "1. 11-15 {the usual} 23-19 (22-18 15x22) 2. 8-11 22-17 3. 11-16 24-20 4. 16x23 27x18x11 1-0\n"
+                + "[Event \"second\"]\n1. 9-13 22-18 *";
+        List<MoveList> games = PdnReader.read(new StringReader(pdn));
+        assertEquals(2, games.size());
+
+        MoveList game = games.get(0);
+        assertEquals(8, game.size());
+        assertEquals(PdnReader.toSquare(11), game.getFrom(0));
+        assertEquals(PdnReader.toSquare(15), game.getTo(0));
+        assertEquals(PdnReader.toSquare(19), game.getTo(1));
+        assertEquals(1 << PdnReader.toSquare(19), game.getCaptured(6));
+        assertEquals(2, game.getSteps(7));
+        assertEquals(PdnReader.toSquare(18), game.getStepTo(7, 0));
+        assertEquals(PdnReader.toSquare(11), game.getTo(7));
+
+        assertEquals(2, games.get(1).size());
+        assertEquals(PdnReader.toSquare(9), games.get(1).getFrom(0));
+    }
+
+    /**
+     * Test that games from set up positions are skipped and illegal moves end a game.
+     *
+     * @throws IOException if the games can not be read
+     */
+    @Test
+    public void test_skipped() throws IOException {
+        String pdn = "[FEN \"W:W21,22:B1,2\"]\n1. 21-17 1-5 *\n"
+                + "[Event \"illegal\"]\n1. 11-15 23-19 2. 15-11 22-17 *\n"
+                + "[Event \"wrong landing\"]\n1. 11-15 23-19 2. 8-11 22-17 3. 11-16 24-20 4. 16x23 27x14x11 *";
+        List<MoveList> games = PdnReader.read(new StringReader(pdn));
+        assertEquals(2, games.size());
+        assertEquals(2, games.get(0).size());
+        assertEquals(7, games.get(1).size());
+    }
+
+    /**
+     * Test playing a turn from a move list.
+     */
+    @Test
+    public void test_playTurn() {
+        BitBoard position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        MoveList moves = new MoveList();
+        int count = MoveGenerator.generate(position, Piece.Color.RED, moves);
+        assertEquals(7, count);
+
+        PdnReader.playTurn(position, moves, 0);
+        assertEquals(Piece.Color.WHITE, position.getTurn());
+        assertEquals(BitBoard.INITIAL_RED & ~(1 << moves.getFrom(0)) | (1 << moves.getTo(0)), position.getRed());
+        assertEquals(BitBoard.INITIAL_WHITE, position.getWhite());
+        BitBoard expected = new BitBoard(position.getRed(), position.getWhite(), 0);
+        expected.setTurn(Piece.Color.WHITE);
+        assertEquals(expected.getKey(), position.getKey());
+    }
+}
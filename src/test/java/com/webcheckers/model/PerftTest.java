@@ -0,0 +1,147 @@
+package com.webcheckers.model;
+
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link Perft} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class PerftTest {
+    //The deepest count checked from each position, which keeps the suite fast
+    private static final int DEPTH = 7;
+    //The deepest count checked against the rules the game page enforces, which are much slower to walk
+    private static final int RULES_DEPTH = 4;
+
+    /**
+     * Test the counts from the initial position against the published numbers.
+     */
+    @Test
+    public void test_initial() {
+        BitBoard root = Perft.position(Perft.INITIAL);
+        Perft CuT = new Perft(root);
+        for(int depth = 0; depth <= DEPTH; depth++) {
+            assertEquals(Perft.getExpected(Perft.INITIAL, depth), CuT.count(depth));
+        }
+        assertEquals(BitBoard.INITIAL_RED, root.getRed());
+        assertEquals(BitBoard.INITIAL_WHITE, root.getWhite());
+        assertEquals(-1, Perft.getExpected(Perft.INITIAL, 100));
+    }
+
+    /**
+     * Test the counts from each demo board against the recorded numbers.
+     */
+    @Test
+    public void test_demoBoards() {
+        for(String name : Perft.POSITIONS) {
+            Perft CuT = new Perft(Perft.position(name));
+            for(int depth = 0; depth <= DEPTH; depth++) {
+                assertEquals(Perft.getExpected(name, depth), CuT.count(depth), name + " at depth " + depth);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Perft.position("nowhere"));
+    }
+
+    /**
+     * Test that counting on a fork/join pool gives the same counts.
+     */
+    @Test
+    public void test_parallel() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for(String name : Perft.POSITIONS) {
+                assertEquals(Perft.getExpected(name, DEPTH), Perft.count(Perft.position(name), DEPTH, pool), name);
+            }
+            assertEquals(Perft.getExpected(Perft.INITIAL, 3), Perft.count(Perft.position(Perft.INITIAL), 3, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test that the counts agree with every turn the game page accepts, found by trying each move on a
+     * {@link BoardView} instead of using the move generator.
+     */
+    @Test
+    public void test_rules() {
+        for(String name : Perft.POSITIONS) {
+            BoardView board = new BoardView(new Player("red"), new Player("white"));
+            board.getPosition().copyFrom(Perft.position(name), false);
+            for(int depth = 1; depth <= RULES_DEPTH; depth++) {
+                assertEquals(Perft.getExpected(name, depth), countByRules(board, Piece.Color.RED, depth),
+                        name + " at depth " + depth);
+            }
+        }
+    }
+
+    /**
+     * Count the positions reached by playing every turn the board accepts to a depth.
+     *
+     * @param board the board, which is put back the way it was
+     * @param color the color to move
+     * @param depth the number of turns to play
+     * @return the number of positions
+     */
+    private static long countByRules(BoardView board, Piece.Color color, int depth) {
+        if(depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for(int from = 0; from < BitBoard.NUM_SQUARES; from++) {
+            nodes += continueTurn(board, color, from, depth);
+        }
+        return nodes;
+    }
+
+    /**
+     * Count the positions reached by every way of finishing a turn with the piece on a square.
+     *
+     * @param board the board, which is put back the way it was
+     * @param color the color to move
+     * @param from the square of the piece that is moving
+     * @param depth the number of turns left to play, counting this one
+     * @return the number of positions
+     */
+    private static long continueTurn(BoardView board, Piece.Color color, int from, int depth) {
+        long nodes = 0;
+        Position start = new Position(BitBoard.row(from), BitBoard.cell(from));
+        for(int rows = -2; rows <= 2; rows++) {
+            for(int cells = -2; cells <= 2; cells++) {
+                Position end = new Position(start.getRow() + rows, start.getCell() + cells);
+                Move move = new Move(start, end);
+                if(Math.abs(rows) != Math.abs(cells) || rows == 0 || !board.validPosition(end)
+                        || board.checkMove(move, color).getType() != Message.Type.INFO) {
+                    continue;
+                }
+                int to = BitBoard.square(end.getRow(), end.getCell());
+                boolean single = !board.getPosition().isKing(from);
+                int undo = board.make(move);
+                if(move.isJump() && board.playerHasJump()) {
+                    nodes += continueTurn(board, color, to, depth);
+                } else {
+                    int crownRow = color == Piece.Color.RED ? 0 : BoardView.NUM_ROWS - 1;
+                    boolean crowned = single && end.getRow() == crownRow;
+                    if(crowned) {
+                        board.getPosition().crown(to);
+                    }
+                    board.setLastMoveType(BoardView.MoveType.NONE);
+                    board.resetJumpData();
+                    Piece.Color next = color == Piece.Color.RED ? Piece.Color.WHITE : Piece.Color.RED;
+                    nodes += countByRules(board, next, depth - 1);
+                    if(crowned) {
+                        board.getPosition().uncrown(to);
+                    }
+                }
+                board.unmake(undo);
+            }
+        }
+        return nodes;
+    }
+}
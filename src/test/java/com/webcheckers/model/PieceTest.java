@@ -1,6 +1,9 @@
 package com.webcheckers.model;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -53,4 +56,28 @@ public class PieceTest {
         assertNotEquals(notEqual, single);
         assertNotEquals(notEqual, king);
     }
+
+    /**
+     * Test that of() returns one shared piece of each kind.
+     */
+    @Test
+    public void test_of() {
+        assertSame(Piece.of(Piece.Type.SINGLE, Piece.Color.RED), Single.of(Piece.Color.RED));
+        assertSame(Piece.of(Piece.Type.KING, Piece.Color.WHITE), King.of(Piece.Color.WHITE));
+        assertEquals(single, Single.of(Piece.Color.RED));
+        assertEquals(king, King.of(Piece.Color.WHITE));
+        assertNotSame(Single.of(Piece.Color.RED), Single.of(Piece.Color.WHITE));
+        assertNotSame(King.of(Piece.Color.RED), Single.of(Piece.Color.RED));
+    }
+
+    /**
+     * Test that equal pieces have equal hash codes and the four kinds have different ones.
+     */
+    @Test
+    public void test_hashCode() {
+        assertEquals(single.hashCode(), new Single(Piece.Color.RED).hashCode());
+        assertEquals(4, new HashSet<>(Arrays.asList(Single.of(Piece.Color.RED).hashCode(),
+                Single.of(Piece.Color.WHITE).hashCode(), King.of(Piece.Color.RED).hashCode(),
+                King.of(Piece.Color.WHITE).hashCode())).size());
+    }
 }
@@ -69,4 +69,29 @@ public class PositionTest {
 
         assertTrue(CuT.isValid());
     }
+
+    /**
+     * Test that of() returns one shared position for each square and a new one off the board.
+     */
+    @Test
+    public void test_of(){
+        Position shared = Position.of(ROW, CELL);
+        assertSame(shared, Position.of(ROW, CELL));
+        assertEquals(CuT, shared);
+        assertSame(shared, shared.inverse().inverse());
+
+        Position offBoard = Position.of(9, CELL);
+        assertEquals(9, offBoard.getRow());
+        assertFalse(offBoard.isValid());
+    }
+
+    /**
+     * Test that equal positions have equal hash codes.
+     */
+    @Test
+    public void test_hashCode(){
+        assertEquals(CuT.hashCode(), new Position(ROW, CELL).hashCode());
+        assertNotEquals(CuT.hashCode(), Position.of(CELL, ROW).hashCode());
+        assertNotEquals(CuT, Position.of(CELL, ROW));
+    }
 }
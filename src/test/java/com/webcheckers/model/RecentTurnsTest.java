@@ -0,0 +1,102 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link RecentTurns} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class RecentTurnsTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private RecentTurns CuT;
+
+    // friendly objects
+    private MoveList turns;
+    private long[] sequences;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new RecentTurns(4);
+        turns = new MoveList();
+        sequences = new long[CuT.capacity()];
+    }
+
+    /**
+     * Record a simple move from square n to square n + 4, tagged with sequence number n.
+     *
+     * @param n the sequence number and starting square
+     */
+    private void add(int n) {
+        CuT.add(n, MoveList.encode(n, n + 4, 0, false), 0, 0L);
+    }
+
+    /**
+     * Test that a capacity that is not a power of two is refused.
+     */
+    @Test
+    public void test_capacity() {
+        assertEquals(RecentTurns.DEFAULT_CAPACITY, new RecentTurns().capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RecentTurns(6));
+        assertThrows(IllegalArgumentException.class, () -> new RecentTurns(0));
+    }
+
+    /**
+     * Test that only the turns after the number given are copied, in order, with their numbers.
+     */
+    @Test
+    public void test_copySince() {
+        assertTrue(CuT.copySince(0, turns, sequences));
+        assertTrue(turns.isEmpty());
+
+        add(1);
+        add(2);
+        // a number may be skipped, like the end of a game
+        add(4);
+        assertEquals(3, CuT.size());
+        assertTrue(CuT.copySince(1, turns, sequences));
+        assertEquals(2, turns.size());
+        assertEquals(2, sequences[0]);
+        assertEquals(2, turns.getFrom(0));
+        assertEquals(6, turns.getTo(0));
+        assertEquals(4, sequences[1]);
+        assertEquals(4, turns.getFrom(1));
+
+        assertTrue(CuT.copySince(4, turns, sequences));
+        assertTrue(turns.isEmpty());
+    }
+
+    /**
+     * Test that the oldest turns are replaced once the buffer is full, and that a viewer who needs them is told so.
+     */
+    @Test
+    public void test_wrap() {
+        for(int n = 1; n <= 6; n++) {
+            add(n);
+        }
+        assertEquals(4, CuT.size());
+        assertFalse(CuT.covers(1));
+        assertTrue(CuT.covers(2));
+
+        assertFalse(CuT.copySince(0, turns, sequences));
+        assertTrue(turns.isEmpty());
+
+        assertTrue(CuT.copySince(2, turns, sequences));
+        assertEquals(4, turns.size());
+        for(int i = 0; i < 4; i++) {
+            assertEquals(i + 3, sequences[i]);
+            assertEquals(i + 3, turns.getFrom(i));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link Search} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class SearchTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private Search CuT;
+
+    // friendly objects
+    private BitBoard position;
+    private MoveList result;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new Search(new TranspositionTable(1 << 12));
+        position = new BitBoard();
+        result = new MoveList();
+    }
+
+    /**
+     * Test that a legal turn is picked from the starting position and the position is not changed.
+     */
+    @Test
+    public void test_initialPosition() {
+        position.setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        long key = position.getKey();
+
+        assertTrue(CuT.findBestTurn(position, 50, result));
+        assertEquals(1, result.size());
+        assertFalse(result.isJump(0));
+        assertEquals(5, BitBoard.row(result.getFrom(0)));
+        assertTrue(CuT.getCompletedDepth() >= 1);
+        assertTrue(CuT.getNodes() > 0);
+        assertEquals(key, position.getKey());
+    }
+
+    /**
+     * Test that history scores are halved at the start of each search and never grow past the limit.
+     */
+    @Test
+    public void test_historyAged() {
+        position.setPieces(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+        CuT.findBestTurn(position, 100, result);
+        int[] scores = new int[BitBoard.NUM_SQUARES * BitBoard.NUM_SQUARES];
+        int total = 0;
+        for(int from = 0; from < BitBoard.NUM_SQUARES; from++) {
+            for(int to = 0; to < BitBoard.NUM_SQUARES; to++) {
+                scores[from * BitBoard.NUM_SQUARES + to] = CuT.getHistoryScore(from, to);
+                assertTrue(CuT.getHistoryScore(from, to) <= Search.HISTORY_LIMIT);
+                total += CuT.getHistoryScore(from, to);
+            }
+        }
+        assertTrue(total > 0);
+
+        // a position with one legal turn adds nothing to the history, so only the halving is seen
+        BitBoard single = new BitBoard();
+        single.setPiece(BitBoard.square(7, 0), new Single(Piece.Color.RED));
+        assertTrue(CuT.findBestTurn(single, 100, result));
+        for(int from = 0; from < BitBoard.NUM_SQUARES; from++) {
+            for(int to = 0; to < BitBoard.NUM_SQUARES; to++) {
+                assertEquals(scores[from * BitBoard.NUM_SQUARES + to] >> 1, CuT.getHistoryScore(from, to));
+            }
+        }
+    }
+
+    /**
+     * Test that the search reports when there is no legal turn.
+     */
+    @Test
+    public void test_noMoves() {
+        position.setPiece(BitBoard.square(0, 1), new Single(Piece.Color.RED));
+        assertFalse(CuT.findBestTurn(position, 50, result));
+        assertTrue(result.isEmpty());
+    }
+
+    /**
+     * Test that the search plays a forced capture right away.
+     */
+    @Test
+    public void test_forcedCapture() {
+        position.setPiece(BitBoard.square(7, 0), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(2, 5), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(1, 4), new Single(Piece.Color.WHITE));
+
+        assertTrue(CuT.findBestTurn(position, 200, result));
+        assertTrue(result.isJump(0));
+        assertEquals(BitBoard.square(0, 3), result.getTo(0));
+        assertEquals(0, CuT.getCompletedDepth());
+    }
+
+    /**
+     * Test that the search finds a win when the opponent is about to run out of moves.
+     */
+    @Test
+    public void test_findsWin() {
+        // white's only piece is stuck in the corner once red blocks the square in front of it
+        position.setPiece(BitBoard.square(0, 7), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(2, 7), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(2, 5), new Single(Piece.Color.RED));
+
+        assertTrue(CuT.findBestTurn(position, 200, result));
+        assertTrue(CuT.getBestScore() >= Search.WIN_THRESHOLD);
+    }
+
+    /**
+     * Test that the search avoids a move that hands the opponent a free capture.
+     */
+    @Test
+    public void test_avoidsLosingPiece() {
+        position.setPiece(BitBoard.square(5, 2), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(2, 5), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(7, 6), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(0, 7), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(3, 4), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(2, 3), new Single(Piece.Color.WHITE));
+
+        assertTrue(CuT.findBestTurn(position, 200, result));
+        // moving to (4, 3) lets white jump it from (3, 4)
+        assertNotEquals(BitBoard.square(4, 3), result.getTo(0));
+    }
+
+    /**
+     * Test that positions in the endgame tablebase are scored from it instead of being searched.
+     */
+    @Test
+    public void test_tablebase() {
+        int material = EndgameTablebase.material(0, 1, 0, 1);
+        ByteBuffer table = ByteBuffer.allocate(
+                (int) (EndgameTablebase.HEADER_BYTES + EndgameTablebase.size(material) * EndgameTablebase.VALUE_BYTES));
+        EndgameTablebase tablebase = new EndgameTablebase();
+        tablebase.put(material, table);
+        CuT.setTablebase(tablebase);
+
+        position.setPiece(BitBoard.square(4, 3), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(0, 7), new King(Piece.Color.WHITE));
+
+        // Case: every position is a draw
+        assertTrue(CuT.findBestTurn(position, 200, result));
+        assertEquals(0, CuT.getBestScore());
+
+        // Case: one move leaves white lost in 5 plies
+        int to = BitBoard.square(5, 2);
+        int red = 1 << to;
+        int white = position.getWhite();
+        EndgameTablebase.set(table, EndgameTablebase.index(Integer.reverse(white), Integer.reverse(red),
+                Integer.reverse(red | white)), EndgameTablebase.value(EndgameTablebase.LOSS, 5));
+        assertTrue(CuT.findBestTurn(position, 200, result));
+        assertEquals(to, result.getTo(0));
+        assertEquals(Search.TABLEBASE_WIN_SCORE - 1 - 5, CuT.getBestScore());
+    }
+
+    /**
+     * Test that wins, including tablebase wins, are stored in the table measured from the stored position and read
+     * back measured from the root, so a hit at another ply reports the right distance to the win.
+     */
+    @Test
+    public void test_tableScores() {
+        // Case: a win found by the search
+        int win = Search.WIN_SCORE - 3 - 4;
+        assertEquals(Search.WIN_SCORE - 4, Search.toTable(win, 3));
+        assertEquals(Search.WIN_SCORE - 9 - 4, Search.fromTable(Search.toTable(win, 3), 9));
+        assertEquals(-Search.WIN_SCORE + 9 + 4, Search.fromTable(Search.toTable(-win, 3), 9));
+
+        // Case: a win found in the tablebase, at its furthest distance
+        int distance = EndgameTablebase.MAX_DISTANCE;
+        int tablebaseWin = Search.TABLEBASE_WIN_SCORE - (Search.MAX_PLY - 1) - distance;
+        assertEquals(Search.TABLEBASE_WIN_SCORE - distance, Search.toTable(tablebaseWin, Search.MAX_PLY - 1));
+        assertEquals(Search.TABLEBASE_WIN_SCORE - 9 - distance,
+                Search.fromTable(Search.toTable(tablebaseWin, Search.MAX_PLY - 1), 9));
+        assertEquals(-Search.TABLEBASE_WIN_SCORE + 9 + distance,
+                Search.fromTable(Search.toTable(-tablebaseWin, Search.MAX_PLY - 1), 9));
+
+        // Case: an evaluation is stored as it is
+        assertEquals(250, Search.toTable(250, 3));
+        assertEquals(-250, Search.fromTable(-250, 9));
+    }
+}
@@ -67,6 +67,11 @@ public class SingleTest {
 
         assertTrue(CuT.isMoveValid(valid));
         assertFalse(CuT.isMoveValid(invalid));
+
+        // Case: white singles move towards row 7
+        CuT = new Single(Piece.Color.WHITE);
+        assertFalse(CuT.isMoveValid(valid));
+        assertTrue(CuT.isMoveValid(new Move(new Position(2, 1), new Position(3, 2))));
     }
 
     /**
@@ -0,0 +1,261 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link TablebaseGenerator} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class TablebaseGeneratorTest {
+    //The most pieces solved by the tests, which keeps generation to a few seconds
+    private static final int PIECES = 3;
+
+    // friendly objects
+    private static Path directory;
+    private static EndgameTablebase tablebase;
+
+    /**
+     * Solve the tables once for every test, since it is the slowest part of the suite.
+     *
+     * @throws IOException if a table can not be written
+     */
+    @BeforeAll
+    public static void generate() throws IOException {
+        directory = Files.createTempDirectory("tablebase");
+        TablebaseGenerator CuT = new TablebaseGenerator(directory, PIECES, 2);
+        try {
+            tablebase = CuT.generate();
+        } finally {
+            CuT.shutdown();
+        }
+    }
+
+    /**
+     * Remove the tables written by the tests.
+     *
+     * @throws IOException if a table can not be removed
+     */
+    @AfterAll
+    public static void cleanup() throws IOException {
+        try(Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * Test that a table is written for every material configuration and that they can be opened again.
+     *
+     * @throws IOException if a table can not be read
+     */
+    @Test
+    public void test_files() throws IOException {
+        assertTrue(Files.exists(directory.resolve("r01w01.tb")));
+        assertTrue(Files.exists(directory.resolve("r02w10.tb")));
+        assertTrue(Files.exists(directory.resolve("r10w20.tb")));
+        try(Stream<Path> files = Files.list(directory)) {
+            assertEquals(16, files.count());
+        }
+
+        EndgameTablebase opened = EndgameTablebase.open(directory);
+        assertEquals(PIECES, opened.getMaxPieces());
+        BitBoard position = new BitBoard();
+        position.setPiece(BitBoard.square(3, 2), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(3, 6), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(7, 0), new Single(Piece.Color.WHITE));
+        assertEquals(tablebase.probe(position), opened.probe(position));
+    }
+
+    /**
+     * Test that a king that can capture the last piece wins right away.
+     */
+    @Test
+    public void test_capture() {
+        BitBoard position = new BitBoard();
+        position.setPiece(BitBoard.square(4, 3), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(3, 4), new King(Piece.Color.WHITE));
+
+        int value = tablebase.probe(position);
+        assertEquals(EndgameTablebase.WIN, EndgameTablebase.getResult(value));
+        assertEquals(1, EndgameTablebase.getDistance(value));
+
+        position.setTurn(Piece.Color.WHITE);
+        value = tablebase.probe(position);
+        assertEquals(EndgameTablebase.WIN, EndgameTablebase.getResult(value));
+    }
+
+    /**
+     * Test that two kings beat one king, and one king against one king is mostly a draw.
+     */
+    @Test
+    public void test_kings() {
+        BitBoard position = new BitBoard();
+        position.setPiece(BitBoard.square(7, 0), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(7, 2), new King(Piece.Color.RED));
+        position.setPiece(BitBoard.square(0, 7), new King(Piece.Color.WHITE));
+        int value = tablebase.probe(position);
+        assertEquals(EndgameTablebase.WIN, EndgameTablebase.getResult(value));
+        assertTrue(EndgameTablebase.getDistance(value) > 1);
+
+        position.setTurn(Piece.Color.WHITE);
+        value = tablebase.probe(position);
+        assertEquals(EndgameTablebase.LOSS, EndgameTablebase.getResult(value));
+
+        // one king against one king is won by whoever has the move into a trapped double corner, and drawn otherwise
+        int material = EndgameTablebase.material(0, 1, 0, 1);
+        int[] masks = new int[3];
+        int wins = 0;
+        int draws = 0;
+        for(long index = 0; index < EndgameTablebase.size(material); index++) {
+            EndgameTablebase.unindex(material, index, masks);
+            int result = EndgameTablebase.getResult(tablebase.probe(masks[0], masks[1], masks[2]));
+            wins += result == EndgameTablebase.WIN ? 1 : 0;
+            draws += result == EndgameTablebase.DRAW ? 1 : 0;
+        }
+        assertTrue(wins > 0);
+        assertTrue(draws > wins);
+    }
+
+    /**
+     * Test that every solved position agrees with the positions its moves lead to: a win has a move to a loss
+     * one ply shorter, a loss has every move lead to a win and one of them exactly one ply shorter, and a draw
+     * has no move to a loss and some move to a draw.
+     */
+    @Test
+    public void test_consistent() {
+        int[] masks = new int[3];
+        BitBoard position = new BitBoard();
+        MoveList moves = new MoveList();
+        for(int material = 0; material < EndgameTablebase.NUM_MATERIALS; material++) {
+            if(!tablebase.hasTable(material)) {
+                continue;
+            }
+            for(long index = 0; index < EndgameTablebase.size(material); index++) {
+                EndgameTablebase.unindex(material, index, masks);
+                int value = tablebase.probe(masks[0], masks[1], masks[2]);
+                int result = EndgameTablebase.getResult(value);
+                if(result == EndgameTablebase.INVALID) {
+                    continue;
+                }
+                int distance = EndgameTablebase.getDistance(value);
+
+                position.setPieces(masks[0], masks[1], masks[2]);
+                int count = MoveGenerator.generate(position, Piece.Color.RED, moves);
+                int bestWin = Integer.MAX_VALUE;
+                int longestLoss = -1;
+                boolean anyDraw = false;
+                for(int i = 0; i < count; i++) {
+                    int reply = reply(masks, moves, i);
+                    int replyDistance = EndgameTablebase.getDistance(reply);
+                    switch(EndgameTablebase.getResult(reply)) {
+                        case EndgameTablebase.LOSS:
+                            bestWin = Math.min(bestWin, replyDistance + 1);
+                            break;
+                        case EndgameTablebase.WIN:
+                            longestLoss = Math.max(longestLoss, replyDistance + 1);
+                            break;
+                        default:
+                            anyDraw = true;
+                    }
+                }
+
+                if(result == EndgameTablebase.WIN) {
+                    assertEquals(bestWin, distance);
+                } else if(result == EndgameTablebase.LOSS) {
+                    assertEquals(Integer.MAX_VALUE, bestWin);
+                    assertFalse(anyDraw);
+                    assertEquals(count == 0 ? 0 : longestLoss, distance);
+                } else {
+                    assertEquals(Integer.MAX_VALUE, bestWin);
+                    assertTrue(anyDraw);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that generation picks up where it stopped and gives the same tables as solving in one go.
+     *
+     * @throws IOException if a table can not be written
+     */
+    @Test
+    public void test_resume() throws IOException {
+        Path resumed = Files.createTempDirectory("tablebase");
+        try {
+            int material = EndgameTablebase.material(0, 2, 0, 1);
+            String[] names = {EndgameTablebase.fileName(material),
+                    EndgameTablebase.fileName(EndgameTablebase.swapColors(material))};
+            try(Stream<Path> files = Files.list(directory)) {
+                for(Path file : (Iterable<Path>) files::iterator) {
+                    Files.copy(file, resumed.resolve(file.getFileName()));
+                }
+            }
+
+            // roll the pair back to how it looked after finishing round 2
+            for(String name : names) {
+                Path part = resumed.resolve(name + TablebaseGenerator.PART_EXTENSION);
+                Files.move(resumed.resolve(name), part);
+                byte[] bytes = Files.readAllBytes(part);
+                ByteBuffer table = ByteBuffer.wrap(bytes);
+                table.putInt(EndgameTablebase.ROUND_OFFSET, 3);
+                long size = (bytes.length - EndgameTablebase.HEADER_BYTES) / EndgameTablebase.VALUE_BYTES;
+                for(long index = 0; index < size; index++) {
+                    int value = EndgameTablebase.get(table, index);
+                    if(EndgameTablebase.getResult(value) != EndgameTablebase.INVALID
+                            && EndgameTablebase.getDistance(value) > 2) {
+                        EndgameTablebase.set(table, index, EndgameTablebase.DRAW);
+                    }
+                }
+                Files.write(part, bytes);
+            }
+
+            TablebaseGenerator CuT = new TablebaseGenerator(resumed, PIECES, 1);
+            try {
+                CuT.generate();
+            } finally {
+                CuT.shutdown();
+            }
+            for(String name : names) {
+                assertFalse(Files.exists(resumed.resolve(name + TablebaseGenerator.PART_EXTENSION)));
+                assertArrayEquals(Files.readAllBytes(directory.resolve(name)), Files.readAllBytes(resumed.resolve(name)));
+            }
+        } finally {
+            try(Stream<Path> files = Files.walk(resumed)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Look up the value of the position a move leads to, for white.
+     *
+     * @param masks the red, white and king masks of the position
+     * @param moves the moves from the position
+     * @param i the index of the move
+     * @return the value for white
+     */
+    private static int reply(int[] masks, MoveList moves, int i) {
+        int from = moves.getFrom(i);
+        int to = moves.getTo(i);
+        int red = (masks[0] & ~(1 << from)) | (1 << to);
+        int white = masks[1] & ~moves.getCaptured(i);
+        int kings = masks[2] & ~moves.getCaptured(i) & ~(1 << from);
+        if((masks[2] & (1 << from)) != 0 || moves.isPromotion(i)) {
+            kings |= 1 << to;
+        }
+        return tablebase.probe(Integer.reverse(white), Integer.reverse(red), Integer.reverse(kings));
+    }
+}
@@ -0,0 +1,132 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link TranspositionTable} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class TranspositionTableTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private TranspositionTable CuT;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new TranspositionTable(1000);
+    }
+
+    /**
+     * Test that the size is rounded down to a power of two.
+     */
+    @Test
+    public void test_size() {
+        assertEquals(512, CuT.size());
+    }
+
+    /**
+     * Test that a stored result is read back correctly and other positions miss.
+     */
+    @Test
+    public void test_storeProbe() {
+        long key = 0x123456789ABCDEFL;
+        assertEquals(0L, CuT.probe(key));
+
+        int move = MoveList.encode(20, 16, 0, false);
+        CuT.store(key, 7, TranspositionTable.LOWER, -250, move);
+        long data = CuT.probe(key);
+        assertEquals(7, TranspositionTable.getDepth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.getBound(data));
+        assertEquals(-250, TranspositionTable.getScore(data));
+        assertEquals(move, TranspositionTable.getMove(data));
+
+        // Case: a different key landing in the same entry
+        assertEquals(0L, CuT.probe(key + CuT.size()));
+
+        CuT.clear();
+        assertEquals(0L, CuT.probe(key));
+    }
+
+    /**
+     * Test that a deeper result for the same position is not replaced by a shallower one.
+     */
+    @Test
+    public void test_replacement() {
+        long key = 42L;
+        CuT.store(key, 5, TranspositionTable.EXACT, 10, 0);
+        CuT.store(key, 3, TranspositionTable.EXACT, 20, 0);
+        assertEquals(10, TranspositionTable.getScore(CuT.probe(key)));
+
+        CuT.store(key + CuT.size(), 1, TranspositionTable.UPPER, 30, 0);
+        assertEquals(30, TranspositionTable.getScore(CuT.probe(key + CuT.size())));
+    }
+
+    /**
+     * Test that a table sized in megabytes fits in that much memory.
+     */
+    @Test
+    public void test_withMegabytes() {
+        TranspositionTable table = TranspositionTable.withMegabytes(1);
+        assertEquals(1 << 16, table.size());
+        assertEquals(1 << 20, table.getBytes());
+
+        table = TranspositionTable.withMegabytes(3);
+        assertTrue(table.getBytes() <= 3 << 20);
+    }
+
+    /**
+     * Test that the shallowest entry in a full bucket is the one replaced.
+     */
+    @Test
+    public void test_depthPreferred() {
+        // keys that differ only above the bucket bits all share one bucket
+        long deep = 8L;
+        long shallow = deep + CuT.size();
+        long other = deep + 2L * CuT.size();
+        CuT.store(deep, 9, TranspositionTable.EXACT, 1, 0);
+        CuT.store(shallow, 2, TranspositionTable.EXACT, 2, 0);
+        assertEquals(1, TranspositionTable.getScore(CuT.probe(deep)));
+        assertEquals(2, TranspositionTable.getScore(CuT.probe(shallow)));
+
+        CuT.store(other, 4, TranspositionTable.EXACT, 3, 0);
+        assertEquals(1, TranspositionTable.getScore(CuT.probe(deep)));
+        assertEquals(0L, CuT.probe(shallow));
+        assertEquals(3, TranspositionTable.getScore(CuT.probe(other)));
+    }
+
+    /**
+     * Test that entries left over from earlier searches give way to entries from the current one.
+     */
+    @Test
+    public void test_aging() {
+        long key = 8L;
+        long other = key + CuT.size();
+        long newer = key + 2L * CuT.size();
+        CuT.store(key, 9, TranspositionTable.EXACT, 1, 0);
+        CuT.store(other, 5, TranspositionTable.EXACT, 2, 0);
+
+        // Case: the same position, searched shallower by a later search
+        CuT.newSearch();
+        CuT.store(key, 3, TranspositionTable.EXACT, 4, 0);
+        assertEquals(3, TranspositionTable.getDepth(CuT.probe(key)));
+
+        // Case: a new position replaces the oldest, shallowest entry
+        for(int search = 0; search < 3; search++) {
+            CuT.newSearch();
+        }
+        CuT.store(newer, 1, TranspositionTable.EXACT, 5, 0);
+        assertEquals(0L, CuT.probe(other));
+        assertEquals(5, TranspositionTable.getScore(CuT.probe(newer)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link TurnTrie} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("Model-tier")
+public class TurnTrieTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private TurnTrie CuT;
+
+    // friendly objects
+    private BitBoard position;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        // create a unique CuT for each test
+        CuT = new TurnTrie();
+        position = new BitBoard(BitBoard.INITIAL_RED, BitBoard.INITIAL_WHITE, 0);
+    }
+
+    /**
+     * Test that a new trie holds no turns.
+     */
+    @Test
+    public void test_constructor() {
+        assertTrue(CuT.isEmpty());
+        assertFalse(CuT.isComplete(TurnTrie.ROOT));
+    }
+
+    /**
+     * Test that simple moves are complete turns and other steps are not found.
+     */
+    @Test
+    public void test_simpleMoves() {
+        assertEquals(7, CuT.build(position, Piece.Color.RED));
+        assertFalse(CuT.isEmpty());
+
+        int node = CuT.walk(TurnTrie.ROOT, BitBoard.square(5, 0), BitBoard.square(4, 1));
+        assertNotEquals(TurnTrie.NO_NODE, node);
+        assertTrue(CuT.isComplete(node));
+
+        assertEquals(TurnTrie.NO_NODE, CuT.walk(TurnTrie.ROOT, BitBoard.square(5, 0), BitBoard.square(6, 1)));
+        assertEquals(TurnTrie.NO_NODE, CuT.walk(TurnTrie.ROOT, -1, BitBoard.square(4, 1)));
+        assertEquals(TurnTrie.NO_NODE, CuT.walk(node, BitBoard.square(4, 1), BitBoard.square(3, 2)));
+    }
+
+    /**
+     * Test that a multi-jump is only complete once every jump has been made.
+     */
+    @Test
+    public void test_multipleJump() {
+        position.setPieces(0, 0, 0);
+        position.setPiece(BitBoard.square(5, 0), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(5, 6), new Single(Piece.Color.RED));
+        position.setPiece(BitBoard.square(4, 1), new Single(Piece.Color.WHITE));
+        position.setPiece(BitBoard.square(2, 3), new Single(Piece.Color.WHITE));
+        assertEquals(1, CuT.build(position, Piece.Color.RED));
+
+        // Case: the simple move is not allowed because a jump exists
+        assertEquals(TurnTrie.NO_NODE, CuT.walk(TurnTrie.ROOT, BitBoard.square(5, 6), BitBoard.square(4, 7)));
+
+        int first = CuT.walk(TurnTrie.ROOT, BitBoard.square(5, 0), BitBoard.square(3, 2));
+        assertNotEquals(TurnTrie.NO_NODE, first);
+        assertFalse(CuT.isComplete(first));
+        int second = CuT.walk(first, BitBoard.square(3, 2), BitBoard.square(1, 4));
+        assertTrue(CuT.isComplete(second));
+
+        // Case: rebuilding replaces the old turns
+        position.setPieces(0, 0, 0);
+        assertEquals(0, CuT.build(position, Piece.Color.RED));
+        assertTrue(CuT.isEmpty());
+    }
+}
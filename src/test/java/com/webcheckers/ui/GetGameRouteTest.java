@@ -1,6 +1,7 @@
 package com.webcheckers.ui;
 import com.webcheckers.application.GameCenter;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.application.SocketTokens;
 import com.webcheckers.model.Piece;
 import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Player;
@@ -35,6 +36,7 @@ public class GetGameRouteTest {
 
     // mock objects
     private GameCenter gameCenter;
+    private SocketTokens socketTokens;
     private Request request;
     private Session session;
     private Response response;
@@ -52,6 +54,8 @@ public class GetGameRouteTest {
         response = mock(Response.class);
         engine = mock(TemplateEngine.class);
         gameCenter = mock(GameCenter.class);
+        socketTokens = mock(SocketTokens.class);
+        when(gameCenter.getSocketTokens()).thenReturn(socketTokens);
 
         // create a unique CuT for each test
         playerLobby = new PlayerLobby();
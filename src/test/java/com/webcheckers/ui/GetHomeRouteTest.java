@@ -1,6 +1,9 @@
 package com.webcheckers.ui;
+import com.webcheckers.application.ActiveGames;
 import com.webcheckers.application.GameCenter;
+import com.webcheckers.application.GameLifecycle;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.BoardView;
 import com.webcheckers.model.CheckersGame;
 import com.webcheckers.model.Piece;
 import com.webcheckers.model.Player;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import spark.*;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Function;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
@@ -53,6 +57,7 @@ public class GetHomeRouteTest {
         response = mock(Response.class);
         engine = mock(TemplateEngine.class);
         gameCenter = mock(GameCenter.class);
+        when(gameCenter.getActiveGames()).thenReturn(ActiveGames.EMPTY);
 
         // create a unique CuT for each test
         lobby = new PlayerLobby();
@@ -115,6 +120,32 @@ public class GetHomeRouteTest {
         testHelper.assertViewName("home.ftl");
     }
 
+    /**
+     * Test that CuT lists the games in the latest snapshot of active games.
+     */
+    @Test
+    public void test_activeGames() {
+        final TemplateEngineTester testHelper = new TemplateEngineTester();
+        lobby.addPlayer("player");
+        Player red = new Player("red");
+        Player white = new Player("white");
+        GameLifecycle lifecycle = new GameLifecycle();
+        CheckersGame game = new CheckersGame(lifecycle.getRegistry().nextID(), red, white, CheckersGame.Mode.PLAY,
+                new BoardView(red, white));
+        lifecycle.started(game);
+        ActiveGames snapshot = lifecycle.getSnapshot();
+
+        when(session.attribute("name")).thenReturn("player");
+        when(gameCenter.getActiveGames()).thenReturn(snapshot);
+        when(engine.render(any(ModelAndView.class))).thenAnswer(testHelper.makeAnswer());
+
+        CuT.handle(request, response);
+
+        testHelper.assertViewModelAttribute(GetHomeRoute.ACTIVE_GAMES_ATTR, snapshot.getGames());
+        testHelper.assertViewModelAttribute(GetHomeRoute.NUM_ACTIVE_GAMES_ATTR, 1);
+        verify(gameCenter, never()).getAllActiveGames();
+    }
+
     /**
      * Test that CuT redirects to the Game view when the current player is logged in and already in a game
      */
@@ -126,6 +157,9 @@ public class GetHomeRouteTest {
         CheckersGame game = mock(CheckersGame.class);
         when(gameCenter.getGame(anyString())).thenReturn(game);
         doNothing().when(game).clearTurnMoves();
+        // run commands on the game right away, like a center without an executor
+        when(gameCenter.execute(eq(game), any())).thenAnswer(
+                invocation -> invocation.<Function<CheckersGame, ?>>getArgument(1).apply(game));
         lobby.addPlayer("player");
 
         // Invoke the test
@@ -134,6 +168,7 @@ public class GetHomeRouteTest {
         // Analyze the results:
         //   * redirect to the Game view
         verify(response).redirect(WebServer.GAME_URL);
+        verify(gameCenter, times(1)).execute(eq(game), any());
         verify(game, times(1)).clearTurnMoves();
     }
 
@@ -1,6 +1,7 @@
 package com.webcheckers.ui;
 import com.webcheckers.application.GameCenter;
 import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.application.SocketTokens;
 import com.webcheckers.model.BoardView;
 import com.webcheckers.model.Piece;
 import com.webcheckers.model.CheckersGame;
@@ -10,9 +11,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import spark.*;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,6 +41,7 @@ public class GetSpectatorGameRouteTest {
 
     // mock objects
     private GameCenter gameCenter;
+    private SocketTokens socketTokens;
     private Request request;
     private Session session;
     private Response response;
@@ -53,6 +59,11 @@ public class GetSpectatorGameRouteTest {
         response = mock(Response.class);
         engine = mock(TemplateEngine.class);
         gameCenter = mock(GameCenter.class);
+        socketTokens = mock(SocketTokens.class);
+        when(gameCenter.getSocketTokens()).thenReturn(socketTokens);
+        // commands run right away on the game they are given
+        when(gameCenter.execute(any(), any())).thenAnswer(invocation -> invocation.<Function<CheckersGame, ?>>
+                getArgument(1).apply(invocation.getArgument(0)));
 
         // create a unique CuT for each test
         playerLobby = new PlayerLobby();
@@ -103,6 +114,24 @@ public class GetSpectatorGameRouteTest {
         verify(response).redirect(WebServer.HOME_URL);
     }
 
+    /**
+     * Test that spectating a game that is no longer held redirects to the home page.
+     */
+    @Test
+    public void test_archivedGame() {
+        Set<String> mockSet = new HashSet<>();
+        mockSet.add(GetSpectatorGameRoute.GAME_ID_ATTR);
+        when(request.queryParams()).thenReturn(mockSet);
+        when(request.queryParams(GetSpectatorGameRoute.GAME_ID_ATTR)).thenReturn("42");
+        when(request.session().attribute("name")).thenReturn("player");
+        when(gameCenter.getGameByID(anyLong())).thenReturn(null);
+
+        CuT.handle(request, response);
+
+        verify(response).redirect(WebServer.HOME_URL);
+        verify(gameCenter, never()).addSpectator(anyLong(), any());
+    }
+
     /**
      * Test that the view is correct through spectating.
      */
@@ -117,11 +146,12 @@ public class GetSpectatorGameRouteTest {
         when(session.attribute("name")).thenReturn("spectator");
         Player spectator = playerLobby.getPlayer("spectator");
         CheckersGame game = new CheckersGame(player1, player2, CheckersGame.Mode.PLAY, new BoardView(player1, player2));
-        when(gameCenter.getGameByID(anyInt())).thenReturn(game);
+        when(gameCenter.getGameByID(anyLong())).thenReturn(game);
         Set<String> mockSet = new HashSet<>();
         mockSet.add("12345");
         when(request.queryParams()).thenReturn(mockSet);
         when(request.queryParams(anyString())).thenReturn("12345");
+        when(socketTokens.issue("spectator")).thenReturn("token");
 
 
         // To analyze what the Route created in the View-Model map you need
@@ -141,6 +171,13 @@ public class GetSpectatorGameRouteTest {
         testHelper.assertViewModelAttribute(GetSpectatorGameRoute.RED_PLAYER_ATTR, player1);
         testHelper.assertViewModelAttribute(GetSpectatorGameRoute.WHITE_PLAYER_ATTR, player2);
         testHelper.assertViewModelAttribute(GetSpectatorGameRoute.ACTIVE_COLOR_ATTR, Piece.Color.RED);
+        Map<String, Object> modeOptions = new HashMap<>();
+        modeOptions.put(GetSpectatorGameRoute.TURN_OPTION, 0L);
+        modeOptions.put(GetSpectatorGameRoute.SOCKET_TOKEN_OPTION, "token");
+        testHelper.assertViewModelAttribute(GetSpectatorGameRoute.MODE_OPTIONS_JSON_ATTR,
+                ModelTypeAdapters.GSON.toJson(modeOptions));
+        //   * the turn, the color to move and the board are read in one command
+        verify(gameCenter, times(1)).execute(eq(game), any());
 
         //   * test view name
         testHelper.assertViewName("game.ftl");
@@ -160,7 +197,7 @@ public class GetSpectatorGameRouteTest {
         when(session.attribute("name")).thenReturn("spectator");
         Player spectator = playerLobby.getPlayer("spectator");
         CheckersGame game = new CheckersGame(player1, player2, CheckersGame.Mode.PLAY, new BoardView(player1, player2));
-        when(gameCenter.getGameByID(anyInt())).thenReturn(game);
+        when(gameCenter.getGameByID(anyLong())).thenReturn(game);
         Set<String> mockSet = new HashSet<>();
         mockSet.add("12345");
         when(request.queryParams()).thenReturn(mockSet);
@@ -91,8 +91,8 @@ public class GetSpectatorStopWatchingRouteTest {
     @Test
     public void test_handle() throws Exception {
         when(session.attribute("name")).thenReturn("spectator");
-        int gameID = 12345;
-        String gameIDStr = Integer.toString(12345);
+        long gameID = 12345;
+        String gameIDStr = Long.toString(gameID);
         Set<String> mockSet = new HashSet<>();
         mockSet.add(gameIDStr);
         when(request.queryParams()).thenReturn(mockSet);
@@ -0,0 +1,53 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.model.King;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.Single;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The unit test suite for the {@link ModelTypeAdapters} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("UI-tier")
+public class ModelTypeAdaptersTest {
+    /**
+     * The component-under-test (CuT).
+     */
+    private final Gson CuT = ModelTypeAdapters.GSON;
+
+    /**
+     * Test that a move sent by the game page is read as the shared move.
+     */
+    @Test
+    public void test_readMove() {
+        String json = "{\"start\":{\"row\":5,\"cell\":0},\"end\":{\"row\":4,\"cell\":1}}";
+        Move move = CuT.fromJson(json, Move.class);
+        assertSame(Move.of(Position.of(5, 0), Position.of(4, 1)), move);
+        assertSame(Position.of(5, 0), move.getStart());
+        assertNull(CuT.fromJson("null", Move.class));
+    }
+
+    /**
+     * Test that the JSON written is the same as plain Gson writes and reads back to the shared instances.
+     */
+    @Test
+    public void test_write() {
+        Gson plain = new Gson();
+        Move move = Move.of(Position.of(2, 3), Position.of(4, 5));
+        assertEquals(plain.toJson(move), CuT.toJson(move));
+        assertSame(move, CuT.fromJson(CuT.toJson(move), Move.class));
+
+        Piece king = King.of(Piece.Color.WHITE);
+        assertEquals(plain.toJson(king), CuT.toJson(king));
+        assertSame(king, CuT.fromJson(CuT.toJson(king), Piece.class));
+        assertSame(Single.of(Piece.Color.RED), CuT.fromJson("{\"rank\":\"SINGLE\",\"color\":\"RED\"}", Piece.class));
+    }
+}
@@ -116,4 +116,42 @@ public class PostCheckTurnRouteTest {
         // Analyze the results
         assertEquals(CuT.handle(request, response), gson.toJson(Message.info("false")));
     }
-}
+
+    /**
+     * Test that when the game is over the player is told to reload the game, even if it is not their turn
+     */
+    @Test
+    public void test_gameOver() throws Exception {
+        playerLobby.addPlayer("player");
+        Player player = playerLobby.getPlayer("player");
+        when(session.attribute("name")).thenReturn("player");
+        player.setColor(Piece.Color.WHITE);
+        CheckersGame game = mock(CheckersGame.class);
+        when(gameCenter.getGame(anyString())).thenReturn(game);
+        when(game.getCurrentColor()).thenReturn(Piece.Color.RED);
+        when(game.isGameOver()).thenReturn(true);
+
+        assertEquals(gson.toJson(Message.info("true")), CuT.handle(request, response));
+    }
+
+    /**
+     * Test that when the page sends the turn it was shown, it is told whether there is a newer one
+     */
+    @Test
+    public void test_lastTurn() throws Exception {
+        playerLobby.addPlayer("player");
+        Player player = playerLobby.getPlayer("player");
+        when(session.attribute("name")).thenReturn("player");
+        player.setColor(Piece.Color.WHITE);
+        CheckersGame game = mock(CheckersGame.class);
+        when(gameCenter.getGame(anyString())).thenReturn(game);
+        when(game.getCurrentColor()).thenReturn(Piece.Color.WHITE);
+        when(game.hasTurnSince(4)).thenReturn(true);
+
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("4");
+        assertEquals(gson.toJson(Message.info("true")), CuT.handle(request, response));
+        // the page has already been shown turn 5, even though it is now the player's turn
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("5");
+        assertEquals(gson.toJson(Message.info("false")), CuT.handle(request, response));
+    }
+}
\ No newline at end of file
@@ -105,12 +105,14 @@ public class PostSpectatorCheckTurnRouteTest {
         when(engine.render(any(ModelAndView.class))).thenAnswer(tester.makeAnswer());
         CheckersGame mockGame = mock(CheckersGame.class);
         when(gameCenter.getGameBySpectator(any())).thenReturn(mockGame);
-        when(mockGame.isNewTurn()).thenReturn(true);
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("2");
+        when(mockGame.hasTurnSince(2)).thenReturn(true);
         //invoke
         String json = (String) CuT.handle(request, response);
         //analyze the results
         assertEquals(gson.toJson(Message.info("true")), json);
-        verify(mockGame, times(1)).setNewTurn(false);
+        // * verify checking does not hide the turn from the next spectator
+        assertEquals(gson.toJson(Message.info("true")), CuT.handle(request, response));
     }
 
     /**
@@ -124,7 +126,25 @@ public class PostSpectatorCheckTurnRouteTest {
         when(engine.render(any(ModelAndView.class))).thenAnswer(tester.makeAnswer());
         CheckersGame mockGame = mock(CheckersGame.class);
         when(gameCenter.getGameBySpectator(any())).thenReturn(mockGame);
-        when(mockGame.isNewTurn()).thenReturn(false);
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("3");
+        when(mockGame.hasTurnSince(2)).thenReturn(true);
+        //invoke
+        String json = (String) CuT.handle(request, response);
+        //analyze the results
+        assertEquals(gson.toJson(Message.info("false")), json);
+    }
+
+    /**
+     * Test that when the page does not say which turn it was shown, it is not told to reload.
+     */
+    @Test
+    public void test_noLastTurn() throws Exception {
+        //setup
+        when(session.attribute("name")).thenReturn("not null");
+        CheckersGame mockGame = mock(CheckersGame.class);
+        when(gameCenter.getGameBySpectator(any())).thenReturn(mockGame);
+        when(mockGame.hasTurnSince(anyLong())).thenReturn(true);
+        when(mockGame.hasTurnSince(Long.MAX_VALUE)).thenReturn(false);
         //invoke
         String json = (String) CuT.handle(request, response);
         //analyze the results
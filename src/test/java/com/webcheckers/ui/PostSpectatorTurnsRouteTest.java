@@ -0,0 +1,164 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameCenter;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.Request;
+import spark.Response;
+import spark.Session;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The unit test suite for the {@link PostSpectatorTurnsRoute} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("UI-tier")
+public class PostSpectatorTurnsRouteTest {
+    /**
+     * The component-under-test (CuT).
+     *
+     * <p>
+     * The {@link GameCenter} and {@link PlayerLobby} components are thoroughly tested so
+     * we can use them safely as "friendly" dependencies.
+     */
+    private PostSpectatorTurnsRoute CuT;
+
+    // friendly objects
+    private PlayerLobby lobby;
+    private GameCenter gameCenter;
+    private CheckersGame game;
+    private Gson gson;
+
+    // mock objects
+    private Request request;
+    private Session session;
+    private Response response;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        request = mock(Request.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        response = mock(Response.class);
+        gson = new Gson();
+
+        lobby = new PlayerLobby();
+        gameCenter = new GameCenter(lobby);
+        gameCenter.addPlayer("red");
+        gameCenter.addPlayer("white");
+        gameCenter.addPlayer("spectator");
+        gameCenter.createGame("red", "white");
+        game = gameCenter.getGame("red");
+        gameCenter.addSpectator(game.getGameID(), lobby.getPlayer("spectator"));
+        when(session.attribute("name")).thenReturn("spectator");
+
+        // create a unique CuT for each test
+        CuT = new PostSpectatorTurnsRoute(gameCenter, lobby);
+    }
+
+    /**
+     * Ask for the turns after a sequence number.
+     *
+     * @param lastTurn the sequence number sent, or null to send none
+     * @return the answer
+     */
+    private Map<?, ?> turnsSince(String lastTurn) throws Exception {
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn(lastTurn);
+        return gson.fromJson((String) CuT.handle(request, response), Map.class);
+    }
+
+    /**
+     * Test that somebody not signed in, or not spectating, is sent home.
+     */
+    @Test
+    public void test_notSpectating() throws Exception {
+        when(session.attribute("name")).thenReturn(null);
+        assertNull(CuT.handle(request, response));
+        when(session.attribute("name")).thenReturn("red");
+        assertNull(CuT.handle(request, response));
+        verify(response, times(2)).redirect(WebServer.HOME_URL);
+    }
+
+    /**
+     * Test that a spectator is sent only the turns they have not seen.
+     */
+    @Test
+    public void test_turns() throws Exception {
+        Map<?, ?> delta = turnsSince("0");
+        assertEquals(0.0, delta.get(PostSpectatorTurnsRoute.TURN_FIELD));
+        assertEquals(true, delta.get(PostSpectatorTurnsRoute.COMPLETE_FIELD));
+        assertEquals("RED", delta.get(PostSpectatorTurnsRoute.ACTIVE_COLOR_FIELD));
+        assertEquals(false, delta.get(PostSpectatorTurnsRoute.IS_GAME_OVER_FIELD));
+        assertTrue(((List<?>) delta.get(PostSpectatorTurnsRoute.TURNS_FIELD)).isEmpty());
+
+        game.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        game.submitTurn();
+        delta = turnsSince("0");
+        assertEquals(1.0, delta.get(PostSpectatorTurnsRoute.TURN_FIELD));
+        assertEquals("WHITE", delta.get(PostSpectatorTurnsRoute.ACTIVE_COLOR_FIELD));
+        List<?> turns = (List<?>) delta.get(PostSpectatorTurnsRoute.TURNS_FIELD);
+        assertEquals(1, turns.size());
+        Map<?, ?> turn = (Map<?, ?>) turns.get(0);
+        assertEquals(1.0, turn.get(PostSpectatorTurnsRoute.TURN_FIELD));
+        assertEquals(false, turn.get(PostSpectatorTurnsRoute.PROMOTION_FIELD));
+        assertTrue(((List<?>) turn.get(PostSpectatorTurnsRoute.CAPTURED_FIELD)).isEmpty());
+        List<?> steps = (List<?>) turn.get(PostSpectatorTurnsRoute.STEPS_FIELD);
+        assertEquals(1, steps.size());
+        assertEquals(ModelTypeAdapters.GSON.toJson(new Move(new Position(5, 0), new Position(4, 1))),
+                gson.toJson(steps.get(0)).replace(".0", ""));
+
+        // a spectator that has seen the turn is sent nothing
+        delta = turnsSince("1");
+        assertTrue(((List<?>) delta.get(PostSpectatorTurnsRoute.TURNS_FIELD)).isEmpty());
+    }
+
+    /**
+     * Test that a capture is sent with the square jumped over.
+     */
+    @Test
+    public void test_capture() throws Exception {
+        game.testMove(new Move(new Position(5, 0), new Position(4, 1)));
+        game.submitTurn();
+        game.testMove(new Move(new Position(5, 4), new Position(4, 5)).inverse());
+        game.submitTurn();
+        game.testMove(new Move(new Position(4, 1), new Position(2, 3)));
+        game.submitTurn();
+
+        List<?> turns = (List<?>) turnsSince("2").get(PostSpectatorTurnsRoute.TURNS_FIELD);
+        assertEquals(1, turns.size());
+        List<?> captured = (List<?>) ((Map<?, ?>) turns.get(0)).get(PostSpectatorTurnsRoute.CAPTURED_FIELD);
+        assertEquals(1, captured.size());
+        assertEquals("{\"row\":3,\"cell\":2}", gson.toJson(captured.get(0)).replace(".0", ""));
+    }
+
+    /**
+     * Test that a spectator that cannot catch up from the recent turns is told to reload, and that the end of the
+     * game is sent.
+     */
+    @Test
+    public void test_incomplete() throws Exception {
+        assertEquals(false, turnsSince(null).get(PostSpectatorTurnsRoute.COMPLETE_FIELD));
+
+        gameCenter.resign("red");
+        Map<?, ?> delta = turnsSince("0");
+        assertEquals(true, delta.get(PostSpectatorTurnsRoute.COMPLETE_FIELD));
+        assertEquals(1.0, delta.get(PostSpectatorTurnsRoute.TURN_FIELD));
+        assertEquals(true, delta.get(PostSpectatorTurnsRoute.IS_GAME_OVER_FIELD));
+        assertEquals(game.gameOverMessage(), delta.get(PostSpectatorTurnsRoute.GAME_OVER_MESSAGE_FIELD));
+    }
+}
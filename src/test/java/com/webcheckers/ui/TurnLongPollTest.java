@@ -0,0 +1,175 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.application.GameNotifier;
+import com.webcheckers.model.CheckersGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The unit test suite for the {@link TurnLongPoll} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("UI-tier")
+public class TurnLongPollTest {
+    /**
+     * The component-under-test (CuT).
+     *
+     * <p>
+     * The {@link GameNotifier} component is thoroughly tested so
+     * we can use it safely as a "friendly" dependency.
+     */
+    private TurnLongPoll CuT;
+
+    // friendly objects
+    private GameNotifier notifier;
+    private StringWriter body;
+    private List<Runnable> answers;
+
+    // mock objects
+    private Request request;
+    private Response response;
+    private HttpServletRequest rawRequest;
+    private AsyncContext async;
+    private CheckersGame game;
+
+    /**
+     * Setup new mock objects for each test.
+     */
+    @BeforeEach
+    public void setup() throws Exception {
+        notifier = new GameNotifier();
+        body = new StringWriter();
+        answers = new ArrayList<>();
+        request = mock(Request.class);
+        response = mock(Response.class);
+        rawRequest = mock(HttpServletRequest.class);
+        async = mock(AsyncContext.class);
+        game = mock(CheckersGame.class);
+        HttpServletResponse rawResponse = mock(HttpServletResponse.class);
+        when(request.raw()).thenReturn(rawRequest);
+        when(response.raw()).thenReturn(rawResponse);
+        when(rawRequest.isAsyncSupported()).thenReturn(true);
+        when(rawRequest.startAsync()).thenReturn(async);
+        when(async.getResponse()).thenReturn(rawResponse);
+        when(rawResponse.getWriter()).thenReturn(new PrintWriter(body, true));
+        when(game.getGameID()).thenReturn(7L);
+
+        CuT = new TurnLongPoll(notifier, answers::add);
+    }
+
+    /**
+     * Test that the wait asked for is read from the request and kept within bounds.
+     */
+    @Test
+    public void test_waitSeconds() {
+        assertEquals(0, TurnLongPoll.waitSeconds(request));
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("12");
+        assertEquals(12, TurnLongPoll.waitSeconds(request));
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("9000");
+        assertEquals(TurnLongPoll.MAX_WAIT_SECONDS, TurnLongPoll.waitSeconds(request));
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("-3");
+        assertEquals(0, TurnLongPoll.waitSeconds(request));
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("soon");
+        assertEquals(0, TurnLongPoll.waitSeconds(request));
+    }
+
+    /**
+     * Test that the turn a page was last shown is read from the request.
+     */
+    @Test
+    public void test_lastTurn() {
+        assertEquals(TurnLongPoll.NO_TURN, TurnLongPoll.lastTurn(request));
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("41");
+        assertEquals(41, TurnLongPoll.lastTurn(request));
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("-8");
+        assertEquals(TurnLongPoll.NO_TURN, TurnLongPoll.lastTurn(request));
+        when(request.queryParams(TurnLongPoll.LAST_TURN_PARAM)).thenReturn("{}");
+        assertEquals(TurnLongPoll.NO_TURN, TurnLongPoll.lastTurn(request));
+    }
+
+    /**
+     * Test that a request that does not ask to wait, or cannot, is not parked.
+     */
+    @Test
+    public void test_notParked() {
+        assertFalse(CuT.park(request, response, game, () -> false, () -> "now"));
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("10");
+        when(rawRequest.isAsyncSupported()).thenReturn(false);
+        assertFalse(CuT.park(request, response, game, () -> false, () -> "now"));
+        verify(rawRequest, never()).startAsync();
+    }
+
+    /**
+     * Test that a parked request is answered on another thread when its game publishes an event.
+     */
+    @Test
+    public void test_event() {
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("10");
+        assertTrue(CuT.park(request, response, game, () -> false, () -> "moved"));
+        verify(async).setTimeout(10000L);
+        verify(response).type(TurnLongPoll.CONTENT_TYPE);
+        assertEquals(1, notifier.getListenerCount(7L));
+        assertEquals("", body.toString());
+
+        notifier.publish(game, GameNotifier.Event.TURN);
+        assertEquals(1, answers.size());
+        assertEquals("", body.toString());
+        answers.get(0).run();
+        assertEquals("moved", body.toString());
+        verify(async).complete();
+        assertEquals(0, notifier.getListenerCount(7L));
+
+        // answering again does nothing
+        answers.get(0).run();
+        verify(async, times(1)).complete();
+    }
+
+    /**
+     * Test that a request whose answer is ready once it is listening is answered right away.
+     */
+    @Test
+    public void test_ready() {
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("10");
+        assertTrue(CuT.park(request, response, game, () -> true, () -> "ready"));
+        assertEquals("ready", body.toString());
+        verify(async).complete();
+        assertEquals(0, notifier.getListenerCount(7L));
+    }
+
+    /**
+     * Test that a parked request is given the ordinary answer once its wait is over.
+     */
+    @Test
+    public void test_timeout() throws Exception {
+        when(request.queryParams(TurnLongPoll.WAIT_PARAM)).thenReturn("10");
+        CuT.park(request, response, game, () -> false, () -> "nothing yet");
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).addListener(listener.capture());
+
+        listener.getValue().onTimeout(null);
+        assertEquals("nothing yet", body.toString());
+        verify(async).complete();
+        assertEquals(0, notifier.getListenerCount(7L));
+
+        // an event published after the wait is over is ignored
+        notifier.publish(game, GameNotifier.Event.TURN);
+        assertTrue(answers.isEmpty());
+    }
+}
@@ -0,0 +1,242 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.application.GameCenter;
+import com.webcheckers.application.PlayerLobby;
+import com.webcheckers.model.CheckersGame;
+import com.webcheckers.model.Player;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.UpgradeRequest;
+import org.eclipse.jetty.websocket.api.WebSocketAdapter;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import spark.Service;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The unit test suite for the {@link TurnWebSocket} component.
+ *
+ * @author Jesse Burdick-Pless jb4411@g.rit.edu
+ */
+@Tag("UI-tier")
+public class TurnWebSocketTest {
+    /**
+     * The component-under-test (CuT).
+     *
+     * <p>
+     * The {@link GameCenter} and {@link PlayerLobby} components are thoroughly tested so
+     * we can use them safely as "friendly" dependencies.
+     */
+    private TurnWebSocket CuT;
+
+    // friendly objects
+    private PlayerLobby lobby;
+    private GameCenter gameCenter;
+
+    /**
+     * Setup new objects for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        lobby = new PlayerLobby();
+        gameCenter = new GameCenter(lobby);
+        CuT = new TurnWebSocket(gameCenter, lobby);
+        gameCenter.addPlayer("red");
+        gameCenter.addPlayer("white");
+        gameCenter.addPlayer("spectator");
+        gameCenter.createGame("red", "white");
+    }
+
+    /**
+     * Create a mock socket opened with a token.
+     *
+     * @param name the name of the player the token was issued to, or null to open it with no token
+     * @return the socket
+     */
+    private Session openSocket(String name) {
+        Session session = mock(Session.class);
+        UpgradeRequest upgrade = mock(UpgradeRequest.class);
+        when(session.getUpgradeRequest()).thenReturn(upgrade);
+        if(name != null) {
+            String token = gameCenter.getSocketTokens().issue(name);
+            when(upgrade.getParameterMap()).thenReturn(
+                    Collections.singletonMap(TurnWebSocket.TOKEN_PARAM, Collections.singletonList(token)));
+        }
+        when(session.isOpen()).thenReturn(true);
+        when(session.getRemote()).thenReturn(mock(RemoteEndpoint.class));
+        return session;
+    }
+
+    /**
+     * Test that a player's socket is sent the turns of their game.
+     */
+    @Test
+    public void test_player() {
+        CheckersGame game = gameCenter.getGame("white");
+        Session session = openSocket("white");
+        CuT.onConnect(session);
+        assertEquals(1, CuT.getOpenCount());
+        assertEquals(1, gameCenter.getNotifier().getListenerCount(game.getGameID()));
+
+        gameCenter.turnSubmitted(game);
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(session.getRemote()).sendStringByFuture(sent.capture());
+        Map<?, ?> message = new Gson().fromJson(sent.getValue(), Map.class);
+        assertEquals(Long.toString(game.getGameID()), message.get(TurnWebSocket.GAME_ID_FIELD));
+        assertEquals("TURN", message.get(TurnWebSocket.EVENT_FIELD));
+        assertEquals("RED", message.get(TurnWebSocket.ACTIVE_COLOR_FIELD));
+
+        CuT.onClose(session, 1000, "done");
+        assertEquals(0, CuT.getOpenCount());
+        assertEquals(0, gameCenter.getNotifier().getListenerCount(game.getGameID()));
+    }
+
+    /**
+     * Test that a spectator's socket is told when the game they watch is over.
+     */
+    @Test
+    public void test_spectator() {
+        CheckersGame game = gameCenter.getGame("red");
+        Player spectator = lobby.getPlayer("spectator");
+        gameCenter.addSpectator(game.getGameID(), spectator);
+        Session session = openSocket("spectator");
+        CuT.onConnect(session);
+
+        gameCenter.resign("red");
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(session.getRemote()).sendStringByFuture(sent.capture());
+        assertEquals("GAME_OVER", new Gson().fromJson(sent.getValue(), Map.class).get(TurnWebSocket.EVENT_FIELD));
+    }
+
+    /**
+     * Test that a socket with no token, a token that has been replaced, or a player with no game, is closed.
+     */
+    @Test
+    public void test_noGame() {
+        Session nobody = openSocket(null);
+        CuT.onConnect(nobody);
+        verify(nobody).close();
+
+        Session replaced = openSocket("red");
+        gameCenter.getSocketTokens().issue("red");
+        CuT.onConnect(replaced);
+        verify(replaced).close();
+
+        Session idle = openSocket("spectator");
+        CuT.onConnect(idle);
+        verify(idle).close();
+        assertEquals(0, CuT.getOpenCount());
+        CuT.onClose(idle, 1000, "closed");
+    }
+
+    /**
+     * Test that nothing is sent down a socket that has already closed.
+     */
+    @Test
+    public void test_closedSocket() {
+        Session session = openSocket("red");
+        CuT.onConnect(session);
+        when(session.isOpen()).thenReturn(false);
+        gameCenter.turnSubmitted(gameCenter.getGame("red"));
+        verify(session.getRemote(), never()).sendStringByFuture(anyString());
+    }
+
+    /**
+     * Test that a socket is forgotten and closed once its game's listeners are dropped.
+     */
+    @Test
+    public void test_dropped() {
+        CheckersGame game = gameCenter.getGame("red");
+        Session session = openSocket("red");
+        CuT.onConnect(session);
+        assertEquals(1, CuT.getOpenCount());
+
+        gameCenter.getNotifier().clear(game.getGameID());
+        assertEquals(0, CuT.getOpenCount());
+        verify(session).close();
+    }
+
+    /**
+     * Test that a socket opened through Spark, which can not see the HTTP session, is tied to its player by its
+     * token and is sent the events of their game, while one with a bad token is closed.
+     */
+    @Test
+    public void test_spark() throws Exception {
+        Service http = Service.ignite().port(0);
+        http.webSocket(WebServer.TURNS_URL, CuT);
+        http.init();
+        http.awaitInitialization();
+        WebSocketClient client = new WebSocketClient();
+        client.start();
+        try {
+            String url = "ws://localhost:" + http.port() + WebServer.TURNS_URL + "?" + TurnWebSocket.TOKEN_PARAM + "=";
+
+            // Case: a token issued to a player
+            Listener player = new Listener();
+            client.connect(player, URI.create(url + gameCenter.getSocketTokens().issue("white")))
+                    .get(5, TimeUnit.SECONDS);
+            for(int wait = 0; wait < 50 && CuT.getOpenCount() == 0; wait++) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, CuT.getOpenCount());
+            gameCenter.turnSubmitted(gameCenter.getGame("white"));
+            String sent = player.messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(sent);
+            assertEquals("TURN", new Gson().fromJson(sent, Map.class).get(TurnWebSocket.EVENT_FIELD));
+
+            // Case: a token nobody was issued
+            Listener stranger = new Listener();
+            client.connect(stranger, URI.create(url + "nobody")).get(5, TimeUnit.SECONDS);
+            assertTrue(stranger.closed.await(5, TimeUnit.SECONDS));
+            assertEquals(1, CuT.getOpenCount());
+        } finally {
+            client.stop();
+            http.stop();
+        }
+    }
+
+    /**
+     * The client end of a socket, which keeps what it is sent.
+     */
+    private static class Listener extends WebSocketAdapter {
+        //Values used to hold what the socket was sent and whether it has closed
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        /**
+         * Keep a message.
+         *
+         * @param message the message
+         */
+        @Override
+        public void onWebSocketText(String message) {
+            messages.add(message);
+        }
+
+        /**
+         * Note that the socket has closed.
+         *
+         * @param statusCode the status the socket closed with
+         * @param reason why the socket closed
+         */
+        @Override
+        public void onWebSocketClose(int statusCode, String reason) {
+            super.onWebSocketClose(statusCode, reason);
+            closed.countDown();
+        }
+    }
+}